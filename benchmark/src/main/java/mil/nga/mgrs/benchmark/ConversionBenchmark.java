@@ -0,0 +1,189 @@
+package mil.nga.mgrs.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Longitude and latitude, UTM, and MGRS conversion benchmarks
+ * 
+ * @author osbornb
+ * @since 2.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+	/**
+	 * Number of coordinates, a power of two
+	 */
+	static final int COUNT = 4096;
+
+	/**
+	 * Coordinate workload
+	 */
+	@Param
+	public Workload workload;
+
+	/**
+	 * UTM projection
+	 */
+	@Param
+	public Projection projection;
+
+	private double[] longitudes;
+	private double[] latitudes;
+	private Point[] points;
+	private int[] zones;
+	private Hemisphere[] hemispheres;
+	private UTM[] utms;
+	private MGRS[] mgrs;
+
+	private final double[] coordinate = new double[2];
+	private final int[] zoneResults = new int[COUNT];
+	private final char[] bandResults = new char[COUNT];
+	private final char[] columnResults = new char[COUNT];
+	private final char[] rowResults = new char[COUNT];
+	private final long[] eastingResults = new long[COUNT];
+	private final long[] northingResults = new long[COUNT];
+
+	private int index;
+
+	/**
+	 * Set the projection and create the workload
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		UTM.setProjection(projection.create());
+
+		double[][] coordinates = workload.coordinates(COUNT, 1);
+		longitudes = coordinates[0];
+		latitudes = coordinates[1];
+		points = new Point[COUNT];
+		zones = new int[COUNT];
+		hemispheres = new Hemisphere[COUNT];
+		utms = new UTM[COUNT];
+		mgrs = new MGRS[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			points[i] = Point.degrees(longitudes[i], latitudes[i]);
+			zones[i] = GridZones.getZoneNumber(longitudes[i], latitudes[i]);
+			hemispheres[i] = Hemisphere.fromLatitude(latitudes[i]);
+			utms[i] = UTM.from(points[i]);
+			mgrs[i] = MGRS.from(points[i]);
+		}
+	}
+
+	/**
+	 * Reset the projection
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		UTM.setProjection(null);
+	}
+
+	/**
+	 * Next workload index
+	 * 
+	 * @return index
+	 */
+	private int next() {
+		index = (index + 1) & (COUNT - 1);
+		return index;
+	}
+
+	/**
+	 * Convert a point to MGRS
+	 */
+	@Benchmark
+	public MGRS mgrsFromPoint() {
+		return MGRS.from(points[next()]);
+	}
+
+	/**
+	 * Convert a longitude and latitude to MGRS
+	 */
+	@Benchmark
+	public MGRS mgrsFromCoordinate() {
+		int i = next();
+		return MGRS.from(longitudes[i], latitudes[i]);
+	}
+
+	/**
+	 * Convert the coordinate arrays to parallel MGRS attribute arrays
+	 */
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public long[] mgrsFromArrays() {
+		MGRS.from(longitudes, latitudes, zoneResults, bandResults,
+				columnResults, rowResults, eastingResults, northingResults);
+		return northingResults;
+	}
+
+	/**
+	 * Convert an MGRS to a point
+	 */
+	@Benchmark
+	public Point mgrsToPoint() {
+		return mgrs[next()].toPoint();
+	}
+
+	/**
+	 * Convert a point to UTM
+	 */
+	@Benchmark
+	public UTM utmFromPoint() {
+		return UTM.from(points[next()]);
+	}
+
+	/**
+	 * Project a longitude and latitude to a UTM easting and northing
+	 */
+	@Benchmark
+	public double[] utmFromCoordinate() {
+		int i = next();
+		return UTM.from(longitudes[i], latitudes[i], zones[i], hemispheres[i],
+				coordinate);
+	}
+
+	/**
+	 * Convert a UTM to a point
+	 */
+	@Benchmark
+	public Point utmToPoint() {
+		return utms[next()].toPoint();
+	}
+
+	/**
+	 * Unproject a UTM easting and northing to a longitude and latitude
+	 */
+	@Benchmark
+	public double[] utmToDegrees() {
+		UTM utm = utms[next()];
+		return UTM.toDegrees(utm.getZone(), utm.getHemisphere(),
+				utm.getEasting(), utm.getNorthing(), coordinate);
+	}
+
+}
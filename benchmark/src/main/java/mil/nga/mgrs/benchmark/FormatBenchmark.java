@@ -0,0 +1,112 @@
+package mil.nga.mgrs.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * MGRS formatting benchmarks at each grid type precision
+ * 
+ * @author osbornb
+ * @since 2.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+	/**
+	 * Number of values, a power of two
+	 */
+	static final int COUNT = 4096;
+
+	/**
+	 * Grid type precision
+	 */
+	@Param
+	public GridType type;
+
+	private MGRS[] mgrs;
+	private final StringBuilder builder = new StringBuilder(16);
+	private final char[] chars = new char[16];
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+
+	private int index;
+
+	/**
+	 * Create the MGRS values
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		double[][] coordinates = Workload.GLOBAL.coordinates(COUNT, 4);
+		mgrs = new MGRS[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			mgrs[i] = MGRS.from(coordinates[0][i], coordinates[1][i]);
+		}
+	}
+
+	/**
+	 * Next workload index
+	 * 
+	 * @return index
+	 */
+	private int next() {
+		index = (index + 1) & (COUNT - 1);
+		return index;
+	}
+
+	/**
+	 * Format an MGRS coordinate string
+	 */
+	@Benchmark
+	public String coordinate() {
+		return mgrs[next()].coordinate(type);
+	}
+
+	/**
+	 * Append an MGRS coordinate to a reused string builder
+	 */
+	@Benchmark
+	public StringBuilder appendCoordinate() {
+		builder.setLength(0);
+		return mgrs[next()].appendCoordinate(builder, type);
+	}
+
+	/**
+	 * Write an MGRS coordinate to a reused character array
+	 */
+	@Benchmark
+	public char[] coordinateChars() {
+		mgrs[next()].coordinate(chars, 0, type);
+		return chars;
+	}
+
+	/**
+	 * Write an MGRS coordinate to a reused byte buffer
+	 */
+	@Benchmark
+	public ByteBuffer coordinateBytes() {
+		buffer.clear();
+		mgrs[next()].coordinate(buffer, type);
+		return buffer;
+	}
+
+}
@@ -0,0 +1,158 @@
+package mil.nga.mgrs.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mil.nga.grid.features.Point;
+import mil.nga.grid.tile.GridTile;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.Grid;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.Grids;
+import mil.nga.mgrs.grid.ZoomGrids;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+
+/**
+ * Grid line and label generation benchmarks for tile sweeps at each zoom
+ * level, one operation per tile
+ * 
+ * @author osbornb
+ * @since 2.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark {
+
+	/**
+	 * Number of tiles, a power of two
+	 */
+	static final int COUNT = 256;
+
+	/**
+	 * Tile size in pixels
+	 */
+	static final int TILE_SIZE = 256;
+
+	/**
+	 * Coordinate workload of the tile locations
+	 */
+	@Param
+	public Workload workload;
+
+	/**
+	 * Zoom level
+	 */
+	@Param({ "0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11",
+			"12", "13", "14", "15", "16", "17", "18", "19", "20", "21" })
+	public int zoom;
+
+	private ZoomGrids zoomGrids;
+	private GridTile[] tiles;
+	private List<List<GridZone>> tileZones;
+
+	private int index;
+
+	/**
+	 * Create the grids and tiles
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		zoomGrids = Grids.create().getGrids(zoom);
+		double[][] coordinates = workload.coordinates(COUNT, 5);
+		tiles = new GridTile[COUNT];
+		tileZones = new ArrayList<>(COUNT);
+		for (int i = 0; i < COUNT; i++) {
+			GridTile tile = tile(coordinates[0][i], coordinates[1][i], zoom);
+			tiles[i] = tile;
+			List<GridZone> zones = new ArrayList<>();
+			for (GridZone zone : GridZones
+					.getGridRange(tile.getBounds())) {
+				zones.add(zone);
+			}
+			tileZones.add(zones);
+		}
+	}
+
+	/**
+	 * Get the tile containing the coordinate at the zoom level
+	 * 
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param zoom
+	 *            zoom level
+	 * @return tile
+	 */
+	static GridTile tile(double longitude, double latitude, int zoom) {
+		int tiles = 1 << zoom;
+		Point point = Point.degrees(longitude, latitude).toMeters();
+		double size = 2 * 20037508.342789244 / tiles;
+		int x = (int) Math.floor((point.getX() + 20037508.342789244) / size);
+		int y = (int) Math.floor((20037508.342789244 - point.getY()) / size);
+		x = Math.min(Math.max(x, 0), tiles - 1);
+		y = Math.min(Math.max(y, 0), tiles - 1);
+		return GridTile.tile(TILE_SIZE, TILE_SIZE, x, y, zoom);
+	}
+
+	/**
+	 * Next workload index
+	 * 
+	 * @return index
+	 */
+	private int next() {
+		index = (index + 1) & (COUNT - 1);
+		return index;
+	}
+
+	/**
+	 * Get the grid lines of a tile for each grid zone and zoom grid
+	 */
+	@Benchmark
+	public void lines(Blackhole blackhole) {
+		int i = next();
+		GridTile tile = tiles[i];
+		for (Grid grid : zoomGrids) {
+			for (GridZone zone : tileZones.get(i)) {
+				List<GridLine> lines = grid.getLines(tile, zone);
+				blackhole.consume(lines);
+			}
+		}
+	}
+
+	/**
+	 * Get the grid labels of a tile for each grid zone and zoom grid
+	 */
+	@Benchmark
+	public void labels(Blackhole blackhole) {
+		int i = next();
+		GridTile tile = tiles[i];
+		for (Grid grid : zoomGrids) {
+			for (GridZone zone : tileZones.get(i)) {
+				List<GridLabel> labels = grid.getLabels(tile, zone);
+				blackhole.consume(labels);
+			}
+		}
+	}
+
+}
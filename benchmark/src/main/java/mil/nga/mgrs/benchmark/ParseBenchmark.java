@@ -0,0 +1,164 @@
+package mil.nga.mgrs.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.MGRSParseResult;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * MGRS parsing benchmarks at each grid type precision, with an optional
+ * percentage of invalid values
+ * 
+ * @author osbornb
+ * @since 2.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+	/**
+	 * Number of values, a power of two
+	 */
+	static final int COUNT = 4096;
+
+	/**
+	 * Coordinate workload
+	 */
+	@Param({ "GLOBAL", "NORWAY_SVALBARD" })
+	public Workload workload;
+
+	/**
+	 * Grid type precision
+	 */
+	@Param
+	public GridType type;
+
+	/**
+	 * Percentage of invalid values
+	 */
+	@Param({ "0", "15" })
+	public int invalidPercent;
+
+	private String[] values;
+	private byte[][] bytes;
+	private final MGRSParseResult result = new MGRSParseResult();
+
+	private int index;
+
+	/**
+	 * Create the MGRS values
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		double[][] coordinates = workload.coordinates(COUNT, 2);
+		Random random = new Random(3);
+		values = new String[COUNT];
+		bytes = new byte[COUNT][];
+		for (int i = 0; i < COUNT; i++) {
+			String value = MGRS.from(coordinates[0][i], coordinates[1][i])
+					.coordinate(type);
+			if (random.nextInt(100) < invalidPercent) {
+				value = invalidate(value, random);
+			}
+			values[i] = value;
+			bytes[i] = value.getBytes(StandardCharsets.US_ASCII);
+		}
+	}
+
+	/**
+	 * Invalidate a MGRS value
+	 * 
+	 * @param value
+	 *            valid MGRS value
+	 * @param random
+	 *            random
+	 * @return invalid value
+	 */
+	private static String invalidate(String value, Random random) {
+		String invalid;
+		switch (random.nextInt(4)) {
+		case 0:
+			invalid = "0" + value.substring(1);
+			break;
+		case 1:
+			invalid = value + "1";
+			break;
+		case 2:
+			invalid = value.replace(value.charAt(value.length() - 1), 'O');
+			break;
+		default:
+			invalid = "32X" + value.substring(3);
+		}
+		return invalid;
+	}
+
+	/**
+	 * Next workload index
+	 * 
+	 * @return index
+	 */
+	private int next() {
+		index = (index + 1) & (COUNT - 1);
+		return index;
+	}
+
+	/**
+	 * Parse an MGRS string, catching parse exceptions
+	 */
+	@Benchmark
+	public MGRS parse() {
+		MGRS mgrs = null;
+		try {
+			mgrs = MGRS.parse(values[next()]);
+		} catch (ParseException e) {
+		}
+		return mgrs;
+	}
+
+	/**
+	 * Parse an MGRS string into a reused parse result
+	 */
+	@Benchmark
+	public MGRS tryParse() {
+		return MGRS.tryParse(values[next()], result);
+	}
+
+	/**
+	 * Parse MGRS ASCII bytes into a reused parse result
+	 */
+	@Benchmark
+	public MGRS tryParseBytes() {
+		byte[] value = bytes[next()];
+		return MGRS.tryParse(value, 0, value.length, result);
+	}
+
+	/**
+	 * Validate an MGRS string
+	 */
+	@Benchmark
+	public boolean isMGRS() {
+		return MGRS.isMGRS(values[next()]);
+	}
+
+}
@@ -0,0 +1,41 @@
+package mil.nga.mgrs.benchmark;
+
+import mil.nga.mgrs.utm.KrugerProjection;
+import mil.nga.mgrs.utm.UTMProjection;
+
+/**
+ * Benchmark UTM projection modes
+ * 
+ * @author osbornb
+ * @since 2.1.4
+ */
+public enum Projection {
+
+	/**
+	 * Default closed form approximation, rounded
+	 */
+	CLOSED_FORM {
+		@Override
+		public UTMProjection create() {
+			return new UTMProjection();
+		}
+	},
+
+	/**
+	 * Krüger series, unrounded
+	 */
+	KRUGER {
+		@Override
+		public UTMProjection create() {
+			return new KrugerProjection();
+		}
+	};
+
+	/**
+	 * Create the projection engine
+	 * 
+	 * @return projection
+	 */
+	public abstract UTMProjection create();
+
+}
@@ -0,0 +1,171 @@
+package mil.nga.mgrs.benchmark;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.mgrs.utm.KrugerProjection;
+import mil.nga.mgrs.utm.UTMProjection;
+
+/**
+ * UTM projection mode accuracy report, complementing the speed measurements
+ * of {@link ConversionBenchmark}. Sweeps the MGRS latitudes and longitude
+ * offsets from the zone central meridian, reporting the maximum and mean
+ * distance between the unrounded closed form and Krüger series eastings and
+ * northings, and the forward and inverse round trip error of each mode.
+ *
+ * Run with:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar mil.nga.mgrs.benchmark.ProjectionAccuracy
+ * </pre>
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class ProjectionAccuracy {
+
+	/**
+	 * Zone of the sweep, central meridian at 3 degrees
+	 */
+	private static final int ZONE = 31;
+
+	/**
+	 * Latitude sweep step in degrees
+	 */
+	private static final double LATITUDE_STEP = 0.25;
+
+	/**
+	 * Longitude offset sweep step in degrees
+	 */
+	private static final double OFFSET_STEP = 0.125;
+
+	/**
+	 * Maximum longitude offsets from the central meridian of each report row,
+	 * the standard zone half width followed by the widest Norway and Svalbard
+	 * zone offsets
+	 */
+	private static final double[] MAX_OFFSETS = { 1.0, 2.0, 3.0, 6.0, 9.0 };
+
+	/**
+	 * Print the accuracy report
+	 *
+	 * @param args
+	 *            no arguments
+	 */
+	public static void main(String[] args) {
+
+		UTMProjection closedForm = new UTMProjection().withRound(false);
+		UTMProjection kruger = new KrugerProjection();
+		double centralMeridian = Math
+				.toDegrees(UTMProjection.centralMeridian(ZONE));
+
+		System.out.println("Closed form vs Kruger series, meters");
+		System.out.printf("%-14s %14s %14s %14s %14s %14s %14s%n",
+				"offset (deg)", "max diff", "mean diff", "max closed rt",
+				"mean closed rt", "max kruger rt", "mean kruger rt");
+
+		double[] closedValues = new double[2];
+		double[] krugerValues = new double[2];
+		double[] reference = new double[2];
+		double[] coordinate = new double[2];
+
+		for (double maxOffset : MAX_OFFSETS) {
+
+			Statistics difference = new Statistics();
+			Statistics closedRoundTrip = new Statistics();
+			Statistics krugerRoundTrip = new Statistics();
+
+			for (double latitude = -80.0; latitude <= 84.0;
+					latitude += LATITUDE_STEP) {
+				Hemisphere hemisphere = Hemisphere.fromLatitude(latitude);
+				for (double offset = -maxOffset; offset <= maxOffset;
+						offset += OFFSET_STEP) {
+					double longitude = centralMeridian + offset;
+
+					kruger.forward(longitude, latitude, ZONE, hemisphere,
+							krugerValues);
+					closedForm.forward(longitude, latitude, ZONE, hemisphere,
+							closedValues);
+					difference.add(distance(closedValues, krugerValues));
+
+					// Round trip errors measured in the Krüger plane
+					closedForm.inverse(ZONE, hemisphere, closedValues[0],
+							closedValues[1], coordinate);
+					kruger.forward(coordinate[0], coordinate[1], ZONE,
+							hemisphere, reference);
+					closedRoundTrip.add(distance(reference, krugerValues));
+
+					kruger.inverse(ZONE, hemisphere, krugerValues[0],
+							krugerValues[1], coordinate);
+					kruger.forward(coordinate[0], coordinate[1], ZONE,
+							hemisphere, reference);
+					krugerRoundTrip.add(distance(reference, krugerValues));
+				}
+			}
+
+			System.out.printf(
+					"%-14s %14.3e %14.3e %14.3e %14.3e %14.3e %14.3e%n",
+					"<= " + maxOffset, difference.max, difference.mean(),
+					closedRoundTrip.max, closedRoundTrip.mean(),
+					krugerRoundTrip.max, krugerRoundTrip.mean());
+		}
+
+	}
+
+	/**
+	 * Distance between two eastings and northings
+	 *
+	 * @param eastingNorthing1
+	 *            first easting and northing
+	 * @param eastingNorthing2
+	 *            second easting and northing
+	 * @return distance in meters
+	 */
+	private static double distance(double[] eastingNorthing1,
+			double[] eastingNorthing2) {
+		return Math.hypot(eastingNorthing1[0] - eastingNorthing2[0],
+				eastingNorthing1[1] - eastingNorthing2[1]);
+	}
+
+	/**
+	 * Maximum and mean of values
+	 */
+	private static class Statistics {
+
+		/**
+		 * Maximum value
+		 */
+		private double max;
+
+		/**
+		 * Sum of values
+		 */
+		private double sum;
+
+		/**
+		 * Number of values
+		 */
+		private long count;
+
+		/**
+		 * Add a value
+		 *
+		 * @param value
+		 *            value
+		 */
+		private void add(double value) {
+			max = Math.max(max, value);
+			sum += value;
+			count++;
+		}
+
+		/**
+		 * Get the mean value
+		 *
+		 * @return mean
+		 */
+		private double mean() {
+			return count > 0 ? sum / count : 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,100 @@
+package mil.nga.mgrs.benchmark;
+
+import java.util.Random;
+
+/**
+ * Benchmark coordinate workloads
+ * 
+ * @author osbornb
+ * @since 2.1.4
+ */
+public enum Workload {
+
+	/**
+	 * Global random points within the MGRS latitude range
+	 */
+	GLOBAL {
+		@Override
+		void coordinate(Random random, double[] coordinate) {
+			coordinate[0] = uniform(random, -180.0, 180.0);
+			coordinate[1] = uniform(random, -80.0, 84.0);
+		}
+	},
+
+	/**
+	 * Points within the southern C and northern X polar bands
+	 */
+	POLAR {
+		@Override
+		void coordinate(Random random, double[] coordinate) {
+			coordinate[0] = uniform(random, -180.0, 180.0);
+			coordinate[1] = random.nextBoolean() ? uniform(random, -80.0, -72.0)
+					: uniform(random, 72.0, 84.0);
+		}
+	},
+
+	/**
+	 * Points within the Norway (32V) and Svalbard (31X - 37X) zone number
+	 * exceptions
+	 */
+	NORWAY_SVALBARD {
+		@Override
+		void coordinate(Random random, double[] coordinate) {
+			if (random.nextBoolean()) {
+				coordinate[0] = uniform(random, 0.0, 12.0);
+				coordinate[1] = uniform(random, 56.0, 64.0);
+			} else {
+				coordinate[0] = uniform(random, 0.0, 42.0);
+				coordinate[1] = uniform(random, 72.0, 84.0);
+			}
+		}
+	};
+
+	/**
+	 * Populate a random longitude and latitude coordinate
+	 * 
+	 * @param random
+	 *            random
+	 * @param coordinate
+	 *            destination array, longitude at index 0 and latitude at index
+	 *            1
+	 */
+	abstract void coordinate(Random random, double[] coordinate);
+
+	/**
+	 * Create random longitude and latitude coordinates
+	 * 
+	 * @param count
+	 *            number of coordinates
+	 * @param seed
+	 *            random seed
+	 * @return longitudes at index 0 and latitudes at index 1
+	 */
+	public double[][] coordinates(int count, long seed) {
+		Random random = new Random(seed);
+		double[][] coordinates = new double[2][count];
+		double[] coordinate = new double[2];
+		for (int i = 0; i < count; i++) {
+			coordinate(random, coordinate);
+			coordinates[0][i] = coordinate[0];
+			coordinates[1][i] = coordinate[1];
+		}
+		return coordinates;
+	}
+
+	/**
+	 * Uniform random value
+	 * 
+	 * @param random
+	 *            random
+	 * @param min
+	 *            minimum, inclusive
+	 * @param max
+	 *            maximum, exclusive
+	 * @return random value
+	 */
+	private static double uniform(Random random, double min, double max) {
+		return min + random.nextDouble() * (max - min);
+	}
+
+}
@@ -0,0 +1,108 @@
+package mil.nga.mgrs;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Character sequence view of a range of ASCII encoded bytes, read in place
+ * without copying or decoding into a string
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+class AsciiCharSequence implements CharSequence {
+
+	/**
+	 * Byte buffer
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * Absolute buffer index of the first character
+	 */
+	private final int offset;
+
+	/**
+	 * Number of characters
+	 */
+	private final int length;
+
+	/**
+	 * Constructor
+	 *
+	 * @param bytes
+	 *            ASCII bytes
+	 * @param offset
+	 *            index of the first byte
+	 * @param length
+	 *            number of bytes
+	 */
+	public AsciiCharSequence(byte[] bytes, int offset, int length) {
+		this(ByteBuffer.wrap(bytes), offset, length);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param buffer
+	 *            ASCII byte buffer
+	 * @param offset
+	 *            absolute index of the first byte
+	 * @param length
+	 *            number of bytes
+	 */
+	public AsciiCharSequence(ByteBuffer buffer, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+			throw new IndexOutOfBoundsException("Invalid byte range. offset: "
+					+ offset + ", length: " + length + ", limit: "
+					+ buffer.limit());
+		}
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", length: " + length);
+		}
+		return (char) (buffer.get(offset + index) & 0xFF);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end < start || end > length) {
+			throw new IndexOutOfBoundsException("Invalid range. start: "
+					+ start + ", end: " + end + ", length: " + length);
+		}
+		return new AsciiCharSequence(buffer, offset + start, end - start);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder value = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			value.append(charAt(i));
+		}
+		return value.toString();
+	}
+
+}
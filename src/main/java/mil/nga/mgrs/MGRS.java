@@ -1,19 +1,23 @@
 package mil.nga.mgrs;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.text.ParseException;
-import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 
 import mil.nga.grid.Hemisphere;
-import mil.nga.grid.features.Bounds;
-import mil.nga.grid.features.Line;
 import mil.nga.grid.features.Point;
+import mil.nga.mgrs.cell.CellKey;
+import mil.nga.mgrs.cell.CellList;
+import mil.nga.mgrs.cell.CellNavigation;
 import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridSquare;
 import mil.nga.mgrs.gzd.GridZone;
 import mil.nga.mgrs.gzd.GridZones;
 import mil.nga.mgrs.utm.UTM;
-import mil.nga.sf.util.GeometryUtils;
 
 /**
  * Military Grid Reference System Coordinate
@@ -21,32 +25,13 @@ import mil.nga.sf.util.GeometryUtils;
  * @author wnewman
  * @author osbornb
  */
-public class MGRS {
+public class MGRS implements Comparable<MGRS> {
 
 	/**
-	 * 100km grid square column (‘e’) letters repeat every third zone
+	 * Powers of ten by exponent, for easting and northing digits
 	 */
-	private static final String[] columnLetters = new String[] { "ABCDEFGH",
-			"JKLMNPQR", "STUVWXYZ" };
-
-	/**
-	 * 100km grid square row (‘n’) letters repeat every other zone
-	 */
-	private static final String[] rowLetters = new String[] {
-			"ABCDEFGHJKLMNPQRSTUV", "FGHJKLMNPQRSTUVABCDE" };
-
-	/**
-	 * MGRS string pattern
-	 */
-	private static final Pattern mgrsPattern = Pattern.compile(
-			"^(\\d{1,2})([C-HJ-NP-X])(?:([A-HJ-NP-Z][A-HJ-NP-V])((\\d{2}){0,5}))?$",
-			Pattern.CASE_INSENSITIVE);
-
-	/**
-	 * MGRS invalid string pattern (Svalbard)
-	 */
-	private static final Pattern mgrsInvalidPattern = Pattern
-			.compile("^3[246]X.*$", Pattern.CASE_INSENSITIVE);
+	private static final long[] POWERS_OF_TEN = new long[] { 1L, 10L, 100L,
+			1000L, 10000L };
 
 	/**
 	 * Zone number
@@ -241,30 +226,178 @@ public class MGRS {
 	 * @return MGRS coordinate
 	 */
 	public String coordinate(GridType type) {
+		return appendCoordinate(new StringBuilder(coordinateLength(type)), type)
+				.toString();
+	}
 
-		StringBuilder mgrs = new StringBuilder();
-
+	/**
+	 * Get the number of characters in the MGRS coordinate with specified grid
+	 * precision
+	 * 
+	 * @param type
+	 *            grid type precision
+	 * @return coordinate length
+	 * @since 2.1.4
+	 */
+	public int coordinateLength(GridType type) {
+		int length = 0;
 		if (type != null) {
-
-			mgrs.append(zone);
-			mgrs.append(band);
-
+			length = (zone < 10 ? 1 : 2) + 1;
 			if (type != GridType.GZD) {
+				length += 2 + 2 * type.getAccuracy();
+			}
+		}
+		return length;
+	}
 
-				mgrs.append(column);
-				mgrs.append(row);
+	/**
+	 * Append the MGRS coordinate with specified grid precision to the string
+	 * builder
+	 * 
+	 * @param builder
+	 *            string builder
+	 * @param type
+	 *            grid type precision
+	 * @return string builder
+	 * @since 2.1.4
+	 */
+	public StringBuilder appendCoordinate(StringBuilder builder,
+			GridType type) {
+		int length = coordinateLength(type);
+		for (int i = 0; i < length; i++) {
+			builder.append(coordinateChar(i, type));
+		}
+		return builder;
+	}
 
-				if (type != GridType.HUNDRED_KILOMETER) {
+	/**
+	 * Append the MGRS coordinate with specified grid precision to the
+	 * appendable
+	 * 
+	 * @param appendable
+	 *            appendable
+	 * @param type
+	 *            grid type precision
+	 * @return appendable
+	 * @throws IOException
+	 *             upon failure to append
+	 * @since 2.1.4
+	 */
+	public Appendable appendCoordinate(Appendable appendable, GridType type)
+			throws IOException {
+		int length = coordinateLength(type);
+		for (int i = 0; i < length; i++) {
+			appendable.append(coordinateChar(i, type));
+		}
+		return appendable;
+	}
 
-					mgrs.append(getEastingAndNorthing(type));
+	/**
+	 * Write the MGRS coordinate with specified grid precision into the
+	 * character array
+	 * 
+	 * @param destination
+	 *            destination character array
+	 * @param offset
+	 *            index of the first character to write
+	 * @param type
+	 *            grid type precision
+	 * @return number of characters written
+	 * @since 2.1.4
+	 */
+	public int coordinate(char[] destination, int offset, GridType type) {
+		int length = coordinateLength(type);
+		if (offset < 0 || offset > destination.length - length) {
+			throw new IndexOutOfBoundsException("Invalid offset. offset: "
+					+ offset + ", coordinate length: " + length
+					+ ", array length: " + destination.length);
+		}
+		for (int i = 0; i < length; i++) {
+			destination[offset + i] = coordinateChar(i, type);
+		}
+		return length;
+	}
 
-				}
+	/**
+	 * Write the MGRS coordinate with specified grid precision as ASCII bytes
+	 * into the byte buffer at the current position, advancing the position
+	 * 
+	 * @param buffer
+	 *            destination byte buffer
+	 * @param type
+	 *            grid type precision
+	 * @return number of bytes written
+	 * @throws BufferOverflowException
+	 *             if the buffer does not have enough remaining space
+	 * @since 2.1.4
+	 */
+	public int coordinate(ByteBuffer buffer, GridType type) {
+		int length = coordinateLength(type);
+		if (buffer.remaining() < length) {
+			throw new BufferOverflowException();
+		}
+		for (int i = 0; i < length; i++) {
+			buffer.put((byte) coordinateChar(i, type));
+		}
+		return length;
+	}
 
+	/**
+	 * Get the MGRS coordinate character at the index with specified grid
+	 * precision
+	 * 
+	 * @param index
+	 *            character index, less than the coordinate length
+	 * @param type
+	 *            grid type precision
+	 * @return coordinate character
+	 */
+	private char coordinateChar(int index, GridType type) {
+		char character;
+		if (zone >= 10 && index == 0) {
+			character = (char) ('0' + zone / 10);
+		} else {
+			if (zone >= 10) {
+				index--;
+			}
+			switch (index) {
+			case 0:
+				character = (char) ('0' + zone % 10);
+				break;
+			case 1:
+				character = band;
+				break;
+			case 2:
+				character = column;
+				break;
+			case 3:
+				character = row;
+				break;
+			default:
+				character = eastingAndNorthingChar(index - 4,
+						type.getAccuracy());
 			}
-
 		}
+		return character;
+	}
 
-		return mgrs.toString();
+	/**
+	 * Get the easting and northing character at the index with the accuracy
+	 * number of digits
+	 * 
+	 * @param index
+	 *            easting and northing character index
+	 * @param accuracy
+	 *            accuracy digits
+	 * @return digit character
+	 */
+	private char eastingAndNorthingChar(int index, int accuracy) {
+		long value = easting;
+		if (index >= accuracy) {
+			value = northing;
+			index -= accuracy;
+		}
+		return (char) ('0' + (value / POWERS_OF_TEN[4 - index]) % 10);
 	}
 
 	/**
@@ -276,15 +409,12 @@ public class MGRS {
 	 * @return easting and northing value
 	 */
 	public String getEastingAndNorthing(GridType type) {
-
-		int accuracy = 5 - (int) Math.log10(type.getPrecision());
-
-		String easting = String.format(Locale.getDefault(), "%05d",
-				this.easting);
-		String northing = String.format(Locale.getDefault(), "%05d",
-				this.northing);
-
-		return easting.substring(0, accuracy) + northing.substring(0, accuracy);
+		int accuracy = type.getAccuracy();
+		char[] value = new char[2 * accuracy];
+		for (int i = 0; i < value.length; i++) {
+			value[i] = eastingAndNorthingChar(i, accuracy);
+		}
+		return new String(value);
 	}
 
 	/**
@@ -334,7 +464,7 @@ public class MGRS {
 	 * @return the two letter column and row 100k designator
 	 */
 	public String getColumnRowId() {
-		return String.valueOf(column) + row;
+		return new String(new char[] { column, row });
 	}
 
 	/**
@@ -375,14 +505,7 @@ public class MGRS {
 	 * @return UTM easting
 	 */
 	public double getUTMEasting() {
-
-		// get easting specified by e100k
-		String columnLetters = getColumnLetters(zone);
-		int columnIndex = columnLetters.indexOf(column) + 1;
-		// index+1 since A (index 0) -> 1*100e3, B (index 1) -> 2*100e3, etc.
-		double e100kNum = columnIndex * 100000.0; // e100k in meters
-
-		return e100kNum + easting;
+		return MGRSTables.easting(zone, column, easting);
 	}
 
 	/**
@@ -391,41 +514,238 @@ public class MGRS {
 	 * @return UTM northing
 	 */
 	public double getUTMNorthing() {
+		return MGRSTables.northing(zone, band, row, northing);
+	}
 
-		// get northing specified by n100k
-		String rowLetters = getRowLetters(zone);
-		int rowIndex = rowLetters.indexOf(row);
-		double n100kNum = rowIndex * 100000.0; // n100k in meters
-
-		// get latitude of (bottom of) band
-		double latBand = GridZones.getSouthLatitude(band);
-
-		// northing of bottom of band, extended to include entirety of
-		// bottommost 100km square
-		// (100km square boundaries are aligned with 100km UTM northing
-		// intervals)
-
-		double latBandNorthing = UTM.from(Point.degrees(0, latBand))
-				.getNorthing();
-		double nBand = Math.floor(latBandNorthing / 100000) * 100000;
-
-		// 100km grid square row letters repeat every 2,000km north; add enough
-		// 2,000km blocks to get
-		// into required band
-		double n2M = 0; // northing of 2,000km block
-		while (n2M + n100kNum + northing < nBand) {
-			n2M += 2000000;
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return coordinate();
+	}
+
+	/**
+	 * Get the packed cell key at the MGRS precision
+	 * 
+	 * @return cell key
+	 * @see CellKey
+	 * @since 2.1.4
+	 */
+	public long toKey() {
+		return CellKey.encode(this);
+	}
+
+	/**
+	 * Get the packed cell key at the precision
+	 * 
+	 * @param precision
+	 *            precision grid type
+	 * @return cell key
+	 * @see CellKey
+	 * @since 2.1.4
+	 */
+	public long toKey(GridType precision) {
+		return CellKey.encode(this, precision);
+	}
+
+	/**
+	 * Create from a packed cell key
+	 * 
+	 * @param key
+	 *            cell key
+	 * @return MGRS
+	 * @see CellKey
+	 * @since 2.1.4
+	 */
+	public static MGRS fromKey(long key) {
+		return CellKey.decode(key);
+	}
+
+	/**
+	 * Get the parent cell containing the coordinate at a coarser or equal
+	 * precision
+	 * 
+	 * @param precision
+	 *            parent precision grid type,
+	 *            {@link GridType#HUNDRED_KILOMETER} through the coordinate
+	 *            precision
+	 * @return parent MGRS
+	 * @see CellNavigation#parent(long, GridType)
+	 * @since 2.1.4
+	 */
+	public MGRS getParent(GridType precision) {
+		return CellKey.decode(CellNavigation.parent(toKey(), precision));
+	}
+
+	/**
+	 * Get the child cells of the coordinate cell at a finer or equal
+	 * precision within the grid zone
+	 * 
+	 * @param precision
+	 *            child precision grid type, the coordinate precision through
+	 *            {@link GridType#METER}
+	 * @return child MGRS coordinates
+	 * @see CellNavigation#children(long, GridType)
+	 * @since 2.1.4
+	 */
+	public List<MGRS> getChildren(GridType precision) {
+		return toList(CellNavigation.children(toKey(), precision));
+	}
+
+	/**
+	 * Get the neighbor cell of the coordinate cell at the precision, offset by
+	 * columns and rows of cells
+	 * 
+	 * @param precision
+	 *            precision grid type
+	 * @param columns
+	 *            column offset, positive to the east
+	 * @param rows
+	 *            row offset, positive to the north
+	 * @return neighbor MGRS or null if outside of the MGRS latitudes
+	 * @see CellNavigation#neighbor(long, int, int)
+	 * @since 2.1.4
+	 */
+	public MGRS getNeighbor(GridType precision, int columns, int rows) {
+		MGRS neighbor = null;
+		long key = CellNavigation.neighbor(toKey(precision), columns, rows);
+		if (key != CellKey.INVALID) {
+			neighbor = CellKey.decode(key);
 		}
+		return neighbor;
+	}
 
-		return n2M + n100kNum + northing;
+	/**
+	 * Get the distinct 8 neighbor cells of the coordinate cell at the
+	 * precision, in north, east, south, west, northeast, southeast,
+	 * southwest, and northwest order
+	 * 
+	 * @param precision
+	 *            precision grid type
+	 * @return neighbor MGRS coordinates
+	 * @see CellNavigation#neighbors(long, boolean)
+	 * @since 2.1.4
+	 */
+	public List<MGRS> getNeighbors(GridType precision) {
+		return getNeighbors(precision, true);
+	}
+
+	/**
+	 * Get the distinct 4 or 8 neighbor cells of the coordinate cell at the
+	 * precision, in north, east, south, west order followed by northeast,
+	 * southeast, southwest, and northwest when including diagonals
+	 * 
+	 * @param precision
+	 *            precision grid type
+	 * @param diagonal
+	 *            true to include the diagonal neighbors
+	 * @return neighbor MGRS coordinates
+	 * @see CellNavigation#neighbors(long, boolean)
+	 * @since 2.1.4
+	 */
+	public List<MGRS> getNeighbors(GridType precision, boolean diagonal) {
+		return toList(
+				CellNavigation.neighbors(toKey(precision), diagonal));
+	}
+
+	/**
+	 * Decode the cell keys into MGRS coordinates
+	 * 
+	 * @param keys
+	 *            cell keys
+	 * @return MGRS coordinates
+	 */
+	private static List<MGRS> toList(CellList keys) {
+		List<MGRS> list = new ArrayList<>(keys.size());
+		for (int i = 0; i < keys.size(); i++) {
+			list.add(keys.getMGRS(i));
+		}
+		return list;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public String toString() {
-		return coordinate();
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + zone;
+		result = prime * result + band;
+		result = prime * result + column;
+		result = prime * result + row;
+		result = prime * result + Long.hashCode(easting);
+		result = prime * result + Long.hashCode(northing);
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MGRS other = (MGRS) obj;
+		if (zone != other.zone)
+			return false;
+		if (band != other.band)
+			return false;
+		if (column != other.column)
+			return false;
+		if (row != other.row)
+			return false;
+		if (easting != other.easting)
+			return false;
+		if (northing != other.northing)
+			return false;
+		return true;
+	}
+
+	/**
+	 * Compare by zone number, band letter, 100km square (column then row in
+	 * zone letter order), easting, and northing, matching the
+	 * {@link CellKey} ordering. The band letter precedes the 100km square as
+	 * it selects the 2,000km cycle of the repeating 100km row letters.
+	 * 
+	 * @since 2.1.4
+	 */
+	@Override
+	public int compareTo(MGRS other) {
+		int compare = Integer.compare(zone, other.zone);
+		if (compare == 0) {
+			compare = Integer.compare(MGRSTables.bandIndex(band),
+					MGRSTables.bandIndex(other.band));
+		}
+		if (compare == 0) {
+			compare = Character.compare(band, other.band);
+		}
+		if (compare == 0) {
+			compare = Integer.compare(MGRSTables.columnIndex(zone, column),
+					MGRSTables.columnIndex(zone, other.column));
+		}
+		if (compare == 0) {
+			compare = Character.compare(column, other.column);
+		}
+		if (compare == 0) {
+			compare = Integer.compare(MGRSTables.rowIndex(zone, row),
+					MGRSTables.rowIndex(zone, other.row));
+		}
+		if (compare == 0) {
+			compare = Character.compare(row, other.row);
+		}
+		if (compare == 0) {
+			compare = Long.compare(easting, other.easting);
+		}
+		if (compare == 0) {
+			compare = Long.compare(northing, other.northing);
+		}
+		return compare;
 	}
 
 	/**
@@ -436,20 +756,73 @@ public class MGRS {
 	 * @return true if MGRS string is valid, false otherwise
 	 */
 	public static boolean isMGRS(String mgrs) {
-		mgrs = removeSpaces(mgrs);
-		return mgrsPattern.matcher(mgrs).matches()
-				&& !mgrsInvalidPattern.matcher(mgrs).matches();
+		return isMGRS(mgrs, 0, mgrs.length());
 	}
 
 	/**
-	 * Removed spaces from the value
-	 * 
-	 * @param value
-	 *            value string
-	 * @return value without spaces
+	 * Return whether the character sequence range is a valid MGRS value
+	 *
+	 * @param mgrs
+	 *            character sequence containing a potential MGRS value
+	 * @param start
+	 *            start index, inclusive
+	 * @param end
+	 *            end index, exclusive
+	 * @return true if MGRS value is valid, false otherwise
+	 * @since 2.1.4
 	 */
-	private static String removeSpaces(String value) {
-		return value.replaceAll("\\s", "");
+	public static boolean isMGRS(CharSequence mgrs, int start, int end) {
+		validateRange(mgrs, start, end);
+		return scan(new MGRSScanner(), mgrs, start, end) == ParseStatus.VALID;
+	}
+
+	/**
+	 * Return whether the character array range is a valid MGRS value
+	 *
+	 * @param mgrs
+	 *            character array containing a potential MGRS value
+	 * @param offset
+	 *            index of the first character
+	 * @param length
+	 *            number of characters
+	 * @return true if MGRS value is valid, false otherwise
+	 * @since 2.1.4
+	 */
+	public static boolean isMGRS(char[] mgrs, int offset, int length) {
+		return isMGRS(CharBuffer.wrap(mgrs, offset, length), 0, length);
+	}
+
+	/**
+	 * Return whether the ASCII byte array range is a valid MGRS value
+	 *
+	 * @param mgrs
+	 *            ASCII byte array containing a potential MGRS value
+	 * @param offset
+	 *            index of the first byte
+	 * @param length
+	 *            number of bytes
+	 * @return true if MGRS value is valid, false otherwise
+	 * @since 2.1.4
+	 */
+	public static boolean isMGRS(byte[] mgrs, int offset, int length) {
+		return isMGRS(new AsciiCharSequence(mgrs, offset, length), 0, length);
+	}
+
+	/**
+	 * Return whether the ASCII byte buffer range is a valid MGRS value. The
+	 * buffer position and limit are not modified.
+	 *
+	 * @param mgrs
+	 *            ASCII byte buffer containing a potential MGRS value
+	 * @param offset
+	 *            absolute index of the first byte
+	 * @param length
+	 *            number of bytes
+	 * @return true if MGRS value is valid, false otherwise
+	 * @since 2.1.4
+	 */
+	public static boolean isMGRS(ByteBuffer mgrs, int offset, int length) {
+		return isMGRS(new AsciiCharSequence(mgrs, offset, length), 0, length);
 	}
 
 	/**
@@ -460,47 +833,152 @@ public class MGRS {
 	 * @return MGRS
 	 */
 	public static MGRS from(Point point) {
+		point = point.toDegrees();
+		return from(point.getLongitude(), point.getLatitude());
+	}
 
-		point = point.copy().toDegrees();
+	/**
+	 * Convert the coordinate to MGRS
+	 *
+	 * @param longitude
+	 *            longitude
+	 * @param latitude
+	 *            latitude
+	 * @return MGRS
+	 * @since 2.1.1
+	 */
+	public static MGRS from(double longitude, double latitude) {
 
-		// Bound the latitude if needed
-		if (point.getLatitude() < MGRSConstants.MIN_LAT) {
-			point.setLatitude(MGRSConstants.MIN_LAT);
-		} else if (point.getLatitude() > MGRSConstants.MAX_LAT) {
-			point.setLatitude(MGRSConstants.MAX_LAT);
-		}
+		// Bound the latitude and normalize the longitude if needed
+		latitude = MGRSUtils.boundLatitude(latitude);
+		longitude = MGRSUtils.normalizeLongitude(longitude);
 
-		// Normalize the longitude if needed
-		GeometryUtils.normalizeWGS84(point);
+		int zone = GridZones.getZoneNumber(longitude, latitude);
+		Hemisphere hemisphere = Hemisphere.fromLatitude(latitude);
 
-		UTM utm = UTM.from(point);
+		double utmEasting = UTM.easting(longitude, latitude, zone);
+		double utmNorthing = UTM.northing(longitude, latitude, zone,
+				hemisphere);
 
-		char bandLetter = GridZones.getBandLetter(point.getLatitude());
+		char bandLetter = GridZones.getBandLetter(latitude);
 
-		char columnLetter = getColumnLetter(utm);
+		char columnLetter = getColumnLetter(zone, utmEasting);
 
-		char rowLetter = getRowLetter(utm);
+		char rowLetter = getRowLetter(zone, utmNorthing);
 
 		// truncate easting/northing to within 100km grid square
-		long easting = (long) (utm.getEasting() % 100000);
-		long northing = (long) (utm.getNorthing() % 100000);
+		long easting = (long) (utmEasting % 100000);
+		long northing = (long) (utmNorthing % 100000);
 
-		return MGRS.create(utm.getZone(), bandLetter, columnLetter, rowLetter,
-				easting, northing);
+		return MGRS.create(zone, bandLetter, columnLetter, rowLetter, easting,
+				northing);
 	}
 
 	/**
-	 * Convert the coordinate to MGRS
-	 *
-	 * @param longitude
-	 *            longitude
-	 * @param latitude
-	 *            latitude
-	 * @return MGRS
-	 * @since 2.1.1
+	 * Convert the longitude and latitude coordinate arrays to MGRS values,
+	 * populating the parallel MGRS attribute arrays at the same indices
+	 * without creating any per coordinate objects
+	 * 
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param zones
+	 *            zone numbers to populate, or null
+	 * @param bands
+	 *            band letters to populate, or null
+	 * @param columns
+	 *            column letters to populate, or null
+	 * @param rows
+	 *            row letters to populate, or null
+	 * @param eastings
+	 *            eastings to populate, or null
+	 * @param northings
+	 *            northings to populate, or null
+	 * @since 2.1.4
 	 */
-	public static MGRS from(double longitude, double latitude) {
-		return from(Point.degrees(longitude, latitude));
+	public static void from(double[] longitudes, double[] latitudes,
+			int[] zones, char[] bands, char[] columns, char[] rows,
+			long[] eastings, long[] northings) {
+		from(longitudes, latitudes, 0, longitudes.length, zones, bands,
+				columns, rows, eastings, northings);
+	}
+
+	/**
+	 * Convert a range of the longitude and latitude coordinate arrays to MGRS
+	 * values, populating the parallel MGRS attribute arrays at the same
+	 * indices without creating any per coordinate objects
+	 * 
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param offset
+	 *            first coordinate index
+	 * @param length
+	 *            number of coordinates
+	 * @param zones
+	 *            zone numbers to populate, or null
+	 * @param bands
+	 *            band letters to populate, or null
+	 * @param columns
+	 *            column letters to populate, or null
+	 * @param rows
+	 *            row letters to populate, or null
+	 * @param eastings
+	 *            eastings to populate, or null
+	 * @param northings
+	 *            northings to populate, or null
+	 * @since 2.1.4
+	 */
+	public static void from(double[] longitudes, double[] latitudes,
+			int offset, int length, int[] zones, char[] bands, char[] columns,
+			char[] rows, long[] eastings, long[] northings) {
+
+		if (offset < 0 || length < 0 || offset + length > longitudes.length
+				|| offset + length > latitudes.length) {
+			throw new IndexOutOfBoundsException(
+					"Invalid coordinate range. offset: " + offset + ", length: "
+							+ length + ", longitudes: " + longitudes.length
+							+ ", latitudes: " + latitudes.length);
+		}
+
+		double[] eastingNorthing = new double[2];
+
+		int end = offset + length;
+		for (int i = offset; i < end; i++) {
+
+			double latitude = MGRSUtils.boundLatitude(latitudes[i]);
+			double longitude = MGRSUtils.normalizeLongitude(longitudes[i]);
+
+			int zone = GridZones.getZoneNumber(longitude, latitude);
+			Hemisphere hemisphere = Hemisphere.fromLatitude(latitude);
+
+			UTM.from(longitude, latitude, zone, hemisphere, eastingNorthing);
+			double utmEasting = eastingNorthing[0];
+			double utmNorthing = eastingNorthing[1];
+
+			if (zones != null) {
+				zones[i] = zone;
+			}
+			if (bands != null) {
+				bands[i] = GridZones.getBandLetter(latitude);
+			}
+			if (columns != null) {
+				columns[i] = getColumnLetter(zone, utmEasting);
+			}
+			if (rows != null) {
+				rows[i] = getRowLetter(zone, utmNorthing);
+			}
+			if (eastings != null) {
+				eastings[i] = (long) (utmEasting % 100000);
+			}
+			if (northings != null) {
+				northings[i] = (long) (utmNorthing % 100000);
+			}
+
+		}
+
 	}
 
 	/**
@@ -513,88 +991,222 @@ public class MGRS {
 	 *             upon failure to parse the MGRS string
 	 */
 	public static MGRS parse(String mgrs) throws ParseException {
-		Matcher matcher = mgrsPattern.matcher(removeSpaces(mgrs));
-		if (!matcher.matches()) {
-			throw new ParseException("Invalid MGRS: " + mgrs, 0);
+		return parse(mgrs, 0, mgrs.length());
+	}
+
+	/**
+	 * Parse a MGRS value from a range of a character sequence, such as a
+	 * {@link StringBuilder} or {@link CharBuffer}, without creating a string
+	 * 
+	 * @param mgrs
+	 *            character sequence containing a MGRS value
+	 * @param start
+	 *            start index, inclusive
+	 * @param end
+	 *            end index, exclusive
+	 * @return MGRS
+	 * @throws ParseException
+	 *             upon failure to parse the MGRS value
+	 * @since 2.1.4
+	 */
+	public static MGRS parse(CharSequence mgrs, int start, int end)
+			throws ParseException {
+		MGRSParseResult result = new MGRSParseResult();
+		MGRS mgrsValue = tryParse(mgrs, start, end, result);
+		if (mgrsValue == null) {
+			throw new ParseException("Invalid MGRS (" + result.getStatus()
+					+ "): " + mgrs.subSequence(start, end), 0);
 		}
+		return mgrsValue;
+	}
+
+	/**
+	 * Parse a MGRS string without throwing a {@link ParseException} on
+	 * failure
+	 * 
+	 * @param mgrs
+	 *            MGRS string
+	 * @return MGRS or null if not valid
+	 * @since 2.1.4
+	 */
+	public static MGRS tryParse(String mgrs) {
+		return tryParse(mgrs, 0, mgrs.length(), new MGRSParseResult());
+	}
 
-		int zone = Integer.parseInt(matcher.group(1));
-		char band = matcher.group(2).toUpperCase().charAt(0);
+	/**
+	 * Parse a MGRS value without throwing a {@link ParseException} on
+	 * failure, reporting the status in a reusable result
+	 * 
+	 * @param mgrs
+	 *            character sequence containing a MGRS value
+	 * @param result
+	 *            reusable parse result
+	 * @return MGRS or null if not valid
+	 * @since 2.1.4
+	 */
+	public static MGRS tryParse(CharSequence mgrs, MGRSParseResult result) {
+		return tryParse(mgrs, 0, mgrs.length(), result);
+	}
 
-		GridZone gridZone = GridZones.getGridZone(zone, band);
-		if (gridZone == null) {
-			throw new ParseException("Invalid MGRS: " + mgrs, 0);
+	/**
+	 * Parse a MGRS value from a range of a character sequence without
+	 * throwing a {@link ParseException} on failure, reporting the status in a
+	 * reusable result
+	 * 
+	 * @param mgrs
+	 *            character sequence containing a MGRS value
+	 * @param start
+	 *            start index, inclusive
+	 * @param end
+	 *            end index, exclusive
+	 * @param result
+	 *            reusable parse result
+	 * @return MGRS or null if not valid
+	 * @since 2.1.4
+	 */
+	public static MGRS tryParse(CharSequence mgrs, int start, int end,
+			MGRSParseResult result) {
+		validateRange(mgrs, start, end);
+		MGRSScanner scanner = result.getScanner();
+		ParseStatus status = scan(scanner, mgrs, start, end);
+		MGRS mgrsValue = null;
+		if (status == ParseStatus.VALID) {
+			mgrsValue = create(scanner);
+		}
+		result.setResult(status, mgrsValue);
+		return mgrsValue;
+	}
+
+	/**
+	 * Scan and validate a MGRS value from a range of a character sequence,
+	 * checking the zone number range, Svalbard gap grid zones, and the 100k
+	 * column letters of the zone
+	 * 
+	 * @param scanner
+	 *            MGRS scanner
+	 * @param mgrs
+	 *            character sequence containing a MGRS value
+	 * @param start
+	 *            start index, inclusive
+	 * @param end
+	 *            end index, exclusive
+	 * @return parse status
+	 */
+	private static ParseStatus scan(MGRSScanner scanner, CharSequence mgrs,
+			int start, int end) {
+		ParseStatus status = ParseStatus.VALID;
+		if (!scanner.scan(mgrs, start, end)) {
+			status = scanner.getStatus();
+		} else if (scanner.getZone() < MGRSConstants.MIN_ZONE_NUMBER
+				|| scanner.getZone() > MGRSConstants.MAX_ZONE_NUMBER) {
+			status = ParseStatus.INVALID_ZONE;
+		} else if (scanner.isSvalbardGap()) {
+			status = ParseStatus.SVALBARD_GAP;
+		} else if (scanner.hasColumnRow() && MGRSTables.columnIndex(
+				scanner.getZone(), scanner.getColumn()) < 0) {
+			status = ParseStatus.INVALID_100K_SQUARE;
 		}
+		return status;
+	}
+
+	/**
+	 * Parse a MGRS value from a range of a character array without throwing
+	 * a {@link ParseException} on failure, reporting the status in a reusable
+	 * result
+	 * 
+	 * @param mgrs
+	 *            character array containing a MGRS value
+	 * @param offset
+	 *            index of the first character
+	 * @param length
+	 *            number of characters
+	 * @param result
+	 *            reusable parse result
+	 * @return MGRS or null if not valid
+	 * @since 2.1.4
+	 */
+	public static MGRS tryParse(char[] mgrs, int offset, int length,
+			MGRSParseResult result) {
+		return tryParse(CharBuffer.wrap(mgrs, offset, length), 0, length,
+				result);
+	}
+
+	/**
+	 * Parse a MGRS value from a range of an ASCII byte array without throwing
+	 * a {@link ParseException} on failure, reporting the status in a reusable
+	 * result
+	 * 
+	 * @param mgrs
+	 *            ASCII byte array containing a MGRS value
+	 * @param offset
+	 *            index of the first byte
+	 * @param length
+	 *            number of bytes
+	 * @param result
+	 *            reusable parse result
+	 * @return MGRS or null if not valid
+	 * @since 2.1.4
+	 */
+	public static MGRS tryParse(byte[] mgrs, int offset, int length,
+			MGRSParseResult result) {
+		return tryParse(new AsciiCharSequence(mgrs, offset, length), 0,
+				length, result);
+	}
+
+	/**
+	 * Parse a MGRS value from a range of an ASCII byte buffer without
+	 * throwing a {@link ParseException} on failure, reporting the status in a
+	 * reusable result. The buffer position and limit are not modified.
+	 * 
+	 * @param mgrs
+	 *            ASCII byte buffer containing a MGRS value
+	 * @param offset
+	 *            absolute index of the first byte
+	 * @param length
+	 *            number of bytes
+	 * @param result
+	 *            reusable parse result
+	 * @return MGRS or null if not valid
+	 * @since 2.1.4
+	 */
+	public static MGRS tryParse(ByteBuffer mgrs, int offset, int length,
+			MGRSParseResult result) {
+		return tryParse(new AsciiCharSequence(mgrs, offset, length), 0,
+				length, result);
+	}
+
+	/**
+	 * Create a MGRS from a successful scan of a valid grid zone
+	 * 
+	 * @param scanner
+	 *            MGRS scanner
+	 * @return MGRS
+	 */
+	private static MGRS create(MGRSScanner scanner) {
+
+		int zone = scanner.getZone();
+		char band = scanner.getBand();
+
+		GridZone gridZone = GridZones.getGridZone(zone, band);
 
 		MGRS mgrsValue = null;
 
-		String columnRow = matcher.group(3);
-		if (columnRow != null) {
-
-			columnRow = columnRow.toUpperCase();
-			char column = columnRow.charAt(0);
-			char row = columnRow.charAt(1);
-
-			// parse easting & northing
-			long easting = 0;
-			long northing = 0;
-			String location = matcher.group(4);
-			if (!location.isEmpty()) {
-				int precision = location.length() / 2;
-				double multiplier = Math.pow(10.0, 5 - precision);
-				easting = (long) (Double.parseDouble(
-						location.substring(0, precision)) * multiplier);
-				northing = (long) (Double.parseDouble(
-						location.substring(precision)) * multiplier);
-			}
+		if (scanner.hasColumnRow()) {
+
+			char column = scanner.getColumn();
+			char row = scanner.getRow();
+			long easting = scanner.getEasting();
+			long northing = scanner.getNorthing();
 
 			mgrsValue = MGRS.create(zone, band, column, row, easting, northing);
 
-			if (location.isEmpty()) {
-
-				Point point = mgrsValue.toPoint().toDegrees();
-				Bounds gridBounds = gridZone.getBounds();
-				Point gridSouthwest = gridBounds.getSouthwest().toDegrees();
-
-				boolean westBounds = point.getLongitude() < gridSouthwest
-						.getLongitude();
-				boolean southBounds = point.getLatitude() < gridSouthwest
-						.getLatitude();
-
-				if (westBounds || southBounds) {
-
-					if (westBounds && southBounds) {
-						Point northeast = MGRS.create(zone, band, column, row,
-								GridType.HUNDRED_KILOMETER.getPrecision(),
-								GridType.HUNDRED_KILOMETER.getPrecision())
-								.toPoint();
-						if (gridBounds.contains(northeast)) {
-							mgrsValue = from(gridSouthwest);
-						}
-					} else if (westBounds) {
-						Point east = MGRS
-								.create(zone, band, column, row,
-										GridType.HUNDRED_KILOMETER
-												.getPrecision(),
-										northing)
-								.toPoint();
-						if (gridBounds.contains(east)) {
-							Point intersection = getWesternBoundsPoint(gridZone,
-									point, east);
-							mgrsValue = from(intersection);
-						}
-					} else if (southBounds) {
-						Point north = MGRS.create(zone, band, column, row,
-								easting,
-								GridType.HUNDRED_KILOMETER.getPrecision())
-								.toPoint();
-						if (gridBounds.contains(north)) {
-							Point intersection = getSouthernBoundsPoint(
-									gridZone, point, north);
-							mgrsValue = from(intersection);
-						}
-					}
+			if (scanner.getDigits() == 0) {
 
+				// Move squares extending west or south of the grid zone to
+				// the grid zone bounds
+				GridSquare square = gridZone.getSquare(column, row);
+				if (square != null) {
+					mgrsValue = square.getOrigin();
 				}
 
 			}
@@ -607,87 +1219,81 @@ public class MGRS {
 	}
 
 	/**
-	 * Get the point on the western grid zone bounds point between the western
-	 * and eastern points
+	 * Parse a MGRS value from a range of a character array without copying
 	 * 
-	 * @param gridZone
-	 *            grid zone
-	 * @param west
-	 *            western point
-	 * @param east
-	 *            eastern point
-	 * @return western grid bounds point
+	 * @param mgrs
+	 *            character array containing a MGRS value
+	 * @param offset
+	 *            index of the first character
+	 * @param length
+	 *            number of characters
+	 * @return MGRS
+	 * @throws ParseException
+	 *             upon failure to parse the MGRS value
+	 * @since 2.1.4
 	 */
-	private static Point getWesternBoundsPoint(GridZone gridZone, Point west,
-			Point east) {
-
-		UTM eastUTM = UTM.from(east);
-		double northing = eastUTM.getNorthing();
-
-		int zoneNumber = gridZone.getNumber();
-		Hemisphere hemisphere = gridZone.getHemisphere();
-
-		Line line = Line.line(west, east);
-		Line boundsLine = gridZone.getBounds().getWestLine();
-
-		Point intersection = line.intersection(boundsLine);
-
-		// Intersection easting
-		UTM intersectionUTM = UTM.from(intersection, zoneNumber, hemisphere);
-		double intersectionEasting = intersectionUTM.getEasting();
-
-		// One meter precision just inside the bounds
-		double boundsEasting = Math.ceil(intersectionEasting);
-
-		// Higher precision point just inside of the bounds
-		Point boundsPoint = UTM.point(zoneNumber, hemisphere, boundsEasting,
-				northing);
-
-		boundsPoint.setLongitude(boundsLine.getPoint1().getLongitude());
-
-		return boundsPoint;
+	public static MGRS parse(char[] mgrs, int offset, int length)
+			throws ParseException {
+		return parse(CharBuffer.wrap(mgrs, offset, length), 0, length);
 	}
 
 	/**
-	 * Get the point on the southern grid zone bounds point between the southern
-	 * and northern points
+	 * Parse a MGRS value from a range of an ASCII byte array without copying
+	 * or decoding
 	 * 
-	 * @param gridZone
-	 *            grid zone
-	 * @param south
-	 *            southern point
-	 * @param north
-	 *            northern point
-	 * @return southern grid bounds point
+	 * @param mgrs
+	 *            ASCII byte array containing a MGRS value
+	 * @param offset
+	 *            index of the first byte
+	 * @param length
+	 *            number of bytes
+	 * @return MGRS
+	 * @throws ParseException
+	 *             upon failure to parse the MGRS value
+	 * @since 2.1.4
 	 */
-	private static Point getSouthernBoundsPoint(GridZone gridZone, Point south,
-			Point north) {
-
-		UTM northUTM = UTM.from(north);
-		double easting = northUTM.getEasting();
-
-		int zoneNumber = gridZone.getNumber();
-		Hemisphere hemisphere = gridZone.getHemisphere();
-
-		Line line = Line.line(south, north);
-		Line boundsLine = gridZone.getBounds().getSouthLine();
-
-		Point intersection = line.intersection(boundsLine);
-
-		// Intersection northing
-		UTM intersectionUTM = UTM.from(intersection, zoneNumber, hemisphere);
-		double intersectionNorthing = intersectionUTM.getNorthing();
-
-		// One meter precision just inside the bounds
-		double boundsNorthing = Math.ceil(intersectionNorthing);
-
-		// Higher precision point just inside of the bounds
-		Point boundsPoint = UTM.point(zoneNumber, hemisphere, easting,
-				boundsNorthing);
+	public static MGRS parse(byte[] mgrs, int offset, int length)
+			throws ParseException {
+		return parse(new AsciiCharSequence(mgrs, offset, length), 0, length);
+	}
 
-		boundsPoint.setLatitude(boundsLine.getPoint1().getLatitude());
+	/**
+	 * Parse a MGRS value from a range of an ASCII byte buffer without copying
+	 * or decoding. The buffer position and limit are not modified.
+	 * 
+	 * @param mgrs
+	 *            ASCII byte buffer containing a MGRS value
+	 * @param offset
+	 *            absolute index of the first byte
+	 * @param length
+	 *            number of bytes
+	 * @return MGRS
+	 * @throws ParseException
+	 *             upon failure to parse the MGRS value
+	 * @since 2.1.4
+	 */
+	public static MGRS parse(ByteBuffer mgrs, int offset, int length)
+			throws ParseException {
+		return parse(new AsciiCharSequence(mgrs, offset, length), 0, length);
+	}
 
-		return boundsPoint;
+	/**
+	 * Validate the start (inclusive) and end (exclusive) range within the
+	 * character sequence
+	 * 
+	 * @param value
+	 *            character sequence
+	 * @param start
+	 *            start index, inclusive
+	 * @param end
+	 *            end index, exclusive
+	 */
+	private static void validateRange(CharSequence value, int start,
+			int end) {
+		if (start < 0 || end < start || end > value.length()) {
+			throw new IndexOutOfBoundsException("Invalid range. start: "
+					+ start + ", end: " + end + ", length: " + value.length());
+		}
 	}
 
 	/**
@@ -700,22 +1306,15 @@ public class MGRS {
 	 *             upon failure to parse the MGRS string
 	 */
 	public static GridType precision(String mgrs) throws ParseException {
-		Matcher matcher = mgrsPattern.matcher(removeSpaces(mgrs));
-		if (!matcher.matches()) {
+		MGRSScanner scanner = new MGRSScanner();
+		if (!scanner.scan(mgrs)) {
 			throw new ParseException("Invalid MGRS: " + mgrs, 0);
 		}
 
 		GridType precision = null;
 
-		if (matcher.group(3) != null) {
-
-			String location = matcher.group(4);
-			if (!location.isEmpty()) {
-				precision = GridType.withAccuracy(location.length() / 2);
-			} else {
-				precision = GridType.HUNDRED_KILOMETER;
-			}
-
+		if (scanner.hasColumnRow()) {
+			precision = GridType.withAccuracy(scanner.getDigits() / 2);
 		} else {
 			precision = GridType.GZD;
 		}
@@ -782,8 +1381,7 @@ public class MGRS {
 		// columns in zone 1 are A-H, zone 2 J-R, zone 3 S-Z, then repeating
 		// every 3rd zone
 		int column = (int) Math.floor(easting / 100000);
-		String columnLetters = getColumnLetters(zoneNumber);
-		return columnLetters.charAt(column - 1);
+		return MGRSTables.columnLetter(zoneNumber, column - 1);
 	}
 
 	/**
@@ -809,30 +1407,7 @@ public class MGRS {
 	public static char getRowLetter(int zoneNumber, double northing) {
 		// rows in even zones are A-V, in odd zones are F-E
 		int row = (int) Math.floor(northing / 100000) % 20;
-		String rowLetters = getRowLetters(zoneNumber);
-		return rowLetters.charAt(row);
-	}
-
-	/**
-	 * Get the column letters for the zone number
-	 * 
-	 * @param zoneNumber
-	 *            zone number
-	 * @return column letters
-	 */
-	private static String getColumnLetters(int zoneNumber) {
-		return columnLetters[(zoneNumber - 1) % 3];
-	}
-
-	/**
-	 * Get the row letters for the zone number
-	 * 
-	 * @param zoneNumber
-	 *            zone number
-	 * @return row letters
-	 */
-	private static String getRowLetters(int zoneNumber) {
-		return rowLetters[(zoneNumber - 1) % 2];
+		return MGRSTables.rowLetter(zoneNumber, row);
 	}
 
 }
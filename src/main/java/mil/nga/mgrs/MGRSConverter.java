@@ -0,0 +1,360 @@
+package mil.nga.mgrs;
+
+import java.util.Map;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.cell.CellKey;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Stateful MGRS conversion session for sequences of nearby coordinates such
+ * as cursor readouts and GPS tracks. The grid zone, band, and 100km square of
+ * the previous coordinate are cached and validated with bounds comparisons,
+ * performing the full zone number, Norway and Svalbard, band letter, and
+ * column and row letter lookups only when a boundary is crossed. Without zone
+ * hysteresis, conversions are identical to {@link MGRS#from(double, double)}.
+ *
+ * With zone hysteresis, a track remains in its current zone number until it
+ * moves the hysteresis degrees of longitude past the zone edge, avoiding
+ * repeated zone switching for tracks following a zone boundary. Coordinates
+ * kept in a neighboring zone are valid UTM coordinates of that zone, the same
+ * as {@link UTM#from(Point, int, Hemisphere)}.
+ *
+ * A session is not thread safe.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class MGRSConverter {
+
+	/**
+	 * 100km square size in meters
+	 */
+	private static final double SQUARE_SIZE = MGRSTables.SQUARE_SIZE;
+
+	/**
+	 * Minimum easting of a kept neighboring zone coordinate, the west edge of
+	 * the first 100km column
+	 */
+	private static final double MIN_EASTING = SQUARE_SIZE;
+
+	/**
+	 * Maximum easting of a kept neighboring zone coordinate, the east edge of
+	 * the last 100km column
+	 */
+	private static final double MAX_EASTING = SQUARE_SIZE
+			* (MGRSTables.COLUMNS + 1);
+
+	/**
+	 * Zone hysteresis in degrees of longitude
+	 */
+	private double zoneHysteresis;
+
+	/**
+	 * Current zone number, 0 before the first conversion
+	 */
+	private int zone;
+
+	/**
+	 * Current band letter
+	 */
+	private char band;
+
+	/**
+	 * Current hemisphere
+	 */
+	private Hemisphere hemisphere;
+
+	/**
+	 * Current grid zone western longitude
+	 */
+	private double west;
+
+	/**
+	 * Current grid zone eastern longitude
+	 */
+	private double east;
+
+	/**
+	 * Current grid zone southern latitude
+	 */
+	private double south;
+
+	/**
+	 * Current grid zone northern latitude
+	 */
+	private double north;
+
+	/**
+	 * Current 100km column, -1 when not cached
+	 */
+	private int squareColumn = -1;
+
+	/**
+	 * Current 100km row
+	 */
+	private int squareRow;
+
+	/**
+	 * Current column letter
+	 */
+	private char columnLetter;
+
+	/**
+	 * Current row letter
+	 */
+	private char rowLetter;
+
+	/**
+	 * UTM easting and northing of the last conversion
+	 */
+	private final double[] eastingNorthing = new double[2];
+
+	/**
+	 * Constructor, without zone hysteresis
+	 */
+	public MGRSConverter() {
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param zoneHysteresis
+	 *            zone hysteresis in degrees of longitude, 0 for none
+	 */
+	public MGRSConverter(double zoneHysteresis) {
+		setZoneHysteresis(zoneHysteresis);
+	}
+
+	/**
+	 * Get the zone hysteresis
+	 *
+	 * @return zone hysteresis in degrees of longitude
+	 */
+	public double getZoneHysteresis() {
+		return zoneHysteresis;
+	}
+
+	/**
+	 * Set the zone hysteresis, the degrees of longitude a coordinate may move
+	 * past the edge of the current zone before changing zones
+	 *
+	 * @param zoneHysteresis
+	 *            zone hysteresis in degrees of longitude, 0 for none
+	 */
+	public void setZoneHysteresis(double zoneHysteresis) {
+		if (!(zoneHysteresis >= 0
+				&& zoneHysteresis <= MGRSConstants.ZONE_WIDTH)) {
+			throw new IllegalArgumentException(
+					"Zone hysteresis must be between 0 and "
+							+ MGRSConstants.ZONE_WIDTH
+							+ " degrees. hysteresis: " + zoneHysteresis);
+		}
+		this.zoneHysteresis = zoneHysteresis;
+	}
+
+	/**
+	 * Get the zone number of the last conversion
+	 *
+	 * @return zone number, 0 before the first conversion
+	 */
+	public int getZone() {
+		return zone;
+	}
+
+	/**
+	 * Get the band letter of the last conversion
+	 *
+	 * @return band letter, 0 before the first conversion
+	 */
+	public char getBand() {
+		return band;
+	}
+
+	/**
+	 * Clear the cached grid zone and 100km square
+	 */
+	public void reset() {
+		zone = 0;
+		band = 0;
+		hemisphere = null;
+		squareColumn = -1;
+	}
+
+	/**
+	 * Convert the point to MGRS
+	 *
+	 * @param point
+	 *            point
+	 * @return MGRS
+	 */
+	public MGRS convert(Point point) {
+		point = point.toDegrees();
+		return convert(point.getLongitude(), point.getLatitude());
+	}
+
+	/**
+	 * Convert the longitude and latitude to MGRS
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @return MGRS
+	 */
+	public MGRS convert(double longitude, double latitude) {
+
+		locate(longitude, latitude);
+
+		double utmEasting = eastingNorthing[0];
+		double utmNorthing = eastingNorthing[1];
+		int column = (int) Math.floor(utmEasting / SQUARE_SIZE);
+		int row = (int) Math.floor(utmNorthing / SQUARE_SIZE);
+		if (column != squareColumn || row != squareRow) {
+			columnLetter = MGRS.getColumnLetter(zone, utmEasting);
+			rowLetter = MGRS.getRowLetter(zone, utmNorthing);
+			squareColumn = column;
+			squareRow = row;
+		}
+
+		// truncate easting/northing to within 100km grid square
+		long easting = (long) (utmEasting % SQUARE_SIZE);
+		long northing = (long) (utmNorthing % SQUARE_SIZE);
+
+		return MGRS.create(zone, band, columnLetter, rowLetter, easting,
+				northing);
+	}
+
+	/**
+	 * Encode the longitude and latitude as a cell key at the precision
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell key
+	 */
+	public long encode(double longitude, double latitude,
+			GridType precision) {
+		locate(longitude, latitude);
+		return CellKey.fromUTM(zone, band, eastingNorthing[0],
+				eastingNorthing[1], precision);
+	}
+
+	/**
+	 * Locate the grid zone and project the UTM easting and northing of the
+	 * coordinate, validating the cached grid zone before a full lookup
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 */
+	private void locate(double longitude, double latitude) {
+
+		// Bound the latitude and normalize the longitude if needed
+		latitude = MGRSUtils.boundLatitude(latitude);
+		longitude = MGRSUtils.normalizeLongitude(longitude);
+
+		if (zone != 0 && latitude > south && latitude < north
+				&& project(longitude, latitude, zoneHysteresis)) {
+			return;
+		}
+
+		char bandLetter = GridZones.getBandLetter(latitude);
+		int zoneNumber = GridZones.getZoneNumber(longitude, latitude);
+
+		// Remain in the current zone number within the hysteresis
+		if (zoneHysteresis > 0 && zone != 0 && zone != zoneNumber) {
+			GridZone current = gridZone(zone, bandLetter);
+			if (current != null) {
+				setGridZone(current);
+				if (project(longitude, latitude, zoneHysteresis)) {
+					return;
+				}
+			}
+		}
+
+		setGridZone(GridZones.getGridZone(zoneNumber, bandLetter));
+		UTM.from(longitude, latitude, zone, hemisphere, eastingNorthing);
+	}
+
+	/**
+	 * Project the coordinate within the current grid zone when within the
+	 * zone longitudes expanded by the margin
+	 *
+	 * @param longitude
+	 *            normalized longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param margin
+	 *            longitude margin in degrees
+	 * @return true if projected
+	 */
+	private boolean project(double longitude, double latitude,
+			double margin) {
+
+		// Unwrap longitudes across the antimeridian
+		if (longitude <= west - margin) {
+			longitude += 2 * MGRSConstants.MAX_LON;
+		} else if (longitude >= east + margin) {
+			longitude -= 2 * MGRSConstants.MAX_LON;
+		}
+
+		boolean projected = longitude > west - margin
+				&& longitude < east + margin;
+		if (projected) {
+			UTM.from(longitude, latitude, zone, hemisphere, eastingNorthing);
+			// Coordinates outside of the zone must be within its columns
+			if (longitude <= west || longitude >= east) {
+				projected = eastingNorthing[0] >= MIN_EASTING
+						&& eastingNorthing[0] < MAX_EASTING;
+			}
+		}
+
+		return projected;
+	}
+
+	/**
+	 * Set the current grid zone
+	 *
+	 * @param gridZone
+	 *            grid zone
+	 */
+	private void setGridZone(GridZone gridZone) {
+		if (gridZone.getNumber() != zone) {
+			squareColumn = -1;
+		}
+		zone = gridZone.getNumber();
+		band = gridZone.getLetter();
+		hemisphere = gridZone.getHemisphere();
+		Bounds bounds = gridZone.getBounds();
+		west = bounds.getMinLongitude();
+		east = bounds.getMaxLongitude();
+		south = bounds.getMinLatitude();
+		north = bounds.getMaxLatitude();
+	}
+
+	/**
+	 * Get the grid zone if it exists
+	 *
+	 * @param zoneNumber
+	 *            zone number
+	 * @param bandLetter
+	 *            band letter
+	 * @return grid zone or null
+	 */
+	private static GridZone gridZone(int zoneNumber, char bandLetter) {
+		Map<Character, GridZone> zones = GridZones.gridZones.get(zoneNumber);
+		return zones != null ? zones.get(bandLetter) : null;
+	}
+
+}
@@ -0,0 +1,78 @@
+package mil.nga.mgrs;
+
+/**
+ * Reusable MGRS parse result, reporting the {@link ParseStatus} of a non
+ * throwing parse such as
+ * {@link MGRS#tryParse(CharSequence, int, int, MGRSParseResult)}. Not thread
+ * safe, use one result per thread.
+ * 
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class MGRSParseResult {
+
+	/**
+	 * Reusable scanner
+	 */
+	private final MGRSScanner scanner = new MGRSScanner();
+
+	/**
+	 * Parse status
+	 */
+	private ParseStatus status = null;
+
+	/**
+	 * Parsed MGRS
+	 */
+	private MGRS mgrs = null;
+
+	/**
+	 * Get the parse status
+	 * 
+	 * @return parse status, null if nothing has been parsed
+	 */
+	public ParseStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * Is the parse result valid
+	 * 
+	 * @return true if valid
+	 */
+	public boolean isValid() {
+		return status == ParseStatus.VALID;
+	}
+
+	/**
+	 * Get the parsed MGRS
+	 * 
+	 * @return MGRS, null if not valid
+	 */
+	public MGRS getMGRS() {
+		return mgrs;
+	}
+
+	/**
+	 * Get the reusable scanner
+	 * 
+	 * @return scanner
+	 */
+	MGRSScanner getScanner() {
+		return scanner;
+	}
+
+	/**
+	 * Set the parse result
+	 * 
+	 * @param status
+	 *            parse status
+	 * @param mgrs
+	 *            parsed MGRS or null
+	 */
+	void setResult(ParseStatus status, MGRS mgrs) {
+		this.status = status;
+		this.mgrs = mgrs;
+	}
+
+}
@@ -0,0 +1,404 @@
+package mil.nga.mgrs;
+
+/**
+ * Single pass MGRS string scanner. Validates and decodes the zone number, band
+ * letter, optional 100k column and row letters, and optional easting and
+ * northing digits without regular expressions or intermediate strings.
+ * Whitespace is ignored and letters are case insensitive, accepting the same
+ * values as the pattern:
+ * {@code (\d{1,2})([C-HJ-NP-X])(?:([A-HJ-NP-Z][A-HJ-NP-V])((\d{2}){0,5}))?}
+ * and reporting the {@link ParseStatus} of values that do not match.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+class MGRSScanner {
+
+	/**
+	 * Maximum number of easting and northing digits
+	 */
+	private static final int MAX_DIGITS = 10;
+
+	/**
+	 * Powers of ten by exponent
+	 */
+	private static final long[] POWERS_OF_TEN = new long[] { 1L, 10L, 100L,
+			1000L, 10000L, 100000L };
+
+	/**
+	 * Scan status
+	 */
+	private ParseStatus status;
+
+	/**
+	 * Zone number
+	 */
+	private int zone;
+
+	/**
+	 * Band letter
+	 */
+	private char band;
+
+	/**
+	 * Column letter, 0 when not present
+	 */
+	private char column;
+
+	/**
+	 * Row letter, 0 when not present
+	 */
+	private char row;
+
+	/**
+	 * Easting
+	 */
+	private long easting;
+
+	/**
+	 * Northing
+	 */
+	private long northing;
+
+	/**
+	 * Number of easting and northing digits
+	 */
+	private int digits;
+
+	/**
+	 * Scan the MGRS value
+	 *
+	 * @param value
+	 *            MGRS value
+	 * @return true if a valid MGRS pattern
+	 */
+	public boolean scan(CharSequence value) {
+		return scan(value, 0, value.length());
+	}
+
+	/**
+	 * Scan the MGRS value between the start (inclusive) and end (exclusive)
+	 * indices
+	 *
+	 * @param value
+	 *            MGRS value
+	 * @param start
+	 *            start index, inclusive
+	 * @param end
+	 *            end index, exclusive
+	 * @return true if a valid MGRS pattern
+	 */
+	public boolean scan(CharSequence value, int start, int end) {
+
+		reset();
+
+		// Zone number, one or two digits
+		int index = skipWhitespace(value, start, end);
+		if (index == end) {
+			return fail(ParseStatus.INVALID_FORMAT);
+		}
+		int digit = digit(value.charAt(index));
+		if (digit < 0) {
+			return fail(ParseStatus.INVALID_ZONE);
+		}
+		zone = digit;
+
+		index = skipWhitespace(value, index + 1, end);
+		if (index == end) {
+			return fail(ParseStatus.INVALID_BAND);
+		}
+		char character = value.charAt(index);
+		digit = digit(character);
+		if (digit >= 0) {
+			zone = zone * 10 + digit;
+			index = skipWhitespace(value, index + 1, end);
+			if (index == end) {
+				return fail(ParseStatus.INVALID_BAND);
+			}
+			character = value.charAt(index);
+			if (digit(character) >= 0) {
+				return fail(ParseStatus.INVALID_ZONE);
+			}
+		}
+
+		// Band letter
+		character = toUpperCase(character);
+		if (!isBandLetter(character)) {
+			return fail(ParseStatus.INVALID_BAND);
+		}
+		band = character;
+
+		// Optional 100k column and row letters
+		index = skipWhitespace(value, index + 1, end);
+		if (index == end) {
+			return true;
+		}
+		character = toUpperCase(value.charAt(index));
+		if (!isColumnLetter(character)) {
+			return fail(ParseStatus.INVALID_100K_SQUARE);
+		}
+		index = skipWhitespace(value, index + 1, end);
+		if (index == end) {
+			return fail(ParseStatus.INVALID_100K_SQUARE);
+		}
+		char rowCharacter = toUpperCase(value.charAt(index));
+		if (!isRowLetter(rowCharacter)) {
+			return fail(ParseStatus.INVALID_100K_SQUARE);
+		}
+
+		// Optional even number of easting and northing digits
+		long location = 0;
+		int locationDigits = 0;
+		index = skipWhitespace(value, index + 1, end);
+		while (index < end) {
+			digit = digit(value.charAt(index));
+			if (digit < 0 || locationDigits == MAX_DIGITS) {
+				return fail(ParseStatus.INVALID_DIGITS);
+			}
+			location = location * 10 + digit;
+			locationDigits++;
+			index = skipWhitespace(value, index + 1, end);
+		}
+		if (locationDigits % 2 != 0) {
+			return fail(ParseStatus.ODD_DIGIT_COUNT);
+		}
+
+		column = character;
+		row = rowCharacter;
+		digits = locationDigits;
+
+		int accuracy = digits / 2;
+		long divisor = POWERS_OF_TEN[accuracy];
+		long multiplier = POWERS_OF_TEN[5 - accuracy];
+		easting = (location / divisor) * multiplier;
+		northing = (location % divisor) * multiplier;
+
+		return true;
+	}
+
+	/**
+	 * Reset the scanned values
+	 */
+	private void reset() {
+		status = ParseStatus.VALID;
+		zone = 0;
+		band = 0;
+		column = 0;
+		row = 0;
+		easting = 0;
+		northing = 0;
+		digits = 0;
+	}
+
+	/**
+	 * Set the failed scan status
+	 *
+	 * @param status
+	 *            failed status
+	 * @return false
+	 */
+	private boolean fail(ParseStatus status) {
+		this.status = status;
+		return false;
+	}
+
+	/**
+	 * Get the scan status
+	 *
+	 * @return scan status, {@link ParseStatus#VALID} if the pattern matched
+	 */
+	public ParseStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * Get the zone number
+	 *
+	 * @return zone number
+	 */
+	public int getZone() {
+		return zone;
+	}
+
+	/**
+	 * Get the upper case band letter
+	 *
+	 * @return band letter
+	 */
+	public char getBand() {
+		return band;
+	}
+
+	/**
+	 * Get the upper case column letter
+	 *
+	 * @return column letter, 0 if not present
+	 */
+	public char getColumn() {
+		return column;
+	}
+
+	/**
+	 * Get the upper case row letter
+	 *
+	 * @return row letter, 0 if not present
+	 */
+	public char getRow() {
+		return row;
+	}
+
+	/**
+	 * Get the easting, scaled to meters
+	 *
+	 * @return easting
+	 */
+	public long getEasting() {
+		return easting;
+	}
+
+	/**
+	 * Get the northing, scaled to meters
+	 *
+	 * @return northing
+	 */
+	public long getNorthing() {
+		return northing;
+	}
+
+	/**
+	 * Get the number of easting and northing digits
+	 *
+	 * @return digits
+	 */
+	public int getDigits() {
+		return digits;
+	}
+
+	/**
+	 * Determine if the 100k column and row letters were present
+	 *
+	 * @return true if column and row letters
+	 */
+	public boolean hasColumnRow() {
+		return column != 0;
+	}
+
+	/**
+	 * Determine if the scanned zone number and band letter are one of the
+	 * omitted Svalbard grid zones (32X, 34X, 36X)
+	 *
+	 * @return true if an omitted Svalbard grid zone
+	 */
+	public boolean isSvalbardGap() {
+		return band == MGRSConstants.SVALBARD_BAND_LETTER
+				&& (zone == 32 || zone == 34 || zone == 36);
+	}
+
+	/**
+	 * Skip whitespace characters
+	 *
+	 * @param value
+	 *            value
+	 * @param index
+	 *            current index
+	 * @param end
+	 *            end index, exclusive
+	 * @return index of the next non whitespace character or the end index
+	 */
+	private static int skipWhitespace(CharSequence value, int index,
+			int end) {
+		while (index < end && isWhitespace(value.charAt(index))) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * Determine if the character is a whitespace character, matching the
+	 * regular expression {@code \s} character class
+	 *
+	 * @param character
+	 *            character
+	 * @return true if whitespace
+	 */
+	private static boolean isWhitespace(char character) {
+		return character == ' ' || (character >= '\t' && character <= '\r');
+	}
+
+	/**
+	 * Get the decimal digit value of the character
+	 *
+	 * @param character
+	 *            character
+	 * @return digit value or -1 if not a digit
+	 */
+	private static int digit(char character) {
+		return character >= '0' && character <= '9' ? character - '0' : -1;
+	}
+
+	/**
+	 * Convert an ASCII lower case letter to upper case
+	 *
+	 * @param character
+	 *            character
+	 * @return upper case character
+	 */
+	private static char toUpperCase(char character) {
+		if (character >= 'a' && character <= 'z') {
+			character -= 'a' - 'A';
+		}
+		return character;
+	}
+
+	/**
+	 * Determine if the upper case character is an omitted letter (I, O)
+	 *
+	 * @param character
+	 *            upper case character
+	 * @return true if omitted
+	 */
+	private static boolean isOmittedLetter(char character) {
+		return character == 'I' || character == 'O';
+	}
+
+	/**
+	 * Determine if the upper case character is a band letter (C-X, omitting I
+	 * and O)
+	 *
+	 * @param character
+	 *            upper case character
+	 * @return true if a band letter
+	 */
+	private static boolean isBandLetter(char character) {
+		return character >= MGRSConstants.MIN_BAND_LETTER
+				&& character <= MGRSConstants.MAX_BAND_LETTER
+				&& !isOmittedLetter(character);
+	}
+
+	/**
+	 * Determine if the upper case character is a 100k column letter (A-Z,
+	 * omitting I and O)
+	 *
+	 * @param character
+	 *            upper case character
+	 * @return true if a column letter
+	 */
+	private static boolean isColumnLetter(char character) {
+		return character >= 'A' && character <= 'Z'
+				&& !isOmittedLetter(character);
+	}
+
+	/**
+	 * Determine if the upper case character is a 100k row letter (A-V,
+	 * omitting I and O)
+	 *
+	 * @param character
+	 *            upper case character
+	 * @return true if a row letter
+	 */
+	private static boolean isRowLetter(char character) {
+		return character >= 'A' && character <= 'V'
+				&& !isOmittedLetter(character);
+	}
+
+}
@@ -0,0 +1,321 @@
+package mil.nga.mgrs;
+
+import java.util.Arrays;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTMProjection;
+
+/**
+ * Precomputed MGRS decoding tables of 100km column and row letters and
+ * indices for each zone number, and latitude band bottom northings for each
+ * band letter. Converts MGRS grid zones, 100km squares, and easting and
+ * northing offsets to UTM eastings and northings in constant time without
+ * projecting band latitudes or searching the 2,000km row letter cycles.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public final class MGRSTables {
+
+	/**
+	 * 100km grid square size in meters
+	 */
+	public static final double SQUARE_SIZE = 100000;
+
+	/**
+	 * Northing distance in meters of a full 100km row letter cycle
+	 */
+	public static final double ROW_CYCLE = 2000000;
+
+	/**
+	 * Number of 100km column letters per zone
+	 */
+	public static final int COLUMNS = 8;
+
+	/**
+	 * Number of 100km row letters per cycle
+	 */
+	public static final int ROWS = 20;
+
+	/**
+	 * Number of letters from A to Z
+	 */
+	private static final int LETTERS = 26;
+
+	/**
+	 * 100km grid square column (‘e’) letters repeat every third zone
+	 */
+	private static final char[][] COLUMN_LETTERS = new char[][] {
+			"ABCDEFGH".toCharArray(), "JKLMNPQR".toCharArray(),
+			"STUVWXYZ".toCharArray() };
+
+	/**
+	 * 100km grid square row (‘n’) letters repeat every other zone
+	 */
+	private static final char[][] ROW_LETTERS = new char[][] {
+			"ABCDEFGHJKLMNPQRSTUV".toCharArray(),
+			"FGHJKLMNPQRSTUVABCDE".toCharArray() };
+
+	/**
+	 * Column letter indices by zone number and letter offset from A, -1 for
+	 * letters not used in the zone
+	 */
+	private static final int[][] COLUMN_INDICES = new int[
+			MGRSConstants.MAX_ZONE_NUMBER + 1][];
+
+	/**
+	 * Row letter indices by zone number and letter offset from A, -1 for
+	 * letters not used in the zone
+	 */
+	private static final int[][] ROW_INDICES = new int[
+			MGRSConstants.MAX_ZONE_NUMBER + 1][];
+
+	/**
+	 * Band letters from south to north
+	 */
+	private static final char[] BAND_LETTERS = "CDEFGHJKLMNPQRSTUVWX"
+			.toCharArray();
+
+	/**
+	 * Band letter indices by letter offset from A, -1 for letters that are not
+	 * bands
+	 */
+	private static final int[] BAND_INDICES = indices(BAND_LETTERS);
+
+	/**
+	 * Band bottom northings by letter offset from A, floored to the 100km
+	 * square boundary, NaN for letters that are not bands
+	 */
+	private static final double[] BAND_NORTHINGS = new double[LETTERS];
+
+	static {
+
+		int[][] columnIndices = new int[COLUMN_LETTERS.length][];
+		for (int i = 0; i < columnIndices.length; i++) {
+			columnIndices[i] = indices(COLUMN_LETTERS[i]);
+		}
+		int[][] rowIndices = new int[ROW_LETTERS.length][];
+		for (int i = 0; i < rowIndices.length; i++) {
+			rowIndices[i] = indices(ROW_LETTERS[i]);
+		}
+		for (int zone = MGRSConstants.MIN_ZONE_NUMBER;
+				zone <= MGRSConstants.MAX_ZONE_NUMBER; zone++) {
+			COLUMN_INDICES[zone] = columnIndices[(zone - 1) % 3];
+			ROW_INDICES[zone] = rowIndices[(zone - 1) % 2];
+		}
+
+		// Band bottom northings, extended to include the entirety of the
+		// bottommost 100km square, evaluated with the closed form projection
+		// regardless of the selected UTM projection. Parallels curve toward
+		// the pole away from the central meridian, so the minimum band
+		// bottom northing across a zone is at the central meridian in the
+		// northern hemisphere and at the 3 degree zone edge in the southern.
+		UTMProjection projection = new UTMProjection();
+		int zone = MGRSConstants.MIN_ZONE_NUMBER;
+		double centralMeridian = Math
+				.toDegrees(UTMProjection.centralMeridian(zone));
+		Arrays.fill(BAND_NORTHINGS, Double.NaN);
+		for (char band = MGRSConstants.MIN_BAND_LETTER;
+				band <= MGRSConstants.MAX_BAND_LETTER; band++) {
+			if (band == 'I' || band == 'O') {
+				continue;
+			}
+			double latitude = GridZones.getSouthLatitude(band);
+			Hemisphere hemisphere = Hemisphere.fromLatitude(latitude);
+			double longitude = centralMeridian;
+			if (hemisphere == Hemisphere.SOUTH) {
+				longitude += MGRSConstants.ZONE_WIDTH / 2.0;
+			}
+			double northing = projection.northing(longitude, latitude, zone,
+					hemisphere);
+			BAND_NORTHINGS[band - 'A'] = Math.floor(northing / SQUARE_SIZE)
+					* SQUARE_SIZE;
+		}
+
+	}
+
+	/**
+	 * Build letter offset to index lookups
+	 *
+	 * @param letters
+	 *            ordered letters
+	 * @return indices by letter offset from A, -1 for unused letters
+	 */
+	private static int[] indices(char[] letters) {
+		int[] indices = new int[LETTERS];
+		Arrays.fill(indices, -1);
+		for (int i = 0; i < letters.length; i++) {
+			indices[letters[i] - 'A'] = i;
+		}
+		return indices;
+	}
+
+	/**
+	 * Private constructor
+	 */
+	private MGRSTables() {
+	}
+
+	/**
+	 * Get the letter offset from A
+	 *
+	 * @param letter
+	 *            upper case letter
+	 * @return offset or -1 if not an upper case letter
+	 */
+	private static int offset(char letter) {
+		int offset = letter - 'A';
+		return offset >= 0 && offset < LETTERS ? offset : -1;
+	}
+
+	/**
+	 * Determine if the zone number is valid
+	 *
+	 * @param zone
+	 *            zone number
+	 * @return true if a valid zone number
+	 */
+	private static boolean isZone(int zone) {
+		return zone >= MGRSConstants.MIN_ZONE_NUMBER
+				&& zone <= MGRSConstants.MAX_ZONE_NUMBER;
+	}
+
+	/**
+	 * Get the 100km column letter index within the zone number
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param column
+	 *            column letter
+	 * @return column index (0 through 7), -1 if not a zone column letter
+	 */
+	public static int columnIndex(int zone, char column) {
+		int offset = offset(column);
+		return offset >= 0 && isZone(zone) ? COLUMN_INDICES[zone][offset]
+				: -1;
+	}
+
+	/**
+	 * Get the 100km row letter index within the zone number row letter cycle
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param row
+	 *            row letter
+	 * @return row index (0 through 19), -1 if not a row letter
+	 */
+	public static int rowIndex(int zone, char row) {
+		int offset = offset(row);
+		return offset >= 0 && isZone(zone) ? ROW_INDICES[zone][offset] : -1;
+	}
+
+	/**
+	 * Get the 100km column letter at the index within the zone number
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param index
+	 *            column index (0 through 7)
+	 * @return column letter
+	 */
+	public static char columnLetter(int zone, int index) {
+		return COLUMN_LETTERS[(zone - 1) % 3][index];
+	}
+
+	/**
+	 * Get the 100km row letter at the index within the zone number row letter
+	 * cycle
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param index
+	 *            row index (0 through 19)
+	 * @return row letter
+	 */
+	public static char rowLetter(int zone, int index) {
+		return ROW_LETTERS[(zone - 1) % 2][index];
+	}
+
+	/**
+	 * Get the band letter index from south to north
+	 *
+	 * @param band
+	 *            band letter
+	 * @return band index (0 through 19), -1 if not a band letter
+	 */
+	public static int bandIndex(char band) {
+		int offset = offset(band);
+		return offset >= 0 ? BAND_INDICES[offset] : -1;
+	}
+
+	/**
+	 * Get the band letter at the index from south to north
+	 *
+	 * @param index
+	 *            band index (0 through 19)
+	 * @return band letter
+	 */
+	public static char bandLetter(int index) {
+		return BAND_LETTERS[index];
+	}
+
+	/**
+	 * Get the band bottom northing, floored to the 100km square boundary
+	 *
+	 * @param band
+	 *            band letter
+	 * @return northing, NaN if not a band letter
+	 */
+	public static double bandNorthing(char band) {
+		int offset = offset(band);
+		return offset >= 0 ? BAND_NORTHINGS[offset] : Double.NaN;
+	}
+
+	/**
+	 * Get the UTM easting of the 100km column letter and easting offset
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param column
+	 *            column letter
+	 * @param easting
+	 *            easting offset within the 100km square
+	 * @return UTM easting
+	 */
+	public static double easting(int zone, char column, double easting) {
+		// index+1 since A (index 0) -> 1*100e3, B (index 1) -> 2*100e3, etc.
+		return (columnIndex(zone, column) + 1) * SQUARE_SIZE + easting;
+	}
+
+	/**
+	 * Get the UTM northing of the band letter, 100km row letter, and northing
+	 * offset
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param band
+	 *            band letter
+	 * @param row
+	 *            row letter
+	 * @param northing
+	 *            northing offset within the 100km square
+	 * @return UTM northing
+	 */
+	public static double northing(int zone, char band, char row,
+			double northing) {
+
+		double n100k = rowIndex(zone, row) * SQUARE_SIZE + northing;
+
+		// 100km grid square row letters repeat every 2,000km north; add the
+		// fewest 2,000km blocks reaching the bottom of the band
+		double n2M = 0;
+		double below = bandNorthing(band) - n100k;
+		if (below > 0) {
+			n2M = Math.ceil(below / ROW_CYCLE) * ROW_CYCLE;
+		}
+
+		return n2M + n100k;
+	}
+
+}
@@ -100,4 +100,40 @@ public class MGRSUtils {
 				: Hemisphere.NORTH;
 	}
 
+	/**
+	 * Bound the latitude in degrees between {@link MGRSConstants#MIN_LAT} and
+	 * {@link MGRSConstants#MAX_LAT}
+	 * 
+	 * @param latitude
+	 *            latitude in degrees
+	 * @return bounded latitude in degrees
+	 * @since 2.1.4
+	 */
+	public static double boundLatitude(double latitude) {
+		if (latitude < MGRSConstants.MIN_LAT) {
+			latitude = MGRSConstants.MIN_LAT;
+		} else if (latitude > MGRSConstants.MAX_LAT) {
+			latitude = MGRSConstants.MAX_LAT;
+		}
+		return latitude;
+	}
+
+	/**
+	 * Normalize the longitude in degrees between {@link MGRSConstants#MIN_LON}
+	 * and {@link MGRSConstants#MAX_LON}
+	 * 
+	 * @param longitude
+	 *            longitude in degrees
+	 * @return normalized longitude in degrees
+	 * @since 2.1.4
+	 */
+	public static double normalizeLongitude(double longitude) {
+		if (longitude < MGRSConstants.MIN_LON) {
+			longitude += 2 * MGRSConstants.MAX_LON;
+		} else if (longitude > MGRSConstants.MAX_LON) {
+			longitude -= 2 * MGRSConstants.MAX_LON;
+		}
+		return longitude;
+	}
+
 }
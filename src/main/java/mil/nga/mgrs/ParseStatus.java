@@ -0,0 +1,61 @@
+package mil.nga.mgrs;
+
+/**
+ * MGRS parse status, the result of parsing a MGRS value without throwing an
+ * exception
+ * 
+ * @author osbornb
+ * @since 2.1.4
+ */
+public enum ParseStatus {
+
+	/**
+	 * Valid MGRS value
+	 */
+	VALID,
+
+	/**
+	 * Empty value or unexpected characters
+	 */
+	INVALID_FORMAT,
+
+	/**
+	 * Missing or invalid zone number, expected 1 - 60
+	 */
+	INVALID_ZONE,
+
+	/**
+	 * Missing or invalid band letter, expected C - X (omitting I and O)
+	 */
+	INVALID_BAND,
+
+	/**
+	 * Omitted Svalbard grid zone (32X, 34X, 36X)
+	 */
+	SVALBARD_GAP,
+
+	/**
+	 * Incomplete or invalid 100k column and row letters for the zone
+	 */
+	INVALID_100K_SQUARE,
+
+	/**
+	 * Non digit easting and northing characters or more than 10 digits
+	 */
+	INVALID_DIGITS,
+
+	/**
+	 * Odd number of easting and northing digits
+	 */
+	ODD_DIGIT_COUNT;
+
+	/**
+	 * Is the status valid
+	 * 
+	 * @return true if valid
+	 */
+	public boolean isValid() {
+		return this == VALID;
+	}
+
+}
@@ -0,0 +1,161 @@
+package mil.nga.mgrs.cell;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Immutable aggregated point count and value statistics of a MGRS cell
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellAggregate {
+
+	/**
+	 * Cell key
+	 */
+	private final long key;
+
+	/**
+	 * Point count
+	 */
+	private final long count;
+
+	/**
+	 * Value sum
+	 */
+	private final double sum;
+
+	/**
+	 * Value minimum
+	 */
+	private final double min;
+
+	/**
+	 * Value maximum
+	 */
+	private final double max;
+
+	/**
+	 * Constructor
+	 *
+	 * @param key
+	 *            cell key
+	 * @param count
+	 *            point count
+	 * @param sum
+	 *            value sum
+	 * @param min
+	 *            value minimum
+	 * @param max
+	 *            value maximum
+	 */
+	CellAggregate(long key, long count, double sum, double min, double max) {
+		this.key = key;
+		this.count = count;
+		this.sum = sum;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * Get the cell key
+	 *
+	 * @return cell key
+	 */
+	public long getKey() {
+		return key;
+	}
+
+	/**
+	 * Get the cell precision
+	 *
+	 * @return precision grid type
+	 */
+	public GridType getPrecision() {
+		return CellKey.precision(key);
+	}
+
+	/**
+	 * Get the southwestern MGRS coordinate of the cell
+	 *
+	 * @return MGRS
+	 */
+	public MGRS getMGRS() {
+		return CellKey.decode(key);
+	}
+
+	/**
+	 * Get the MGRS coordinate of the cell at its precision
+	 *
+	 * @return MGRS coordinate
+	 */
+	public String getCoordinate() {
+		return CellKey.coordinate(key);
+	}
+
+	/**
+	 * Get the longitude and latitude bounds of the cell, clipped to the grid
+	 * zone
+	 *
+	 * @return bounds in degrees
+	 */
+	public Bounds getBounds() {
+		return CellKey.bounds(key);
+	}
+
+	/**
+	 * Get the number of points binned to the cell
+	 *
+	 * @return point count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Get the sum of the point values
+	 *
+	 * @return value sum, 0 when no values were aggregated
+	 */
+	public double getSum() {
+		return sum;
+	}
+
+	/**
+	 * Get the minimum point value
+	 *
+	 * @return value minimum, NaN when no values were aggregated
+	 */
+	public double getMin() {
+		return min;
+	}
+
+	/**
+	 * Get the maximum point value
+	 *
+	 * @return value maximum, NaN when no values were aggregated
+	 */
+	public double getMax() {
+		return max;
+	}
+
+	/**
+	 * Get the mean point value, the value sum divided by the point count
+	 *
+	 * @return value mean
+	 */
+	public double getMean() {
+		return sum / count;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return getCoordinate() + " " + count;
+	}
+
+}
@@ -0,0 +1,641 @@
+package mil.nga.mgrs.cell;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collector;
+
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Streaming aggregator binning longitude and latitude points directly to
+ * MGRS cells at a precision, keeping per cell point counts and optional value
+ * sum, minimum, and maximum in primitive open addressing storage. Value
+ * storage is only allocated once a point value is added. Aggregators are not
+ * thread safe; parallel workers each aggregate a partition and
+ * {@link #merge(CellAggregator)} the results, as done by
+ * {@link #collector(GridType)}.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellAggregator {
+
+	/**
+	 * Precision grid type
+	 */
+	private final GridType precision;
+
+	/**
+	 * Hash table of cell keys
+	 */
+	private long[] keys;
+
+	/**
+	 * Point counts by cell key table index
+	 */
+	private long[] counts;
+
+	/**
+	 * Value sums by cell key table index, null until a value is added
+	 */
+	private double[] sums;
+
+	/**
+	 * Value minimums by cell key table index, null until a value is added
+	 */
+	private double[] mins;
+
+	/**
+	 * Value maximums by cell key table index, null until a value is added
+	 */
+	private double[] maxs;
+
+	/**
+	 * Table index mask
+	 */
+	private int mask;
+
+	/**
+	 * Number of cells
+	 */
+	private int size;
+
+	/**
+	 * Size at which the table grows
+	 */
+	private int threshold;
+
+	/**
+	 * Total point count
+	 */
+	private long total;
+
+	/**
+	 * Reusable UTM easting and northing working array
+	 */
+	private final double[] eastingNorthing = new double[2];
+
+	/**
+	 * Create a collector aggregating a stream of points, merging partial
+	 * aggregators of parallel streams
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return point collector
+	 */
+	public static Collector<Point, ?, CellAggregator> collector(
+			GridType precision) {
+		return Collector.of(() -> new CellAggregator(precision),
+				CellAggregator::add, (aggregator1, aggregator2) -> {
+					aggregator1.merge(aggregator2);
+					return aggregator1;
+				}, Collector.Characteristics.UNORDERED,
+				Collector.Characteristics.IDENTITY_FINISH);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 */
+	public CellAggregator(GridType precision) {
+		this(precision, CellHash.DEFAULT_EXPECTED);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @param expected
+	 *            expected number of cells
+	 */
+	public CellAggregator(GridType precision, int expected) {
+		if (precision == GridType.GZD) {
+			throw new IllegalArgumentException(
+					"Cell aggregation requires a 100km square or finer "
+							+ "precision");
+		}
+		this.precision = precision;
+		allocate(CellHash.tableSize(expected, CellHash.DEFAULT_LOAD_FACTOR),
+				false);
+	}
+
+	/**
+	 * Allocate an empty table
+	 *
+	 * @param tableSize
+	 *            power of two table size
+	 * @param values
+	 *            true to allocate value storage
+	 */
+	private void allocate(int tableSize, boolean values) {
+		keys = new long[tableSize];
+		Arrays.fill(keys, CellHash.EMPTY);
+		counts = new long[tableSize];
+		if (values) {
+			allocateValues();
+		}
+		mask = tableSize - 1;
+		threshold = (int) Math.min(tableSize - 1L,
+				(long) (tableSize * (double) CellHash.DEFAULT_LOAD_FACTOR));
+	}
+
+	/**
+	 * Allocate the value storage of the current table size
+	 */
+	private void allocateValues() {
+		sums = new double[keys.length];
+		mins = new double[keys.length];
+		Arrays.fill(mins, Double.NaN);
+		maxs = new double[keys.length];
+		Arrays.fill(maxs, Double.NaN);
+	}
+
+	/**
+	 * Get the precision
+	 *
+	 * @return precision grid type
+	 */
+	public GridType getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * Get the number of cells
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Determine if empty
+	 *
+	 * @return true if no cells
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Get the total number of aggregated points
+	 *
+	 * @return point count
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * Determine if point values have been aggregated
+	 *
+	 * @return true if value statistics are kept
+	 */
+	public boolean hasValues() {
+		return sums != null;
+	}
+
+	/**
+	 * Add a point
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 */
+	public void add(double longitude, double latitude) {
+		addKey(CellKey.encode(longitude, latitude, precision,
+				eastingNorthing));
+	}
+
+	/**
+	 * Add a point with a value
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param value
+	 *            point value
+	 */
+	public void add(double longitude, double latitude, double value) {
+		addKey(CellKey.encode(longitude, latitude, precision,
+				eastingNorthing), value);
+	}
+
+	/**
+	 * Add a point
+	 *
+	 * @param point
+	 *            point
+	 */
+	public void add(Point point) {
+		if (!point.isDegrees()) {
+			point = point.toDegrees();
+		}
+		add(point.getLongitude(), point.getLatitude());
+	}
+
+	/**
+	 * Add a point already binned to a cell key, converting the key to the
+	 * aggregator precision
+	 *
+	 * @param key
+	 *            cell key at the aggregator or a finer precision
+	 * @throws IllegalArgumentException
+	 *             if the cell key is coarser than the aggregator precision
+	 */
+	public void addKey(long key) {
+		int index = insert(key);
+		counts[index]++;
+		total++;
+	}
+
+	/**
+	 * Add a point value already binned to a cell key, converting the key to
+	 * the aggregator precision
+	 *
+	 * @param key
+	 *            cell key at the aggregator or a finer precision
+	 * @param value
+	 *            point value
+	 * @throws IllegalArgumentException
+	 *             if the cell key is coarser than the aggregator precision
+	 */
+	public void addKey(long key, double value) {
+		int index = insert(key);
+		counts[index]++;
+		total++;
+		accumulate(index, value, value, value);
+	}
+
+	/**
+	 * Add the points
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 */
+	public void addAll(double[] longitudes, double[] latitudes) {
+		addAll(longitudes, latitudes, 0, longitudes.length);
+	}
+
+	/**
+	 * Add a range of the points
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param offset
+	 *            first point index
+	 * @param length
+	 *            number of points
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is outside of the coordinate arrays
+	 */
+	public void addAll(double[] longitudes, double[] latitudes, int offset,
+			int length) {
+		CellKey.validateRange(longitudes, latitudes, offset, length);
+		for (int i = offset; i < offset + length; i++) {
+			add(longitudes[i], latitudes[i]);
+		}
+	}
+
+	/**
+	 * Add the points with values
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param values
+	 *            point values
+	 */
+	public void addAll(double[] longitudes, double[] latitudes,
+			double[] values) {
+		addAll(longitudes, latitudes, values, 0, longitudes.length);
+	}
+
+	/**
+	 * Add a range of the points with values
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param values
+	 *            point values
+	 * @param offset
+	 *            first point index
+	 * @param length
+	 *            number of points
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is outside of the point arrays
+	 */
+	public void addAll(double[] longitudes, double[] latitudes,
+			double[] values, int offset, int length) {
+		CellKey.validateRange(longitudes, latitudes, offset, length);
+		if (offset > values.length - length) {
+			throw new IndexOutOfBoundsException(
+					"Invalid value range. offset: " + offset + ", length: "
+							+ length + ", values: " + values.length);
+		}
+		for (int i = offset; i < offset + length; i++) {
+			add(longitudes[i], latitudes[i], values[i]);
+		}
+	}
+
+	/**
+	 * Merge the cells of another aggregator at the same precision into this
+	 * aggregator
+	 *
+	 * @param aggregator
+	 *            aggregator to merge
+	 */
+	public void merge(CellAggregator aggregator) {
+		if (aggregator.precision != precision) {
+			throw new IllegalArgumentException(
+					"Aggregator precisions must match. precision: "
+							+ precision + ", merge precision: "
+							+ aggregator.precision);
+		}
+		for (int i = 0; i < aggregator.keys.length; i++) {
+			long key = aggregator.keys[i];
+			if (key != CellHash.EMPTY) {
+				int index = insert(key);
+				counts[index] += aggregator.counts[i];
+				if (aggregator.sums != null) {
+					accumulate(index, aggregator.sums[i],
+							aggregator.mins[i], aggregator.maxs[i]);
+				}
+			}
+		}
+		total += aggregator.total;
+	}
+
+	/**
+	 * Accumulate value statistics at the table index
+	 *
+	 * @param index
+	 *            table index
+	 * @param sum
+	 *            value sum to add
+	 * @param min
+	 *            minimum value, NaN for none
+	 * @param max
+	 *            maximum value, NaN for none
+	 */
+	private void accumulate(int index, double sum, double min, double max) {
+		if (sums == null) {
+			allocateValues();
+		}
+		sums[index] += sum;
+		// NaN comparisons are false, replacing an empty NaN statistic
+		if (!(mins[index] <= min)) {
+			mins[index] = min;
+		}
+		if (!(maxs[index] >= max)) {
+			maxs[index] = max;
+		}
+	}
+
+	/**
+	 * Get the table index of the cell key at the aggregator precision,
+	 * inserting the key with empty statistics when not found
+	 *
+	 * @param key
+	 *            cell key
+	 * @return table index
+	 */
+	private int insert(long key) {
+		CellHash.validateKey(key);
+		key = atPrecision(key);
+		int index = CellHash.hash(key) & mask;
+		long current;
+		while ((current = keys[index]) != CellHash.EMPTY) {
+			if (current == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		keys[index] = key;
+		if (++size > threshold) {
+			grow();
+			index = indexOf(key);
+		}
+		return index;
+	}
+
+	/**
+	 * Convert the cell key to the aggregator precision
+	 *
+	 * @param key
+	 *            cell key at the aggregator or a finer precision
+	 * @return cell key at the aggregator precision
+	 * @throws IllegalArgumentException
+	 *             if the cell key is coarser than the aggregator precision
+	 */
+	private long atPrecision(long key) {
+		int accuracy = CellKey.accuracy(key);
+		if (accuracy != precision.getAccuracy()) {
+			if (accuracy < precision.getAccuracy()) {
+				throw new IllegalArgumentException(
+						"Cell key is coarser than the aggregator precision. "
+								+ "precision: " + precision
+								+ ", key precision: "
+								+ CellKey.precision(key));
+			}
+			key = CellKey.withPrecision(key, precision);
+		}
+		return key;
+	}
+
+	/**
+	 * Get the table index of the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @return table index or -1 if not found
+	 */
+	private int indexOf(long key) {
+		if (key >= 0) {
+			key = atPrecision(key);
+			int index = CellHash.hash(key) & mask;
+			long current;
+			while ((current = keys[index]) != CellHash.EMPTY) {
+				if (current == key) {
+					return index;
+				}
+				index = (index + 1) & mask;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Double the table size and rehash the cells
+	 */
+	private void grow() {
+		if (keys.length >= CellHash.MAX_TABLE_SIZE) {
+			if (size >= keys.length - 1) {
+				throw new IllegalStateException(
+						"Cell aggregator capacity exceeded. size: " + size);
+			}
+			threshold = keys.length - 1;
+			return;
+		}
+		long[] previousKeys = keys;
+		long[] previousCounts = counts;
+		double[] previousSums = sums;
+		double[] previousMins = mins;
+		double[] previousMaxs = maxs;
+		allocate(previousKeys.length << 1, previousSums != null);
+		for (int i = 0; i < previousKeys.length; i++) {
+			long key = previousKeys[i];
+			if (key != CellHash.EMPTY) {
+				int index = CellHash.hash(key) & mask;
+				while (keys[index] != CellHash.EMPTY) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = key;
+				counts[index] = previousCounts[i];
+				if (previousSums != null) {
+					sums[index] = previousSums[i];
+					mins[index] = previousMins[i];
+					maxs[index] = previousMaxs[i];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove all cells, retaining the capacity
+	 */
+	public void clear() {
+		Arrays.fill(keys, CellHash.EMPTY);
+		Arrays.fill(counts, 0);
+		sums = null;
+		mins = null;
+		maxs = null;
+		size = 0;
+		total = 0;
+	}
+
+	/**
+	 * Get the point count of the cell
+	 *
+	 * @param key
+	 *            cell key at the aggregator or a finer precision
+	 * @return point count, 0 when not found
+	 * @throws IllegalArgumentException
+	 *             if the cell key is coarser than the aggregator precision
+	 */
+	public long getCount(long key) {
+		int index = indexOf(key);
+		return index >= 0 ? counts[index] : 0;
+	}
+
+	/**
+	 * Get the point count of the cell containing the coordinate
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @return point count, 0 when not found
+	 */
+	public long getCount(double longitude, double latitude) {
+		return getCount(CellKey.encode(longitude, latitude, precision,
+				eastingNorthing));
+	}
+
+	/**
+	 * Get the aggregate of the cell
+	 *
+	 * @param key
+	 *            cell key at the aggregator or a finer precision
+	 * @return cell aggregate, null when not found
+	 * @throws IllegalArgumentException
+	 *             if the cell key is coarser than the aggregator precision
+	 */
+	public CellAggregate getCell(long key) {
+		int index = indexOf(key);
+		return index >= 0 ? aggregate(index) : null;
+	}
+
+	/**
+	 * Get the cell keys in table order
+	 *
+	 * @return cell keys array
+	 */
+	public long[] keys() {
+		long[] keys = new long[size];
+		int count = 0;
+		for (long key : this.keys) {
+			if (key != CellHash.EMPTY) {
+				keys[count++] = key;
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Get the cell point counts as a cell map
+	 *
+	 * @return cell key to point count map
+	 */
+	public CellMap toCountMap() {
+		CellMap map = new CellMap(size);
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != CellHash.EMPTY) {
+				map.put(keys[i], counts[i]);
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Get the cell aggregates in {@link CellKey} order
+	 *
+	 * @return cell aggregates
+	 */
+	public List<CellAggregate> getCells() {
+		long[] sorted = keys();
+		Arrays.sort(sorted);
+		List<CellAggregate> cells = new ArrayList<>(size);
+		for (long key : sorted) {
+			cells.add(aggregate(indexOf(key)));
+		}
+		return cells;
+	}
+
+	/**
+	 * Create the cell aggregate at the table index
+	 *
+	 * @param index
+	 *            table index
+	 * @return cell aggregate
+	 */
+	private CellAggregate aggregate(int index) {
+		double sum = 0;
+		double min = Double.NaN;
+		double max = Double.NaN;
+		if (sums != null) {
+			sum = sums[index];
+			min = mins[index];
+			max = maxs[index];
+		}
+		return new CellAggregate(keys[index], counts[index], sum, min, max);
+	}
+
+}
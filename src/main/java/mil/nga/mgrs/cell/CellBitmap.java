@@ -0,0 +1,829 @@
+package mil.nga.mgrs.cell;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Compressed bitmap set of MGRS cells at a precision, for fast membership
+ * tests of large cell sets such as geofences. Cells are grouped by grid zone
+ * and 100km square, and the cell positions within each square (easting major
+ * over the 1000 x 1000 cells of 100m, the 100 x 100 cells of 1km, etc.) are
+ * split into roaring style containers of 65536 positions. Each container is a
+ * sorted array of positions when sparse and a 65536 bit bitmap when dense.
+ * Bitmaps serialize to a compact format that can be memory mapped and queried
+ * without deserializing, with containers copied to the heap only when
+ * modified. Concurrent reads are safe, modifications are not.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellBitmap {
+
+	/**
+	 * Serialization magic number, "MGCB"
+	 */
+	private static final int MAGIC = 0x4D474342;
+
+	/**
+	 * Serialization version
+	 */
+	private static final short VERSION = 1;
+
+	/**
+	 * Serialized header size: magic, version, accuracy, padding, and
+	 * container count
+	 */
+	private static final int HEADER_SIZE = 12;
+
+	/**
+	 * Serialized directory entry size: container key, cardinality, and
+	 * offset
+	 */
+	private static final int ENTRY_SIZE = 16;
+
+	/**
+	 * Container key shift of the high position bits, below the cell key 100km
+	 * square bits
+	 */
+	private static final int HIGH_SHIFT = 3;
+
+	/**
+	 * Container key high position mask
+	 */
+	private static final long HIGH_MASK = 0x3FFFFL;
+
+	/**
+	 * 100km square size in meters
+	 */
+	private static final long SQUARE_SIZE = 100000;
+
+	/**
+	 * Precision grid type
+	 */
+	private final GridType precision;
+
+	/**
+	 * Accuracy digits
+	 */
+	private final int accuracy;
+
+	/**
+	 * Cell size in meters
+	 */
+	private final long size;
+
+	/**
+	 * Cells per 100km square side
+	 */
+	private final long side;
+
+	/**
+	 * Sorted container keys, the 100km square cell key with the high position
+	 * bits
+	 */
+	private long[] keys;
+
+	/**
+	 * Containers
+	 */
+	private CellContainer[] containers;
+
+	/**
+	 * Number of containers
+	 */
+	private int count;
+
+	/**
+	 * Constructor
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 */
+	public CellBitmap(GridType precision) {
+		this(precision, new long[4], new CellContainer[4], 0);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param precision
+	 *            precision grid type
+	 * @param keys
+	 *            sorted container keys
+	 * @param containers
+	 *            containers
+	 * @param count
+	 *            number of containers
+	 */
+	private CellBitmap(GridType precision, long[] keys,
+			CellContainer[] containers, int count) {
+		this.precision = precision;
+		this.accuracy = CellKey.accuracy(precision);
+		this.size = CellKey.precisionMeters(accuracy);
+		this.side = SQUARE_SIZE / size;
+		this.keys = keys;
+		this.containers = containers;
+		this.count = count;
+	}
+
+	/**
+	 * Get the precision
+	 *
+	 * @return precision grid type
+	 */
+	public GridType getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * Get the number of cells
+	 *
+	 * @return cell count
+	 */
+	public long size() {
+		long cells = 0;
+		for (int i = 0; i < count; i++) {
+			cells += containers[i].cardinality();
+		}
+		return cells;
+	}
+
+	/**
+	 * Determine if the bitmap contains no cells
+	 *
+	 * @return true if empty
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Get the number of containers
+	 *
+	 * @return container count
+	 */
+	public int getContainerCount() {
+		return count;
+	}
+
+	/**
+	 * Add the cell containing the location
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @return true if added
+	 */
+	public boolean add(double longitude, double latitude) {
+		return add(CellKey.encode(longitude, latitude, precision));
+	}
+
+	/**
+	 * Add the cell of the MGRS coordinate at the bitmap precision
+	 *
+	 * @param mgrs
+	 *            MGRS coordinate
+	 * @return true if added
+	 */
+	public boolean add(MGRS mgrs) {
+		return add(CellKey.encode(mgrs, precision));
+	}
+
+	/**
+	 * Add the cell. Finer cells add the containing cell and coarser cells add
+	 * all of their cells at the bitmap precision.
+	 *
+	 * @param key
+	 *            cell key
+	 * @return true if any cell was added
+	 */
+	public boolean add(long key) {
+		boolean added = false;
+		if (CellKey.accuracy(key) < accuracy) {
+			long factor = CellKey.size(key) / size;
+			long x = CellKey.easting(key) / size;
+			long y = CellKey.northing(key) / size;
+			long square = CellKey.square(key);
+			for (long i = 0; i < factor; i++) {
+				for (long j = 0; j < factor; j++) {
+					added |= addPosition(square, (x + i) * side + y + j);
+				}
+			}
+		} else {
+			added = addPosition(CellKey.square(key), position(key));
+		}
+		return added;
+	}
+
+	/**
+	 * Add the cells of the list
+	 *
+	 * @param keys
+	 *            cell keys
+	 */
+	public void addAll(CellList keys) {
+		for (int i = 0; i < keys.size(); i++) {
+			add(keys.get(i));
+		}
+	}
+
+	/**
+	 * Add the cell position within the 100km square
+	 *
+	 * @param square
+	 *            100km square cell key
+	 * @param position
+	 *            cell position within the square
+	 * @return true if added
+	 */
+	private boolean addPosition(long square, long position) {
+		long containerKey = containerKey(square, position);
+		int index = Arrays.binarySearch(keys, 0, count, containerKey);
+		if (index < 0) {
+			index = -index - 1;
+			insert(index, containerKey, new CellContainer.Array());
+		}
+		CellContainer container = containers[index];
+		int cardinality = container.cardinality();
+		containers[index] = container.add((int) (position & 0xFFFF));
+		return containers[index].cardinality() > cardinality;
+	}
+
+	/**
+	 * Remove the cell. Finer cells remove the containing cell and coarser
+	 * cells remove all of their cells at the bitmap precision.
+	 *
+	 * @param key
+	 *            cell key
+	 * @return true if any cell was removed
+	 */
+	public boolean remove(long key) {
+		boolean removed = false;
+		if (CellKey.accuracy(key) < accuracy) {
+			long factor = CellKey.size(key) / size;
+			long x = CellKey.easting(key) / size;
+			long y = CellKey.northing(key) / size;
+			long square = CellKey.square(key);
+			for (long i = 0; i < factor; i++) {
+				for (long j = 0; j < factor; j++) {
+					removed |= removePosition(square,
+							(x + i) * side + y + j);
+				}
+			}
+		} else {
+			removed = removePosition(CellKey.square(key), position(key));
+		}
+		return removed;
+	}
+
+	/**
+	 * Remove the cell position within the 100km square
+	 *
+	 * @param square
+	 *            100km square cell key
+	 * @param position
+	 *            cell position within the square
+	 * @return true if removed
+	 */
+	private boolean removePosition(long square, long position) {
+		boolean removed = false;
+		int index = Arrays.binarySearch(keys, 0, count,
+				containerKey(square, position));
+		if (index >= 0) {
+			CellContainer container = containers[index];
+			int cardinality = container.cardinality();
+			container = container.remove((int) (position & 0xFFFF));
+			removed = container.cardinality() < cardinality;
+			if (container.cardinality() == 0) {
+				System.arraycopy(keys, index + 1, keys, index,
+						count - index - 1);
+				System.arraycopy(containers, index + 1, containers, index,
+						count - index - 1);
+				containers[--count] = null;
+			} else {
+				containers[index] = container;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Remove all cells
+	 */
+	public void clear() {
+		Arrays.fill(containers, 0, count, null);
+		count = 0;
+	}
+
+	/**
+	 * Determine if the cell containing the location is in the bitmap
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @return true if contained
+	 */
+	public boolean contains(double longitude, double latitude) {
+		return contains(CellKey.encode(longitude, latitude, precision));
+	}
+
+	/**
+	 * Determine if the cell containing the point is in the bitmap
+	 *
+	 * @param point
+	 *            point
+	 * @return true if contained
+	 */
+	public boolean contains(Point point) {
+		point = point.toDegrees();
+		return contains(point.getLongitude(), point.getLatitude());
+	}
+
+	/**
+	 * Determine if the cell of the MGRS coordinate at the bitmap precision is
+	 * in the bitmap
+	 *
+	 * @param mgrs
+	 *            MGRS coordinate
+	 * @return true if contained
+	 */
+	public boolean contains(MGRS mgrs) {
+		return contains(CellKey.encode(mgrs, precision));
+	}
+
+	/**
+	 * Determine if the cell is in the bitmap. Finer cells check the containing
+	 * cell and coarser cells check that all of their cells at the bitmap
+	 * precision are contained.
+	 *
+	 * @param key
+	 *            cell key
+	 * @return true if contained
+	 */
+	public boolean contains(long key) {
+		boolean contains;
+		if (CellKey.accuracy(key) < accuracy) {
+			contains = true;
+			long factor = CellKey.size(key) / size;
+			long x = CellKey.easting(key) / size;
+			long y = CellKey.northing(key) / size;
+			long square = CellKey.square(key);
+			for (long i = 0; contains && i < factor; i++) {
+				for (long j = 0; contains && j < factor; j++) {
+					contains = containsPosition(square,
+							(x + i) * side + y + j);
+				}
+			}
+		} else {
+			contains = containsPosition(CellKey.square(key), position(key));
+		}
+		return contains;
+	}
+
+	/**
+	 * Determine if the cell position within the 100km square is contained
+	 *
+	 * @param square
+	 *            100km square cell key
+	 * @param position
+	 *            cell position within the square
+	 * @return true if contained
+	 */
+	private boolean containsPosition(long square, long position) {
+		int index = Arrays.binarySearch(keys, 0, count,
+				containerKey(square, position));
+		return index >= 0
+				&& containers[index].contains((int) (position & 0xFFFF));
+	}
+
+	/**
+	 * Union of this bitmap and another bitmap of the same precision
+	 *
+	 * @param other
+	 *            other bitmap
+	 * @return union bitmap
+	 */
+	public CellBitmap union(CellBitmap other) {
+		validatePrecision(other);
+		long[] resultKeys = new long[count + other.count];
+		CellContainer[] resultContainers = new CellContainer[resultKeys.length];
+		int resultCount = 0;
+		int i = 0;
+		int j = 0;
+		while (i < count || j < other.count) {
+			long key;
+			CellContainer container;
+			if (j == other.count
+					|| (i < count && keys[i] < other.keys[j])) {
+				key = keys[i];
+				container = containers[i++].copy();
+			} else if (i == count || other.keys[j] < keys[i]) {
+				key = other.keys[j];
+				container = other.containers[j++].copy();
+			} else {
+				key = keys[i];
+				container = CellContainer.or(containers[i++],
+						other.containers[j++]);
+			}
+			resultKeys[resultCount] = key;
+			resultContainers[resultCount++] = container;
+		}
+		return new CellBitmap(precision, resultKeys, resultContainers,
+				resultCount);
+	}
+
+	/**
+	 * Intersection of this bitmap and another bitmap of the same precision
+	 *
+	 * @param other
+	 *            other bitmap
+	 * @return intersection bitmap
+	 */
+	public CellBitmap intersection(CellBitmap other) {
+		validatePrecision(other);
+		int length = Math.max(1, Math.min(count, other.count));
+		long[] resultKeys = new long[length];
+		CellContainer[] resultContainers = new CellContainer[length];
+		int resultCount = 0;
+		int i = 0;
+		int j = 0;
+		while (i < count && j < other.count) {
+			if (keys[i] < other.keys[j]) {
+				i++;
+			} else if (other.keys[j] < keys[i]) {
+				j++;
+			} else {
+				CellContainer container = CellContainer.and(containers[i],
+						other.containers[j]);
+				if (container != null) {
+					resultKeys[resultCount] = keys[i];
+					resultContainers[resultCount++] = container;
+				}
+				i++;
+				j++;
+			}
+		}
+		return new CellBitmap(precision, resultKeys, resultContainers,
+				resultCount);
+	}
+
+	/**
+	 * Difference of this bitmap and another bitmap of the same precision, the
+	 * cells of this bitmap not in the other
+	 *
+	 * @param other
+	 *            other bitmap
+	 * @return difference bitmap
+	 */
+	public CellBitmap difference(CellBitmap other) {
+		validatePrecision(other);
+		int length = Math.max(1, count);
+		long[] resultKeys = new long[length];
+		CellContainer[] resultContainers = new CellContainer[length];
+		int resultCount = 0;
+		int j = 0;
+		for (int i = 0; i < count; i++) {
+			while (j < other.count && other.keys[j] < keys[i]) {
+				j++;
+			}
+			CellContainer container;
+			if (j < other.count && other.keys[j] == keys[i]) {
+				container = CellContainer.andNot(containers[i],
+						other.containers[j]);
+			} else {
+				container = containers[i].copy();
+			}
+			if (container != null) {
+				resultKeys[resultCount] = keys[i];
+				resultContainers[resultCount++] = container;
+			}
+		}
+		return new CellBitmap(precision, resultKeys, resultContainers,
+				resultCount);
+	}
+
+	/**
+	 * Perform the action on each cell key in key order
+	 *
+	 * @param action
+	 *            cell key action
+	 */
+	public void forEachKey(LongConsumer action) {
+		for (int i = 0; i < count; i++) {
+			long containerKey = keys[i];
+			long square = CellKey.square(containerKey);
+			long high = ((containerKey >>> HIGH_SHIFT) & HIGH_MASK) << 16;
+			containers[i].forEach(
+					(low) -> action.accept(cellKey(square, high | low)));
+		}
+	}
+
+	/**
+	 * Get an iterator over the cell keys in key order
+	 *
+	 * @return cell key iterator
+	 */
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+
+			/**
+			 * Container index
+			 */
+			private int index = -1;
+
+			/**
+			 * Positions of the current container
+			 */
+			private final int[] positions = new int[65536];
+
+			/**
+			 * Number of positions of the current container
+			 */
+			private int positionCount;
+
+			/**
+			 * Next position index of the current container
+			 */
+			private int position;
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public boolean hasNext() {
+				while (position == positionCount && index + 1 < count) {
+					index++;
+					positionCount = 0;
+					position = 0;
+					containers[index].forEach(
+							(low) -> positions[positionCount++] = low);
+				}
+				return position < positionCount;
+			}
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public long nextLong() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				long containerKey = keys[index];
+				long high = ((containerKey >>> HIGH_SHIFT) & HIGH_MASK) << 16;
+				return cellKey(CellKey.square(containerKey),
+						high | positions[position++]);
+			}
+
+		};
+	}
+
+	/**
+	 * Get the cell keys in key order
+	 *
+	 * @return cell keys
+	 */
+	public CellList toList() {
+		long cells = size();
+		if (cells > Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException(
+					"Too many cells for a list: " + cells);
+		}
+		CellList list = new CellList((int) cells);
+		forEachKey(list::add);
+		return list;
+	}
+
+	/**
+	 * Get the serialized size in bytes
+	 *
+	 * @return bytes
+	 */
+	public int serializedSize() {
+		long bytes = align(HEADER_SIZE + (long) count * ENTRY_SIZE);
+		for (int i = 0; i < count; i++) {
+			bytes = align(bytes + containers[i].serializedSize());
+		}
+		if (bytes > Integer.MAX_VALUE) {
+			throw new IllegalStateException(
+					"Bitmap too large to serialize: " + bytes + " bytes");
+		}
+		return (int) bytes;
+	}
+
+	/**
+	 * Write the bitmap to the buffer at its position, advancing the position
+	 * by the serialized size. The serialized bitmap is big endian with 8 byte
+	 * aligned containers.
+	 *
+	 * @param buffer
+	 *            byte buffer with at least the serialized size remaining
+	 */
+	public void write(ByteBuffer buffer) {
+		int start = buffer.position();
+		int length = serializedSize();
+		ByteBuffer target = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		target.putInt(start, MAGIC);
+		target.putShort(start + 4, VERSION);
+		target.put(start + 6, (byte) accuracy);
+		target.put(start + 7, (byte) 0);
+		target.putInt(start + 8, count);
+		int offset = (int) align(HEADER_SIZE + (long) count * ENTRY_SIZE);
+		for (int i = 0; i < count; i++) {
+			int entry = start + HEADER_SIZE + i * ENTRY_SIZE;
+			target.putLong(entry, keys[i]);
+			target.putInt(entry + 8, containers[i].cardinality());
+			target.putInt(entry + 12, offset);
+			containers[i].write(target, start + offset);
+			offset = (int) align(offset + containers[i].serializedSize());
+		}
+		buffer.position(start + length);
+	}
+
+	/**
+	 * Write the bitmap to a file
+	 *
+	 * @param path
+	 *            file path
+	 * @throws IOException
+	 *             upon failure to write
+	 */
+	public void write(Path path) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(serializedSize());
+		write(buffer);
+		buffer.flip();
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Read a serialized bitmap from the buffer at its position, advancing the
+	 * position by the serialized size. Containers are read only views of the
+	 * buffer, which must not be modified while the bitmap is in use.
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @return bitmap
+	 */
+	public static CellBitmap read(ByteBuffer buffer) {
+		int start = buffer.position();
+		ByteBuffer source = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		if (source.remaining() < HEADER_SIZE
+				|| source.getInt(start) != MAGIC) {
+			throw new IllegalArgumentException("Not a serialized cell bitmap");
+		}
+		short version = source.getShort(start + 4);
+		if (version != VERSION) {
+			throw new IllegalArgumentException(
+					"Unsupported cell bitmap version: " + version);
+		}
+		GridType precision = GridType.withAccuracy(source.get(start + 6));
+		int count = source.getInt(start + 8);
+		long[] keys = new long[Math.max(count, 1)];
+		CellContainer[] containers = new CellContainer[keys.length];
+		int end = (int) align(HEADER_SIZE + (long) count * ENTRY_SIZE);
+		for (int i = 0; i < count; i++) {
+			int entry = start + HEADER_SIZE + i * ENTRY_SIZE;
+			keys[i] = source.getLong(entry);
+			int cardinality = source.getInt(entry + 8);
+			int offset = source.getInt(entry + 12);
+			containers[i] = CellContainer.view(source, start + offset,
+					cardinality);
+			end = (int) align(offset + containers[i].serializedSize());
+		}
+		buffer.position(start + end);
+		return new CellBitmap(precision, keys, containers, count);
+	}
+
+	/**
+	 * Memory map a serialized bitmap file. Containers are read from the
+	 * mapped file as queried.
+	 *
+	 * @param path
+	 *            file path
+	 * @return bitmap
+	 * @throws IOException
+	 *             upon failure to map
+	 */
+	public static CellBitmap map(Path path) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					channel.size());
+		}
+		return read(buffer);
+	}
+
+	/**
+	 * Get the cell position within its 100km square
+	 *
+	 * @param key
+	 *            cell key
+	 * @return position
+	 */
+	private long position(long key) {
+		return (CellKey.easting(key) / size) * side
+				+ CellKey.northing(key) / size;
+	}
+
+	/**
+	 * Get the container key of the cell position
+	 *
+	 * @param square
+	 *            100km square cell key
+	 * @param position
+	 *            cell position within the square
+	 * @return container key
+	 */
+	private static long containerKey(long square, long position) {
+		return square | ((position >>> 16) << HIGH_SHIFT);
+	}
+
+	/**
+	 * Get the cell key of the position
+	 *
+	 * @param square
+	 *            100km square cell key
+	 * @param position
+	 *            cell position within the square
+	 * @return cell key
+	 */
+	private long cellKey(long square, long position) {
+		return CellKey.pack(CellKey.zone(square), CellKey.bandIndex(square),
+				CellKey.columnIndex(square), CellKey.rowIndex(square),
+				(position / side) * size, (position % side) * size,
+				accuracy);
+	}
+
+	/**
+	 * Validate that the other bitmap has the same precision
+	 *
+	 * @param other
+	 *            other bitmap
+	 */
+	private void validatePrecision(CellBitmap other) {
+		if (other.precision != precision) {
+			throw new IllegalArgumentException(
+					"Bitmap precisions do not match. precision: " + precision
+							+ ", other: " + other.precision);
+		}
+	}
+
+	/**
+	 * Insert a container
+	 *
+	 * @param index
+	 *            insertion index
+	 * @param key
+	 *            container key
+	 * @param container
+	 *            container
+	 */
+	private void insert(int index, long key, CellContainer container) {
+		if (count == keys.length) {
+			int length = Math.max(4, count * 2);
+			keys = Arrays.copyOf(keys, length);
+			containers = Arrays.copyOf(containers, length);
+		}
+		System.arraycopy(keys, index, keys, index + 1, count - index);
+		System.arraycopy(containers, index, containers, index + 1,
+				count - index);
+		keys[index] = key;
+		containers[index] = container;
+		count++;
+	}
+
+	/**
+	 * Align the offset to 8 bytes
+	 *
+	 * @param offset
+	 *            offset
+	 * @return aligned offset
+	 */
+	private static long align(long offset) {
+		return (offset + 7) & ~7L;
+	}
+
+}
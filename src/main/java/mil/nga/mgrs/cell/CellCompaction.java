@@ -0,0 +1,176 @@
+package mil.nga.mgrs.cell;
+
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Compaction of packed MGRS cell keys across precisions. Compacting replaces
+ * each complete group of child cells with their parent at the next coarser
+ * precision, repeatedly up to a coarsest precision. Uncompacting expands cells
+ * back to their children at a finer precision. Parents split by grid zone
+ * edges, including partial 100km squares, are complete when all of their
+ * children within the grid zone are present, matching
+ * {@link CellNavigation#children(long, GridType)}.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public final class CellCompaction {
+
+	/**
+	 * Finest accuracy digits
+	 */
+	private static final int MAX_ACCURACY = GridType.METER.getAccuracy();
+
+	/**
+	 * Private constructor
+	 */
+	private CellCompaction() {
+	}
+
+	/**
+	 * Compact the cells up to 100km squares
+	 *
+	 * @param cells
+	 *            cell keys of any precisions
+	 * @return compacted cell keys in key order
+	 */
+	public static CellList compact(CellList cells) {
+		return compact(cells, GridType.HUNDRED_KILOMETER);
+	}
+
+	/**
+	 * Compact the cells, replacing complete groups of children with their
+	 * parents up to the coarsest precision. Duplicate cells and cells within
+	 * other cells are removed.
+	 *
+	 * @param cells
+	 *            cell keys of any precisions
+	 * @param precision
+	 *            coarsest precision grid type
+	 * @return compacted cell keys in key order
+	 */
+	public static CellList compact(CellList cells, GridType precision) {
+
+		int coarsest = CellKey.accuracy(precision);
+
+		CellSet[] levels = new CellSet[MAX_ACCURACY + 1];
+		for (int accuracy = 0; accuracy <= MAX_ACCURACY; accuracy++) {
+			levels[accuracy] = new CellSet();
+		}
+		for (int i = 0; i < cells.size(); i++) {
+			long key = cells.get(i);
+			levels[CellKey.accuracy(key)].add(key);
+		}
+
+		CellList children = new CellList();
+		CellList parents = new CellList();
+		for (int accuracy = MAX_ACCURACY; accuracy > coarsest; accuracy--) {
+
+			CellSet level = levels[accuracy];
+			if (level.isEmpty()) {
+				continue;
+			}
+			GridType childPrecision = GridType.withAccuracy(accuracy);
+			GridType parentPrecision = GridType.withAccuracy(accuracy - 1);
+
+			// Find the parents with all of their children in the level
+			CellSet checked = new CellSet();
+			parents.clear();
+			for (long key : level.toArray()) {
+				long parent = CellKey.withPrecision(key, parentPrecision);
+				if (checked.add(parent)) {
+					children.clear();
+					CellNavigation.children(parent, childPrecision, children);
+					if (containsAll(level, children)) {
+						parents.add(parent);
+					}
+				}
+			}
+
+			// Replace the children with their parents
+			for (int i = 0; i < parents.size(); i++) {
+				long parent = parents.get(i);
+				children.clear();
+				CellNavigation.children(parent, childPrecision, children);
+				for (int j = 0; j < children.size(); j++) {
+					level.remove(children.get(j));
+				}
+				levels[accuracy - 1].add(parent);
+			}
+		}
+
+		// Keep the cells not within a coarser cell
+		CellList compacted = new CellList();
+		for (int accuracy = 0; accuracy <= MAX_ACCURACY; accuracy++) {
+			for (long key : levels[accuracy].toArray()) {
+				if (!isCovered(levels, key, accuracy)) {
+					compacted.add(key);
+				}
+			}
+		}
+		compacted.sort();
+
+		return compacted;
+	}
+
+	/**
+	 * Uncompact the cells, expanding each cell to its children within the grid
+	 * zone at the precision
+	 *
+	 * @param cells
+	 *            cell keys at the precision or coarser
+	 * @param precision
+	 *            precision grid type
+	 * @return distinct cell keys at the precision in key order
+	 */
+	public static CellList uncompact(CellList cells, GridType precision) {
+		CellList uncompacted = new CellList(cells.size());
+		for (int i = 0; i < cells.size(); i++) {
+			CellNavigation.children(cells.get(i), precision, uncompacted);
+		}
+		uncompacted.sortDistinct();
+		return uncompacted;
+	}
+
+	/**
+	 * Determine if the set contains all of the cells in the list
+	 *
+	 * @param set
+	 *            cell set
+	 * @param list
+	 *            cell list
+	 * @return true if all contained
+	 */
+	private static boolean containsAll(CellSet set, CellList list) {
+		for (int i = 0; i < list.size(); i++) {
+			if (!set.contains(list.get(i))) {
+				return false;
+			}
+		}
+		return !list.isEmpty();
+	}
+
+	/**
+	 * Determine if a coarser cell containing the cell is in the levels
+	 *
+	 * @param levels
+	 *            cell sets by accuracy
+	 * @param key
+	 *            cell key
+	 * @param accuracy
+	 *            cell accuracy
+	 * @return true if covered
+	 */
+	private static boolean isCovered(CellSet[] levels, long key,
+			int accuracy) {
+		for (int coarser = accuracy - 1; coarser >= 0; coarser--) {
+			CellSet level = levels[coarser];
+			if (!level.isEmpty() && level.contains(CellKey.withPrecision(key,
+					GridType.withAccuracy(coarser)))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
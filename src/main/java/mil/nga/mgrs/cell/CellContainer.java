@@ -0,0 +1,791 @@
+package mil.nga.mgrs.cell;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Roaring style container of up to 65536 low 16 bit cell positions, stored as
+ * a sorted array when sparse or as a bitmap when dense. Heap containers are
+ * mutable, returning the container holding the result when converting
+ * between representations. Buffer containers are read only views of
+ * serialized containers, copied to the heap when modified.
+ *
+ * @author osbornb
+ */
+abstract class CellContainer {
+
+	/**
+	 * Maximum array container cardinality
+	 */
+	static final int ARRAY_MAX = 4096;
+
+	/**
+	 * Bitmap container words
+	 */
+	static final int BITMAP_WORDS = 1024;
+
+	/**
+	 * Get the number of positions
+	 *
+	 * @return cardinality
+	 */
+	abstract int cardinality();
+
+	/**
+	 * Determine if the position is contained
+	 *
+	 * @param value
+	 *            low position
+	 * @return true if contained
+	 */
+	abstract boolean contains(int value);
+
+	/**
+	 * Add the position
+	 *
+	 * @param value
+	 *            low position
+	 * @return container holding the result
+	 */
+	abstract CellContainer add(int value);
+
+	/**
+	 * Remove the position
+	 *
+	 * @param value
+	 *            low position
+	 * @return container holding the result
+	 */
+	abstract CellContainer remove(int value);
+
+	/**
+	 * Perform the action on each position in ascending order
+	 *
+	 * @param action
+	 *            position action
+	 */
+	abstract void forEach(IntConsumer action);
+
+	/**
+	 * Get a container that may be modified without affecting this container
+	 *
+	 * @return container copy, or this container when read only
+	 */
+	abstract CellContainer copy();
+
+	/**
+	 * Get a heap container with the same positions, this container when
+	 * already on the heap
+	 *
+	 * @return heap container
+	 */
+	abstract CellContainer toHeap();
+
+	/**
+	 * Get the serialized size in bytes
+	 *
+	 * @return bytes
+	 */
+	int serializedSize() {
+		int cardinality = cardinality();
+		return cardinality > ARRAY_MAX ? BITMAP_WORDS * Long.BYTES
+				: cardinality * Character.BYTES;
+	}
+
+	/**
+	 * Write the container positions at the absolute buffer offset, as sorted
+	 * positions when an array and as words when a bitmap
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param offset
+	 *            absolute offset
+	 */
+	void write(ByteBuffer buffer, int offset) {
+		if (cardinality() > ARRAY_MAX) {
+			long[] words = ((Bitmap) toHeap()).words;
+			for (int i = 0; i < BITMAP_WORDS; i++) {
+				buffer.putLong(offset + i * Long.BYTES, words[i]);
+			}
+		} else {
+			int[] index = { offset };
+			forEach((value) -> {
+				buffer.putChar(index[0], (char) value);
+				index[0] += Character.BYTES;
+			});
+		}
+	}
+
+	/**
+	 * Create a read only view of a serialized container
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 * @param offset
+	 *            absolute offset
+	 * @param cardinality
+	 *            cardinality
+	 * @return buffer container
+	 */
+	static CellContainer view(ByteBuffer buffer, int offset,
+			int cardinality) {
+		return cardinality > ARRAY_MAX
+				? new BufferBitmap(buffer, offset, cardinality)
+				: new BufferArray(buffer, offset, cardinality);
+	}
+
+	/**
+	 * Union of the containers
+	 *
+	 * @param container1
+	 *            first container
+	 * @param container2
+	 *            second container
+	 * @return union heap container
+	 */
+	static CellContainer or(CellContainer container1,
+			CellContainer container2) {
+		CellContainer heap1 = container1.toHeap();
+		CellContainer heap2 = container2.toHeap();
+		CellContainer result;
+		if (heap1 instanceof Array && heap2 instanceof Array) {
+			Array array1 = (Array) heap1;
+			Array array2 = (Array) heap2;
+			char[] values = new char[array1.size + array2.size];
+			int size = 0;
+			int i = 0;
+			int j = 0;
+			while (i < array1.size || j < array2.size) {
+				char value;
+				if (j == array2.size || (i < array1.size
+						&& array1.values[i] < array2.values[j])) {
+					value = array1.values[i++];
+				} else if (i == array1.size
+						|| array2.values[j] < array1.values[i]) {
+					value = array2.values[j++];
+				} else {
+					value = array1.values[i++];
+					j++;
+				}
+				values[size++] = value;
+			}
+			result = new Array(values, size).normalize();
+		} else {
+			Bitmap bitmap = heap1 instanceof Bitmap
+					? ((Bitmap) heap1).copy()
+					: ((Bitmap) heap2).copy();
+			CellContainer other = heap1 instanceof Bitmap ? heap2 : heap1;
+			if (other instanceof Bitmap) {
+				long[] words = ((Bitmap) other).words;
+				for (int i = 0; i < BITMAP_WORDS; i++) {
+					bitmap.words[i] |= words[i];
+				}
+				bitmap.count();
+			} else {
+				other.forEach(bitmap::set);
+			}
+			result = bitmap;
+		}
+		return result;
+	}
+
+	/**
+	 * Intersection of the containers
+	 *
+	 * @param container1
+	 *            first container
+	 * @param container2
+	 *            second container
+	 * @return intersection heap container or null if empty
+	 */
+	static CellContainer and(CellContainer container1,
+			CellContainer container2) {
+		CellContainer heap1 = container1.toHeap();
+		CellContainer heap2 = container2.toHeap();
+		CellContainer result;
+		if (heap1 instanceof Bitmap && heap2 instanceof Bitmap) {
+			long[] words1 = ((Bitmap) heap1).words;
+			long[] words2 = ((Bitmap) heap2).words;
+			long[] words = new long[BITMAP_WORDS];
+			for (int i = 0; i < BITMAP_WORDS; i++) {
+				words[i] = words1[i] & words2[i];
+			}
+			result = new Bitmap(words).normalize();
+		} else {
+			CellContainer small = heap1;
+			CellContainer large = heap2;
+			if (small instanceof Bitmap || (large instanceof Array
+					&& large.cardinality() < small.cardinality())) {
+				small = heap2;
+				large = heap1;
+			}
+			result = filter((Array) small, large, true);
+		}
+		return result.cardinality() > 0 ? result : null;
+	}
+
+	/**
+	 * Difference of the containers
+	 *
+	 * @param container1
+	 *            container
+	 * @param container2
+	 *            container to remove
+	 * @return difference heap container or null if empty
+	 */
+	static CellContainer andNot(CellContainer container1,
+			CellContainer container2) {
+		CellContainer heap1 = container1.toHeap();
+		CellContainer heap2 = container2.toHeap();
+		CellContainer result;
+		if (heap1 instanceof Array) {
+			result = filter((Array) heap1, heap2, false);
+		} else {
+			Bitmap bitmap = ((Bitmap) heap1).copy();
+			if (heap2 instanceof Bitmap) {
+				long[] words = ((Bitmap) heap2).words;
+				for (int i = 0; i < BITMAP_WORDS; i++) {
+					bitmap.words[i] &= ~words[i];
+				}
+				bitmap.count();
+			} else {
+				heap2.forEach(bitmap::clear);
+			}
+			result = bitmap.normalize();
+		}
+		return result.cardinality() > 0 ? result : null;
+	}
+
+	/**
+	 * Filter the array positions by their containment in another container
+	 *
+	 * @param array
+	 *            array container
+	 * @param container
+	 *            filter container
+	 * @param contained
+	 *            true to keep contained positions, false to keep positions
+	 *            not contained
+	 * @return filtered array container
+	 */
+	private static Array filter(Array array, CellContainer container,
+			boolean contained) {
+		char[] values = new char[array.size];
+		int size = 0;
+		for (int i = 0; i < array.size; i++) {
+			if (container.contains(array.values[i]) == contained) {
+				values[size++] = array.values[i];
+			}
+		}
+		return new Array(values, size);
+	}
+
+	/**
+	 * Sorted array container
+	 */
+	static class Array extends CellContainer {
+
+		/**
+		 * Sorted positions
+		 */
+		private char[] values;
+
+		/**
+		 * Number of positions
+		 */
+		private int size;
+
+		/**
+		 * Constructor
+		 */
+		Array() {
+			this(new char[4], 0);
+		}
+
+		/**
+		 * Constructor
+		 *
+		 * @param values
+		 *            sorted positions
+		 * @param size
+		 *            number of positions
+		 */
+		Array(char[] values, int size) {
+			this.values = values;
+			this.size = size;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		int cardinality() {
+			return size;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean contains(int value) {
+			return Arrays.binarySearch(values, 0, size, (char) value) >= 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer add(int value) {
+			CellContainer container = this;
+			int index = Arrays.binarySearch(values, 0, size, (char) value);
+			if (index < 0) {
+				if (size == ARRAY_MAX) {
+					container = toBitmap().add(value);
+				} else {
+					index = -index - 1;
+					if (size == values.length) {
+						values = Arrays.copyOf(values,
+								Math.min(ARRAY_MAX, size * 2));
+					}
+					System.arraycopy(values, index, values, index + 1,
+							size - index);
+					values[index] = (char) value;
+					size++;
+				}
+			}
+			return container;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer remove(int value) {
+			int index = Arrays.binarySearch(values, 0, size, (char) value);
+			if (index >= 0) {
+				System.arraycopy(values, index + 1, values, index,
+						size - index - 1);
+				size--;
+			}
+			return this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void forEach(IntConsumer action) {
+			for (int i = 0; i < size; i++) {
+				action.accept(values[i]);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Array copy() {
+			return new Array(Arrays.copyOf(values, Math.max(size, 1)), size);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer toHeap() {
+			return this;
+		}
+
+		/**
+		 * Get the container as an array or a bitmap when too large
+		 *
+		 * @return container
+		 */
+		CellContainer normalize() {
+			return size > ARRAY_MAX ? toBitmap() : this;
+		}
+
+		/**
+		 * Convert to a bitmap container
+		 *
+		 * @return bitmap container
+		 */
+		private Bitmap toBitmap() {
+			Bitmap bitmap = new Bitmap(new long[BITMAP_WORDS]);
+			forEach(bitmap::set);
+			return bitmap;
+		}
+
+	}
+
+	/**
+	 * Bitmap container
+	 */
+	static class Bitmap extends CellContainer {
+
+		/**
+		 * Bitmap words
+		 */
+		private final long[] words;
+
+		/**
+		 * Number of positions
+		 */
+		private int cardinality;
+
+		/**
+		 * Constructor
+		 *
+		 * @param words
+		 *            bitmap words
+		 */
+		Bitmap(long[] words) {
+			this.words = words;
+			count();
+		}
+
+		/**
+		 * Count the set bits
+		 */
+		private void count() {
+			cardinality = 0;
+			for (long word : words) {
+				cardinality += Long.bitCount(word);
+			}
+		}
+
+		/**
+		 * Set the position bit
+		 *
+		 * @param value
+		 *            low position
+		 */
+		private void set(int value) {
+			long word = words[value >>> 6];
+			long bit = 1L << value;
+			if ((word & bit) == 0) {
+				words[value >>> 6] = word | bit;
+				cardinality++;
+			}
+		}
+
+		/**
+		 * Clear the position bit
+		 *
+		 * @param value
+		 *            low position
+		 */
+		private void clear(int value) {
+			long word = words[value >>> 6];
+			long bit = 1L << value;
+			if ((word & bit) != 0) {
+				words[value >>> 6] = word & ~bit;
+				cardinality--;
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		int cardinality() {
+			return cardinality;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean contains(int value) {
+			return (words[value >>> 6] & (1L << value)) != 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer add(int value) {
+			set(value);
+			return this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer remove(int value) {
+			clear(value);
+			return normalize();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void forEach(IntConsumer action) {
+			for (int i = 0; i < BITMAP_WORDS; i++) {
+				long word = words[i];
+				while (word != 0) {
+					action.accept(i * Long.SIZE
+							+ Long.numberOfTrailingZeros(word));
+					word &= word - 1;
+				}
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Bitmap copy() {
+			return new Bitmap(words.clone());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer toHeap() {
+			return this;
+		}
+
+		/**
+		 * Get the container as a bitmap or an array when small enough
+		 *
+		 * @return container
+		 */
+		CellContainer normalize() {
+			CellContainer container = this;
+			if (cardinality <= ARRAY_MAX) {
+				char[] values = new char[Math.max(cardinality, 1)];
+				int[] size = { 0 };
+				forEach((value) -> values[size[0]++] = (char) value);
+				container = new Array(values, cardinality);
+			}
+			return container;
+		}
+
+	}
+
+	/**
+	 * Read only sorted array container view of a buffer
+	 */
+	static class BufferArray extends CellContainer {
+
+		/**
+		 * Byte buffer
+		 */
+		private final ByteBuffer buffer;
+
+		/**
+		 * Absolute offset
+		 */
+		private final int offset;
+
+		/**
+		 * Number of positions
+		 */
+		private final int size;
+
+		/**
+		 * Constructor
+		 *
+		 * @param buffer
+		 *            byte buffer
+		 * @param offset
+		 *            absolute offset
+		 * @param size
+		 *            number of positions
+		 */
+		BufferArray(ByteBuffer buffer, int offset, int size) {
+			this.buffer = buffer;
+			this.offset = offset;
+			this.size = size;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		int cardinality() {
+			return size;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean contains(int value) {
+			int low = 0;
+			int high = size - 1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				char current = buffer
+						.getChar(offset + middle * Character.BYTES);
+				if (current < value) {
+					low = middle + 1;
+				} else if (current > value) {
+					high = middle - 1;
+				} else {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer add(int value) {
+			return toHeap().add(value);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer remove(int value) {
+			return toHeap().remove(value);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void forEach(IntConsumer action) {
+			for (int i = 0; i < size; i++) {
+				action.accept(buffer.getChar(offset + i * Character.BYTES));
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer copy() {
+			return this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer toHeap() {
+			char[] values = new char[Math.max(size, 4)];
+			for (int i = 0; i < size; i++) {
+				values[i] = buffer.getChar(offset + i * Character.BYTES);
+			}
+			return new Array(values, size);
+		}
+
+	}
+
+	/**
+	 * Read only bitmap container view of a buffer
+	 */
+	static class BufferBitmap extends CellContainer {
+
+		/**
+		 * Byte buffer
+		 */
+		private final ByteBuffer buffer;
+
+		/**
+		 * Absolute offset
+		 */
+		private final int offset;
+
+		/**
+		 * Number of positions
+		 */
+		private final int cardinality;
+
+		/**
+		 * Constructor
+		 *
+		 * @param buffer
+		 *            byte buffer
+		 * @param offset
+		 *            absolute offset
+		 * @param cardinality
+		 *            number of positions
+		 */
+		BufferBitmap(ByteBuffer buffer, int offset, int cardinality) {
+			this.buffer = buffer;
+			this.offset = offset;
+			this.cardinality = cardinality;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		int cardinality() {
+			return cardinality;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean contains(int value) {
+			long word = buffer.getLong(offset + (value >>> 6) * Long.BYTES);
+			return (word & (1L << value)) != 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer add(int value) {
+			return toHeap().add(value);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer remove(int value) {
+			return toHeap().remove(value);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void forEach(IntConsumer action) {
+			for (int i = 0; i < BITMAP_WORDS; i++) {
+				long word = buffer.getLong(offset + i * Long.BYTES);
+				while (word != 0) {
+					action.accept(i * Long.SIZE
+							+ Long.numberOfTrailingZeros(word));
+					word &= word - 1;
+				}
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer copy() {
+			return this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		CellContainer toHeap() {
+			long[] words = new long[BITMAP_WORDS];
+			for (int i = 0; i < BITMAP_WORDS; i++) {
+				words[i] = buffer.getLong(offset + i * Long.BYTES);
+			}
+			return new Bitmap(words);
+		}
+
+	}
+
+}
@@ -0,0 +1,1030 @@
+package mil.nga.mgrs.cell;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRSTables;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Polygon cover (polyfill) of the MGRS cells at a precision whose area
+ * intersects the polygon interior. Polygon edges are straight lines in
+ * longitude and latitude, rings use the even odd rule, and the polygon must
+ * not cross the antimeridian.
+ * <p>
+ * Each grid zone within the polygon bounds, including the Norway and
+ * Svalbard exceptions, is covered separately: the polygon is clipped to the
+ * grid zone bounds, projected into the zone UTM coordinates, and scanned one
+ * row of cells at a time. Cells are streamed lazily as {@link CellKey}
+ * values, so memory is bounded by the polygon size rather than the number of
+ * cells. A UTM cell crossing a zone or band boundary is produced once within
+ * each grid zone, matching {@link mil.nga.mgrs.MGRS#from(double, double)}.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellCover {
+
+	/**
+	 * Maximum edge length in degrees before projecting, keeping projected
+	 * edges within a fraction of a meter of the true curves
+	 */
+	static final double DENSIFY_DEGREES = 0.05;
+
+	/**
+	 * Minimum UTM easting of the 100km column letters
+	 */
+	private static final double MIN_EASTING = MGRSTables.SQUARE_SIZE;
+
+	/**
+	 * Maximum UTM easting of the 100km column letters, exclusive
+	 */
+	private static final double MAX_EASTING = (MGRSTables.COLUMNS + 1)
+			* MGRSTables.SQUARE_SIZE;
+
+	/**
+	 * Ring longitudes
+	 */
+	private final double[][] longitudes;
+
+	/**
+	 * Ring latitudes
+	 */
+	private final double[][] latitudes;
+
+	/**
+	 * Polygon bounds
+	 */
+	private final Bounds bounds;
+
+	/**
+	 * Constructor
+	 *
+	 * @param exterior
+	 *            exterior ring points, optionally closed
+	 */
+	public CellCover(List<Point> exterior) {
+		this(exterior, Collections.emptyList());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param exterior
+	 *            exterior ring points, optionally closed
+	 * @param holes
+	 *            hole ring points, optionally closed
+	 */
+	public CellCover(List<Point> exterior, List<List<Point>> holes) {
+		int rings = 1 + holes.size();
+		longitudes = new double[rings][];
+		latitudes = new double[rings][];
+		setRing(0, exterior);
+		for (int i = 0; i < holes.size(); i++) {
+			setRing(i + 1, holes.get(i));
+		}
+		bounds = ringBounds();
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param longitudes
+	 *            exterior ring longitudes in degrees, optionally closed
+	 * @param latitudes
+	 *            exterior ring latitudes in degrees, optionally closed
+	 */
+	public CellCover(double[] longitudes, double[] latitudes) {
+		if (longitudes.length != latitudes.length) {
+			throw new IllegalArgumentException(
+					"Longitude and latitude counts must match. longitudes: "
+							+ longitudes.length + ", latitudes: "
+							+ latitudes.length);
+		}
+		int count = ringCount(longitudes[0], latitudes[0],
+				longitudes[longitudes.length - 1],
+				latitudes[latitudes.length - 1], longitudes.length);
+		this.longitudes = new double[][] {
+				Arrays.copyOf(longitudes, count) };
+		this.latitudes = new double[][] { Arrays.copyOf(latitudes, count) };
+		bounds = ringBounds();
+	}
+
+	/**
+	 * Set the ring coordinates from the points
+	 *
+	 * @param ring
+	 *            ring index
+	 * @param points
+	 *            ring points
+	 */
+	private void setRing(int ring, List<Point> points) {
+		if (points.size() < 3) {
+			throw new IllegalArgumentException(
+					"Polygon rings require at least 3 points. points: "
+							+ points.size());
+		}
+		Point first = points.get(0).toDegrees();
+		Point last = points.get(points.size() - 1).toDegrees();
+		int count = ringCount(first.getLongitude(), first.getLatitude(),
+				last.getLongitude(), last.getLatitude(), points.size());
+		longitudes[ring] = new double[count];
+		latitudes[ring] = new double[count];
+		for (int i = 0; i < count; i++) {
+			Point point = points.get(i).toDegrees();
+			longitudes[ring][i] = point.getLongitude();
+			latitudes[ring][i] = point.getLatitude();
+		}
+	}
+
+	/**
+	 * Get the ring coordinate count, excluding a closing point
+	 *
+	 * @param firstLongitude
+	 *            first longitude
+	 * @param firstLatitude
+	 *            first latitude
+	 * @param lastLongitude
+	 *            last longitude
+	 * @param lastLatitude
+	 *            last latitude
+	 * @param count
+	 *            number of points
+	 * @return ring coordinate count
+	 */
+	private static int ringCount(double firstLongitude, double firstLatitude,
+			double lastLongitude, double lastLatitude, int count) {
+		if (count > 1 && firstLongitude == lastLongitude
+				&& firstLatitude == lastLatitude) {
+			count--;
+		}
+		return count;
+	}
+
+	/**
+	 * Get the bounds of the rings
+	 *
+	 * @return bounds
+	 */
+	private Bounds ringBounds() {
+		double west = Double.POSITIVE_INFINITY;
+		double south = Double.POSITIVE_INFINITY;
+		double east = Double.NEGATIVE_INFINITY;
+		double north = Double.NEGATIVE_INFINITY;
+		for (int ring = 0; ring < longitudes.length; ring++) {
+			for (int i = 0; i < longitudes[ring].length; i++) {
+				west = Math.min(west, longitudes[ring][i]);
+				south = Math.min(south, latitudes[ring][i]);
+				east = Math.max(east, longitudes[ring][i]);
+				north = Math.max(north, latitudes[ring][i]);
+			}
+		}
+		return Bounds.degrees(west, south, east, north);
+	}
+
+	/**
+	 * Get the polygon bounds
+	 *
+	 * @return bounds in degrees
+	 */
+	public Bounds getBounds() {
+		return new Bounds(bounds);
+	}
+
+	/**
+	 * Determine if the polygon contains the coordinate, using the even odd
+	 * rule
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @return true if contained
+	 */
+	public boolean contains(double longitude, double latitude) {
+		boolean inside = false;
+		for (int ring = 0; ring < longitudes.length; ring++) {
+			double[] x = longitudes[ring];
+			double[] y = latitudes[ring];
+			for (int i = 0, j = x.length - 1; i < x.length; j = i++) {
+				if ((y[i] > latitude) != (y[j] > latitude)
+						&& longitude < x[j] + (latitude - y[j])
+								* (x[i] - x[j]) / (y[i] - y[j])) {
+					inside = !inside;
+				}
+			}
+		}
+		return inside;
+	}
+
+	/**
+	 * Get a lazy iterator of the covering cell keys, ordered by grid zone,
+	 * then by UTM row and column within the grid zone
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell key iterator
+	 */
+	public PrimitiveIterator.OfLong iterator(GridType precision) {
+		if (precision == GridType.GZD) {
+			throw new IllegalArgumentException(
+					"Cell cover requires a 100km square or finer precision");
+		}
+		return new CoverIterator(GridZones.getZones(bounds), precision);
+	}
+
+	/**
+	 * Get a lazy sequential stream of the covering cell keys
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell key stream
+	 */
+	public LongStream stream(GridType precision) {
+		return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(
+				iterator(precision), Spliterator.DISTINCT
+						| Spliterator.NONNULL | Spliterator.ORDERED),
+				false);
+	}
+
+	/**
+	 * Perform the action for each covering cell key
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @param action
+	 *            cell key action
+	 */
+	public void forEachKey(GridType precision, LongConsumer action) {
+		iterator(precision).forEachRemaining(action);
+	}
+
+	/**
+	 * Get the covering cell keys as a set
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell set
+	 */
+	public CellSet toSet(GridType precision) {
+		CellSet set = new CellSet();
+		forEachKey(precision, set::add);
+		return set;
+	}
+
+	/**
+	 * Create the UTM boundary segments of the polygon clipped to the grid
+	 * zone bounds: the polygon edge pieces within the bounds and the pieces
+	 * of the bounds edges within the polygon
+	 *
+	 * @param gridZone
+	 *            grid zone
+	 * @return segments or null when the polygon is outside of the grid zone
+	 */
+	private Segments clip(GridZone gridZone) {
+
+		Bounds zoneBounds = gridZone.getBounds();
+		double west = zoneBounds.getMinLongitude();
+		double south = zoneBounds.getMinLatitude();
+		double east = zoneBounds.getMaxLongitude();
+		double north = zoneBounds.getMaxLatitude();
+
+		Segments segments = new Segments(gridZone.getNumber(),
+				gridZone.getHemisphere());
+		double[] clipped = new double[4];
+
+		for (int ring = 0; ring < longitudes.length; ring++) {
+			double[] x = longitudes[ring];
+			double[] y = latitudes[ring];
+			for (int i = 0, j = x.length - 1; i < x.length; j = i++) {
+				if (clip(x[j], y[j], x[i], y[i], west, south, east, north,
+						clipped)) {
+					segments.addDensified(clipped[0], clipped[1],
+							clipped[2], clipped[3]);
+				}
+			}
+		}
+
+		if (segments.size() == 0 && !contains(west, south)) {
+			return null;
+		}
+
+		addBoundsEdge(segments, west, south, west, north);
+		addBoundsEdge(segments, west, north, east, north);
+		addBoundsEdge(segments, east, north, east, south);
+		addBoundsEdge(segments, east, south, west, south);
+
+		return segments.size() > 0 ? segments : null;
+	}
+
+	/**
+	 * Clip the segment to the bounds using the Liang Barsky algorithm
+	 *
+	 * @param x1
+	 *            start longitude
+	 * @param y1
+	 *            start latitude
+	 * @param x2
+	 *            end longitude
+	 * @param y2
+	 *            end latitude
+	 * @param west
+	 *            west longitude
+	 * @param south
+	 *            south latitude
+	 * @param east
+	 *            east longitude
+	 * @param north
+	 *            north latitude
+	 * @param clipped
+	 *            destination of the clipped start and end coordinates
+	 * @return true if a clipped segment exists
+	 */
+	static boolean clip(double x1, double y1, double x2, double y2,
+			double west, double south, double east, double north,
+			double[] clipped) {
+		double dx = x2 - x1;
+		double dy = y2 - y1;
+		double[] p = new double[] { -dx, dx, -dy, dy };
+		double[] q = new double[] { x1 - west, east - x1, y1 - south,
+				north - y1 };
+		double t0 = 0.0;
+		double t1 = 1.0;
+		for (int i = 0; i < 4; i++) {
+			if (p[i] == 0) {
+				if (q[i] < 0) {
+					return false;
+				}
+			} else {
+				double t = q[i] / p[i];
+				if (p[i] < 0) {
+					t0 = Math.max(t0, t);
+				} else {
+					t1 = Math.min(t1, t);
+				}
+			}
+		}
+		if (t0 > t1) {
+			return false;
+		}
+		clipped[0] = x1 + t0 * dx;
+		clipped[1] = y1 + t0 * dy;
+		clipped[2] = x1 + t1 * dx;
+		clipped[3] = y1 + t1 * dy;
+		return true;
+	}
+
+	/**
+	 * Add the pieces of a grid zone bounds edge within the polygon
+	 *
+	 * @param segments
+	 *            segments
+	 * @param x1
+	 *            edge start longitude
+	 * @param y1
+	 *            edge start latitude
+	 * @param x2
+	 *            edge end longitude
+	 * @param y2
+	 *            edge end latitude
+	 */
+	private void addBoundsEdge(Segments segments, double x1, double y1,
+			double x2, double y2) {
+
+		boolean meridian = x1 == x2;
+		double fixed = meridian ? x1 : y1;
+		double start = meridian ? y1 : x1;
+		double end = meridian ? y2 : x2;
+
+		// Edge parameters where polygon edges cross the bounds edge
+		double[] params = new double[8];
+		int count = 0;
+		params[count++] = 0.0;
+		params[count++] = 1.0;
+		for (int ring = 0; ring < longitudes.length; ring++) {
+			double[] a = meridian ? longitudes[ring] : latitudes[ring];
+			double[] b = meridian ? latitudes[ring] : longitudes[ring];
+			for (int i = 0, j = a.length - 1; i < a.length; j = i++) {
+				double value = Double.NaN;
+				if (a[i] == fixed && a[j] == fixed) {
+					if (count + 2 > params.length) {
+						params = Arrays.copyOf(params, params.length * 2);
+					}
+					params[count++] = (b[i] - start) / (end - start);
+					value = b[j];
+				} else if ((a[i] - fixed) * (a[j] - fixed) <= 0) {
+					value = b[j] + (fixed - a[j]) * (b[i] - b[j])
+							/ (a[i] - a[j]);
+				}
+				if (!Double.isNaN(value)) {
+					double param = (value - start) / (end - start);
+					if (param > 0.0 && param < 1.0) {
+						if (count == params.length) {
+							params = Arrays.copyOf(params, count * 2);
+						}
+						params[count++] = param;
+					}
+				}
+			}
+		}
+		Arrays.sort(params, 0, count);
+
+		for (int i = 1; i < count; i++) {
+			double param1 = Math.max(0.0, params[i - 1]);
+			double param2 = Math.min(1.0, params[i]);
+			if (param2 > param1) {
+				double middle = start + (param1 + param2) / 2 * (end - start);
+				boolean inside = meridian ? contains(fixed, middle)
+						: contains(middle, fixed);
+				if (inside) {
+					double value1 = start + param1 * (end - start);
+					double value2 = start + param2 * (end - start);
+					if (meridian) {
+						segments.addDensified(fixed, value1, fixed, value2);
+					} else {
+						segments.addDensified(value1, fixed, value2, fixed);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * UTM boundary segments of the polygon within a grid zone
+	 */
+	private static class Segments {
+
+		/**
+		 * Zone number
+		 */
+		private final int zone;
+
+		/**
+		 * Hemisphere
+		 */
+		private final Hemisphere hemisphere;
+
+		/**
+		 * Segment coordinates: start easting, start northing, end easting,
+		 * end northing
+		 */
+		private double[] coordinates = new double[64];
+
+		/**
+		 * Number of segments
+		 */
+		private int size;
+
+		/**
+		 * Reusable projection working array
+		 */
+		private final double[] eastingNorthing = new double[2];
+
+		/**
+		 * Constructor
+		 *
+		 * @param zone
+		 *            zone number
+		 * @param hemisphere
+		 *            hemisphere
+		 */
+		Segments(int zone, Hemisphere hemisphere) {
+			this.zone = zone;
+			this.hemisphere = hemisphere;
+		}
+
+		/**
+		 * Get the number of segments
+		 *
+		 * @return size
+		 */
+		int size() {
+			return size;
+		}
+
+		/**
+		 * Densify and project the longitude and latitude segment
+		 *
+		 * @param x1
+		 *            start longitude
+		 * @param y1
+		 *            start latitude
+		 * @param x2
+		 *            end longitude
+		 * @param y2
+		 *            end latitude
+		 */
+		void addDensified(double x1, double y1, double x2, double y2) {
+			int steps = Math.max(1, (int) Math.ceil(
+					Math.max(Math.abs(x2 - x1), Math.abs(y2 - y1))
+							/ DENSIFY_DEGREES));
+			UTM.from(x1, y1, zone, hemisphere, eastingNorthing);
+			double easting = eastingNorthing[0];
+			double northing = eastingNorthing[1];
+			for (int step = 1; step <= steps; step++) {
+				double t = (double) step / steps;
+				UTM.from(x1 + t * (x2 - x1), y1 + t * (y2 - y1), zone,
+						hemisphere, eastingNorthing);
+				add(easting, northing, eastingNorthing[0],
+						eastingNorthing[1]);
+				easting = eastingNorthing[0];
+				northing = eastingNorthing[1];
+			}
+		}
+
+		/**
+		 * Add a UTM segment
+		 *
+		 * @param e1
+		 *            start easting
+		 * @param n1
+		 *            start northing
+		 * @param e2
+		 *            end easting
+		 * @param n2
+		 *            end northing
+		 */
+		private void add(double e1, double n1, double e2, double n2) {
+			if (size * 4 == coordinates.length) {
+				coordinates = Arrays.copyOf(coordinates,
+						coordinates.length * 2);
+			}
+			int index = size++ * 4;
+			coordinates[index] = e1;
+			coordinates[index + 1] = n1;
+			coordinates[index + 2] = e2;
+			coordinates[index + 3] = n2;
+		}
+
+	}
+
+	/**
+	 * Lazy row by row scan of the grid zone segments
+	 */
+	private class CoverIterator implements PrimitiveIterator.OfLong {
+
+		/**
+		 * Grid zones
+		 */
+		private final List<GridZone> zones;
+
+		/**
+		 * Precision
+		 */
+		private final GridType precision;
+
+		/**
+		 * Cell size in meters
+		 */
+		private final int meters;
+
+		/**
+		 * Next grid zone index
+		 */
+		private int zoneIndex = 0;
+
+		/**
+		 * Current grid zone
+		 */
+		private GridZone gridZone;
+
+		/**
+		 * Current segment coordinates
+		 */
+		private double[] coordinates;
+
+		/**
+		 * Segment indices sorted by minimum northing
+		 */
+		private int[] order;
+
+		/**
+		 * Next segment in northing order to activate
+		 */
+		private int nextSegment;
+
+		/**
+		 * Active segment indices
+		 */
+		private int[] active;
+
+		/**
+		 * Number of active segments
+		 */
+		private int activeCount;
+
+		/**
+		 * Current row
+		 */
+		private long row;
+
+		/**
+		 * Last row of the grid zone
+		 */
+		private long lastRow;
+
+		/**
+		 * Row intervals of easting, start and end pairs
+		 */
+		private double[] intervals = new double[32];
+
+		/**
+		 * Row crossing eastings
+		 */
+		private double[] crossings = new double[16];
+
+		/**
+		 * Row column ranges, first and last column pairs
+		 */
+		private long[] columns = new long[16];
+
+		/**
+		 * Number of row column ranges
+		 */
+		private int columnRanges;
+
+		/**
+		 * Current column range
+		 */
+		private int columnRange;
+
+		/**
+		 * Next column
+		 */
+		private long column;
+
+		/**
+		 * Next cell key or {@link CellKey#INVALID}
+		 */
+		private long next = CellKey.INVALID;
+
+		/**
+		 * Constructor
+		 *
+		 * @param zones
+		 *            grid zones
+		 * @param precision
+		 *            precision
+		 */
+		CoverIterator(List<GridZone> zones, GridType precision) {
+			this.zones = zones;
+			this.precision = precision;
+			this.meters = precision.getPrecision();
+			advance();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return next != CellKey.INVALID;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long nextLong() {
+			if (next == CellKey.INVALID) {
+				throw new NoSuchElementException();
+			}
+			long key = next;
+			advance();
+			return key;
+		}
+
+		/**
+		 * Advance to the next cell key
+		 */
+		private void advance() {
+			next = CellKey.INVALID;
+			while (true) {
+				if (columnRange < columnRanges) {
+					long lastColumn = columns[columnRange * 2 + 1];
+					if (column <= lastColumn) {
+						next = cellKey(column++, row);
+						return;
+					}
+					if (++columnRange < columnRanges) {
+						column = columns[columnRange * 2];
+					}
+					continue;
+				}
+				if (gridZone != null && row < lastRow) {
+					scanRow(++row);
+					continue;
+				}
+				if (!nextZone()) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Start scanning the next grid zone overlapping the polygon
+		 *
+		 * @return true if a grid zone remains
+		 */
+		private boolean nextZone() {
+			gridZone = null;
+			while (zoneIndex < zones.size()) {
+				GridZone zone = zones.get(zoneIndex++);
+				if (zone.getDrawBounds(bounds, precision) == null) {
+					continue;
+				}
+				Segments segments = clip(zone);
+				if (segments == null) {
+					continue;
+				}
+				startZone(zone, segments);
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Start scanning the grid zone segments
+		 *
+		 * @param zone
+		 *            grid zone
+		 * @param segments
+		 *            UTM segments
+		 */
+		private void startZone(GridZone zone, Segments segments) {
+
+			gridZone = zone;
+			coordinates = segments.coordinates;
+			int size = segments.size;
+
+			double minNorthing = Double.POSITIVE_INFINITY;
+			double maxNorthing = Double.NEGATIVE_INFINITY;
+			Integer[] sorted = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				sorted[i] = i;
+				minNorthing = Math.min(minNorthing, minY(i));
+				maxNorthing = Math.max(maxNorthing, maxY(i));
+			}
+			Arrays.sort(sorted, (i, j) -> Double.compare(minY(i), minY(j)));
+			order = new int[size];
+			for (int i = 0; i < size; i++) {
+				order[i] = sorted[i];
+			}
+			nextSegment = 0;
+			active = new int[Math.max(16, size)];
+			activeCount = 0;
+
+			long firstRow = (long) Math.floor(minNorthing / meters);
+			lastRow = Math.max(firstRow,
+					(long) Math.ceil(maxNorthing / meters) - 1);
+			row = firstRow;
+			scanRow(row);
+		}
+
+		/**
+		 * Get the segment minimum northing
+		 *
+		 * @param segment
+		 *            segment index
+		 * @return minimum northing
+		 */
+		private double minY(int segment) {
+			return Math.min(coordinates[segment * 4 + 1],
+					coordinates[segment * 4 + 3]);
+		}
+
+		/**
+		 * Get the segment maximum northing
+		 *
+		 * @param segment
+		 *            segment index
+		 * @return maximum northing
+		 */
+		private double maxY(int segment) {
+			return Math.max(coordinates[segment * 4 + 1],
+					coordinates[segment * 4 + 3]);
+		}
+
+		/**
+		 * Scan the row, computing the column ranges of the cells
+		 * intersecting the polygon interior
+		 *
+		 * @param row
+		 *            row index
+		 */
+		private void scanRow(long row) {
+
+			double bottom = (double) row * meters;
+			double top = bottom + meters;
+
+			// Update the segments spanning the closed row
+			while (nextSegment < order.length
+					&& minY(order[nextSegment]) <= top) {
+				active[activeCount++] = order[nextSegment++];
+			}
+			int kept = 0;
+			for (int i = 0; i < activeCount; i++) {
+				if (maxY(active[i]) >= bottom) {
+					active[kept++] = active[i];
+				}
+			}
+			activeCount = kept;
+
+			int intervalCount = 0;
+
+			// Segment pieces within the open row
+			for (int i = 0; i < activeCount; i++) {
+				int index = active[i] * 4;
+				double e1 = coordinates[index];
+				double n1 = coordinates[index + 1];
+				double e2 = coordinates[index + 2];
+				double n2 = coordinates[index + 3];
+				double low = Math.max(bottom, Math.min(n1, n2));
+				double high = Math.min(top, Math.max(n1, n2));
+				double start;
+				double end;
+				if (n1 == n2) {
+					if (n1 <= bottom || n1 >= top) {
+						continue;
+					}
+					start = Math.min(e1, e2);
+					end = Math.max(e1, e2);
+				} else {
+					if (low >= high) {
+						continue;
+					}
+					double eLow = e1 + (low - n1) * (e2 - e1) / (n2 - n1);
+					double eHigh = e1 + (high - n1) * (e2 - e1) / (n2 - n1);
+					start = Math.min(eLow, eHigh);
+					end = Math.max(eLow, eHigh);
+				}
+				intervalCount = addInterval(intervalCount, start, end);
+			}
+
+			// Interior spans just above the bottom and below the top
+			intervalCount = addSpans(intervalCount, bottom, true);
+			intervalCount = addSpans(intervalCount, top, false);
+
+			toColumns(intervalCount);
+			this.row = row;
+		}
+
+		/**
+		 * Add the interior spans of the polygon along a row line
+		 *
+		 * @param intervalCount
+		 *            current interval count
+		 * @param northing
+		 *            row line northing
+		 * @param above
+		 *            true for the interior just above the line, false for
+		 *            just below
+		 * @return interval count
+		 */
+		private int addSpans(int intervalCount, double northing,
+				boolean above) {
+			int count = 0;
+			for (int i = 0; i < activeCount; i++) {
+				int index = active[i] * 4;
+				double n1 = coordinates[index + 1];
+				double n2 = coordinates[index + 3];
+				double low = Math.min(n1, n2);
+				double high = Math.max(n1, n2);
+				boolean crosses = above ? low <= northing && northing < high
+						: low < northing && northing <= high;
+				if (crosses) {
+					double e1 = coordinates[index];
+					double e2 = coordinates[index + 2];
+					if (count == crossings.length) {
+						crossings = Arrays.copyOf(crossings, count * 2);
+					}
+					crossings[count++] = e1
+							+ (northing - n1) * (e2 - e1) / (n2 - n1);
+				}
+			}
+			Arrays.sort(crossings, 0, count);
+			for (int i = 0; i + 1 < count; i += 2) {
+				intervalCount = addInterval(intervalCount, crossings[i],
+						crossings[i + 1]);
+			}
+			return intervalCount;
+		}
+
+		/**
+		 * Add an easting interval
+		 *
+		 * @param intervalCount
+		 *            current interval count
+		 * @param start
+		 *            start easting
+		 * @param end
+		 *            end easting
+		 * @return interval count
+		 */
+		private int addInterval(int intervalCount, double start, double end) {
+			if (intervalCount * 2 == intervals.length) {
+				intervals = Arrays.copyOf(intervals, intervals.length * 2);
+			}
+			intervals[intervalCount * 2] = start;
+			intervals[intervalCount * 2 + 1] = end;
+			return intervalCount + 1;
+		}
+
+		/**
+		 * Convert the row easting intervals into merged column ranges of
+		 * cells overlapping the interval interiors
+		 *
+		 * @param intervalCount
+		 *            interval count
+		 */
+		private void toColumns(int intervalCount) {
+
+			long minColumn = (long) Math.ceil(MIN_EASTING / meters);
+			long maxColumn = (long) Math.ceil(MAX_EASTING / meters) - 1;
+
+			long[] ranges = new long[intervalCount * 2];
+			int count = 0;
+			for (int i = 0; i < intervalCount; i++) {
+				double start = intervals[i * 2];
+				double end = intervals[i * 2 + 1];
+				long first = (long) Math.floor(start / meters);
+				long last = Math.max(first, (long) Math.ceil(end / meters) - 1);
+				if (end == start && start == first * (double) meters) {
+					continue;
+				}
+				first = Math.max(first, minColumn);
+				last = Math.min(last, maxColumn);
+				if (first <= last) {
+					ranges[count * 2] = first;
+					ranges[count * 2 + 1] = last;
+					count++;
+				}
+			}
+
+			// Sort the ranges by first column and merge overlaps
+			long[] firsts = new long[count];
+			for (int i = 0; i < count; i++) {
+				firsts[i] = (ranges[i * 2] << 32) | i;
+			}
+			Arrays.sort(firsts);
+			if (columns.length < count * 2) {
+				columns = new long[count * 2];
+			}
+			columnRanges = 0;
+			for (int i = 0; i < count; i++) {
+				int index = (int) (firsts[i] & 0xFFFFFFFFL);
+				long first = ranges[index * 2];
+				long last = ranges[index * 2 + 1];
+				if (columnRanges > 0
+						&& first <= columns[columnRanges * 2 - 1] + 1) {
+					columns[columnRanges * 2 - 1] = Math
+							.max(columns[columnRanges * 2 - 1], last);
+				} else {
+					columns[columnRanges * 2] = first;
+					columns[columnRanges * 2 + 1] = last;
+					columnRanges++;
+				}
+			}
+			columnRange = 0;
+			if (columnRanges > 0) {
+				column = columns[0];
+			}
+		}
+
+		/**
+		 * Get the cell key of the column and row within the current grid
+		 * zone
+		 *
+		 * @param column
+		 *            column index
+		 * @param row
+		 *            row index
+		 * @return cell key
+		 */
+		private long cellKey(long column, long row) {
+			return CellKey.fromUTM(gridZone.getNumber(), gridZone.getLetter(),
+					column * meters, row * meters, precision);
+		}
+
+	}
+
+}
@@ -0,0 +1,107 @@
+package mil.nga.mgrs.cell;
+
+import mil.nga.mgrs.MGRS;
+
+/**
+ * Immutable crossing of a line through a MGRS cell, with the distances along
+ * the line where the line enters and exits the cell
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellCrossing {
+
+	/**
+	 * Cell key
+	 */
+	private final long key;
+
+	/**
+	 * Entry distance in meters
+	 */
+	private final double entry;
+
+	/**
+	 * Exit distance in meters
+	 */
+	private final double exit;
+
+	/**
+	 * Constructor
+	 *
+	 * @param key
+	 *            cell key
+	 * @param entry
+	 *            entry distance in meters
+	 * @param exit
+	 *            exit distance in meters
+	 */
+	CellCrossing(long key, double entry, double exit) {
+		this.key = key;
+		this.entry = entry;
+		this.exit = exit;
+	}
+
+	/**
+	 * Get the cell key
+	 *
+	 * @return cell key
+	 */
+	public long getKey() {
+		return key;
+	}
+
+	/**
+	 * Get the southwestern MGRS coordinate of the cell
+	 *
+	 * @return MGRS
+	 */
+	public MGRS getMGRS() {
+		return CellKey.decode(key);
+	}
+
+	/**
+	 * Get the MGRS coordinate of the cell at its precision
+	 *
+	 * @return MGRS coordinate
+	 */
+	public String getCoordinate() {
+		return CellKey.coordinate(key);
+	}
+
+	/**
+	 * Get the distance along the line where the line enters the cell
+	 *
+	 * @return entry distance in meters
+	 */
+	public double getEntry() {
+		return entry;
+	}
+
+	/**
+	 * Get the distance along the line where the line exits the cell
+	 *
+	 * @return exit distance in meters
+	 */
+	public double getExit() {
+		return exit;
+	}
+
+	/**
+	 * Get the length of the line within the cell
+	 *
+	 * @return length in meters
+	 */
+	public double getLength() {
+		return exit - entry;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return getCoordinate() + " [" + entry + ", " + exit + "]";
+	}
+
+}
@@ -0,0 +1,621 @@
+package mil.nga.mgrs.cell;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.MGRSUtils;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Locality preserving Morton (Z-order) curve keys of MGRS cells. A curve key
+ * interleaves the UTM easting and northing cell indices of a precision within
+ * a zone, so cells that are spatially adjacent across 100km square and band
+ * boundaries sort near each other. Curve keys are non negative and sort the
+ * same as signed longs and as unsigned big endian bytes, making them suitable
+ * B-tree and LSM store keys. Lat/lon bounding boxes decompose into a small
+ * number of contiguous curve key ranges with
+ * {@link #ranges(Bounds, GridType, int)}.
+ *
+ * <pre>
+ * bits 56-58: accuracy (0 - 5, 100km - 1m)
+ * bits 50-55: zone number (1 - 60)
+ * bits  0-49: Morton interleaved cell indices, northing bits odd and easting
+ *             bits even, of the hemisphere continuous northing
+ *             (southern northing, northern northing + 10,000km) and easting
+ * </pre>
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public final class CellCurve {
+
+	/**
+	 * Accuracy bit shift
+	 */
+	private static final int ACCURACY_SHIFT = 56;
+
+	/**
+	 * Zone number bit shift
+	 */
+	private static final int ZONE_SHIFT = 50;
+
+	/**
+	 * Morton bit mask
+	 */
+	private static final long MORTON_MASK = (1L << ZONE_SHIFT) - 1;
+
+	/**
+	 * Number of quadtree levels, bits per interleaved index
+	 */
+	private static final int LEVELS = 25;
+
+	/**
+	 * Maximum cell index value
+	 */
+	private static final long MAX_INDEX = (1L << LEVELS) - 1;
+
+	/**
+	 * Northing offset of the northern hemisphere, continuing the southern
+	 * hemisphere false northing
+	 */
+	private static final double NORTHERN_OFFSET = 10000000;
+
+	/**
+	 * Private constructor
+	 */
+	private CellCurve() {
+	}
+
+	/**
+	 * Encode the longitude and latitude at the precision, in the same zone
+	 * and UTM cell as {@link MGRS#from(double, double)}
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return curve key
+	 */
+	public static long encode(double longitude, double latitude,
+			GridType precision) {
+
+		latitude = MGRSUtils.boundLatitude(latitude);
+		longitude = MGRSUtils.normalizeLongitude(longitude);
+
+		int zone = GridZones.getZoneNumber(longitude, latitude);
+		Hemisphere hemisphere = Hemisphere.fromLatitude(latitude);
+
+		double[] eastingNorthing = UTM.from(longitude, latitude, zone,
+				hemisphere, new double[2]);
+
+		return encode(zone, hemisphere, eastingNorthing[0],
+				eastingNorthing[1], precision);
+	}
+
+	/**
+	 * Encode the UTM coordinate at the precision
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param hemisphere
+	 *            hemisphere
+	 * @param easting
+	 *            UTM easting
+	 * @param northing
+	 *            UTM northing
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return curve key
+	 */
+	public static long encode(int zone, Hemisphere hemisphere, double easting,
+			double northing, GridType precision) {
+		MGRSUtils.validateZoneNumber(zone);
+		int accuracy = accuracy(precision);
+		int meters = precision.getPrecision();
+		long x = index(easting, meters);
+		long y = index(continuousNorthing(hemisphere, northing), meters);
+		return pack(accuracy, zone, interleave(x, y));
+	}
+
+	/**
+	 * Encode the MGRS at its precision
+	 *
+	 * @param mgrs
+	 *            MGRS
+	 * @return curve key
+	 */
+	public static long encode(MGRS mgrs) {
+		return fromCellKey(CellKey.encode(mgrs));
+	}
+
+	/**
+	 * Get the curve key of a {@link CellKey} at its precision
+	 *
+	 * @param cellKey
+	 *            cell key
+	 * @return curve key
+	 */
+	public static long fromCellKey(long cellKey) {
+		return encode(CellKey.zone(cellKey), CellKey.hemisphere(cellKey),
+				CellKey.utmEasting(cellKey), CellKey.utmNorthing(cellKey),
+				CellKey.precision(cellKey));
+	}
+
+	/**
+	 * Get the {@link CellKey} of the curve key cell, using the band of the
+	 * cell center
+	 *
+	 * @param key
+	 *            curve key
+	 * @return cell key
+	 */
+	public static long toCellKey(long key) {
+		int zone = zone(key);
+		Hemisphere hemisphere = hemisphere(key);
+		double easting = easting(key);
+		double northing = northing(key);
+		int size = precision(key).getPrecision();
+		double latitude = UTM.latitude(zone, hemisphere, easting + size / 2.0,
+				northing + size / 2.0);
+		char band = GridZones.getBandLetter(MGRSUtils.boundLatitude(latitude));
+		return CellKey.fromUTM(zone, band, easting, northing, precision(key));
+	}
+
+	/**
+	 * Get the accuracy digits (0 through 5)
+	 *
+	 * @param key
+	 *            curve key
+	 * @return accuracy digits
+	 */
+	public static int accuracy(long key) {
+		return (int) (key >>> ACCURACY_SHIFT);
+	}
+
+	/**
+	 * Get the precision
+	 *
+	 * @param key
+	 *            curve key
+	 * @return precision grid type
+	 */
+	public static GridType precision(long key) {
+		return GridType.withAccuracy(accuracy(key));
+	}
+
+	/**
+	 * Get the zone number
+	 *
+	 * @param key
+	 *            curve key
+	 * @return zone number
+	 */
+	public static int zone(long key) {
+		return (int) ((key >>> ZONE_SHIFT) & 0x3F);
+	}
+
+	/**
+	 * Get the hemisphere
+	 *
+	 * @param key
+	 *            curve key
+	 * @return hemisphere
+	 */
+	public static Hemisphere hemisphere(long key) {
+		return continuousNorthing(key) >= NORTHERN_OFFSET ? Hemisphere.NORTH
+				: Hemisphere.SOUTH;
+	}
+
+	/**
+	 * Get the UTM easting of the cell western edge
+	 *
+	 * @param key
+	 *            curve key
+	 * @return UTM easting
+	 */
+	public static double easting(long key) {
+		return (double) compact(key & MORTON_MASK)
+				* precision(key).getPrecision();
+	}
+
+	/**
+	 * Get the UTM northing of the cell southern edge
+	 *
+	 * @param key
+	 *            curve key
+	 * @return UTM northing
+	 */
+	public static double northing(long key) {
+		double northing = continuousNorthing(key);
+		if (northing >= NORTHERN_OFFSET) {
+			northing -= NORTHERN_OFFSET;
+		}
+		return northing;
+	}
+
+	/**
+	 * Decompose the bounds into sorted, non overlapping curve key ranges at
+	 * the precision. The ranges contain the curve key of every point within
+	 * the bounds. When more ranges than the maximum are required, nearby
+	 * ranges are joined, also covering some cells outside of the bounds.
+	 *
+	 * @param bounds
+	 *            bounds
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @param maxRanges
+	 *            maximum number of ranges, at least 1
+	 * @return curve key ranges
+	 */
+	public static List<CellRange> ranges(Bounds bounds, GridType precision,
+			int maxRanges) {
+
+		if (maxRanges < 1) {
+			throw new IllegalArgumentException(
+					"Maximum ranges must be >= 1. max ranges: " + maxRanges);
+		}
+
+		int accuracy = accuracy(precision);
+		int meters = precision.getPrecision();
+		bounds = bounds.toDegrees();
+
+		List<long[]> ranges = new ArrayList<>();
+		double[] extents = new double[4];
+		List<GridZone> zones = GridZones.getZones(bounds);
+		int zoneMaxRanges = Math.max(1, maxRanges / Math.max(1, zones.size()));
+		for (GridZone gridZone : zones) {
+
+			Bounds overlap = bounds.overlap(gridZone.getBounds());
+			if (overlap == null) {
+				continue;
+			}
+
+			int zone = gridZone.getNumber();
+			Hemisphere hemisphere = gridZone.getHemisphere();
+			utmExtents(zone, hemisphere, overlap, extents);
+
+			long minX = index(extents[0], meters);
+			long minY = index(continuousNorthing(hemisphere, extents[1]),
+					meters);
+			long maxX = index(extents[2], meters);
+			long maxY = index(continuousNorthing(hemisphere, extents[3]),
+					meters);
+
+			long prefix = pack(accuracy, zone, 0);
+			for (long[] range : decompose(minX, minY, maxX, maxY,
+					zoneMaxRanges)) {
+				range[0] |= prefix;
+				range[1] |= prefix;
+				ranges.add(range);
+			}
+		}
+
+		return merge(ranges, maxRanges);
+	}
+
+	/**
+	 * Get the UTM extents of longitude and latitude bounds within a zone.
+	 * Transverse Mercator parallels bow away from the equator, so the
+	 * extremes are at the corners and the central meridian.
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param hemisphere
+	 *            hemisphere
+	 * @param bounds
+	 *            bounds in degrees
+	 * @param extents
+	 *            destination array of min easting, min northing, max easting,
+	 *            and max northing
+	 */
+	static void utmExtents(int zone, Hemisphere hemisphere,
+			Bounds bounds, double[] extents) {
+
+		double centralMeridian = zone * 6.0 - 183.0;
+		double west = bounds.getMinLongitude();
+		double east = bounds.getMaxLongitude();
+		double middle = Math.max(west, Math.min(east, centralMeridian));
+		double[] longitudes = new double[] { west, middle, east };
+		double[] latitudes = new double[] { bounds.getMinLatitude(),
+				bounds.getMaxLatitude() };
+
+		Arrays.fill(extents, 0, 2, Double.POSITIVE_INFINITY);
+		Arrays.fill(extents, 2, 4, Double.NEGATIVE_INFINITY);
+		double[] eastingNorthing = new double[2];
+		for (double latitude : latitudes) {
+			for (double longitude : longitudes) {
+				UTM.from(longitude, latitude, zone, hemisphere,
+						eastingNorthing);
+				extents[0] = Math.min(extents[0], eastingNorthing[0]);
+				extents[1] = Math.min(extents[1], eastingNorthing[1]);
+				extents[2] = Math.max(extents[2], eastingNorthing[0]);
+				extents[3] = Math.max(extents[3], eastingNorthing[1]);
+			}
+		}
+	}
+
+	/**
+	 * Decompose the inclusive cell index rectangle into Morton ranges,
+	 * subdividing quadtree levels until the range budget is reached
+	 *
+	 * @param minX
+	 *            minimum easting index
+	 * @param minY
+	 *            minimum northing index
+	 * @param maxX
+	 *            maximum easting index
+	 * @param maxY
+	 *            maximum northing index
+	 * @param maxRanges
+	 *            range budget
+	 * @return Morton ranges
+	 */
+	private static List<long[]> decompose(long minX, long minY, long maxX,
+			long maxY, int maxRanges) {
+
+		List<long[]> ranges = new ArrayList<>();
+
+		// partially covered quadrants as Morton prefixes at the level
+		long[] partial = new long[] { 0 };
+		int partialCount = 1;
+		for (int level = LEVELS; level > 0 && partialCount > 0; level--) {
+
+			if (ranges.size() + partialCount * 4 > maxRanges * 4) {
+				for (int i = 0; i < partialCount; i++) {
+					ranges.add(quadrantRange(partial[i], level));
+				}
+				partialCount = 0;
+				break;
+			}
+
+			int childLevel = level - 1;
+			long[] next = new long[partialCount * 4];
+			int nextCount = 0;
+			for (int i = 0; i < partialCount; i++) {
+				for (int child = 0; child < 4; child++) {
+					long prefix = (partial[i] << 2) | child;
+					long morton = prefix << (2 * childLevel);
+					long x0 = compact(morton);
+					long y0 = compact(morton >>> 1);
+					long x1 = x0 + (1L << childLevel) - 1;
+					long y1 = y0 + (1L << childLevel) - 1;
+					if (x1 < minX || x0 > maxX || y1 < minY || y0 > maxY) {
+						continue;
+					}
+					if (x0 >= minX && x1 <= maxX && y0 >= minY
+							&& y1 <= maxY) {
+						ranges.add(quadrantRange(prefix, childLevel));
+					} else {
+						next[nextCount++] = prefix;
+					}
+				}
+			}
+			partial = next;
+			partialCount = nextCount;
+		}
+
+		return ranges;
+	}
+
+	/**
+	 * Get the Morton range of the quadrant prefix at the level
+	 *
+	 * @param prefix
+	 *            Morton prefix
+	 * @param level
+	 *            quadtree level
+	 * @return inclusive Morton range
+	 */
+	private static long[] quadrantRange(long prefix, int level) {
+		long min = prefix << (2 * level);
+		return new long[] { min, min + (1L << (2 * level)) - 1 };
+	}
+
+	/**
+	 * Sort and join touching ranges, then join the ranges separated by the
+	 * smallest gaps until within the maximum
+	 *
+	 * @param ranges
+	 *            inclusive ranges
+	 * @param maxRanges
+	 *            maximum number of ranges
+	 * @return cell ranges
+	 */
+	private static List<CellRange> merge(List<long[]> ranges,
+			int maxRanges) {
+
+		if (ranges.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		ranges.sort((range1, range2) -> Long.compare(range1[0], range2[0]));
+
+		List<long[]> joined = new ArrayList<>();
+		long[] current = ranges.get(0).clone();
+		for (int i = 1; i < ranges.size(); i++) {
+			long[] range = ranges.get(i);
+			if (range[0] <= current[1] + 1) {
+				current[1] = Math.max(current[1], range[1]);
+			} else {
+				joined.add(current);
+				current = range.clone();
+			}
+		}
+		joined.add(current);
+
+		int excess = joined.size() - maxRanges;
+		if (excess > 0) {
+			long[] gaps = new long[joined.size() - 1];
+			for (int i = 0; i < gaps.length; i++) {
+				gaps[i] = joined.get(i + 1)[0] - joined.get(i)[1];
+			}
+			long[] sorted = gaps.clone();
+			Arrays.sort(sorted);
+			long threshold = sorted[excess - 1];
+			int thresholdJoins = 0;
+			for (int i = 0; i < excess; i++) {
+				if (sorted[i] == threshold) {
+					thresholdJoins++;
+				}
+			}
+			List<long[]> reduced = new ArrayList<>();
+			current = joined.get(0);
+			for (int i = 0; i < gaps.length; i++) {
+				boolean join = gaps[i] < threshold;
+				if (!join && gaps[i] == threshold && thresholdJoins > 0) {
+					join = true;
+					thresholdJoins--;
+				}
+				if (join) {
+					current[1] = joined.get(i + 1)[1];
+				} else {
+					reduced.add(current);
+					current = joined.get(i + 1);
+				}
+			}
+			reduced.add(current);
+			joined = reduced;
+		}
+
+		List<CellRange> cellRanges = new ArrayList<>(joined.size());
+		for (long[] range : joined) {
+			cellRanges.add(new CellRange(range[0], range[1]));
+		}
+		return cellRanges;
+	}
+
+	/**
+	 * Get the accuracy digits of the precision
+	 *
+	 * @param precision
+	 *            precision grid type
+	 * @return accuracy digits
+	 */
+	private static int accuracy(GridType precision) {
+		if (precision == GridType.GZD) {
+			throw new IllegalArgumentException(
+					"Curve keys require a 100km square or finer precision");
+		}
+		return precision.getAccuracy();
+	}
+
+	/**
+	 * Pack the curve key
+	 *
+	 * @param accuracy
+	 *            accuracy digits
+	 * @param zone
+	 *            zone number
+	 * @param morton
+	 *            Morton code
+	 * @return curve key
+	 */
+	private static long pack(int accuracy, int zone, long morton) {
+		return ((long) accuracy << ACCURACY_SHIFT)
+				| ((long) zone << ZONE_SHIFT) | morton;
+	}
+
+	/**
+	 * Get the cell index of the value, clamped to the curve
+	 *
+	 * @param value
+	 *            meters
+	 * @param meters
+	 *            cell size meters
+	 * @return cell index
+	 */
+	private static long index(double value, int meters) {
+		long index = (long) Math.floor(value / meters);
+		return Math.max(0, Math.min(MAX_INDEX, index));
+	}
+
+	/**
+	 * Get the hemisphere continuous northing
+	 *
+	 * @param hemisphere
+	 *            hemisphere
+	 * @param northing
+	 *            UTM northing
+	 * @return continuous northing
+	 */
+	private static double continuousNorthing(Hemisphere hemisphere,
+			double northing) {
+		if (hemisphere == Hemisphere.NORTH) {
+			northing += NORTHERN_OFFSET;
+		}
+		return northing;
+	}
+
+	/**
+	 * Get the hemisphere continuous northing of the curve key
+	 *
+	 * @param key
+	 *            curve key
+	 * @return continuous northing
+	 */
+	private static double continuousNorthing(long key) {
+		return (double) compact((key & MORTON_MASK) >>> 1)
+				* precision(key).getPrecision();
+	}
+
+	/**
+	 * Interleave the easting and northing indices into a Morton code
+	 *
+	 * @param x
+	 *            easting index
+	 * @param y
+	 *            northing index
+	 * @return Morton code
+	 */
+	private static long interleave(long x, long y) {
+		return spread(x) | (spread(y) << 1);
+	}
+
+	/**
+	 * Spread the low 32 bits into the even bits
+	 *
+	 * @param value
+	 *            value
+	 * @return spread value
+	 */
+	private static long spread(long value) {
+		value &= 0xFFFFFFFFL;
+		value = (value | (value << 16)) & 0x0000FFFF0000FFFFL;
+		value = (value | (value << 8)) & 0x00FF00FF00FF00FFL;
+		value = (value | (value << 4)) & 0x0F0F0F0F0F0F0F0FL;
+		value = (value | (value << 2)) & 0x3333333333333333L;
+		value = (value | (value << 1)) & 0x5555555555555555L;
+		return value;
+	}
+
+	/**
+	 * Compact the even bits into the low 32 bits
+	 *
+	 * @param value
+	 *            value
+	 * @return compacted value
+	 */
+	private static long compact(long value) {
+		value &= 0x5555555555555555L;
+		value = (value | (value >>> 1)) & 0x3333333333333333L;
+		value = (value | (value >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+		value = (value | (value >>> 4)) & 0x00FF00FF00FF00FFL;
+		value = (value | (value >>> 8)) & 0x0000FFFF0000FFFFL;
+		value = (value | (value >>> 16)) & 0xFFFFFFFFL;
+		return value;
+	}
+
+}
@@ -0,0 +1,501 @@
+package mil.nga.mgrs.cell;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+import mil.nga.mgrs.utm.UTMProjection;
+
+/**
+ * Immutable longitude and latitude geometry of a MGRS cell, the polygon of the
+ * projected cell corners clipped to the grid zone bounds with its centroid and
+ * label extents. Geometries are retrieved through a {@link CellGeometryCache}
+ * or the shared cache of {@link #get(long)}.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellGeometry {
+
+	/**
+	 * Default shared cache capacity
+	 */
+	public static final int DEFAULT_CACHE_CAPACITY = 4096;
+
+	/**
+	 * Shared geometry cache
+	 */
+	private static final CellGeometryCache cache = new CellGeometryCache(
+			DEFAULT_CACHE_CAPACITY);
+
+	/**
+	 * Cell key
+	 */
+	private final long key;
+
+	/**
+	 * Projection the geometry was created with
+	 */
+	private final UTMProjection projection;
+
+	/**
+	 * Polygon longitudes in counterclockwise order
+	 */
+	private final double[] longitudes;
+
+	/**
+	 * Polygon latitudes in counterclockwise order
+	 */
+	private final double[] latitudes;
+
+	/**
+	 * Polygon centroid
+	 */
+	private final Point centroid;
+
+	/**
+	 * Polygon bounds
+	 */
+	private final Bounds bounds;
+
+	/**
+	 * Label bounds within the cell edges and grid zone
+	 */
+	private final Bounds labelBounds;
+
+	/**
+	 * Label bounds center MGRS coordinate
+	 */
+	private final MGRS labelMGRS;
+
+	/**
+	 * Get the geometry of the cell key from the shared cache
+	 *
+	 * @param key
+	 *            cell key
+	 * @return geometry, null when the cell is outside of its grid zone
+	 */
+	public static CellGeometry get(long key) {
+		return cache.get(key);
+	}
+
+	/**
+	 * Get the geometry of the MGRS cell at the precision from the shared
+	 * cache
+	 *
+	 * @param mgrs
+	 *            MGRS coordinate
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return geometry, null when the cell is outside of its grid zone
+	 */
+	public static CellGeometry get(MGRS mgrs, GridType precision) {
+		return get(CellKey.encode(mgrs, precision));
+	}
+
+	/**
+	 * Get the shared geometry cache
+	 *
+	 * @return geometry cache
+	 */
+	public static CellGeometryCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Create the geometry of the cell key without caching
+	 *
+	 * @param key
+	 *            cell key
+	 * @return geometry, null when the cell is outside of its grid zone or the
+	 *         grid zone does not exist
+	 */
+	public static CellGeometry create(long key) {
+
+		CellGeometry geometry = null;
+
+		int zone = CellKey.zone(key);
+		Hemisphere hemisphere = CellKey.hemisphere(key);
+		GridZone gridZone = GridZones.getGridZone(zone, CellKey.band(key));
+		if (gridZone == null) {
+			return null;
+		}
+		Bounds zoneBounds = gridZone.getBounds();
+		UTMProjection projection = UTM.getProjection();
+
+		double west = CellKey.utmEasting(key);
+		double south = CellKey.utmNorthing(key);
+		int size = CellKey.size(key);
+
+		// Southwest, southeast, northeast, and northwest corners
+		double[] longitudes = new double[4];
+		double[] latitudes = new double[4];
+		double[] coordinate = new double[2];
+		for (int corner = 0; corner < 4; corner++) {
+			int east = corner == 1 || corner == 2 ? 1 : 0;
+			int north = corner >> 1;
+			projection.inverse(zone, hemisphere, west + east * size,
+					south + north * size, coordinate);
+			longitudes[corner] = coordinate[0];
+			latitudes[corner] = coordinate[1];
+		}
+
+		Bounds labelBounds = labelBounds(longitudes, latitudes, zoneBounds);
+
+		int count = 4;
+		double[] clippedLongitudes = longitudes;
+		double[] clippedLatitudes = latitudes;
+		for (int side = 0; side < 4 && count > 0; side++) {
+			double[] outLongitudes = new double[count + 4];
+			double[] outLatitudes = new double[count + 4];
+			count = clip(clippedLongitudes, clippedLatitudes, count,
+					outLongitudes, outLatitudes, side, zoneBounds);
+			clippedLongitudes = outLongitudes;
+			clippedLatitudes = outLatitudes;
+		}
+
+		if (count > 0) {
+			double[] polygonLongitudes = new double[count];
+			double[] polygonLatitudes = new double[count];
+			System.arraycopy(clippedLongitudes, 0, polygonLongitudes, 0,
+					count);
+			System.arraycopy(clippedLatitudes, 0, polygonLatitudes, 0, count);
+			MGRS labelMGRS = labelBounds != null
+					? MGRS.from(labelBounds.getCentroid())
+					: null;
+			geometry = new CellGeometry(key, projection, polygonLongitudes,
+					polygonLatitudes, labelBounds, labelMGRS);
+		}
+
+		return geometry;
+	}
+
+	/**
+	 * Get the label bounds within the cell edges and grid zone
+	 *
+	 * @param longitudes
+	 *            southwest, southeast, northeast, and northwest longitudes
+	 * @param latitudes
+	 *            southwest, southeast, northeast, and northwest latitudes
+	 * @param zoneBounds
+	 *            grid zone bounds
+	 * @return label bounds or null
+	 */
+	private static Bounds labelBounds(double[] longitudes, double[] latitudes,
+			Bounds zoneBounds) {
+
+		Bounds labelBounds = null;
+
+		double minLatitude = Math.max(Math.max(latitudes[0], latitudes[1]),
+				zoneBounds.getMinLatitude());
+		double maxLatitude = Math.min(Math.min(latitudes[3], latitudes[2]),
+				zoneBounds.getMaxLatitude());
+		double minLongitude = Math.max(Math.max(longitudes[0], longitudes[3]),
+				zoneBounds.getMinLongitude());
+		double maxLongitude = Math.min(Math.min(longitudes[1], longitudes[2]),
+				zoneBounds.getMaxLongitude());
+
+		if (minLongitude <= maxLongitude && minLatitude <= maxLatitude) {
+			labelBounds = Bounds.degrees(minLongitude, minLatitude,
+					maxLongitude, maxLatitude);
+		}
+
+		return labelBounds;
+	}
+
+	/**
+	 * Clip the polygon against one side of the grid zone bounds
+	 *
+	 * @param longitudes
+	 *            polygon longitudes
+	 * @param latitudes
+	 *            polygon latitudes
+	 * @param count
+	 *            polygon vertex count
+	 * @param outLongitudes
+	 *            clipped polygon longitudes
+	 * @param outLatitudes
+	 *            clipped polygon latitudes
+	 * @param side
+	 *            bounds side: 0 west, 1 east, 2 south, 3 north
+	 * @param bounds
+	 *            grid zone bounds
+	 * @return clipped polygon vertex count
+	 */
+	private static int clip(double[] longitudes, double[] latitudes,
+			int count, double[] outLongitudes, double[] outLatitudes, int side,
+			Bounds bounds) {
+
+		int outCount = 0;
+
+		double[] values = side < 2 ? longitudes : latitudes;
+		double limit;
+		double sign;
+		switch (side) {
+		case 0:
+			limit = bounds.getMinLongitude();
+			sign = 1;
+			break;
+		case 1:
+			limit = bounds.getMaxLongitude();
+			sign = -1;
+			break;
+		case 2:
+			limit = bounds.getMinLatitude();
+			sign = 1;
+			break;
+		default:
+			limit = bounds.getMaxLatitude();
+			sign = -1;
+		}
+
+		for (int i = 0; i < count; i++) {
+			int next = (i + 1) % count;
+			double distance = sign * (values[i] - limit);
+			double nextDistance = sign * (values[next] - limit);
+			if (distance >= 0) {
+				outLongitudes[outCount] = longitudes[i];
+				outLatitudes[outCount] = latitudes[i];
+				outCount++;
+			}
+			if ((distance >= 0) != (nextDistance >= 0)) {
+				double t = distance / (distance - nextDistance);
+				outLongitudes[outCount] = longitudes[i]
+						+ t * (longitudes[next] - longitudes[i]);
+				outLatitudes[outCount] = latitudes[i]
+						+ t * (latitudes[next] - latitudes[i]);
+				if (side < 2) {
+					outLongitudes[outCount] = limit;
+				} else {
+					outLatitudes[outCount] = limit;
+				}
+				outCount++;
+			}
+		}
+
+		return outCount;
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param key
+	 *            cell key
+	 * @param projection
+	 *            projection the geometry was created with
+	 * @param longitudes
+	 *            polygon longitudes in counterclockwise order
+	 * @param latitudes
+	 *            polygon latitudes in counterclockwise order
+	 * @param labelBounds
+	 *            label bounds or null
+	 * @param labelMGRS
+	 *            label center MGRS coordinate or null
+	 */
+	private CellGeometry(long key, UTMProjection projection,
+			double[] longitudes, double[] latitudes, Bounds labelBounds,
+			MGRS labelMGRS) {
+		this.key = key;
+		this.projection = projection;
+		this.longitudes = longitudes;
+		this.latitudes = latitudes;
+		this.labelBounds = labelBounds;
+		this.labelMGRS = labelMGRS;
+
+		double minLongitude = Double.POSITIVE_INFINITY;
+		double minLatitude = Double.POSITIVE_INFINITY;
+		double maxLongitude = Double.NEGATIVE_INFINITY;
+		double maxLatitude = Double.NEGATIVE_INFINITY;
+		double area = 0;
+		double longitudeSum = 0;
+		double latitudeSum = 0;
+		int count = longitudes.length;
+		for (int i = 0; i < count; i++) {
+			int next = (i + 1) % count;
+			minLongitude = Math.min(minLongitude, longitudes[i]);
+			minLatitude = Math.min(minLatitude, latitudes[i]);
+			maxLongitude = Math.max(maxLongitude, longitudes[i]);
+			maxLatitude = Math.max(maxLatitude, latitudes[i]);
+			// Relative to the first vertex for precision
+			double x1 = longitudes[i] - longitudes[0];
+			double y1 = latitudes[i] - latitudes[0];
+			double x2 = longitudes[next] - longitudes[0];
+			double y2 = latitudes[next] - latitudes[0];
+			double cross = x1 * y2 - x2 * y1;
+			area += cross;
+			longitudeSum += (x1 + x2) * cross;
+			latitudeSum += (y1 + y2) * cross;
+		}
+		this.bounds = Bounds.degrees(minLongitude, minLatitude, maxLongitude,
+				maxLatitude);
+		if (area != 0) {
+			this.centroid = Point.degrees(
+					longitudes[0] + longitudeSum / (3 * area),
+					latitudes[0] + latitudeSum / (3 * area));
+		} else {
+			this.centroid = bounds.getCentroid();
+		}
+	}
+
+	/**
+	 * Get the cell key
+	 *
+	 * @return cell key
+	 */
+	public long getKey() {
+		return key;
+	}
+
+	/**
+	 * Get the cell precision
+	 *
+	 * @return precision grid type
+	 */
+	public GridType getPrecision() {
+		return CellKey.precision(key);
+	}
+
+	/**
+	 * Get the southwestern MGRS coordinate of the cell
+	 *
+	 * @return MGRS
+	 */
+	public MGRS getMGRS() {
+		return CellKey.decode(key);
+	}
+
+	/**
+	 * Get the MGRS coordinate of the cell at its precision
+	 *
+	 * @return MGRS coordinate
+	 */
+	public String getCoordinate() {
+		return CellKey.coordinate(key);
+	}
+
+	/**
+	 * Get the projection the geometry was created with
+	 *
+	 * @return projection
+	 */
+	UTMProjection getProjection() {
+		return projection;
+	}
+
+	/**
+	 * Get the number of polygon vertices
+	 *
+	 * @return vertex count
+	 */
+	public int size() {
+		return longitudes.length;
+	}
+
+	/**
+	 * Get the polygon vertex longitude
+	 *
+	 * @param index
+	 *            vertex index
+	 * @return longitude
+	 */
+	public double getLongitude(int index) {
+		return longitudes[index];
+	}
+
+	/**
+	 * Get the polygon vertex latitude
+	 *
+	 * @param index
+	 *            vertex index
+	 * @return latitude
+	 */
+	public double getLatitude(int index) {
+		return latitudes[index];
+	}
+
+	/**
+	 * Get the open polygon ring of the cell clipped to the grid zone, in
+	 * counterclockwise order starting from the southwest
+	 *
+	 * @return polygon points
+	 */
+	public List<Point> getPolygon() {
+		List<Point> polygon = new ArrayList<>(longitudes.length);
+		for (int i = 0; i < longitudes.length; i++) {
+			polygon.add(Point.degrees(longitudes[i], latitudes[i]));
+		}
+		return polygon;
+	}
+
+	/**
+	 * Get the polygon area centroid
+	 *
+	 * @return centroid point
+	 */
+	public Point getCentroid() {
+		return new Point(centroid);
+	}
+
+	/**
+	 * Get the polygon bounds
+	 *
+	 * @return bounds in degrees
+	 */
+	public Bounds getBounds() {
+		return new Bounds(bounds);
+	}
+
+	/**
+	 * Determine if the cell has non empty label bounds within the cell edges
+	 * and grid zone
+	 *
+	 * @return true if label bounds
+	 */
+	public boolean hasLabelBounds() {
+		return labelBounds != null;
+	}
+
+	/**
+	 * Get the label bounds within the cell edges and grid zone
+	 *
+	 * @return bounds in degrees or null
+	 */
+	public Bounds getLabelBounds() {
+		return labelBounds != null ? new Bounds(labelBounds) : null;
+	}
+
+	/**
+	 * Get the label bounds center point
+	 *
+	 * @return center point or null
+	 */
+	public Point getLabelCenter() {
+		return labelBounds != null ? labelBounds.getCentroid() : null;
+	}
+
+	/**
+	 * Get the MGRS coordinate of the label bounds center point
+	 *
+	 * @return MGRS or null
+	 */
+	public MGRS getLabelMGRS() {
+		return labelMGRS;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return getCoordinate() + " " + getPolygon();
+	}
+
+}
@@ -0,0 +1,117 @@
+package mil.nga.mgrs.cell;
+
+import java.util.Arrays;
+
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Bounded cache of MGRS cell geometries keyed by the packed cell key. The
+ * cache is a fixed size direct mapped table, each slot holding the most
+ * recently created geometry of the cell keys hashing to it, so lookups are
+ * lock free and never allocate. Geometries are immutable, allowing the cache
+ * to be shared across threads. Geometries created with a different
+ * {@link UTM#getProjection()} are recreated.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellGeometryCache {
+
+	/**
+	 * Geometry slots
+	 */
+	private final CellGeometry[] table;
+
+	/**
+	 * Slot index mask
+	 */
+	private final int mask;
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity
+	 *            maximum number of cached geometries, rounded up to a power of
+	 *            two
+	 */
+	public CellGeometryCache(int capacity) {
+		if (capacity < 1 || capacity > CellHash.MAX_TABLE_SIZE) {
+			throw new IllegalArgumentException(
+					"Illegal capacity: " + capacity);
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		table = new CellGeometry[size];
+		mask = size - 1;
+	}
+
+	/**
+	 * Get the maximum number of cached geometries
+	 *
+	 * @return capacity
+	 */
+	public int getCapacity() {
+		return table.length;
+	}
+
+	/**
+	 * Get the geometry of the cell key, creating and caching it when not
+	 * cached
+	 *
+	 * @param key
+	 *            cell key
+	 * @return geometry, null when the cell is outside of its grid zone
+	 */
+	public CellGeometry get(long key) {
+		int index = CellHash.hash(key) & mask;
+		CellGeometry geometry = table[index];
+		if (geometry == null || geometry.getKey() != key
+				|| geometry.getProjection() != UTM.getProjection()) {
+			geometry = CellGeometry.create(key);
+			if (geometry != null) {
+				table[index] = geometry;
+			}
+		}
+		return geometry;
+	}
+
+	/**
+	 * Get the geometry of the MGRS cell at the precision, creating and
+	 * caching it when not cached
+	 *
+	 * @param mgrs
+	 *            MGRS coordinate
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return geometry, null when the cell is outside of its grid zone
+	 */
+	public CellGeometry get(MGRS mgrs, GridType precision) {
+		return get(CellKey.encode(mgrs, precision));
+	}
+
+	/**
+	 * Determine if the geometry of the cell key is cached
+	 *
+	 * @param key
+	 *            cell key
+	 * @return true if cached
+	 */
+	public boolean contains(long key) {
+		CellGeometry geometry = table[CellHash.hash(key) & mask];
+		return geometry != null && geometry.getKey() == key
+				&& geometry.getProjection() == UTM.getProjection();
+	}
+
+	/**
+	 * Clear the cached geometries
+	 */
+	public void clear() {
+		Arrays.fill(table, null);
+	}
+
+}
@@ -0,0 +1,100 @@
+package mil.nga.mgrs.cell;
+
+/**
+ * Open addressing hash table utilities for packed MGRS {@link CellKey}
+ * values. Tables are power of two sized, linearly probed, and use
+ * {@link CellKey#INVALID} as the empty slot marker.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+final class CellHash {
+
+	/**
+	 * Empty slot marker
+	 */
+	static final long EMPTY = CellKey.INVALID;
+
+	/**
+	 * Default load factor
+	 */
+	static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+	/**
+	 * Default expected size
+	 */
+	static final int DEFAULT_EXPECTED = 16;
+
+	/**
+	 * Maximum table size
+	 */
+	static final int MAX_TABLE_SIZE = 1 << 30;
+
+	/**
+	 * Private constructor
+	 */
+	private CellHash() {
+	}
+
+	/**
+	 * Mix the cell key bits into a well distributed hash
+	 *
+	 * @param key
+	 *            cell key
+	 * @return hash
+	 */
+	static int hash(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	/**
+	 * Get the power of two table size holding the expected number of keys
+	 * within the load factor
+	 *
+	 * @param expected
+	 *            expected number of keys
+	 * @param loadFactor
+	 *            load factor
+	 * @return table size
+	 */
+	static int tableSize(int expected, float loadFactor) {
+		long required = Math.max(2, (long) Math.ceil(expected / loadFactor));
+		if (required > MAX_TABLE_SIZE) {
+			return MAX_TABLE_SIZE;
+		}
+		return Integer.highestOneBit((int) required - 1) << 1;
+	}
+
+	/**
+	 * Validate the load factor
+	 *
+	 * @param loadFactor
+	 *            load factor
+	 */
+	static void validateLoadFactor(float loadFactor) {
+		if (!(loadFactor > 0.0f && loadFactor < 1.0f)) {
+			throw new IllegalArgumentException(
+					"Load factor must be > 0 and < 1. load factor: "
+							+ loadFactor);
+		}
+	}
+
+	/**
+	 * Validate the key is not the empty slot marker
+	 *
+	 * @param key
+	 *            cell key
+	 */
+	static void validateKey(long key) {
+		if (key < 0) {
+			throw new IllegalArgumentException(
+					"Cell keys must be non negative. key: " + key);
+		}
+	}
+
+}
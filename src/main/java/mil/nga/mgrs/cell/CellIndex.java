@@ -0,0 +1,803 @@
+package mil.nga.mgrs.cell;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRSConstants;
+import mil.nga.mgrs.MGRSTables;
+import mil.nga.mgrs.MGRSUtils;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * In memory spatial index of values bucketed by their MGRS cell at a
+ * precision. Adding, moving, and removing a value is constant time: the value
+ * is converted to UTM once and moved between cell buckets only when its cell
+ * changes. Bounding box, radius, and nearest queries prune grid zones with
+ * {@link GridZones#getZones(Bounds)} and visit the cells within the UTM
+ * extents of each grid zone, or scan all buckets when that is fewer cells.
+ * Distances are UTM grid meters within the zone of each value. Values are
+ * identified by their equals and hashCode. Not thread safe.
+ *
+ * @param <T>
+ *            value type
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellIndex<T> {
+
+	/**
+	 * Minimum meters per degree of latitude
+	 */
+	private static final double METERS_PER_DEGREE = 110574.0;
+
+	/**
+	 * Search radius padding covering the UTM scale factor
+	 */
+	private static final double RADIUS_PADDING = 1.01;
+
+	/**
+	 * Maximum search radius in meters, half of the equatorial circumference
+	 */
+	private static final double MAX_RADIUS = 20037509.0;
+
+	/**
+	 * Precision grid type
+	 */
+	private final GridType precision;
+
+	/**
+	 * Indexed entries by value
+	 */
+	private final Map<T, Entry<T>> entries = new HashMap<>();
+
+	/**
+	 * Bucket list index by cell key
+	 */
+	private final CellMap bucketIndices = new CellMap();
+
+	/**
+	 * Non empty cell buckets
+	 */
+	private final List<Bucket<T>> buckets = new ArrayList<>();
+
+	/**
+	 * Reusable UTM conversion array
+	 */
+	private final double[] eastingNorthing = new double[2];
+
+	/**
+	 * Constructor
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 */
+	public CellIndex(GridType precision) {
+		CellKey.accuracy(precision);
+		this.precision = precision;
+	}
+
+	/**
+	 * Get the precision
+	 *
+	 * @return precision grid type
+	 */
+	public GridType getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * Get the number of indexed values
+	 *
+	 * @return value count
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Determine if no values are indexed
+	 *
+	 * @return true if empty
+	 */
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	/**
+	 * Get the number of cells containing values
+	 *
+	 * @return cell count
+	 */
+	public int getCellCount() {
+		return buckets.size();
+	}
+
+	/**
+	 * Put the value at the location, adding it or moving it from its previous
+	 * location
+	 *
+	 * @param value
+	 *            value
+	 * @param point
+	 *            point
+	 */
+	public void put(T value, Point point) {
+		point = point.toDegrees();
+		put(value, point.getLongitude(), point.getLatitude());
+	}
+
+	/**
+	 * Put the value at the location, adding it or moving it from its previous
+	 * location
+	 *
+	 * @param value
+	 *            value
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 */
+	public void put(T value, double longitude, double latitude) {
+
+		if (value == null) {
+			throw new IllegalArgumentException("Value can not be null");
+		}
+
+		latitude = MGRSUtils.boundLatitude(latitude);
+		longitude = MGRSUtils.normalizeLongitude(longitude);
+
+		int zone = GridZones.getZoneNumber(longitude, latitude);
+		Hemisphere hemisphere = Hemisphere.fromLatitude(latitude);
+		UTM.from(longitude, latitude, zone, hemisphere, eastingNorthing);
+		double easting = eastingNorthing[0];
+		double northing = eastingNorthing[1];
+		long key = CellKey.fromUTM(zone, GridZones.getBandLetter(latitude),
+				easting, northing, precision);
+
+		Entry<T> entry = entries.get(value);
+		if (entry == null) {
+			entry = new Entry<>(value);
+			entries.put(value, entry);
+		} else if (entry.bucket.key != key) {
+			removeFromBucket(entry);
+		}
+		entry.longitude = longitude;
+		entry.latitude = latitude;
+		entry.zone = zone;
+		entry.hemisphere = hemisphere;
+		entry.easting = easting;
+		entry.northing = northing;
+		if (entry.bucket == null) {
+			addToBucket(entry, key);
+		}
+	}
+
+	/**
+	 * Remove the value
+	 *
+	 * @param value
+	 *            value
+	 * @return true if removed
+	 */
+	public boolean remove(T value) {
+		Entry<T> entry = entries.remove(value);
+		if (entry != null) {
+			removeFromBucket(entry);
+		}
+		return entry != null;
+	}
+
+	/**
+	 * Remove all values
+	 */
+	public void clear() {
+		entries.clear();
+		bucketIndices.clear();
+		buckets.clear();
+	}
+
+	/**
+	 * Determine if the value is indexed
+	 *
+	 * @param value
+	 *            value
+	 * @return true if indexed
+	 */
+	public boolean contains(T value) {
+		return entries.containsKey(value);
+	}
+
+	/**
+	 * Get the cell key of the value
+	 *
+	 * @param value
+	 *            value
+	 * @return cell key or {@link CellKey#INVALID} if not indexed
+	 */
+	public long getKey(T value) {
+		Entry<T> entry = entries.get(value);
+		return entry != null ? entry.bucket.key : CellKey.INVALID;
+	}
+
+	/**
+	 * Get the location of the value
+	 *
+	 * @param value
+	 *            value
+	 * @return point or null if not indexed
+	 */
+	public Point getPoint(T value) {
+		Entry<T> entry = entries.get(value);
+		return entry != null
+				? Point.degrees(entry.longitude, entry.latitude)
+				: null;
+	}
+
+	/**
+	 * Get the values within the cell
+	 *
+	 * @param key
+	 *            cell key at the index precision
+	 * @return values
+	 */
+	public List<T> getValues(long key) {
+		List<T> values = new ArrayList<>();
+		int index = (int) bucketIndices.get(key, -1);
+		if (index >= 0) {
+			Bucket<T> bucket = buckets.get(index);
+			for (int i = 0; i < bucket.size; i++) {
+				values.add(bucket.entries[i].value);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Get the UTM distance in meters from the location to the value, within
+	 * the zone of the value
+	 *
+	 * @param value
+	 *            value
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @return distance in meters or NaN if not indexed
+	 */
+	public double distance(T value, double longitude, double latitude) {
+		double distance = Double.NaN;
+		Entry<T> entry = entries.get(value);
+		if (entry != null) {
+			distance = new Origin(longitude, latitude).distance(entry);
+		}
+		return distance;
+	}
+
+	/**
+	 * Query the values within the bounds
+	 *
+	 * @param bounds
+	 *            bounds
+	 * @return values
+	 */
+	public List<T> query(Bounds bounds) {
+		List<T> values = new ArrayList<>();
+		query(bounds, values::add);
+		return values;
+	}
+
+	/**
+	 * Query the values within the bounds
+	 *
+	 * @param bounds
+	 *            bounds
+	 * @param action
+	 *            action performed on each value
+	 */
+	public void query(Bounds bounds, Consumer<? super T> action) {
+		Bounds degrees = bounds.toDegrees();
+		double west = degrees.getMinLongitude();
+		double south = degrees.getMinLatitude();
+		double east = degrees.getMaxLongitude();
+		double north = degrees.getMaxLatitude();
+		visit(degrees, (bucket) -> {
+			for (int i = 0; i < bucket.size; i++) {
+				Entry<T> entry = bucket.entries[i];
+				if (entry.longitude >= west && entry.longitude <= east
+						&& entry.latitude >= south
+						&& entry.latitude <= north) {
+					action.accept(entry.value);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Query the values within the radius of the location
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param radius
+	 *            radius in meters
+	 * @return values
+	 */
+	public List<T> queryRadius(double longitude, double latitude,
+			double radius) {
+		List<T> values = new ArrayList<>();
+		queryRadius(longitude, latitude, radius, values::add);
+		return values;
+	}
+
+	/**
+	 * Query the values within the radius of the location
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param radius
+	 *            radius in meters
+	 * @param action
+	 *            action performed on each value
+	 */
+	public void queryRadius(double longitude, double latitude, double radius,
+			Consumer<? super T> action) {
+		Origin origin = new Origin(longitude, latitude);
+		visitRadius(origin, radius, (bucket) -> {
+			for (int i = 0; i < bucket.size; i++) {
+				Entry<T> entry = bucket.entries[i];
+				if (origin.distance(entry) <= radius) {
+					action.accept(entry.value);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Query the nearest values to the location, expanding the search radius
+	 * through the surrounding cells until enough values are found
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param count
+	 *            maximum number of values
+	 * @return values, nearest first
+	 */
+	public List<T> nearest(double longitude, double latitude, int count) {
+
+		if (count < 0) {
+			throw new IllegalArgumentException(
+					"Count must be >= 0. count: " + count);
+		}
+
+		Origin origin = new Origin(longitude, latitude);
+		List<Entry<T>> found = new ArrayList<>();
+		boolean complete = count == 0 || entries.isEmpty();
+		double radius = precision.getPrecision();
+		while (!complete) {
+
+			double searchRadius = radius;
+			found.clear();
+			boolean scanned = visitRadius(origin, searchRadius, (bucket) -> {
+				for (int i = 0; i < bucket.size; i++) {
+					Entry<T> entry = bucket.entries[i];
+					entry.distance = origin.distance(entry);
+					if (entry.distance <= searchRadius) {
+						found.add(entry);
+					}
+				}
+			});
+
+			// All values within the radius were found
+			complete = found.size() >= count || scanned
+					|| radius >= MAX_RADIUS;
+			if (scanned && found.size() < count) {
+				found.clear();
+				for (Bucket<T> bucket : buckets) {
+					for (int i = 0; i < bucket.size; i++) {
+						Entry<T> entry = bucket.entries[i];
+						entry.distance = origin.distance(entry);
+						found.add(entry);
+					}
+				}
+			}
+			radius *= 4;
+		}
+
+		found.sort(Comparator.comparingDouble((entry) -> entry.distance));
+		List<T> values = new ArrayList<>(Math.min(count, found.size()));
+		for (int i = 0; i < found.size() && i < count; i++) {
+			values.add(found.get(i).value);
+		}
+		return values;
+	}
+
+	/**
+	 * Visit the buckets of cells that may contain values within the radius
+	 *
+	 * @param origin
+	 *            search origin
+	 * @param radius
+	 *            radius in meters
+	 * @param visitor
+	 *            bucket visitor
+	 * @return true if all buckets were scanned
+	 */
+	private boolean visitRadius(Origin origin, double radius,
+			Consumer<Bucket<T>> visitor) {
+
+		double padded = radius * RADIUS_PADDING;
+		double latitudeDelta = padded / METERS_PER_DEGREE;
+		double south = Math.max(MGRSConstants.MIN_LAT,
+				origin.latitude - latitudeDelta);
+		double north = Math.min(MGRSConstants.MAX_LAT,
+				origin.latitude + latitudeDelta);
+		double maxLatitude = Math.max(Math.abs(south), Math.abs(north));
+		double longitudeDelta = latitudeDelta
+				/ Math.cos(Math.toRadians(maxLatitude));
+
+		boolean scanned;
+		if (padded >= MAX_RADIUS || longitudeDelta >= 180.0) {
+			scanned = visit(Bounds.degrees(MGRSConstants.MIN_LON, south,
+					MGRSConstants.MAX_LON, north), visitor);
+		} else {
+			double west = origin.longitude - longitudeDelta;
+			double east = origin.longitude + longitudeDelta;
+			if (west < MGRSConstants.MIN_LON) {
+				scanned = visit(Bounds.degrees(MGRSConstants.MIN_LON, south,
+						east, north), visitor);
+				if (!scanned) {
+					scanned = visit(Bounds.degrees(west + 360.0, south,
+							MGRSConstants.MAX_LON, north), visitor);
+				}
+			} else if (east > MGRSConstants.MAX_LON) {
+				scanned = visit(Bounds.degrees(west, south,
+						MGRSConstants.MAX_LON, north), visitor);
+				if (!scanned) {
+					scanned = visit(Bounds.degrees(MGRSConstants.MIN_LON,
+							south, east - 360.0, north), visitor);
+				}
+			} else {
+				scanned = visit(Bounds.degrees(west, south, east, north),
+						visitor);
+			}
+		}
+		return scanned;
+	}
+
+	/**
+	 * Visit the buckets of cells within the UTM extents of the bounds in each
+	 * grid zone, or all buckets when there are fewer buckets than cells
+	 *
+	 * @param bounds
+	 *            bounds in degrees
+	 * @param visitor
+	 *            bucket visitor
+	 * @return true if all buckets were scanned
+	 */
+	private boolean visit(Bounds bounds, Consumer<Bucket<T>> visitor) {
+
+		if (buckets.isEmpty()) {
+			return true;
+		}
+
+		double size = precision.getPrecision();
+		double minEasting = MGRSTables.SQUARE_SIZE;
+		double maxEasting = (MGRSTables.COLUMNS + 1) * MGRSTables.SQUARE_SIZE
+				- size;
+
+		// Cell ranges of each grid zone: zone, band, then extents
+		List<double[]> ranges = new ArrayList<>();
+		long cells = 0;
+		double[] extents = new double[4];
+		for (GridZone gridZone : GridZones.getZones(bounds)) {
+			Bounds overlap = bounds.overlap(gridZone.getBounds());
+			if (overlap == null) {
+				continue;
+			}
+			CellCurve.utmExtents(gridZone.getNumber(),
+					gridZone.getHemisphere(), overlap, extents);
+			double west = Math.max(minEasting,
+					Math.floor(extents[0] / size) * size);
+			double south = Math.max(0, Math.floor(extents[1] / size) * size);
+			double east = Math.min(maxEasting,
+					Math.floor(extents[2] / size) * size);
+			double north = Math.floor(extents[3] / size) * size;
+			if (west <= east && south <= north) {
+				cells += ((long) ((east - west) / size) + 1)
+						* ((long) ((north - south) / size) + 1);
+				ranges.add(new double[] { gridZone.getNumber(),
+						gridZone.getLetter(), west, south, east, north });
+			}
+			if (cells > buckets.size()) {
+				break;
+			}
+		}
+
+		boolean scanned = cells > buckets.size();
+		if (scanned) {
+			for (int i = 0; i < buckets.size(); i++) {
+				visitor.accept(buckets.get(i));
+			}
+		} else {
+			for (double[] range : ranges) {
+				int zone = (int) range[0];
+				char band = (char) range[1];
+				double east = range[4];
+				double north = range[5];
+				for (double easting = range[2]; easting <= east;
+						easting += size) {
+					for (double northing = range[3]; northing <= north;
+							northing += size) {
+						long key = CellKey.fromUTM(zone, band, easting,
+								northing, precision);
+						int index = (int) bucketIndices.get(key, -1);
+						if (index >= 0) {
+							visitor.accept(buckets.get(index));
+						}
+					}
+				}
+			}
+		}
+
+		return scanned;
+	}
+
+	/**
+	 * Add the entry to the bucket of the cell key
+	 *
+	 * @param entry
+	 *            entry
+	 * @param key
+	 *            cell key
+	 */
+	private void addToBucket(Entry<T> entry, long key) {
+		Bucket<T> bucket;
+		int index = (int) bucketIndices.get(key, -1);
+		if (index >= 0) {
+			bucket = buckets.get(index);
+		} else {
+			bucket = new Bucket<>(key, buckets.size());
+			bucketIndices.put(key, bucket.index);
+			buckets.add(bucket);
+		}
+		bucket.add(entry);
+	}
+
+	/**
+	 * Remove the entry from its bucket, removing empty buckets
+	 *
+	 * @param entry
+	 *            entry
+	 */
+	private void removeFromBucket(Entry<T> entry) {
+		Bucket<T> bucket = entry.bucket;
+		bucket.remove(entry);
+		if (bucket.size == 0) {
+			bucketIndices.remove(bucket.key);
+			Bucket<T> last = buckets.remove(buckets.size() - 1);
+			if (last != bucket) {
+				last.index = bucket.index;
+				buckets.set(last.index, last);
+				bucketIndices.put(last.key, last.index);
+			}
+		}
+	}
+
+	/**
+	 * Indexed value location
+	 *
+	 * @param <T>
+	 *            value type
+	 */
+	private static class Entry<T> {
+
+		/**
+		 * Value
+		 */
+		private final T value;
+
+		/**
+		 * Longitude in degrees
+		 */
+		private double longitude;
+
+		/**
+		 * Latitude in degrees
+		 */
+		private double latitude;
+
+		/**
+		 * Zone number
+		 */
+		private int zone;
+
+		/**
+		 * Hemisphere
+		 */
+		private Hemisphere hemisphere;
+
+		/**
+		 * UTM easting
+		 */
+		private double easting;
+
+		/**
+		 * UTM northing
+		 */
+		private double northing;
+
+		/**
+		 * Containing bucket
+		 */
+		private Bucket<T> bucket;
+
+		/**
+		 * Index within the bucket
+		 */
+		private int index;
+
+		/**
+		 * Working query distance
+		 */
+		private double distance;
+
+		/**
+		 * Constructor
+		 *
+		 * @param value
+		 *            value
+		 */
+		private Entry(T value) {
+			this.value = value;
+		}
+
+	}
+
+	/**
+	 * Entries of a cell
+	 *
+	 * @param <T>
+	 *            value type
+	 */
+	private static class Bucket<T> {
+
+		/**
+		 * Cell key
+		 */
+		private final long key;
+
+		/**
+		 * Index within the bucket list
+		 */
+		private int index;
+
+		/**
+		 * Entries
+		 */
+		private Entry<T>[] entries;
+
+		/**
+		 * Entry count
+		 */
+		private int size;
+
+		/**
+		 * Constructor
+		 *
+		 * @param key
+		 *            cell key
+		 * @param index
+		 *            index within the bucket list
+		 */
+		@SuppressWarnings("unchecked")
+		private Bucket(long key, int index) {
+			this.key = key;
+			this.index = index;
+			this.entries = (Entry<T>[]) new Entry<?>[4];
+		}
+
+		/**
+		 * Add the entry
+		 *
+		 * @param entry
+		 *            entry
+		 */
+		private void add(Entry<T> entry) {
+			if (size == entries.length) {
+				entries = Arrays.copyOf(entries, size * 2);
+			}
+			entry.bucket = this;
+			entry.index = size;
+			entries[size++] = entry;
+		}
+
+		/**
+		 * Remove the entry by moving the last entry into its place
+		 *
+		 * @param entry
+		 *            entry
+		 */
+		private void remove(Entry<T> entry) {
+			Entry<T> last = entries[--size];
+			entries[entry.index] = last;
+			last.index = entry.index;
+			entries[size] = null;
+			entry.bucket = null;
+		}
+
+	}
+
+	/**
+	 * Query origin projected into the zones of the visited values
+	 */
+	private static class Origin {
+
+		/**
+		 * Longitude in degrees
+		 */
+		private final double longitude;
+
+		/**
+		 * Latitude in degrees
+		 */
+		private final double latitude;
+
+		/**
+		 * Lazily projected origins by zone and hemisphere
+		 */
+		private final double[][] projections = new double[2
+				* MGRSConstants.MAX_ZONE_NUMBER][];
+
+		/**
+		 * Constructor
+		 *
+		 * @param longitude
+		 *            longitude in degrees
+		 * @param latitude
+		 *            latitude in degrees
+		 */
+		private Origin(double longitude, double latitude) {
+			this.latitude = MGRSUtils.boundLatitude(latitude);
+			this.longitude = MGRSUtils.normalizeLongitude(longitude);
+		}
+
+		/**
+		 * Get the UTM distance to the entry within the zone of the entry
+		 *
+		 * @param entry
+		 *            entry
+		 * @return distance in meters
+		 */
+		private double distance(Entry<?> entry) {
+			int index = 2 * (entry.zone - 1)
+					+ (entry.hemisphere == Hemisphere.NORTH ? 0 : 1);
+			double[] projection = projections[index];
+			if (projection == null) {
+				projection = UTM.from(longitude, latitude, entry.zone,
+						entry.hemisphere, new double[2]);
+				projections[index] = projection;
+			}
+			return Math.hypot(entry.easting - projection[0],
+					entry.northing - projection[1]);
+		}
+
+	}
+
+}
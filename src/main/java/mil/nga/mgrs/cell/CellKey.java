@@ -0,0 +1,707 @@
+package mil.nga.mgrs.cell;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.MGRSConstants;
+import mil.nga.mgrs.MGRSTables;
+import mil.nga.mgrs.MGRSUtils;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Reversible packed 64 bit MGRS cell keys. A key encodes the zone number,
+ * band letter, 100km column and row letters, easting, northing, and precision
+ * of a MGRS cell into a non negative long. Keys order by zone number, band
+ * letter, 100km square (column then row index), easting, northing, and then
+ * precision, allowing MGRS cells to be sorted, deduplicated, and used as
+ * primitive map keys without object creation.
+ *
+ * The band letter orders before the 100km square because 100km row letters
+ * repeat every 2,000km of northing within a zone. The zone number and 100km
+ * square alone do not identify a location; the band letter selects the row
+ * letter cycle. Ordering by band also keeps the keys of each grid zone, and of
+ * each 100km square within a grid zone, in a single contiguous key range.
+ *
+ * <pre>
+ * bits 50-55: zone number (1 - 60)
+ * bits 45-49: band index (0 - 19, C - X)
+ * bits 42-44: column index (0 - 7)
+ * bits 37-41: row index (0 - 19)
+ * bits 20-36: easting (0 - 99999)
+ * bits  3-19: northing (0 - 99999)
+ * bits  0-2:  accuracy (0 - 5, 100km - 1m)
+ * </pre>
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public final class CellKey {
+
+	/**
+	 * Accuracy bit shift
+	 */
+	private static final int ACCURACY_SHIFT = 0;
+
+	/**
+	 * Northing bit shift
+	 */
+	private static final int NORTHING_SHIFT = 3;
+
+	/**
+	 * Easting bit shift
+	 */
+	private static final int EASTING_SHIFT = 20;
+
+	/**
+	 * Row index bit shift
+	 */
+	private static final int ROW_SHIFT = 37;
+
+	/**
+	 * Column index bit shift
+	 */
+	private static final int COLUMN_SHIFT = 42;
+
+	/**
+	 * Band index bit shift
+	 */
+	private static final int BAND_SHIFT = 45;
+
+	/**
+	 * Zone number bit shift
+	 */
+	private static final int ZONE_SHIFT = 50;
+
+	/**
+	 * Accuracy bit mask
+	 */
+	private static final long ACCURACY_MASK = 0x7L;
+
+	/**
+	 * Easting and northing bit mask
+	 */
+	private static final long METERS_MASK = 0x1FFFFL;
+
+	/**
+	 * Row index and band index bit mask
+	 */
+	private static final long INDEX_MASK = 0x1FL;
+
+	/**
+	 * Column index bit mask
+	 */
+	private static final long COLUMN_MASK = 0x7L;
+
+	/**
+	 * Zone number bit mask
+	 */
+	private static final long ZONE_MASK = 0x3FL;
+
+	/**
+	 * Mask of the bits locating the 100km square, excluding the easting,
+	 * northing, and accuracy
+	 */
+	private static final long SQUARE_MASK = -1L << ROW_SHIFT;
+
+	/**
+	 * 100km square size in meters
+	 */
+	private static final int SQUARE_SIZE = 100000;
+
+	/**
+	 * Invalid key value, never produced by encoding
+	 */
+	public static final long INVALID = -1L;
+
+	/**
+	 * Private constructor
+	 */
+	private CellKey() {
+	}
+
+	/**
+	 * Encode the MGRS at its precision
+	 *
+	 * @param mgrs
+	 *            MGRS
+	 * @return cell key
+	 */
+	public static long encode(MGRS mgrs) {
+		return encode(mgrs, mgrs.precision());
+	}
+
+	/**
+	 * Encode the MGRS at the precision, truncating the easting and northing
+	 *
+	 * @param mgrs
+	 *            MGRS
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell key
+	 */
+	public static long encode(MGRS mgrs, GridType precision) {
+		return encode(mgrs.getZone(), mgrs.getBand(), mgrs.getColumn(),
+				mgrs.getRow(), mgrs.getEasting(), mgrs.getNorthing(),
+				precision);
+	}
+
+	/**
+	 * Encode the MGRS attributes at the precision, truncating the easting and
+	 * northing
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param band
+	 *            band letter
+	 * @param column
+	 *            column letter
+	 * @param row
+	 *            row letter
+	 * @param easting
+	 *            easting within the 100km square
+	 * @param northing
+	 *            northing within the 100km square
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell key
+	 */
+	public static long encode(int zone, char band, char column, char row,
+			long easting, long northing, GridType precision) {
+
+		MGRSUtils.validateZoneNumber(zone);
+		int bandIndex = MGRSTables.bandIndex(band);
+		if (bandIndex < 0) {
+			throw new IllegalArgumentException(
+					"Invalid band letter: " + band);
+		}
+		validateGridZone(zone, band);
+		int columnIndex = MGRSTables.columnIndex(zone, column);
+		if (columnIndex < 0) {
+			throw new IllegalArgumentException("Invalid column letter: "
+					+ column + ", for zone number: " + zone);
+		}
+		int rowIndex = MGRSTables.rowIndex(zone, row);
+		if (rowIndex < 0) {
+			throw new IllegalArgumentException(
+					"Invalid row letter: " + row);
+		}
+		if (easting < 0 || easting >= SQUARE_SIZE || northing < 0
+				|| northing >= SQUARE_SIZE) {
+			throw new IllegalArgumentException(
+					"Easting and northing must be >= 0 and < " + SQUARE_SIZE
+							+ ". easting: " + easting + ", northing: "
+							+ northing);
+		}
+
+		return pack(zone, bandIndex, columnIndex, rowIndex, easting,
+				northing, accuracy(precision));
+	}
+
+	/**
+	 * Encode the longitude and latitude at the precision without creating a
+	 * MGRS, producing the same key as encoding {@link MGRS#from(double, double)}
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell key
+	 */
+	public static long encode(double longitude, double latitude,
+			GridType precision) {
+		return encode(longitude, latitude, precision, new double[2]);
+	}
+
+	/**
+	 * Encode the longitude and latitude at the precision without creating a
+	 * MGRS, producing the same key as encoding {@link MGRS#from(double, double)}
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @param eastingNorthing
+	 *            reusable working array of at least length 2
+	 * @return cell key
+	 */
+	public static long encode(double longitude, double latitude,
+			GridType precision, double[] eastingNorthing) {
+
+		int accuracy = accuracy(precision);
+
+		latitude = MGRSUtils.boundLatitude(latitude);
+		longitude = MGRSUtils.normalizeLongitude(longitude);
+
+		int zone = GridZones.getZoneNumber(longitude, latitude);
+		Hemisphere hemisphere = Hemisphere.fromLatitude(latitude);
+
+		UTM.from(longitude, latitude, zone, hemisphere, eastingNorthing);
+		double utmEasting = eastingNorthing[0];
+		double utmNorthing = eastingNorthing[1];
+
+		int bandIndex = MGRSTables
+				.bandIndex(GridZones.getBandLetter(latitude));
+		int columnIndex = (int) Math.floor(utmEasting / SQUARE_SIZE) - 1;
+		if (columnIndex < 0 || columnIndex >= MGRSTables.COLUMNS) {
+			throw new IllegalArgumentException(
+					"Easting outside of the zone columns: " + utmEasting);
+		}
+		int rowIndex = (int) Math.floor(utmNorthing / SQUARE_SIZE)
+				% MGRSTables.ROWS;
+
+		// truncate easting/northing to within 100km grid square
+		long easting = (long) (utmEasting % SQUARE_SIZE);
+		long northing = (long) (utmNorthing % SQUARE_SIZE);
+
+		return pack(zone, bandIndex, columnIndex, rowIndex, easting,
+				northing, accuracy);
+	}
+
+	/**
+	 * Encode the UTM coordinate within the grid zone of the zone number and
+	 * band letter at the precision
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param band
+	 *            band letter
+	 * @param easting
+	 *            UTM easting
+	 * @param northing
+	 *            UTM northing
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell key
+	 */
+	public static long fromUTM(int zone, char band, double easting,
+			double northing, GridType precision) {
+
+		MGRSUtils.validateZoneNumber(zone);
+		int bandIndex = MGRSTables.bandIndex(band);
+		if (bandIndex < 0) {
+			throw new IllegalArgumentException(
+					"Invalid band letter: " + band);
+		}
+		validateGridZone(zone, band);
+		int columnIndex = (int) Math.floor(easting / SQUARE_SIZE) - 1;
+		if (columnIndex < 0 || columnIndex >= MGRSTables.COLUMNS
+				|| northing < 0) {
+			throw new IllegalArgumentException(
+					"UTM coordinate outside of the zone columns. easting: "
+							+ easting + ", northing: " + northing);
+		}
+		int rowIndex = (int) Math.floor(northing / SQUARE_SIZE)
+				% MGRSTables.ROWS;
+
+		return pack(zone, bandIndex, columnIndex, rowIndex,
+				(long) (easting % SQUARE_SIZE),
+				(long) (northing % SQUARE_SIZE), accuracy(precision));
+	}
+
+	/**
+	 * Pack the validated key values, truncating the easting and northing to
+	 * the accuracy
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param bandIndex
+	 *            band index
+	 * @param columnIndex
+	 *            column index
+	 * @param rowIndex
+	 *            row index
+	 * @param easting
+	 *            easting
+	 * @param northing
+	 *            northing
+	 * @param accuracy
+	 *            accuracy digits
+	 * @return cell key
+	 */
+	static long pack(int zone, int bandIndex, int columnIndex,
+			int rowIndex, long easting, long northing, int accuracy) {
+		long divisor = precisionMeters(accuracy);
+		easting -= easting % divisor;
+		northing -= northing % divisor;
+		return ((long) zone << ZONE_SHIFT)
+				| ((long) bandIndex << BAND_SHIFT)
+				| ((long) columnIndex << COLUMN_SHIFT)
+				| ((long) rowIndex << ROW_SHIFT) | (easting << EASTING_SHIFT)
+				| (northing << NORTHING_SHIFT)
+				| ((long) accuracy << ACCURACY_SHIFT);
+	}
+
+	/**
+	 * Validate that the grid zone exists, rejecting the Svalbard gap grid
+	 * zones
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param band
+	 *            band letter
+	 */
+	private static void validateGridZone(int zone, char band) {
+		if (GridZones.isSvalbardGap(zone, band)) {
+			throw new IllegalArgumentException(
+					"Grid zone does not exist in the Svalbard gap: " + zone
+							+ band);
+		}
+	}
+
+	/**
+	 * Validate a range of the longitude and latitude coordinate arrays
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param offset
+	 *            first coordinate index
+	 * @param length
+	 *            number of coordinates
+	 */
+	static void validateRange(double[] longitudes, double[] latitudes,
+			int offset, int length) {
+		if (offset < 0 || length < 0 || offset > longitudes.length - length
+				|| offset > latitudes.length - length) {
+			throw new IndexOutOfBoundsException(
+					"Invalid coordinate range. offset: " + offset + ", length: "
+							+ length + ", longitudes: " + longitudes.length
+							+ ", latitudes: " + latitudes.length);
+		}
+	}
+
+	/**
+	 * Get the accuracy digits of the precision
+	 *
+	 * @param precision
+	 *            precision grid type
+	 * @return accuracy digits
+	 */
+	static int accuracy(GridType precision) {
+		if (precision == GridType.GZD) {
+			throw new IllegalArgumentException(
+					"Cell keys require a 100km square or finer precision");
+		}
+		return precision.getAccuracy();
+	}
+
+	/**
+	 * Get the precision in meters of the accuracy digits
+	 *
+	 * @param accuracy
+	 *            accuracy digits
+	 * @return precision meters
+	 */
+	static long precisionMeters(int accuracy) {
+		long meters = SQUARE_SIZE;
+		for (int i = 0; i < accuracy; i++) {
+			meters /= 10;
+		}
+		return meters;
+	}
+
+	/**
+	 * Decode the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @return MGRS
+	 */
+	public static MGRS decode(long key) {
+		return MGRS.create(zone(key), band(key), column(key), row(key),
+				easting(key), northing(key));
+	}
+
+	/**
+	 * Determine if the value is a valid cell key
+	 *
+	 * @param key
+	 *            potential cell key
+	 * @return true if valid
+	 */
+	public static boolean isValid(long key) {
+		if (key < 0 || (key >>> (ZONE_SHIFT + 6)) != 0) {
+			return false;
+		}
+		int zone = zone(key);
+		int accuracy = accuracy(key);
+		long easting = easting(key);
+		long northing = northing(key);
+		long meters = accuracy <= 5 ? precisionMeters(accuracy) : 0;
+		return zone >= MGRSConstants.MIN_ZONE_NUMBER
+				&& zone <= MGRSConstants.MAX_ZONE_NUMBER
+				&& bandIndex(key) < MGRSConstants.NUM_BANDS
+				&& rowIndex(key) < MGRSTables.ROWS && accuracy <= 5
+				&& easting < SQUARE_SIZE && northing < SQUARE_SIZE
+				&& easting % meters == 0 && northing % meters == 0
+				&& !GridZones.isSvalbardGap(zone, band(key));
+	}
+
+	/**
+	 * Get the zone number
+	 *
+	 * @param key
+	 *            cell key
+	 * @return zone number
+	 */
+	public static int zone(long key) {
+		return (int) ((key >>> ZONE_SHIFT) & ZONE_MASK);
+	}
+
+	/**
+	 * Get the band index (0 through 19) from south to north
+	 *
+	 * @param key
+	 *            cell key
+	 * @return band index
+	 */
+	public static int bandIndex(long key) {
+		return (int) ((key >>> BAND_SHIFT) & INDEX_MASK);
+	}
+
+	/**
+	 * Get the band letter
+	 *
+	 * @param key
+	 *            cell key
+	 * @return band letter
+	 */
+	public static char band(long key) {
+		return MGRSTables.bandLetter(bandIndex(key));
+	}
+
+	/**
+	 * Get the 100km column index (0 through 7) within the zone
+	 *
+	 * @param key
+	 *            cell key
+	 * @return column index
+	 */
+	public static int columnIndex(long key) {
+		return (int) ((key >>> COLUMN_SHIFT) & COLUMN_MASK);
+	}
+
+	/**
+	 * Get the 100km column letter
+	 *
+	 * @param key
+	 *            cell key
+	 * @return column letter
+	 */
+	public static char column(long key) {
+		return MGRSTables.columnLetter(zone(key), columnIndex(key));
+	}
+
+	/**
+	 * Get the 100km row index (0 through 19) within the zone row letter cycle
+	 *
+	 * @param key
+	 *            cell key
+	 * @return row index
+	 */
+	public static int rowIndex(long key) {
+		return (int) ((key >>> ROW_SHIFT) & INDEX_MASK);
+	}
+
+	/**
+	 * Get the 100km row letter
+	 *
+	 * @param key
+	 *            cell key
+	 * @return row letter
+	 */
+	public static char row(long key) {
+		return MGRSTables.rowLetter(zone(key), rowIndex(key));
+	}
+
+	/**
+	 * Get the easting within the 100km square
+	 *
+	 * @param key
+	 *            cell key
+	 * @return easting
+	 */
+	public static long easting(long key) {
+		return (key >>> EASTING_SHIFT) & METERS_MASK;
+	}
+
+	/**
+	 * Get the northing within the 100km square
+	 *
+	 * @param key
+	 *            cell key
+	 * @return northing
+	 */
+	public static long northing(long key) {
+		return (key >>> NORTHING_SHIFT) & METERS_MASK;
+	}
+
+	/**
+	 * Get the accuracy digits (0 through 5)
+	 *
+	 * @param key
+	 *            cell key
+	 * @return accuracy digits
+	 */
+	public static int accuracy(long key) {
+		return (int) ((key >>> ACCURACY_SHIFT) & ACCURACY_MASK);
+	}
+
+	/**
+	 * Get the precision
+	 *
+	 * @param key
+	 *            cell key
+	 * @return precision grid type
+	 */
+	public static GridType precision(long key) {
+		return GridType.withAccuracy(accuracy(key));
+	}
+
+	/**
+	 * Get the precision cell size in meters
+	 *
+	 * @param key
+	 *            cell key
+	 * @return cell size meters
+	 */
+	public static int size(long key) {
+		return (int) precisionMeters(accuracy(key));
+	}
+
+	/**
+	 * Get the key of the 100km square containing the cell
+	 *
+	 * @param key
+	 *            cell key
+	 * @return 100km square cell key
+	 */
+	public static long square(long key) {
+		return key & SQUARE_MASK;
+	}
+
+	/**
+	 * Determine if the cell keys are within the same 100km square
+	 *
+	 * @param key1
+	 *            first cell key
+	 * @param key2
+	 *            second cell key
+	 * @return true if the same 100km square
+	 */
+	public static boolean isSameSquare(long key1, long key2) {
+		return square(key1) == square(key2);
+	}
+
+	/**
+	 * Get the key at a different precision, truncating the easting and
+	 * northing when coarser
+	 *
+	 * @param key
+	 *            cell key
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell key
+	 */
+	public static long withPrecision(long key, GridType precision) {
+		return pack(zone(key), bandIndex(key), columnIndex(key),
+				rowIndex(key), easting(key), northing(key),
+				accuracy(precision));
+	}
+
+	/**
+	 * Get the hemisphere
+	 *
+	 * @param key
+	 *            cell key
+	 * @return hemisphere
+	 */
+	public static Hemisphere hemisphere(long key) {
+		return MGRSUtils.getHemisphere(band(key));
+	}
+
+	/**
+	 * Get the UTM easting of the cell western edge
+	 *
+	 * @param key
+	 *            cell key
+	 * @return UTM easting
+	 */
+	public static double utmEasting(long key) {
+		return MGRSTables.easting(zone(key), column(key), easting(key));
+	}
+
+	/**
+	 * Get the UTM northing of the cell southern edge
+	 *
+	 * @param key
+	 *            cell key
+	 * @return UTM northing
+	 */
+	public static double utmNorthing(long key) {
+		return MGRSTables.northing(zone(key), band(key), row(key),
+				northing(key));
+	}
+
+	/**
+	 * Get the longitude and latitude bounds enclosing the cell corners,
+	 * clipped to the grid zone bounds
+	 *
+	 * @param key
+	 *            cell key
+	 * @return bounds in degrees, null when the cell is outside of the grid
+	 *         zone
+	 */
+	public static Bounds bounds(long key) {
+
+		int zone = zone(key);
+		Hemisphere hemisphere = hemisphere(key);
+		double west = utmEasting(key);
+		double south = utmNorthing(key);
+		int size = size(key);
+
+		double minLongitude = Double.POSITIVE_INFINITY;
+		double minLatitude = Double.POSITIVE_INFINITY;
+		double maxLongitude = Double.NEGATIVE_INFINITY;
+		double maxLatitude = Double.NEGATIVE_INFINITY;
+		double[] coordinate = new double[2];
+		for (int corner = 0; corner < 4; corner++) {
+			UTM.toDegrees(zone, hemisphere, west + (corner & 1) * size,
+					south + (corner >> 1) * size, coordinate);
+			minLongitude = Math.min(minLongitude, coordinate[0]);
+			minLatitude = Math.min(minLatitude, coordinate[1]);
+			maxLongitude = Math.max(maxLongitude, coordinate[0]);
+			maxLatitude = Math.max(maxLatitude, coordinate[1]);
+		}
+
+		Bounds bounds = Bounds.degrees(minLongitude, minLatitude,
+				maxLongitude, maxLatitude);
+		return bounds.overlap(GridZones.getGridZone(zone, band(key))
+				.getBounds());
+	}
+
+	/**
+	 * Get the MGRS coordinate string of the cell key at its precision
+	 *
+	 * @param key
+	 *            cell key
+	 * @return MGRS coordinate
+	 */
+	public static String coordinate(long key) {
+		return decode(key).coordinate(precision(key));
+	}
+
+}
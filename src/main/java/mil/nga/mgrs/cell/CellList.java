@@ -0,0 +1,395 @@
+package mil.nga.mgrs.cell;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Growable list of packed MGRS {@link CellKey} values stored in a primitive
+ * long array
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellList implements Iterable<Long> {
+
+	/**
+	 * Default initial capacity
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Maximum array capacity
+	 */
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	/**
+	 * Cell keys
+	 */
+	private long[] keys;
+
+	/**
+	 * Number of cell keys
+	 */
+	private int size;
+
+	/**
+	 * Constructor
+	 */
+	public CellList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity
+	 *            initial capacity
+	 */
+	public CellList(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException(
+					"Capacity must be >= 0. capacity: " + capacity);
+		}
+		keys = new long[capacity];
+	}
+
+	/**
+	 * Constructor, copying the cell keys
+	 *
+	 * @param keys
+	 *            cell keys
+	 */
+	public CellList(long[] keys) {
+		this.keys = Arrays.copyOf(keys, keys.length);
+		size = keys.length;
+	}
+
+	/**
+	 * Get the number of cell keys
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Determine if empty
+	 *
+	 * @return true if no cell keys
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Add a cell key
+	 *
+	 * @param key
+	 *            cell key
+	 */
+	public void add(long key) {
+		ensureCapacity(size + 1);
+		keys[size++] = key;
+	}
+
+	/**
+	 * Add the MGRS cell key at its precision
+	 *
+	 * @param mgrs
+	 *            MGRS
+	 */
+	public void add(MGRS mgrs) {
+		add(CellKey.encode(mgrs));
+	}
+
+	/**
+	 * Add the cell keys
+	 *
+	 * @param keys
+	 *            cell keys
+	 */
+	public void addAll(long[] keys) {
+		addAll(keys, 0, keys.length);
+	}
+
+	/**
+	 * Add a range of the cell keys
+	 *
+	 * @param keys
+	 *            cell keys
+	 * @param offset
+	 *            first key index
+	 * @param length
+	 *            number of keys
+	 */
+	public void addAll(long[] keys, int offset, int length) {
+		ensureCapacity(size + length);
+		System.arraycopy(keys, offset, this.keys, size, length);
+		size += length;
+	}
+
+	/**
+	 * Add the cell keys of the other list
+	 *
+	 * @param list
+	 *            cell list
+	 */
+	public void addAll(CellList list) {
+		addAll(list.keys, 0, list.size);
+	}
+
+	/**
+	 * Add the cell keys of the longitude and latitude coordinates at the
+	 * precision, without creating MGRS objects
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param precision
+	 *            precision grid type
+	 */
+	public void addAll(double[] longitudes, double[] latitudes,
+			GridType precision) {
+		addAll(longitudes, latitudes, 0, longitudes.length, precision);
+	}
+
+	/**
+	 * Add the cell keys of a range of the longitude and latitude coordinates
+	 * at the precision, without creating MGRS objects
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param offset
+	 *            first coordinate index
+	 * @param length
+	 *            number of coordinates
+	 * @param precision
+	 *            precision grid type
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is outside of the coordinate arrays
+	 */
+	public void addAll(double[] longitudes, double[] latitudes, int offset,
+			int length, GridType precision) {
+		CellKey.validateRange(longitudes, latitudes, offset, length);
+		ensureCapacity(size + length);
+		double[] eastingNorthing = new double[2];
+		for (int i = offset; i < offset + length; i++) {
+			keys[size++] = CellKey.encode(longitudes[i], latitudes[i],
+					precision, eastingNorthing);
+		}
+	}
+
+	/**
+	 * Get the cell key at the index
+	 *
+	 * @param index
+	 *            index
+	 * @return cell key
+	 */
+	public long get(int index) {
+		checkIndex(index);
+		return keys[index];
+	}
+
+	/**
+	 * Set the cell key at the index
+	 *
+	 * @param index
+	 *            index
+	 * @param key
+	 *            cell key
+	 * @return previous cell key
+	 */
+	public long set(int index, long key) {
+		checkIndex(index);
+		long previous = keys[index];
+		keys[index] = key;
+		return previous;
+	}
+
+	/**
+	 * Get the MGRS at the index
+	 *
+	 * @param index
+	 *            index
+	 * @return MGRS
+	 */
+	public MGRS getMGRS(int index) {
+		return CellKey.decode(get(index));
+	}
+
+	/**
+	 * Remove all cell keys, retaining the capacity
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Sort the cell keys into {@link CellKey} order
+	 */
+	public void sort() {
+		Arrays.sort(keys, 0, size);
+	}
+
+	/**
+	 * Sort the cell keys and remove duplicates
+	 */
+	public void sortDistinct() {
+		sort();
+		if (size > 1) {
+			int count = 1;
+			for (int i = 1; i < size; i++) {
+				if (keys[i] != keys[count - 1]) {
+					keys[count++] = keys[i];
+				}
+			}
+			size = count;
+		}
+	}
+
+	/**
+	 * Search the sorted list for the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @return index of the key if found, otherwise (-(insertion point) - 1)
+	 */
+	public int binarySearch(long key) {
+		return Arrays.binarySearch(keys, 0, size, key);
+	}
+
+	/**
+	 * Ensure the capacity holds at least the number of cell keys
+	 *
+	 * @param capacity
+	 *            minimum capacity
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity < 0) {
+			throw new OutOfMemoryError("Required cell list capacity overflow");
+		}
+		if (capacity > keys.length) {
+			int newCapacity = (int) Math.min(
+					Math.max((long) keys.length + (keys.length >> 1),
+							DEFAULT_CAPACITY),
+					MAX_CAPACITY);
+			keys = Arrays.copyOf(keys, Math.max(newCapacity, capacity));
+		}
+	}
+
+	/**
+	 * Reduce the capacity to the number of cell keys
+	 */
+	public void trimToSize() {
+		if (keys.length > size) {
+			keys = Arrays.copyOf(keys, size);
+		}
+	}
+
+	/**
+	 * Get a copy of the cell keys
+	 *
+	 * @return cell keys array
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(keys, size);
+	}
+
+	/**
+	 * Perform the action for each cell key
+	 *
+	 * @param action
+	 *            cell key action
+	 */
+	public void forEachKey(LongConsumer action) {
+		for (int i = 0; i < size; i++) {
+			action.accept(keys[i]);
+		}
+	}
+
+	/**
+	 * Get a sequential stream of the cell keys
+	 *
+	 * @return long stream
+	 */
+	public LongStream stream() {
+		return Arrays.stream(keys, 0, size);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public long nextLong() {
+				if (index >= size) {
+					throw new NoSuchElementException();
+				}
+				return keys[index++];
+			}
+
+		};
+	}
+
+	/**
+	 * Check the index is within the list
+	 *
+	 * @param index
+	 *            index
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = 0; i < size; i++) {
+			result = 31 * result + Long.hashCode(keys[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CellList other = (CellList) obj;
+		return Arrays.equals(keys, 0, size, other.keys, 0, other.size);
+	}
+
+}
@@ -0,0 +1,513 @@
+package mil.nga.mgrs.cell;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Open addressing hash map of packed MGRS {@link CellKey} values to primitive
+ * long values, such as cell counts, stored in parallel primitive long arrays
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellMap {
+
+	/**
+	 * Cell key and value consumer
+	 */
+	@FunctionalInterface
+	public interface EntryConsumer {
+
+		/**
+		 * Accept the cell key and value
+		 *
+		 * @param key
+		 *            cell key
+		 * @param value
+		 *            value
+		 */
+		void accept(long key, long value);
+
+	}
+
+	/**
+	 * Load factor
+	 */
+	private final float loadFactor;
+
+	/**
+	 * Hash table of cell keys
+	 */
+	private long[] keys;
+
+	/**
+	 * Values by cell key table index
+	 */
+	private long[] values;
+
+	/**
+	 * Table index mask
+	 */
+	private int mask;
+
+	/**
+	 * Number of cell keys
+	 */
+	private int size;
+
+	/**
+	 * Size at which the table grows
+	 */
+	private int threshold;
+
+	/**
+	 * Modification count
+	 */
+	private int modifications;
+
+	/**
+	 * Constructor
+	 */
+	public CellMap() {
+		this(CellHash.DEFAULT_EXPECTED);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param expected
+	 *            expected number of cell keys
+	 */
+	public CellMap(int expected) {
+		this(expected, CellHash.DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param expected
+	 *            expected number of cell keys
+	 * @param loadFactor
+	 *            load factor, greater than 0 and less than 1
+	 */
+	public CellMap(int expected, float loadFactor) {
+		CellHash.validateLoadFactor(loadFactor);
+		this.loadFactor = loadFactor;
+		allocate(CellHash.tableSize(expected, loadFactor));
+	}
+
+	/**
+	 * Allocate an empty table
+	 *
+	 * @param tableSize
+	 *            power of two table size
+	 */
+	private void allocate(int tableSize) {
+		keys = new long[tableSize];
+		Arrays.fill(keys, CellHash.EMPTY);
+		values = new long[tableSize];
+		mask = tableSize - 1;
+		threshold = (int) Math.min(tableSize - 1L,
+				(long) (tableSize * (double) loadFactor));
+	}
+
+	/**
+	 * Get the number of cell keys
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Determine if empty
+	 *
+	 * @return true if no cell keys
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Get the table index of the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @return table index or -1 if not found
+	 */
+	private int indexOf(long key) {
+		if (key >= 0) {
+			int index = CellHash.hash(key) & mask;
+			long current;
+			while ((current = keys[index]) != CellHash.EMPTY) {
+				if (current == key) {
+					return index;
+				}
+				index = (index + 1) & mask;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Get the table index of the cell key, inserting the key with a zero
+	 * value when not found
+	 *
+	 * @param key
+	 *            cell key
+	 * @return table index
+	 */
+	private int insert(long key) {
+		CellHash.validateKey(key);
+		int index = CellHash.hash(key) & mask;
+		long current;
+		while ((current = keys[index]) != CellHash.EMPTY) {
+			if (current == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		keys[index] = key;
+		values[index] = 0;
+		modifications++;
+		if (++size > threshold) {
+			grow();
+			index = indexOf(key);
+		}
+		return index;
+	}
+
+	/**
+	 * Determine if the map contains the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @return true if contained
+	 */
+	public boolean containsKey(long key) {
+		return indexOf(key) >= 0;
+	}
+
+	/**
+	 * Get the value of the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @return value or 0 if not found
+	 */
+	public long get(long key) {
+		return get(key, 0);
+	}
+
+	/**
+	 * Get the value of the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @param defaultValue
+	 *            value when not found
+	 * @return value or the default value if not found
+	 */
+	public long get(long key, long defaultValue) {
+		int index = indexOf(key);
+		return index >= 0 ? values[index] : defaultValue;
+	}
+
+	/**
+	 * Put the value of the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @param value
+	 *            value
+	 * @return previous value or 0 if not found
+	 */
+	public long put(long key, long value) {
+		int index = insert(key);
+		long previous = values[index];
+		values[index] = value;
+		return previous;
+	}
+
+	/**
+	 * Add to the value of the cell key, starting from 0 when not found
+	 *
+	 * @param key
+	 *            cell key
+	 * @param delta
+	 *            value to add
+	 * @return updated value
+	 */
+	public long add(long key, long delta) {
+		int index = insert(key);
+		return values[index] += delta;
+	}
+
+	/**
+	 * Increment the count of the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @return updated count
+	 */
+	public long increment(long key) {
+		return add(key, 1);
+	}
+
+	/**
+	 * Increment the count of the MGRS cell key at its precision
+	 *
+	 * @param mgrs
+	 *            MGRS
+	 * @return updated count
+	 */
+	public long increment(MGRS mgrs) {
+		return increment(CellKey.encode(mgrs));
+	}
+
+	/**
+	 * Increment the counts of the cell keys of the longitude and latitude
+	 * coordinates at the precision, without creating MGRS objects
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param precision
+	 *            precision grid type
+	 */
+	public void incrementAll(double[] longitudes, double[] latitudes,
+			GridType precision) {
+		incrementAll(longitudes, latitudes, 0, longitudes.length,
+				precision);
+	}
+
+	/**
+	 * Increment the counts of the cell keys of a range of the longitude and
+	 * latitude coordinates at the precision, without creating MGRS objects
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param offset
+	 *            first coordinate index
+	 * @param length
+	 *            number of coordinates
+	 * @param precision
+	 *            precision grid type
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is outside of the coordinate arrays
+	 */
+	public void incrementAll(double[] longitudes, double[] latitudes,
+			int offset, int length, GridType precision) {
+		CellKey.validateRange(longitudes, latitudes, offset, length);
+		double[] eastingNorthing = new double[2];
+		for (int i = offset; i < offset + length; i++) {
+			increment(CellKey.encode(longitudes[i], latitudes[i], precision,
+					eastingNorthing));
+		}
+	}
+
+	/**
+	 * Increment the counts of the cell keys
+	 *
+	 * @param keys
+	 *            cell keys
+	 */
+	public void incrementAll(long[] keys) {
+		for (long key : keys) {
+			increment(key);
+		}
+	}
+
+	/**
+	 * Remove the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @return removed value or 0 if not found
+	 */
+	public long remove(long key) {
+		long value = 0;
+		int index = indexOf(key);
+		if (index >= 0) {
+			value = values[index];
+			shiftDelete(index);
+			size--;
+			modifications++;
+		}
+		return value;
+	}
+
+	/**
+	 * Delete the slot, shifting back following keys of the probe sequence
+	 *
+	 * @param index
+	 *            deleted slot index
+	 */
+	private void shiftDelete(int index) {
+		int gap = index;
+		int next = (gap + 1) & mask;
+		long current;
+		while ((current = keys[next]) != CellHash.EMPTY) {
+			int home = CellHash.hash(current) & mask;
+			// Move the key into the gap when its home slot is not cyclically
+			// between the gap (exclusive) and its current slot (inclusive)
+			if (((next - home) & mask) >= ((next - gap) & mask)) {
+				keys[gap] = current;
+				values[gap] = values[next];
+				gap = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[gap] = CellHash.EMPTY;
+		values[gap] = 0;
+	}
+
+	/**
+	 * Remove all cell keys, retaining the capacity
+	 */
+	public void clear() {
+		Arrays.fill(keys, CellHash.EMPTY);
+		Arrays.fill(values, 0);
+		size = 0;
+		modifications++;
+	}
+
+	/**
+	 * Double the table size and rehash the cell keys
+	 */
+	private void grow() {
+		if (keys.length >= CellHash.MAX_TABLE_SIZE) {
+			if (size >= keys.length - 1) {
+				throw new IllegalStateException(
+						"Cell map capacity exceeded. size: " + size);
+			}
+			threshold = keys.length - 1;
+			return;
+		}
+		long[] previousKeys = keys;
+		long[] previousValues = values;
+		allocate(previousKeys.length << 1);
+		for (int i = 0; i < previousKeys.length; i++) {
+			long key = previousKeys[i];
+			if (key != CellHash.EMPTY) {
+				int index = CellHash.hash(key) & mask;
+				while (keys[index] != CellHash.EMPTY) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = key;
+				values[index] = previousValues[i];
+			}
+		}
+	}
+
+	/**
+	 * Get the sum of the values
+	 *
+	 * @return value sum
+	 */
+	public long sum() {
+		long sum = 0;
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != CellHash.EMPTY) {
+				sum += values[i];
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Get the cell keys in table order
+	 *
+	 * @return cell keys array
+	 */
+	public long[] keys() {
+		long[] keys = new long[size];
+		int count = 0;
+		for (long key : this.keys) {
+			if (key != CellHash.EMPTY) {
+				keys[count++] = key;
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Get the cell keys as a set
+	 *
+	 * @return cell set
+	 */
+	public CellSet keySet() {
+		CellSet set = new CellSet(size);
+		for (long key : keys) {
+			if (key != CellHash.EMPTY) {
+				set.add(key);
+			}
+		}
+		return set;
+	}
+
+	/**
+	 * Perform the action for each cell key and value in table order
+	 *
+	 * @param action
+	 *            entry action
+	 */
+	public void forEach(EntryConsumer action) {
+		for (int i = 0; i < keys.length; i++) {
+			long key = keys[i];
+			if (key != CellHash.EMPTY) {
+				action.accept(key, values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Get an iterator of the cell keys in table order
+	 *
+	 * @return cell key iterator
+	 */
+	public PrimitiveIterator.OfLong keyIterator() {
+		return new PrimitiveIterator.OfLong() {
+
+			private final int expectedModifications = modifications;
+
+			private int index = advance(0);
+
+			private int advance(int index) {
+				while (index < keys.length && keys[index] == CellHash.EMPTY) {
+					index++;
+				}
+				return index;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return index < keys.length;
+			}
+
+			@Override
+			public long nextLong() {
+				if (modifications != expectedModifications) {
+					throw new ConcurrentModificationException();
+				}
+				if (index >= keys.length) {
+					throw new NoSuchElementException();
+				}
+				long key = keys[index];
+				index = advance(index + 1);
+				return key;
+			}
+
+		};
+	}
+
+}
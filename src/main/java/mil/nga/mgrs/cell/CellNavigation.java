@@ -0,0 +1,424 @@
+package mil.nga.mgrs.cell;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.MGRSConstants;
+import mil.nga.mgrs.MGRSTables;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+import mil.nga.mgrs.utm.UTMProjection;
+
+/**
+ * Hierarchical navigation of packed MGRS cell keys: parents at coarser
+ * precisions, children at finer precisions, and neighbors across 100km
+ * square, band, and zone boundaries. Navigation within a grid zone uses
+ * integer arithmetic on the 100km column and row indices and the easting and
+ * northing. Only cells near the edge of a grid zone, where the neighbor may be
+ * in another band or zone, are converted through longitude and latitude.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public final class CellNavigation {
+
+	/**
+	 * Column offsets of the north, east, south, and west neighbors followed by
+	 * the northeast, southeast, southwest, and northwest neighbors
+	 */
+	private static final int[] NEIGHBOR_COLUMNS = { 0, 1, 0, -1, 1, 1, -1,
+			-1 };
+
+	/**
+	 * Row offsets of the north, east, south, and west neighbors followed by
+	 * the northeast, southeast, southwest, and northwest neighbors
+	 */
+	private static final int[] NEIGHBOR_ROWS = { 1, 0, -1, 0, 1, -1, -1, 1 };
+
+	/**
+	 * 100km square size in meters
+	 */
+	private static final long SQUARE_SIZE = (long) MGRSTables.SQUARE_SIZE;
+
+	/**
+	 * Number of zones
+	 */
+	private static final int ZONES = MGRSConstants.MAX_ZONE_NUMBER
+			- MGRSConstants.MIN_ZONE_NUMBER + 1;
+
+	/**
+	 * Samples along each grid zone edge when computing the interior
+	 */
+	private static final int EDGE_SAMPLES = 64;
+
+	/**
+	 * Interior shrink margin in meters covering the curvature between edge
+	 * samples
+	 */
+	private static final double INTERIOR_MARGIN = 1.0;
+
+	/**
+	 * Maximum number of children of a single cell
+	 */
+	private static final long MAX_CHILDREN = 100000000L;
+
+	/**
+	 * Lazily computed grid zone interiors of the current projection
+	 */
+	private static volatile ZoneInteriors zoneInteriors;
+
+	/**
+	 * Private constructor
+	 */
+	private CellNavigation() {
+	}
+
+	/**
+	 * Get the parent cell at a coarser or equal precision
+	 *
+	 * @param key
+	 *            cell key
+	 * @param precision
+	 *            parent precision grid type,
+	 *            {@link GridType#HUNDRED_KILOMETER} through the cell
+	 *            precision
+	 * @return parent cell key
+	 */
+	public static long parent(long key, GridType precision) {
+		int accuracy = CellKey.accuracy(precision);
+		if (accuracy > CellKey.accuracy(key)) {
+			throw new IllegalArgumentException(
+					"Parent precision is finer than the cell precision. cell: "
+							+ CellKey.precision(key) + ", parent: "
+							+ precision);
+		}
+		return CellKey.withPrecision(key, precision);
+	}
+
+	/**
+	 * Get the child cells at a finer or equal precision within the grid zone,
+	 * in key order
+	 *
+	 * @param key
+	 *            cell key
+	 * @param precision
+	 *            child precision grid type, the cell precision through
+	 *            {@link GridType#METER}
+	 * @return child cell keys
+	 */
+	public static CellList children(long key, GridType precision) {
+		CellList children = new CellList();
+		children(key, precision, children);
+		return children;
+	}
+
+	/**
+	 * Add the child cells at a finer or equal precision within the grid zone,
+	 * in key order
+	 *
+	 * @param key
+	 *            cell key
+	 * @param precision
+	 *            child precision grid type, the cell precision through
+	 *            {@link GridType#METER}
+	 * @param children
+	 *            child cell keys to add to
+	 */
+	public static void children(long key, GridType precision,
+			CellList children) {
+
+		int accuracy = CellKey.accuracy(precision);
+		if (accuracy < CellKey.accuracy(key)) {
+			throw new IllegalArgumentException(
+					"Child precision is coarser than the cell precision. cell: "
+							+ CellKey.precision(key) + ", child: "
+							+ precision);
+		}
+
+		int size = CellKey.size(key);
+		int childSize = (int) CellKey.precisionMeters(accuracy);
+		int factor = size / childSize;
+		if ((long) factor * factor > MAX_CHILDREN) {
+			throw new IllegalArgumentException(
+					"Too many children of a " + CellKey.precision(key)
+							+ " cell at a " + precision + " precision");
+		}
+		children.ensureCapacity(children.size() + factor * factor);
+
+		int zone = CellKey.zone(key);
+		int bandIndex = CellKey.bandIndex(key);
+		int columnIndex = CellKey.columnIndex(key);
+		int rowIndex = CellKey.rowIndex(key);
+		long easting = CellKey.easting(key);
+		long northing = CellKey.northing(key);
+		double utmEasting = CellKey.utmEasting(key);
+		double utmNorthing = CellKey.utmNorthing(key);
+		double[] interior = interior(zone, CellKey.band(key));
+		double half = childSize / 2.0;
+
+		for (int i = 0; i < factor; i++) {
+			double centerEasting = utmEasting + i * childSize + half;
+			for (int j = 0; j < factor; j++) {
+				long child = CellKey.pack(zone, bandIndex, columnIndex,
+						rowIndex, easting + i * childSize,
+						northing + j * childSize, accuracy);
+				// Cells near the grid zone edges may be outside of the zone
+				if (contains(interior, centerEasting,
+						utmNorthing + j * childSize + half)
+						|| CellGeometry.get(child) != null) {
+					children.add(child);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Get the neighbor cell offset by columns and rows of cells, the cell
+	 * containing the center of the offset cell
+	 *
+	 * @param key
+	 *            cell key
+	 * @param columns
+	 *            column offset, positive to the east
+	 * @param rows
+	 *            row offset, positive to the north
+	 * @return neighbor cell key or {@link CellKey#INVALID} if outside of the
+	 *         MGRS latitudes
+	 */
+	public static long neighbor(long key, int columns, int rows) {
+
+		int zone = CellKey.zone(key);
+		char band = CellKey.band(key);
+		int accuracy = CellKey.accuracy(key);
+		long size = CellKey.size(key);
+
+		double centerEasting = CellKey.utmEasting(key)
+				+ (columns + 0.5) * size;
+		double centerNorthing = CellKey.utmNorthing(key)
+				+ (rows + 0.5) * size;
+
+		long neighbor;
+		if (contains(interior(zone, band), centerEasting, centerNorthing)) {
+
+			long easting = CellKey.easting(key) + columns * size;
+			long northing = CellKey.northing(key) + rows * size;
+			int columnIndex = CellKey.columnIndex(key)
+					+ (int) Math.floorDiv(easting, SQUARE_SIZE);
+			int rowIndex = Math.floorMod(CellKey.rowIndex(key)
+					+ (int) Math.floorDiv(northing, SQUARE_SIZE),
+					MGRSTables.ROWS);
+			neighbor = CellKey.pack(zone, CellKey.bandIndex(key),
+					columnIndex, rowIndex,
+					Math.floorMod(easting, SQUARE_SIZE),
+					Math.floorMod(northing, SQUARE_SIZE), accuracy);
+
+		} else {
+
+			double[] coordinate = UTM.toDegrees(zone,
+					CellKey.hemisphere(key), centerEasting, centerNorthing,
+					new double[2]);
+			double latitude = coordinate[1];
+			if (latitude < MGRSConstants.MIN_LAT
+					|| latitude >= MGRSConstants.MAX_LAT) {
+				neighbor = CellKey.INVALID;
+			} else {
+				neighbor = CellKey.encode(coordinate[0], latitude,
+						CellKey.precision(key), coordinate);
+			}
+
+		}
+
+		return neighbor;
+	}
+
+	/**
+	 * Get the distinct neighbor cells in north, east, south, west order,
+	 * followed by northeast, southeast, southwest, and northwest when
+	 * including diagonals
+	 *
+	 * @param key
+	 *            cell key
+	 * @param diagonal
+	 *            true to include the diagonal neighbors
+	 * @return neighbor cell keys
+	 */
+	public static CellList neighbors(long key, boolean diagonal) {
+		CellList neighbors = new CellList(diagonal ? 8 : 4);
+		neighbors(key, diagonal, neighbors);
+		return neighbors;
+	}
+
+	/**
+	 * Add the distinct neighbor cells in north, east, south, west order,
+	 * followed by northeast, southeast, southwest, and northwest when
+	 * including diagonals
+	 *
+	 * @param key
+	 *            cell key
+	 * @param diagonal
+	 *            true to include the diagonal neighbors
+	 * @param neighbors
+	 *            neighbor cell keys to add to
+	 */
+	public static void neighbors(long key, boolean diagonal,
+			CellList neighbors) {
+		int start = neighbors.size();
+		int count = diagonal ? 8 : 4;
+		for (int i = 0; i < count; i++) {
+			long neighbor = neighbor(key, NEIGHBOR_COLUMNS[i],
+					NEIGHBOR_ROWS[i]);
+			if (neighbor != CellKey.INVALID && neighbor != key
+					&& !contains(neighbors, start, neighbor)) {
+				neighbors.add(neighbor);
+			}
+		}
+	}
+
+	/**
+	 * Determine if the list contains the key at or after the start index
+	 *
+	 * @param list
+	 *            cell list
+	 * @param start
+	 *            start index
+	 * @param key
+	 *            cell key
+	 * @return true if contained
+	 */
+	private static boolean contains(CellList list, int start, long key) {
+		for (int i = start; i < list.size(); i++) {
+			if (list.get(i) == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determine if the UTM coordinate is within the grid zone interior
+	 *
+	 * @param interior
+	 *            grid zone interior
+	 * @param easting
+	 *            UTM easting
+	 * @param northing
+	 *            UTM northing
+	 * @return true if within the interior
+	 */
+	private static boolean contains(double[] interior, double easting,
+			double northing) {
+		return easting >= interior[0] && northing >= interior[1]
+				&& easting <= interior[2] && northing <= interior[3];
+	}
+
+	/**
+	 * Get the UTM interior of the grid zone, a UTM rectangle entirely within
+	 * the grid zone bounds
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param band
+	 *            band letter
+	 * @return minimum easting, minimum northing, maximum easting, and maximum
+	 *         northing
+	 */
+	private static double[] interior(int zone, char band) {
+		UTMProjection projection = UTM.getProjection();
+		ZoneInteriors interiors = zoneInteriors;
+		if (interiors == null || interiors.projection != projection) {
+			interiors = new ZoneInteriors(projection);
+			zoneInteriors = interiors;
+		}
+		int index = (zone - MGRSConstants.MIN_ZONE_NUMBER)
+				* MGRSConstants.NUM_BANDS + MGRSTables.bandIndex(band);
+		double[] interior = interiors.interiors[index];
+		if (interior == null) {
+			interior = createInterior(GridZones.getGridZone(zone, band),
+					projection);
+			interiors.interiors[index] = interior;
+		}
+		return interior;
+	}
+
+	/**
+	 * Create the UTM interior of the grid zone from the grid zone edges
+	 * projected at sample points: the maximum western and southern edge
+	 * values and the minimum eastern and northern edge values
+	 *
+	 * @param gridZone
+	 *            grid zone
+	 * @param projection
+	 *            projection
+	 * @return minimum easting, minimum northing, maximum easting, and maximum
+	 *         northing
+	 */
+	private static double[] createInterior(GridZone gridZone,
+			UTMProjection projection) {
+
+		int zone = gridZone.getNumber();
+		Hemisphere hemisphere = gridZone.getHemisphere();
+		Bounds bounds = gridZone.getBounds();
+		double west = bounds.getMinLongitude();
+		double south = bounds.getMinLatitude();
+		double east = bounds.getMaxLongitude();
+		double north = bounds.getMaxLatitude();
+
+		double minEasting = Double.NEGATIVE_INFINITY;
+		double minNorthing = Double.NEGATIVE_INFINITY;
+		double maxEasting = Double.POSITIVE_INFINITY;
+		double maxNorthing = Double.POSITIVE_INFINITY;
+		double[] eastingNorthing = new double[2];
+		for (int i = 0; i <= EDGE_SAMPLES; i++) {
+			double fraction = (double) i / EDGE_SAMPLES;
+			double latitude = south + fraction * (north - south);
+			double longitude = west + fraction * (east - west);
+			projection.forward(west, latitude, zone, hemisphere,
+					eastingNorthing);
+			minEasting = Math.max(minEasting, eastingNorthing[0]);
+			projection.forward(east, latitude, zone, hemisphere,
+					eastingNorthing);
+			maxEasting = Math.min(maxEasting, eastingNorthing[0]);
+			projection.forward(longitude, south, zone, hemisphere,
+					eastingNorthing);
+			minNorthing = Math.max(minNorthing, eastingNorthing[1]);
+			projection.forward(longitude, north, zone, hemisphere,
+					eastingNorthing);
+			maxNorthing = Math.min(maxNorthing, eastingNorthing[1]);
+		}
+
+		return new double[] { minEasting + INTERIOR_MARGIN,
+				minNorthing + INTERIOR_MARGIN, maxEasting - INTERIOR_MARGIN,
+				maxNorthing - INTERIOR_MARGIN };
+	}
+
+	/**
+	 * Grid zone interiors of a projection, indexed by zone number and band
+	 */
+	private static class ZoneInteriors {
+
+		/**
+		 * Projection
+		 */
+		private final UTMProjection projection;
+
+		/**
+		 * Lazily created interiors
+		 */
+		private final double[][] interiors = new double[ZONES
+				* MGRSConstants.NUM_BANDS][];
+
+		/**
+		 * Constructor
+		 *
+		 * @param projection
+		 *            projection
+		 */
+		private ZoneInteriors(UTMProjection projection) {
+			this.projection = projection;
+		}
+
+	}
+
+}
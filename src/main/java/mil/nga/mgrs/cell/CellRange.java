@@ -0,0 +1,128 @@
+package mil.nga.mgrs.cell;
+
+/**
+ * Immutable inclusive range of long keys, such as {@link CellCurve} keys
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellRange implements Comparable<CellRange> {
+
+	/**
+	 * Minimum key, inclusive
+	 */
+	private final long min;
+
+	/**
+	 * Maximum key, inclusive
+	 */
+	private final long max;
+
+	/**
+	 * Constructor
+	 *
+	 * @param min
+	 *            minimum key, inclusive
+	 * @param max
+	 *            maximum key, inclusive
+	 */
+	public CellRange(long min, long max) {
+		if (min > max) {
+			throw new IllegalArgumentException(
+					"Range minimum must be <= maximum. min: " + min
+							+ ", max: " + max);
+		}
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * Get the minimum key, inclusive
+	 *
+	 * @return minimum key
+	 */
+	public long getMin() {
+		return min;
+	}
+
+	/**
+	 * Get the maximum key, inclusive
+	 *
+	 * @return maximum key
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * Get the number of keys in the range
+	 *
+	 * @return key count
+	 */
+	public long count() {
+		return max - min + 1;
+	}
+
+	/**
+	 * Determine if the range contains the key
+	 *
+	 * @param key
+	 *            key
+	 * @return true if contained
+	 */
+	public boolean contains(long key) {
+		return key >= min && key <= max;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int compareTo(CellRange other) {
+		int compare = Long.compare(min, other.min);
+		if (compare == 0) {
+			compare = Long.compare(max, other.max);
+		}
+		return compare;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Long.hashCode(max);
+		result = prime * result + Long.hashCode(min);
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CellRange other = (CellRange) obj;
+		if (max != other.max)
+			return false;
+		if (min != other.min)
+			return false;
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "[" + min + ", " + max + "]";
+	}
+
+}
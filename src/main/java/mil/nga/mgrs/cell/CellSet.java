@@ -0,0 +1,489 @@
+package mil.nga.mgrs.cell;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Open addressing hash set of packed MGRS {@link CellKey} values stored in a
+ * primitive long array, using eight bytes per table slot
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellSet implements Iterable<Long> {
+
+	/**
+	 * Load factor
+	 */
+	private final float loadFactor;
+
+	/**
+	 * Hash table of cell keys
+	 */
+	private long[] table;
+
+	/**
+	 * Table index mask
+	 */
+	private int mask;
+
+	/**
+	 * Number of cell keys
+	 */
+	private int size;
+
+	/**
+	 * Size at which the table grows
+	 */
+	private int threshold;
+
+	/**
+	 * Modification count
+	 */
+	private int modifications;
+
+	/**
+	 * Constructor
+	 */
+	public CellSet() {
+		this(CellHash.DEFAULT_EXPECTED);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param expected
+	 *            expected number of cell keys
+	 */
+	public CellSet(int expected) {
+		this(expected, CellHash.DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param expected
+	 *            expected number of cell keys
+	 * @param loadFactor
+	 *            load factor, greater than 0 and less than 1
+	 */
+	public CellSet(int expected, float loadFactor) {
+		CellHash.validateLoadFactor(loadFactor);
+		this.loadFactor = loadFactor;
+		allocate(CellHash.tableSize(expected, loadFactor));
+	}
+
+	/**
+	 * Allocate an empty table
+	 *
+	 * @param tableSize
+	 *            power of two table size
+	 */
+	private void allocate(int tableSize) {
+		table = new long[tableSize];
+		Arrays.fill(table, CellHash.EMPTY);
+		mask = tableSize - 1;
+		threshold = (int) Math.min(tableSize - 1L,
+				(long) (tableSize * (double) loadFactor));
+	}
+
+	/**
+	 * Get the number of cell keys
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Determine if empty
+	 *
+	 * @return true if no cell keys
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Add a cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @return true if added, false if already present
+	 */
+	public boolean add(long key) {
+		CellHash.validateKey(key);
+		int index = CellHash.hash(key) & mask;
+		long current;
+		while ((current = table[index]) != CellHash.EMPTY) {
+			if (current == key) {
+				return false;
+			}
+			index = (index + 1) & mask;
+		}
+		table[index] = key;
+		modifications++;
+		if (++size > threshold) {
+			grow();
+		}
+		return true;
+	}
+
+	/**
+	 * Add the MGRS cell key at its precision
+	 *
+	 * @param mgrs
+	 *            MGRS
+	 * @return true if added, false if already present
+	 */
+	public boolean add(MGRS mgrs) {
+		return add(CellKey.encode(mgrs));
+	}
+
+	/**
+	 * Add the cell keys
+	 *
+	 * @param keys
+	 *            cell keys
+	 * @return number of added keys
+	 */
+	public int addAll(long[] keys) {
+		int added = 0;
+		for (long key : keys) {
+			if (add(key)) {
+				added++;
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Add the cell keys of the list
+	 *
+	 * @param list
+	 *            cell list
+	 * @return number of added keys
+	 */
+	public int addAll(CellList list) {
+		int added = 0;
+		for (int i = 0; i < list.size(); i++) {
+			if (add(list.get(i))) {
+				added++;
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Add the cell keys of the longitude and latitude coordinates at the
+	 * precision, without creating MGRS objects
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param precision
+	 *            precision grid type
+	 * @return number of added keys
+	 */
+	public int addAll(double[] longitudes, double[] latitudes,
+			GridType precision) {
+		return addAll(longitudes, latitudes, 0, longitudes.length,
+				precision);
+	}
+
+	/**
+	 * Add the cell keys of a range of the longitude and latitude coordinates
+	 * at the precision, without creating MGRS objects
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param offset
+	 *            first coordinate index
+	 * @param length
+	 *            number of coordinates
+	 * @param precision
+	 *            precision grid type
+	 * @return number of added keys
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is outside of the coordinate arrays
+	 */
+	public int addAll(double[] longitudes, double[] latitudes, int offset,
+			int length, GridType precision) {
+		CellKey.validateRange(longitudes, latitudes, offset, length);
+		int added = 0;
+		double[] eastingNorthing = new double[2];
+		for (int i = offset; i < offset + length; i++) {
+			if (add(CellKey.encode(longitudes[i], latitudes[i], precision,
+					eastingNorthing))) {
+				added++;
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Determine if the set contains the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @return true if contained
+	 */
+	public boolean contains(long key) {
+		if (key < 0) {
+			return false;
+		}
+		int index = CellHash.hash(key) & mask;
+		long current;
+		while ((current = table[index]) != CellHash.EMPTY) {
+			if (current == key) {
+				return true;
+			}
+			index = (index + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Determine if the set contains the MGRS cell key at its precision
+	 *
+	 * @param mgrs
+	 *            MGRS
+	 * @return true if contained
+	 */
+	public boolean contains(MGRS mgrs) {
+		return contains(CellKey.encode(mgrs));
+	}
+
+	/**
+	 * Remove the cell key
+	 *
+	 * @param key
+	 *            cell key
+	 * @return true if removed
+	 */
+	public boolean remove(long key) {
+		if (key < 0) {
+			return false;
+		}
+		int index = CellHash.hash(key) & mask;
+		long current;
+		while ((current = table[index]) != CellHash.EMPTY) {
+			if (current == key) {
+				shiftDelete(index);
+				size--;
+				modifications++;
+				return true;
+			}
+			index = (index + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Delete the slot, shifting back following keys of the probe sequence
+	 *
+	 * @param index
+	 *            deleted slot index
+	 */
+	private void shiftDelete(int index) {
+		int gap = index;
+		int next = (gap + 1) & mask;
+		long current;
+		while ((current = table[next]) != CellHash.EMPTY) {
+			int home = CellHash.hash(current) & mask;
+			// Move the key into the gap when its home slot is not cyclically
+			// between the gap (exclusive) and its current slot (inclusive)
+			if (((next - home) & mask) >= ((next - gap) & mask)) {
+				table[gap] = current;
+				gap = next;
+			}
+			next = (next + 1) & mask;
+		}
+		table[gap] = CellHash.EMPTY;
+	}
+
+	/**
+	 * Remove all cell keys, retaining the capacity
+	 */
+	public void clear() {
+		Arrays.fill(table, CellHash.EMPTY);
+		size = 0;
+		modifications++;
+	}
+
+	/**
+	 * Double the table size and rehash the cell keys
+	 */
+	private void grow() {
+		if (table.length >= CellHash.MAX_TABLE_SIZE) {
+			if (size >= table.length - 1) {
+				throw new IllegalStateException(
+						"Cell set capacity exceeded. size: " + size);
+			}
+			threshold = table.length - 1;
+			return;
+		}
+		long[] previous = table;
+		allocate(previous.length << 1);
+		for (long key : previous) {
+			if (key != CellHash.EMPTY) {
+				int index = CellHash.hash(key) & mask;
+				while (table[index] != CellHash.EMPTY) {
+					index = (index + 1) & mask;
+				}
+				table[index] = key;
+			}
+		}
+	}
+
+	/**
+	 * Get the cell keys in table order
+	 *
+	 * @return cell keys array
+	 */
+	public long[] toArray() {
+		long[] keys = new long[size];
+		int count = 0;
+		for (long key : table) {
+			if (key != CellHash.EMPTY) {
+				keys[count++] = key;
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Get the cell keys in {@link CellKey} order
+	 *
+	 * @return sorted cell keys array
+	 */
+	public long[] toSortedArray() {
+		long[] keys = toArray();
+		Arrays.sort(keys);
+		return keys;
+	}
+
+	/**
+	 * Get the cell keys as a list in table order
+	 *
+	 * @return cell list
+	 */
+	public CellList toList() {
+		return new CellList(toArray());
+	}
+
+	/**
+	 * Perform the action for each cell key in table order
+	 *
+	 * @param action
+	 *            cell key action
+	 */
+	public void forEachKey(LongConsumer action) {
+		for (long key : table) {
+			if (key != CellHash.EMPTY) {
+				action.accept(key);
+			}
+		}
+	}
+
+	/**
+	 * Get a sequential stream of the cell keys in table order
+	 *
+	 * @return long stream
+	 */
+	public LongStream stream() {
+		return StreamSupport.longStream(Spliterators.spliterator(iterator(),
+				size, Spliterator.DISTINCT | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+
+			private final int expectedModifications = modifications;
+
+			private int index = advance(0);
+
+			private int advance(int index) {
+				while (index < table.length
+						&& table[index] == CellHash.EMPTY) {
+					index++;
+				}
+				return index;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return index < table.length;
+			}
+
+			@Override
+			public long nextLong() {
+				if (modifications != expectedModifications) {
+					throw new ConcurrentModificationException();
+				}
+				if (index >= table.length) {
+					throw new NoSuchElementException();
+				}
+				long key = table[index];
+				index = advance(index + 1);
+				return key;
+			}
+
+		};
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		int result = 0;
+		for (long key : table) {
+			if (key != CellHash.EMPTY) {
+				result += Long.hashCode(key);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CellSet other = (CellSet) obj;
+		if (size != other.size)
+			return false;
+		for (long key : table) {
+			if (key != CellHash.EMPTY && !other.contains(key)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,602 @@
+package mil.nga.mgrs.cell;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Ordered traversal of the MGRS cells at a precision that a polyline passes
+ * through, with the entry and exit distance along the line of each cell.
+ * Line segments are straight in longitude and latitude. Each segment is split
+ * at the grid zone boundaries, including the Norway and Svalbard longitudinal
+ * strip exceptions and band boundaries, and each piece is projected into its
+ * zone UTM coordinates and stepped cell by cell with a DDA (digital
+ * differential analyzer) grid walk. Every cell the line passes through with
+ * a positive length is produced, including corner cells that point sampling
+ * misses. Distances are UTM grid meters of the zone containing each piece.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class CellTraversal {
+
+	/**
+	 * Line longitudes
+	 */
+	private final double[] longitudes;
+
+	/**
+	 * Line latitudes
+	 */
+	private final double[] latitudes;
+
+	/**
+	 * Constructor
+	 *
+	 * @param line
+	 *            line points
+	 */
+	public CellTraversal(List<Point> line) {
+		longitudes = new double[line.size()];
+		latitudes = new double[line.size()];
+		for (int i = 0; i < line.size(); i++) {
+			Point point = line.get(i).toDegrees();
+			longitudes[i] = point.getLongitude();
+			latitudes[i] = point.getLatitude();
+		}
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param longitudes
+	 *            line longitudes in degrees
+	 * @param latitudes
+	 *            line latitudes in degrees
+	 */
+	public CellTraversal(double[] longitudes, double[] latitudes) {
+		if (longitudes.length != latitudes.length) {
+			throw new IllegalArgumentException(
+					"Longitude and latitude counts must match. longitudes: "
+							+ longitudes.length + ", latitudes: "
+							+ latitudes.length);
+		}
+		this.longitudes = longitudes.clone();
+		this.latitudes = latitudes.clone();
+	}
+
+	/**
+	 * Get a lazy iterator of the cell crossings in line order
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell crossing iterator
+	 */
+	public Iterator<CellCrossing> iterator(GridType precision) {
+		if (precision == GridType.GZD) {
+			throw new IllegalArgumentException(
+					"Cell traversal requires a 100km square or finer "
+							+ "precision");
+		}
+		return new TraversalIterator(precision);
+	}
+
+	/**
+	 * Get a lazy sequential stream of the cell crossings in line order
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell crossing stream
+	 */
+	public Stream<CellCrossing> stream(GridType precision) {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+				iterator(precision),
+				Spliterator.NONNULL | Spliterator.ORDERED), false);
+	}
+
+	/**
+	 * Get the cell crossings in line order
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell crossings
+	 */
+	public List<CellCrossing> getCrossings(GridType precision) {
+		List<CellCrossing> crossings = new ArrayList<>();
+		iterator(precision).forEachRemaining(crossings::add);
+		return crossings;
+	}
+
+	/**
+	 * Get the cell keys in line order, a cell repeating when the line
+	 * returns to it
+	 *
+	 * @param precision
+	 *            precision grid type, {@link GridType#HUNDRED_KILOMETER}
+	 *            through {@link GridType#METER}
+	 * @return cell list
+	 */
+	public CellList keys(GridType precision) {
+		CellList keys = new CellList();
+		iterator(precision)
+				.forEachRemaining(crossing -> keys.add(crossing.getKey()));
+		return keys;
+	}
+
+	/**
+	 * Lazy line traversal, splitting segments into grid zone pieces and
+	 * stepping the cells of each projected piece
+	 */
+	private class TraversalIterator implements Iterator<CellCrossing> {
+
+		/**
+		 * Precision
+		 */
+		private final GridType precision;
+
+		/**
+		 * Cell size in meters
+		 */
+		private final int meters;
+
+		/**
+		 * Next segment index
+		 */
+		private int segment = 0;
+
+		/**
+		 * Segment pieces: start longitude, start latitude, end longitude,
+		 * and end latitude
+		 */
+		private final List<double[]> pieces = new ArrayList<>();
+
+		/**
+		 * Segment piece grid zones
+		 */
+		private final List<GridZone> pieceZones = new ArrayList<>();
+
+		/**
+		 * Next piece index
+		 */
+		private int piece = 0;
+
+		/**
+		 * Current piece coordinates
+		 */
+		private double[] pieceCoordinates;
+
+		/**
+		 * Current piece zone number
+		 */
+		private int zone;
+
+		/**
+		 * Current piece band letter
+		 */
+		private char band;
+
+		/**
+		 * Current piece hemisphere
+		 */
+		private Hemisphere hemisphere;
+
+		/**
+		 * Current piece densified step count
+		 */
+		private int steps;
+
+		/**
+		 * Completed densified steps of the current piece
+		 */
+		private int step;
+
+		/**
+		 * Projected easting of the next step start
+		 */
+		private double startEasting;
+
+		/**
+		 * Projected northing of the next step start
+		 */
+		private double startNorthing;
+
+		/**
+		 * Reusable projection working array
+		 */
+		private final double[] eastingNorthing = new double[2];
+
+		/**
+		 * True when stepping cells of a projected step
+		 */
+		private boolean walking = false;
+
+		/**
+		 * Grid walk column index
+		 */
+		private long column;
+
+		/**
+		 * Grid walk row index
+		 */
+		private long row;
+
+		/**
+		 * Grid walk column direction
+		 */
+		private int columnStep;
+
+		/**
+		 * Grid walk row direction
+		 */
+		private int rowStep;
+
+		/**
+		 * Step parameter of the next column boundary
+		 */
+		private double nextColumnT;
+
+		/**
+		 * Step parameter of the next row boundary
+		 */
+		private double nextRowT;
+
+		/**
+		 * Step parameter change per column
+		 */
+		private double deltaColumnT;
+
+		/**
+		 * Step parameter change per row
+		 */
+		private double deltaRowT;
+
+		/**
+		 * Current step parameter
+		 */
+		private double t;
+
+		/**
+		 * Walked step length in meters
+		 */
+		private double length;
+
+		/**
+		 * Line distance at the start of the walked step
+		 */
+		private double distance;
+
+		/**
+		 * Pending merged crossing cell key
+		 */
+		private long pendingKey = CellKey.INVALID;
+
+		/**
+		 * Pending merged crossing entry distance
+		 */
+		private double pendingEntry;
+
+		/**
+		 * Pending merged crossing exit distance
+		 */
+		private double pendingExit;
+
+		/**
+		 * Raw crossing cell key of a single grid walk cell
+		 */
+		private long rawKey;
+
+		/**
+		 * Raw crossing entry distance
+		 */
+		private double rawEntry;
+
+		/**
+		 * Raw crossing exit distance
+		 */
+		private double rawExit;
+
+		/**
+		 * Next merged crossing
+		 */
+		private CellCrossing next;
+
+		/**
+		 * Constructor
+		 *
+		 * @param precision
+		 *            precision
+		 */
+		TraversalIterator(GridType precision) {
+			this.precision = precision;
+			this.meters = precision.getPrecision();
+			advance();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public CellCrossing next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			CellCrossing crossing = next;
+			advance();
+			return crossing;
+		}
+
+		/**
+		 * Advance to the next merged crossing, joining consecutive raw
+		 * crossings of the same cell
+		 */
+		private void advance() {
+			next = null;
+			while (nextRaw()) {
+				if (rawKey == pendingKey && rawEntry <= pendingExit) {
+					pendingExit = Math.max(pendingExit, rawExit);
+				} else {
+					CellCrossing previous = pending();
+					pendingKey = rawKey;
+					pendingEntry = rawEntry;
+					pendingExit = rawExit;
+					if (previous != null) {
+						next = previous;
+						return;
+					}
+				}
+			}
+			next = pending();
+			pendingKey = CellKey.INVALID;
+		}
+
+		/**
+		 * Get the pending crossing
+		 *
+		 * @return crossing or null
+		 */
+		private CellCrossing pending() {
+			CellCrossing crossing = null;
+			if (pendingKey != CellKey.INVALID) {
+				crossing = new CellCrossing(pendingKey, pendingEntry,
+						pendingExit);
+			}
+			return crossing;
+		}
+
+		/**
+		 * Produce the next positive length raw cell crossing
+		 *
+		 * @return true if produced
+		 */
+		private boolean nextRaw() {
+			while (true) {
+				if (walking) {
+					if (walk()) {
+						return true;
+					}
+				} else if (step < steps) {
+					startStep();
+				} else if (piece < pieces.size()) {
+					startPiece();
+				} else if (segment + 1 < longitudes.length) {
+					splitSegment(segment++);
+				} else {
+					return false;
+				}
+			}
+		}
+
+		/**
+		 * Split the segment into the pieces within each grid zone, in line
+		 * order
+		 *
+		 * @param index
+		 *            segment start index
+		 */
+		private void splitSegment(int index) {
+
+			pieces.clear();
+			pieceZones.clear();
+			piece = 0;
+
+			double x1 = longitudes[index];
+			double y1 = latitudes[index];
+			double x2 = longitudes[index + 1];
+			double y2 = latitudes[index + 1];
+			double dx = x2 - x1;
+			double dy = y2 - y1;
+			double lengthSquared = dx * dx + dy * dy;
+			if (lengthSquared == 0) {
+				return;
+			}
+
+			Bounds bounds = Bounds.degrees(Math.min(x1, x2),
+					Math.min(y1, y2), Math.max(x1, x2), Math.max(y1, y2));
+			List<double[]> intervals = new ArrayList<>();
+			List<GridZone> zones = new ArrayList<>();
+			double[] clipped = new double[4];
+			for (GridZone gridZone : GridZones.getZones(bounds)) {
+				Bounds zoneBounds = gridZone.getBounds();
+				if (CellCover.clip(x1, y1, x2, y2,
+						zoneBounds.getMinLongitude(),
+						zoneBounds.getMinLatitude(),
+						zoneBounds.getMaxLongitude(),
+						zoneBounds.getMaxLatitude(), clipped)) {
+					double t1 = ((clipped[0] - x1) * dx
+							+ (clipped[1] - y1) * dy) / lengthSquared;
+					double t2 = ((clipped[2] - x1) * dx
+							+ (clipped[3] - y1) * dy) / lengthSquared;
+					if (t2 > t1) {
+						int position = 0;
+						while (position < intervals.size()
+								&& intervals.get(position)[0] <= t1) {
+							position++;
+						}
+						intervals.add(position, new double[] { t1, t2 });
+						zones.add(position, gridZone);
+					}
+				}
+			}
+
+			// Keep the first grid zone of shared boundary overlaps
+			double covered = 0;
+			for (int i = 0; i < intervals.size(); i++) {
+				double start = Math.max(covered, intervals.get(i)[0]);
+				double end = intervals.get(i)[1];
+				if (end > start) {
+					pieces.add(new double[] { x1 + start * dx,
+							y1 + start * dy, x1 + end * dx, y1 + end * dy });
+					pieceZones.add(zones.get(i));
+					covered = end;
+				}
+			}
+		}
+
+		/**
+		 * Start the next grid zone piece of the segment
+		 */
+		private void startPiece() {
+			pieceCoordinates = pieces.get(piece);
+			GridZone gridZone = pieceZones.get(piece);
+			piece++;
+			zone = gridZone.getNumber();
+			band = gridZone.getLetter();
+			hemisphere = gridZone.getHemisphere();
+			double x1 = pieceCoordinates[0];
+			double y1 = pieceCoordinates[1];
+			double x2 = pieceCoordinates[2];
+			double y2 = pieceCoordinates[3];
+			steps = Math.max(1,
+					(int) Math.ceil(Math.max(Math.abs(x2 - x1),
+							Math.abs(y2 - y1)) / CellCover.DENSIFY_DEGREES));
+			step = 0;
+			UTM.from(x1, y1, zone, hemisphere, eastingNorthing);
+			startEasting = eastingNorthing[0];
+			startNorthing = eastingNorthing[1];
+		}
+
+		/**
+		 * Project the next densified step of the piece and start its grid
+		 * walk
+		 */
+		private void startStep() {
+			step++;
+			double fraction = (double) step / steps;
+			double[] coordinates = pieceCoordinates;
+			UTM.from(
+					coordinates[0]
+							+ fraction * (coordinates[2] - coordinates[0]),
+					coordinates[1]
+							+ fraction * (coordinates[3] - coordinates[1]),
+					zone, hemisphere, eastingNorthing);
+			double e1 = startEasting;
+			double n1 = startNorthing;
+			double e2 = eastingNorthing[0];
+			double n2 = eastingNorthing[1];
+			startEasting = e2;
+			startNorthing = n2;
+
+			double de = e2 - e1;
+			double dn = n2 - n1;
+			length = Math.sqrt(de * de + dn * dn);
+			if (length == 0) {
+				return;
+			}
+
+			column = (long) Math.floor(e1 / meters);
+			row = (long) Math.floor(n1 / meters);
+			columnStep = de > 0 ? 1 : -1;
+			rowStep = dn > 0 ? 1 : -1;
+			nextColumnT = boundaryT(e1, de, column);
+			nextRowT = boundaryT(n1, dn, row);
+			deltaColumnT = de != 0 ? meters / Math.abs(de)
+					: Double.POSITIVE_INFINITY;
+			deltaRowT = dn != 0 ? meters / Math.abs(dn)
+					: Double.POSITIVE_INFINITY;
+			t = 0;
+			walking = true;
+		}
+
+		/**
+		 * Get the line parameter where the line crosses the next cell
+		 * boundary in the direction of travel
+		 *
+		 * @param start
+		 *            start coordinate
+		 * @param delta
+		 *            coordinate change over the line
+		 * @param index
+		 *            current cell index
+		 * @return line parameter
+		 */
+		private double boundaryT(double start, double delta, long index) {
+			double t = Double.POSITIVE_INFINITY;
+			if (delta > 0) {
+				t = ((index + 1) * (double) meters - start) / delta;
+			} else if (delta < 0) {
+				t = (index * (double) meters - start) / delta;
+			}
+			return t;
+		}
+
+		/**
+		 * Walk to the next cell of the projected step
+		 *
+		 * @return true if a positive length raw crossing was produced
+		 */
+		private boolean walk() {
+
+			double exitT = Math.min(1.0, Math.min(nextColumnT, nextRowT));
+			rawKey = CellKey.fromUTM(zone, band, column * (double) meters,
+					row * (double) meters, precision);
+			rawEntry = distance + t * length;
+			rawExit = distance + exitT * length;
+
+			if (exitT >= 1.0) {
+				walking = false;
+				distance += length;
+			} else {
+				// Step both at exact corner crossings, the diagonal cells
+				// are only touched at the corner
+				double columnT = nextColumnT;
+				if (columnT <= nextRowT) {
+					column += columnStep;
+					nextColumnT += deltaColumnT;
+				}
+				if (nextRowT <= columnT) {
+					row += rowStep;
+					nextRowT += deltaRowT;
+				}
+			}
+			t = exitT;
+
+			return rawExit > rawEntry;
+		}
+
+	}
+
+}
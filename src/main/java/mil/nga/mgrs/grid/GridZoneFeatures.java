@@ -0,0 +1,112 @@
+package mil.nga.mgrs.grid;
+
+import java.util.List;
+
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.gzd.GridZone;
+
+/**
+ * Grid lines and labels generated for a single grid and grid zone within a
+ * tile. Lines may extend beyond the grid zone and should be clipped to the
+ * grid zone bounds when drawn.
+ * 
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class GridZoneFeatures {
+
+	/**
+	 * Grid
+	 */
+	private final Grid grid;
+
+	/**
+	 * Grid zone
+	 */
+	private final GridZone zone;
+
+	/**
+	 * Grid lines
+	 */
+	private final List<GridLine> lines;
+
+	/**
+	 * Grid labels
+	 */
+	private final List<GridLabel> labels;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param grid
+	 *            grid
+	 * @param zone
+	 *            grid zone
+	 * @param lines
+	 *            grid lines, null if none
+	 * @param labels
+	 *            grid labels, null if none
+	 */
+	public GridZoneFeatures(Grid grid, GridZone zone, List<GridLine> lines,
+			List<GridLabel> labels) {
+		this.grid = grid;
+		this.zone = zone;
+		this.lines = lines;
+		this.labels = labels;
+	}
+
+	/**
+	 * Get the grid
+	 * 
+	 * @return grid
+	 */
+	public Grid getGrid() {
+		return grid;
+	}
+
+	/**
+	 * Get the grid zone
+	 * 
+	 * @return grid zone
+	 */
+	public GridZone getZone() {
+		return zone;
+	}
+
+	/**
+	 * Get the grid lines
+	 * 
+	 * @return grid lines, null if none
+	 */
+	public List<GridLine> getLines() {
+		return lines;
+	}
+
+	/**
+	 * Has grid lines
+	 * 
+	 * @return true if grid lines
+	 */
+	public boolean hasLines() {
+		return lines != null && !lines.isEmpty();
+	}
+
+	/**
+	 * Get the grid labels
+	 * 
+	 * @return grid labels, null if none
+	 */
+	public List<GridLabel> getLabels() {
+		return labels;
+	}
+
+	/**
+	 * Has grid labels
+	 * 
+	 * @return true if grid labels
+	 */
+	public boolean hasLabels() {
+		return labels != null && !labels.isEmpty();
+	}
+
+}
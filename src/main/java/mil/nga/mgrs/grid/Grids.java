@@ -1,17 +1,28 @@
 package mil.nga.mgrs.grid;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import mil.nga.color.Color;
 import mil.nga.grid.BaseGrids;
 import mil.nga.grid.GridStyle;
 import mil.nga.grid.property.PropertyConstants;
+import mil.nga.grid.tile.GridTile;
+import mil.nga.mgrs.features.GridLine;
 import mil.nga.mgrs.gzd.GZDLabeler;
+import mil.nga.mgrs.gzd.GridRange;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
 import mil.nga.mgrs.property.MGRSProperties;
 
 /**
@@ -1092,4 +1103,185 @@ public class Grids extends BaseGrids<Grid, ZoomGrids> {
 		getRequiredLabeler(type).setTextSize(textSize);
 	}
 
+	/**
+	 * Get the grid lines and labels of each enabled grid and grid zone for
+	 * the tile, generated in parallel on the common fork join pool
+	 * 
+	 * @param tile
+	 *            tile
+	 * @return grid zone features ordered by grid and then grid zone
+	 * @since 2.1.4
+	 */
+	public List<GridZoneFeatures> getFeatures(GridTile tile) {
+		return getFeatures(tile, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Get the grid lines and labels of each enabled grid and grid zone for
+	 * the tile, generated in parallel on the executor. Each grid and grid
+	 * zone combination is a separate task.
+	 * 
+	 * @param tile
+	 *            tile
+	 * @param executor
+	 *            executor
+	 * @return grid zone features ordered by grid and then grid zone
+	 * @since 2.1.4
+	 */
+	public List<GridZoneFeatures> getFeatures(GridTile tile,
+			Executor executor) {
+		return join(submitFeatures(tile, executor));
+	}
+
+	/**
+	 * Get the grid lines and labels of each enabled grid and grid zone for
+	 * the tiles, generated in parallel on the executor. The tasks of all
+	 * tiles are submitted before any results are joined.
+	 * 
+	 * @param tiles
+	 *            tiles
+	 * @param executor
+	 *            executor
+	 * @return grid zone features for each tile in tile order, each ordered by
+	 *         grid and then grid zone
+	 * @since 2.1.4
+	 */
+	public List<List<GridZoneFeatures>> getFeatures(List<GridTile> tiles,
+			Executor executor) {
+		List<List<CompletableFuture<GridZoneFeatures>>> tileFutures = new ArrayList<>(
+				tiles.size());
+		for (GridTile tile : tiles) {
+			tileFutures.add(submitFeatures(tile, executor));
+		}
+		List<List<GridZoneFeatures>> features = new ArrayList<>(
+				tiles.size());
+		for (List<CompletableFuture<GridZoneFeatures>> futures : tileFutures) {
+			features.add(join(futures));
+		}
+		return features;
+	}
+
+	/**
+	 * Get the merged grid lines of each enabled grid and grid zone for the
+	 * tile, generated in parallel on the common fork join pool
+	 * 
+	 * @param tile
+	 *            tile
+	 * @return grid lines ordered by grid and then grid zone
+	 * @since 2.1.4
+	 */
+	public List<GridLine> getLines(GridTile tile) {
+		return getLines(tile, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Get the merged grid lines of each enabled grid and grid zone for the
+	 * tile, generated in parallel on the executor. Lines may extend beyond
+	 * their grid zone, use {@link #getFeatures(GridTile, Executor)} to clip
+	 * by grid zone.
+	 * 
+	 * @param tile
+	 *            tile
+	 * @param executor
+	 *            executor
+	 * @return grid lines ordered by grid and then grid zone
+	 * @since 2.1.4
+	 */
+	public List<GridLine> getLines(GridTile tile, Executor executor) {
+		List<GridLine> lines = new ArrayList<>();
+		for (GridZoneFeatures features : getFeatures(tile, executor)) {
+			if (features.hasLines()) {
+				lines.addAll(features.getLines());
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Get the merged grid labels of each enabled grid and grid zone for the
+	 * tile, generated in parallel on the common fork join pool
+	 * 
+	 * @param tile
+	 *            tile
+	 * @return grid labels ordered by grid and then grid zone
+	 * @since 2.1.4
+	 */
+	public List<GridLabel> getLabels(GridTile tile) {
+		return getLabels(tile, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Get the merged grid labels of each enabled grid and grid zone for the
+	 * tile, generated in parallel on the executor
+	 * 
+	 * @param tile
+	 *            tile
+	 * @param executor
+	 *            executor
+	 * @return grid labels ordered by grid and then grid zone
+	 * @since 2.1.4
+	 */
+	public List<GridLabel> getLabels(GridTile tile, Executor executor) {
+		List<GridLabel> labels = new ArrayList<>();
+		for (GridZoneFeatures features : getFeatures(tile, executor)) {
+			if (features.hasLabels()) {
+				labels.addAll(features.getLabels());
+			}
+		}
+		return labels;
+	}
+
+	/**
+	 * Submit a task for each enabled grid and grid zone of the tile
+	 * 
+	 * @param tile
+	 *            tile
+	 * @param executor
+	 *            executor
+	 * @return futures ordered by grid and then grid zone
+	 */
+	private List<CompletableFuture<GridZoneFeatures>> submitFeatures(
+			GridTile tile, Executor executor) {
+		List<CompletableFuture<GridZoneFeatures>> futures = new ArrayList<>();
+		ZoomGrids zoomGrids = getGrids(tile.getZoom());
+		if (zoomGrids.hasGrids()) {
+			GridRange gridRange = GridZones.getGridRange(tile.getBounds());
+			for (Grid grid : zoomGrids) {
+				for (GridZone zone : gridRange) {
+					futures.add(CompletableFuture.supplyAsync(
+							() -> new GridZoneFeatures(grid, zone,
+									grid.getLines(tile, zone),
+									grid.getLabels(tile, zone)),
+							executor));
+				}
+			}
+		}
+		return futures;
+	}
+
+	/**
+	 * Join the futures in order
+	 * 
+	 * @param futures
+	 *            futures
+	 * @return results in future order
+	 */
+	private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+		List<T> results = new ArrayList<>(futures.size());
+		for (CompletableFuture<T> future : futures) {
+			try {
+				results.add(future.join());
+			} catch (CompletionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw e;
+			}
+		}
+		return results;
+	}
+
 }
@@ -8,6 +8,11 @@ import mil.nga.grid.Hemisphere;
 import mil.nga.grid.features.Bounds;
 import mil.nga.grid.features.Point;
 import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.MGRSTables;
+import mil.nga.mgrs.cell.CellGeometry;
+import mil.nga.mgrs.cell.CellKey;
+import mil.nga.mgrs.gzd.GridSquare;
+import mil.nga.mgrs.gzd.GridSquares;
 import mil.nga.mgrs.gzd.GridZone;
 import mil.nga.mgrs.utm.UTM;
 
@@ -194,6 +199,10 @@ public class MGRSLabeler extends GridLabeler {
 			labels = new ArrayList<>();
 
 			int precision = gridType.getPrecision();
+			GridSquares squares = null;
+			if (gridType == GridType.HUNDRED_KILOMETER) {
+				squares = zone.getSquares();
+			}
 
 			for (double easting = drawBounds
 					.getMinLongitude(); easting <= drawBounds
@@ -202,8 +211,16 @@ public class MGRSLabeler extends GridLabeler {
 						.getMinLatitude(); northing <= drawBounds
 								.getMaxLatitude(); northing += precision) {
 
-					GridLabel label = getLabel(gridType, zone, easting,
-							northing);
+					GridLabel label = null;
+					GridSquare square = null;
+					if (squares != null) {
+						square = squares.getSquare(easting, northing);
+					}
+					if (square != null) {
+						label = getLabel(gridType, square);
+					} else {
+						label = getLabel(gridType, zone, easting, northing);
+					}
 					if (label != null) {
 						labels.add(label);
 					}
@@ -217,21 +234,88 @@ public class MGRSLabeler extends GridLabeler {
 	}
 
 	/**
-	 * Get the grid zone label
+	 * Get the grid square label
+	 * 
+	 * @param gridType
+	 *            grid type
+	 * @param square
+	 *            grid square
+	 * @return label or null
+	 */
+	private GridLabel getLabel(GridType gridType, GridSquare square) {
+		GridLabel label = null;
+		if (square.hasLabelBounds()) {
+			MGRS mgrs = square.getLabelMGRS();
+			label = new GridLabel(mgrs.getColumnRowId(),
+					square.getLabelCenter(), square.getLabelBounds(),
+					gridType, mgrs);
+		}
+		return label;
+	}
+
+	/**
+	 * Get the grid zone label, using the cached cell geometry when the UTM
+	 * coordinate is within the zone columns and round trips through a cell
+	 * key
 	 * 
 	 * @param gridType
 	 *            grid type
+	 * @param zone
+	 *            grid zone
 	 * @param easting
 	 *            easting
 	 * @param northing
 	 *            northing
-	 * @return labels
+	 * @return label or null
 	 */
 	private GridLabel getLabel(GridType gridType, GridZone zone, double easting,
 			double northing) {
 
 		GridLabel label = null;
 
+		long key = CellKey.INVALID;
+		if (easting >= MGRSTables.SQUARE_SIZE
+				&& easting < MGRSTables.SQUARE_SIZE * (MGRSTables.COLUMNS + 1)
+				&& northing >= 0) {
+			key = CellKey.fromUTM(zone.getNumber(), zone.getLetter(), easting,
+					northing, gridType);
+			if (CellKey.utmEasting(key) != easting
+					|| CellKey.utmNorthing(key) != northing) {
+				key = CellKey.INVALID;
+			}
+		}
+
+		if (key != CellKey.INVALID) {
+			CellGeometry geometry = CellGeometry.get(key);
+			if (geometry != null && geometry.hasLabelBounds()) {
+				label = getLabel(gridType, geometry.getLabelMGRS(),
+						geometry.getLabelCenter(), geometry.getLabelBounds());
+			}
+		} else {
+			label = getUTMLabel(gridType, zone, easting, northing);
+		}
+
+		return label;
+	}
+
+	/**
+	 * Get the grid zone label from the UTM corners of the cell
+	 * 
+	 * @param gridType
+	 *            grid type
+	 * @param zone
+	 *            grid zone
+	 * @param easting
+	 *            easting
+	 * @param northing
+	 *            northing
+	 * @return label or null
+	 */
+	private GridLabel getUTMLabel(GridType gridType, GridZone zone,
+			double easting, double northing) {
+
+		GridLabel label = null;
+
 		int precision = gridType.getPrecision();
 		Bounds bounds = zone.getBounds();
 		int zoneNumber = zone.getNumber();
@@ -265,18 +349,37 @@ public class MGRSLabeler extends GridLabeler {
 					maxLongitude, maxLatitude);
 			Point center = labelBounds.getCentroid();
 
-			MGRS mgrs = MGRS.from(center);
-			String id = null;
-			if (gridType == GridType.HUNDRED_KILOMETER) {
-				id = mgrs.getColumnRowId();
-			} else {
-				id = mgrs.getEastingAndNorthing(gridType);
-			}
-
-			label = new GridLabel(id, center, labelBounds, gridType, mgrs);
+			label = getLabel(gridType, MGRS.from(center), center,
+					labelBounds);
 		}
 
 		return label;
 	}
 
+	/**
+	 * Create the grid zone label
+	 * 
+	 * @param gridType
+	 *            grid type
+	 * @param mgrs
+	 *            label center MGRS coordinate
+	 * @param center
+	 *            label center
+	 * @param labelBounds
+	 *            label bounds
+	 * @return label
+	 */
+	private GridLabel getLabel(GridType gridType, MGRS mgrs, Point center,
+			Bounds labelBounds) {
+
+		String id = null;
+		if (gridType == GridType.HUNDRED_KILOMETER) {
+			id = mgrs.getColumnRowId();
+		} else {
+			id = mgrs.getEastingAndNorthing(gridType);
+		}
+
+		return new GridLabel(id, center, labelBounds, gridType, mgrs);
+	}
+
 }
@@ -0,0 +1,276 @@
+package mil.nga.mgrs.gzd;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.MGRSUtils;
+import mil.nga.mgrs.features.GridLine;
+
+/**
+ * Immutable 100km grid square within a grid zone, with the UTM and longitude
+ * and latitude extents of the square clipped to the grid zone bounds
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class GridSquare {
+
+	/**
+	 * Zone number
+	 */
+	private final int zone;
+
+	/**
+	 * Band letter
+	 */
+	private final char band;
+
+	/**
+	 * Column letter
+	 */
+	private final char column;
+
+	/**
+	 * Row letter
+	 */
+	private final char row;
+
+	/**
+	 * UTM easting of the square western edge
+	 */
+	private final double easting;
+
+	/**
+	 * UTM northing of the square southern edge
+	 */
+	private final double northing;
+
+	/**
+	 * UTM extents clipped to the grid zone, in meters
+	 */
+	private final Bounds utmBounds;
+
+	/**
+	 * Longitude and latitude extents clipped to the grid zone, in degrees
+	 */
+	private final Bounds bounds;
+
+	/**
+	 * Label bounds within the square edges and grid zone, null when empty
+	 */
+	private final Bounds labelBounds;
+
+	/**
+	 * Label center MGRS coordinate, null when no label bounds
+	 */
+	private final MGRS labelMGRS;
+
+	/**
+	 * Southwestern most MGRS coordinate of the square within the grid zone
+	 */
+	private final MGRS origin;
+
+	/**
+	 * Western vertical and southern horizontal grid lines
+	 */
+	private final List<GridLine> lines;
+
+	/**
+	 * Constructor
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param band
+	 *            band letter
+	 * @param column
+	 *            column letter
+	 * @param row
+	 *            row letter
+	 * @param easting
+	 *            UTM easting of the square western edge
+	 * @param northing
+	 *            UTM northing of the square southern edge
+	 * @param utmBounds
+	 *            clipped UTM extents
+	 * @param bounds
+	 *            clipped longitude and latitude extents
+	 * @param labelBounds
+	 *            label bounds or null
+	 * @param labelMGRS
+	 *            label center MGRS coordinate or null
+	 * @param origin
+	 *            southwestern most MGRS coordinate within the grid zone
+	 * @param lines
+	 *            western vertical and southern horizontal grid lines
+	 */
+	GridSquare(int zone, char band, char column, char row, double easting,
+			double northing, Bounds utmBounds, Bounds bounds,
+			Bounds labelBounds, MGRS labelMGRS, MGRS origin,
+			List<GridLine> lines) {
+		this.zone = zone;
+		this.band = band;
+		this.column = column;
+		this.row = row;
+		this.easting = easting;
+		this.northing = northing;
+		this.utmBounds = utmBounds;
+		this.bounds = bounds;
+		this.labelBounds = labelBounds;
+		this.labelMGRS = labelMGRS;
+		this.origin = origin;
+		this.lines = lines;
+	}
+
+	/**
+	 * Get the zone number
+	 *
+	 * @return zone number
+	 */
+	public int getZone() {
+		return zone;
+	}
+
+	/**
+	 * Get the band letter
+	 *
+	 * @return band letter
+	 */
+	public char getBand() {
+		return band;
+	}
+
+	/**
+	 * Get the column letter
+	 *
+	 * @return column letter
+	 */
+	public char getColumn() {
+		return column;
+	}
+
+	/**
+	 * Get the row letter
+	 *
+	 * @return row letter
+	 */
+	public char getRow() {
+		return row;
+	}
+
+	/**
+	 * Get the column and row id
+	 *
+	 * @return column row id
+	 */
+	public String getColumnRowId() {
+		return new String(new char[] { column, row });
+	}
+
+	/**
+	 * Get the UTM easting of the square western edge
+	 *
+	 * @return easting
+	 */
+	public double getEasting() {
+		return easting;
+	}
+
+	/**
+	 * Get the UTM northing of the square southern edge
+	 *
+	 * @return northing
+	 */
+	public double getNorthing() {
+		return northing;
+	}
+
+	/**
+	 * Get the UTM extents clipped to the grid zone
+	 *
+	 * @return bounds in meters
+	 */
+	public Bounds getUTMBounds() {
+		return new Bounds(utmBounds);
+	}
+
+	/**
+	 * Get the longitude and latitude extents clipped to the grid zone
+	 *
+	 * @return bounds in degrees
+	 */
+	public Bounds getBounds() {
+		return new Bounds(bounds);
+	}
+
+	/**
+	 * Determine if the square has non empty label bounds within the square
+	 * edges and grid zone
+	 *
+	 * @return true if label bounds
+	 */
+	public boolean hasLabelBounds() {
+		return labelBounds != null;
+	}
+
+	/**
+	 * Get the label bounds within the square edges and grid zone
+	 *
+	 * @return bounds in degrees or null
+	 */
+	public Bounds getLabelBounds() {
+		return labelBounds != null ? new Bounds(labelBounds) : null;
+	}
+
+	/**
+	 * Get the label bounds center point
+	 *
+	 * @return center point or null
+	 */
+	public Point getLabelCenter() {
+		return labelBounds != null ? labelBounds.getCentroid() : null;
+	}
+
+	/**
+	 * Get the MGRS coordinate of the label bounds center point
+	 *
+	 * @return MGRS or null
+	 */
+	public MGRS getLabelMGRS() {
+		return labelMGRS;
+	}
+
+	/**
+	 * Get the southwestern most MGRS coordinate of the square within the grid
+	 * zone, the value of the parsed 100km square
+	 *
+	 * @return MGRS
+	 */
+	public MGRS getOrigin() {
+		return origin;
+	}
+
+	/**
+	 * Get copies of the western vertical and southern horizontal grid lines
+	 *
+	 * @return grid lines
+	 */
+	public List<GridLine> getLines() {
+		List<GridLine> lines = new ArrayList<>(this.lines.size());
+		for (GridLine line : this.lines) {
+			lines.add(line.copy());
+		}
+		return lines;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MGRSUtils.getLabelName(zone, band) + getColumnRowId();
+	}
+
+}
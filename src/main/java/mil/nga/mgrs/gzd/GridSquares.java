@@ -0,0 +1,464 @@
+package mil.nga.mgrs.gzd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Line;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.MGRSTables;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.utm.UTM;
+import mil.nga.mgrs.utm.UTMProjection;
+
+/**
+ * Immutable catalog of the 100km grid squares intersecting a grid zone, with
+ * precomputed clipped extents, parse origins, grid lines, and labels. Each
+ * zone 100km column and row letter combination is decoded once and squares
+ * outside of the grid zone are omitted, turning square validation, parsing,
+ * and drawing into table lookups.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class GridSquares {
+
+	/**
+	 * Grid zone
+	 */
+	private final GridZone gridZone;
+
+	/**
+	 * UTM projection the squares were computed with
+	 */
+	private final UTMProjection projection;
+
+	/**
+	 * Squares by column index and row index, null when outside the grid zone
+	 */
+	private final GridSquare[] table;
+
+	/**
+	 * Squares ordered by column and row
+	 */
+	private final List<GridSquare> squares;
+
+	/**
+	 * Create the grid squares catalog of the grid zone using the current UTM
+	 * projection
+	 *
+	 * @param gridZone
+	 *            grid zone
+	 * @return grid squares
+	 */
+	static GridSquares create(GridZone gridZone) {
+		return new GridSquares(gridZone, UTM.getProjection());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param gridZone
+	 *            grid zone
+	 * @param projection
+	 *            UTM projection
+	 */
+	private GridSquares(GridZone gridZone, UTMProjection projection) {
+		this.gridZone = gridZone;
+		this.projection = projection;
+		table = new GridSquare[MGRSTables.COLUMNS * MGRSTables.ROWS];
+		List<GridSquare> squares = new ArrayList<>();
+		int zone = gridZone.getNumber();
+		for (int column = 0; column < MGRSTables.COLUMNS; column++) {
+			for (int row = 0; row < MGRSTables.ROWS; row++) {
+				GridSquare square = createSquare(
+						MGRSTables.columnLetter(zone, column),
+						MGRSTables.rowLetter(zone, row));
+				if (square != null) {
+					table[index(column, row)] = square;
+					squares.add(square);
+				}
+			}
+		}
+		this.squares = Collections.unmodifiableList(squares);
+	}
+
+	/**
+	 * Get the grid zone
+	 *
+	 * @return grid zone
+	 */
+	public GridZone getGridZone() {
+		return gridZone;
+	}
+
+	/**
+	 * Get the UTM projection the squares were computed with
+	 *
+	 * @return UTM projection
+	 */
+	public UTMProjection getProjection() {
+		return projection;
+	}
+
+	/**
+	 * Get the grid squares ordered by column and row
+	 *
+	 * @return unmodifiable grid squares
+	 */
+	public List<GridSquare> getSquares() {
+		return squares;
+	}
+
+	/**
+	 * Get the number of grid squares
+	 *
+	 * @return grid squares count
+	 */
+	public int size() {
+		return squares.size();
+	}
+
+	/**
+	 * Determine if the 100km column and row letters are a square within the
+	 * grid zone
+	 *
+	 * @param column
+	 *            column letter
+	 * @param row
+	 *            row letter
+	 * @return true if a grid zone square
+	 */
+	public boolean contains(char column, char row) {
+		return getSquare(column, row) != null;
+	}
+
+	/**
+	 * Get the grid square of the 100km column and row letters
+	 *
+	 * @param column
+	 *            column letter
+	 * @param row
+	 *            row letter
+	 * @return grid square or null if not within the grid zone
+	 */
+	public GridSquare getSquare(char column, char row) {
+		GridSquare square = null;
+		int zone = gridZone.getNumber();
+		int columnIndex = MGRSTables.columnIndex(zone, column);
+		int rowIndex = MGRSTables.rowIndex(zone, row);
+		if (columnIndex >= 0 && rowIndex >= 0) {
+			square = table[index(columnIndex, rowIndex)];
+		}
+		return square;
+	}
+
+	/**
+	 * Get the grid square containing the UTM easting and northing
+	 *
+	 * @param easting
+	 *            easting
+	 * @param northing
+	 *            northing
+	 * @return grid square or null if not within the grid zone
+	 */
+	public GridSquare getSquare(double easting, double northing) {
+		GridSquare square = null;
+		double squareEasting = Math.floor(easting / MGRSTables.SQUARE_SIZE);
+		double squareNorthing = Math
+				.floor(northing / MGRSTables.SQUARE_SIZE);
+		int column = (int) squareEasting - 1;
+		if (column >= 0 && column < MGRSTables.COLUMNS
+				&& squareNorthing >= 0) {
+			int row = (int) (squareNorthing % MGRSTables.ROWS);
+			square = table[index(column, row)];
+			if (square != null && square.getNorthing() != squareNorthing
+					* MGRSTables.SQUARE_SIZE) {
+				square = null;
+			}
+		}
+		return square;
+	}
+
+	/**
+	 * Get the table index of the column and row indices
+	 *
+	 * @param column
+	 *            column index
+	 * @param row
+	 *            row index
+	 * @return table index
+	 */
+	private static int index(int column, int row) {
+		return column * MGRSTables.ROWS + row;
+	}
+
+	/**
+	 * Create the grid square of the 100km column and row letters
+	 *
+	 * @param column
+	 *            column letter
+	 * @param row
+	 *            row letter
+	 * @return grid square or null if not within the grid zone
+	 */
+	private GridSquare createSquare(char column, char row) {
+
+		GridSquare square = null;
+
+		int zone = gridZone.getNumber();
+		char band = gridZone.getLetter();
+		Hemisphere hemisphere = gridZone.getHemisphere();
+		Bounds zoneBounds = gridZone.getBounds();
+
+		double precision = MGRSTables.SQUARE_SIZE;
+		double easting = MGRSTables.easting(zone, column, 0);
+		double northing = MGRSTables.northing(zone, band, row, 0);
+
+		Point southwest = UTM.point(zone, hemisphere, easting, northing);
+		Point northwest = UTM.point(zone, hemisphere, easting,
+				northing + precision);
+		Point southeast = UTM.point(zone, hemisphere, easting + precision,
+				northing);
+		Point northeast = UTM.point(zone, hemisphere, easting + precision,
+				northing + precision);
+
+		// Extents of the square edges clipped to the grid zone
+		double minLongitude = Math.max(
+				Math.min(southwest.getLongitude(), northwest.getLongitude()),
+				zoneBounds.getMinLongitude());
+		double maxLongitude = Math.min(
+				Math.max(southeast.getLongitude(), northeast.getLongitude()),
+				zoneBounds.getMaxLongitude());
+		double minLatitude = Math.max(
+				Math.min(southwest.getLatitude(), southeast.getLatitude()),
+				zoneBounds.getMinLatitude());
+		double maxLatitude = Math.min(
+				Math.max(northwest.getLatitude(), northeast.getLatitude()),
+				zoneBounds.getMaxLatitude());
+
+		if (minLongitude <= maxLongitude && minLatitude <= maxLatitude) {
+
+			Bounds bounds = Bounds.degrees(minLongitude, minLatitude,
+					maxLongitude, maxLatitude);
+			Bounds utmBounds = getUTMBounds(bounds, easting, northing);
+
+			// Label extents within the square edges and grid zone
+			Bounds labelBounds = null;
+			MGRS labelMGRS = null;
+			double minLabelLongitude = Math.max(
+					Math.max(southwest.getLongitude(),
+							northwest.getLongitude()),
+					zoneBounds.getMinLongitude());
+			double maxLabelLongitude = Math.min(
+					Math.min(southeast.getLongitude(),
+							northeast.getLongitude()),
+					zoneBounds.getMaxLongitude());
+			double minLabelLatitude = Math.max(
+					Math.max(southwest.getLatitude(), southeast.getLatitude()),
+					zoneBounds.getMinLatitude());
+			double maxLabelLatitude = Math.min(
+					Math.min(northwest.getLatitude(), northeast.getLatitude()),
+					zoneBounds.getMaxLatitude());
+			if (minLabelLongitude <= maxLabelLongitude
+					&& minLabelLatitude <= maxLabelLatitude) {
+				labelBounds = Bounds.degrees(minLabelLongitude,
+						minLabelLatitude, maxLabelLongitude, maxLabelLatitude);
+				labelMGRS = MGRS.from(labelBounds.getCentroid());
+			}
+
+			MGRS origin = getOrigin(column, row, southwest, southeast,
+					northwest, northeast);
+
+			List<GridLine> lines = new ArrayList<>();
+			gridZone.addLines(lines, easting, northing,
+					GridType.HUNDRED_KILOMETER);
+
+			square = new GridSquare(zone, band, column, row, easting,
+					northing, utmBounds, bounds, labelBounds, labelMGRS,
+					origin, Collections.unmodifiableList(lines));
+		}
+
+		return square;
+	}
+
+	/**
+	 * Get the UTM extents of the clipped square bounds, within the square
+	 *
+	 * @param bounds
+	 *            clipped square bounds in degrees
+	 * @param easting
+	 *            square western easting
+	 * @param northing
+	 *            square southern northing
+	 * @return UTM bounds in meters
+	 */
+	private Bounds getUTMBounds(Bounds bounds, double easting,
+			double northing) {
+
+		int zone = gridZone.getNumber();
+		Hemisphere hemisphere = gridZone.getHemisphere();
+
+		double minEasting = Double.MAX_VALUE;
+		double minNorthing = Double.MAX_VALUE;
+		double maxEasting = -Double.MAX_VALUE;
+		double maxNorthing = -Double.MAX_VALUE;
+		for (Point corner : new Point[] { bounds.getSouthwest(),
+				bounds.getNorthwest(), bounds.getSoutheast(),
+				bounds.getNortheast() }) {
+			UTM utm = UTM.from(corner, zone, hemisphere);
+			minEasting = Math.min(minEasting, utm.getEasting());
+			minNorthing = Math.min(minNorthing, utm.getNorthing());
+			maxEasting = Math.max(maxEasting, utm.getEasting());
+			maxNorthing = Math.max(maxNorthing, utm.getNorthing());
+		}
+
+		double precision = MGRSTables.SQUARE_SIZE;
+		minEasting = Math.min(Math.max(minEasting, easting),
+				easting + precision);
+		minNorthing = Math.min(Math.max(minNorthing, northing),
+				northing + precision);
+		maxEasting = Math.max(Math.min(maxEasting, easting + precision),
+				minEasting);
+		maxNorthing = Math.max(Math.min(maxNorthing, northing + precision),
+				minNorthing);
+
+		return Bounds.meters(minEasting, minNorthing, maxEasting,
+				maxNorthing);
+	}
+
+	/**
+	 * Get the southwestern most MGRS coordinate of the square within the grid
+	 * zone. Squares extending west or south of the grid zone are moved to the
+	 * grid zone bounds when the square edge crosses into the grid zone.
+	 *
+	 * @param column
+	 *            column letter
+	 * @param row
+	 *            row letter
+	 * @param southwest
+	 *            square southwest corner
+	 * @param southeast
+	 *            square southeast corner
+	 * @param northwest
+	 *            square northwest corner
+	 * @param northeast
+	 *            square northeast corner
+	 * @return origin MGRS
+	 */
+	private MGRS getOrigin(char column, char row, Point southwest,
+			Point southeast, Point northwest, Point northeast) {
+
+		MGRS origin = MGRS.create(gridZone.getNumber(), gridZone.getLetter(),
+				column, row, 0, 0);
+
+		Bounds gridBounds = gridZone.getBounds();
+		Point gridSouthwest = gridBounds.getSouthwest().toDegrees();
+
+		boolean westBounds = southwest.getLongitude() < gridSouthwest
+				.getLongitude();
+		boolean southBounds = southwest.getLatitude() < gridSouthwest
+				.getLatitude();
+
+		if (westBounds && southBounds) {
+			if (gridBounds.contains(northeast)) {
+				origin = MGRS.from(gridSouthwest);
+			}
+		} else if (westBounds) {
+			if (gridBounds.contains(southeast)) {
+				origin = MGRS.from(
+						getWesternBoundsPoint(southwest, southeast));
+			}
+		} else if (southBounds) {
+			if (gridBounds.contains(northwest)) {
+				origin = MGRS.from(
+						getSouthernBoundsPoint(southwest, northwest));
+			}
+		}
+
+		return origin;
+	}
+
+	/**
+	 * Get the point on the western grid zone bounds point between the western
+	 * and eastern points
+	 *
+	 * @param west
+	 *            western point
+	 * @param east
+	 *            eastern point
+	 * @return western grid bounds point
+	 */
+	private Point getWesternBoundsPoint(Point west, Point east) {
+
+		UTM eastUTM = UTM.from(east);
+		double northing = eastUTM.getNorthing();
+
+		int zoneNumber = gridZone.getNumber();
+		Hemisphere hemisphere = gridZone.getHemisphere();
+
+		Line line = Line.line(west, east);
+		Line boundsLine = gridZone.getBounds().getWestLine();
+
+		Point intersection = line.intersection(boundsLine);
+
+		// Intersection easting
+		UTM intersectionUTM = UTM.from(intersection, zoneNumber, hemisphere);
+		double intersectionEasting = intersectionUTM.getEasting();
+
+		// One meter precision just inside the bounds
+		double boundsEasting = Math.ceil(intersectionEasting);
+
+		// Higher precision point just inside of the bounds
+		Point boundsPoint = UTM.point(zoneNumber, hemisphere, boundsEasting,
+				northing);
+
+		boundsPoint.setLongitude(boundsLine.getPoint1().getLongitude());
+
+		return boundsPoint;
+	}
+
+	/**
+	 * Get the point on the southern grid zone bounds point between the southern
+	 * and northern points
+	 *
+	 * @param south
+	 *            southern point
+	 * @param north
+	 *            northern point
+	 * @return southern grid bounds point
+	 */
+	private Point getSouthernBoundsPoint(Point south, Point north) {
+
+		UTM northUTM = UTM.from(north);
+		double easting = northUTM.getEasting();
+
+		int zoneNumber = gridZone.getNumber();
+		Hemisphere hemisphere = gridZone.getHemisphere();
+
+		Line line = Line.line(south, north);
+		Line boundsLine = gridZone.getBounds().getSouthLine();
+
+		Point intersection = line.intersection(boundsLine);
+
+		// Intersection northing
+		UTM intersectionUTM = UTM.from(intersection, zoneNumber, hemisphere);
+		double intersectionNorthing = intersectionUTM.getNorthing();
+
+		// One meter precision just inside the bounds
+		double boundsNorthing = Math.ceil(intersectionNorthing);
+
+		// Higher precision point just inside of the bounds
+		Point boundsPoint = UTM.point(zoneNumber, hemisphere, easting,
+				boundsNorthing);
+
+		boundsPoint.setLatitude(boundsLine.getPoint1().getLatitude());
+
+		return boundsPoint;
+	}
+
+}
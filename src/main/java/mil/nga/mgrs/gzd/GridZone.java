@@ -35,6 +35,11 @@ public class GridZone {
 	 */
 	private Bounds bounds;
 
+	/**
+	 * Lazily created 100km grid squares catalog
+	 */
+	private volatile GridSquares squares;
+
 	/**
 	 * Constructor
 	 * 
@@ -138,6 +143,37 @@ public class GridZone {
 		return strip.getExpand();
 	}
 
+	/**
+	 * Get the catalog of 100km grid squares intersecting the grid zone,
+	 * created on first use and recreated when the UTM projection changes
+	 * 
+	 * @return grid squares
+	 * @since 2.1.4
+	 */
+	public GridSquares getSquares() {
+		GridSquares squares = this.squares;
+		if (squares == null
+				|| squares.getProjection() != UTM.getProjection()) {
+			squares = GridSquares.create(this);
+			this.squares = squares;
+		}
+		return squares;
+	}
+
+	/**
+	 * Get the 100km grid square of the column and row letters
+	 * 
+	 * @param column
+	 *            column letter
+	 * @param row
+	 *            row letter
+	 * @return grid square or null if not within the grid zone
+	 * @since 2.1.4
+	 */
+	public GridSquare getSquare(char column, char row) {
+		return getSquares().getSquare(column, row);
+	}
+
 	/**
 	 * Get the grid zone lines
 	 * 
@@ -177,50 +213,28 @@ public class GridZone {
 				lines = new ArrayList<>();
 
 				int precision = gridType.getPrecision();
-				int zoneNumber = getNumber();
-				Hemisphere hemisphere = getHemisphere();
-				double minLon = bounds.getMinLongitude();
-				double maxLon = bounds.getMaxLongitude();
+				GridSquares squares = null;
+				if (gridType == GridType.HUNDRED_KILOMETER) {
+					squares = getSquares();
+				}
 
 				for (double easting = drawBounds
 						.getMinLongitude(); easting < drawBounds
 								.getMaxLongitude(); easting += precision) {
 
-					GridType eastingPrecision = GridType.getPrecision(easting);
-
 					for (double northing = drawBounds
 							.getMinLatitude(); northing < drawBounds
 									.getMaxLatitude(); northing += precision) {
 
-						GridType northingPrecision = GridType
-								.getPrecision(northing);
-
-						Point southwest = UTM.point(zoneNumber, hemisphere,
-								easting, northing);
-						Point northwest = UTM.point(zoneNumber, hemisphere,
-								easting, northing + precision);
-						Point southeast = UTM.point(zoneNumber, hemisphere,
-								easting + precision, northing);
-
-						// For points outside the tile grid longitude bounds,
-						// get a bound just outside the bounds
-						if (precision > 1) {
-							if (southwest.getLongitude() < minLon) {
-								southwest = getWestBoundsPoint(easting,
-										northing, southwest, southeast);
-							} else if (southeast.getLongitude() > maxLon) {
-								southeast = getEastBoundsPoint(easting,
-										northing, southwest, southeast);
-							}
+						GridSquare square = null;
+						if (squares != null) {
+							square = squares.getSquare(easting, northing);
+						}
+						if (square != null) {
+							lines.addAll(square.getLines());
+						} else {
+							addLines(lines, easting, northing, gridType);
 						}
-
-						// Vertical line
-						lines.add(GridLine.line(southwest, northwest,
-								eastingPrecision));
-
-						// Horizontal line
-						lines.add(GridLine.line(southwest, southeast,
-								northingPrecision));
 
 					}
 				}
@@ -232,6 +246,57 @@ public class GridZone {
 		return lines;
 	}
 
+	/**
+	 * Add the vertical and horizontal grid lines of the grid cell with the
+	 * southwest easting and northing
+	 * 
+	 * @param lines
+	 *            lines to add to
+	 * @param easting
+	 *            easting value
+	 * @param northing
+	 *            northing value
+	 * @param gridType
+	 *            grid type
+	 */
+	void addLines(List<GridLine> lines, double easting, double northing,
+			GridType gridType) {
+
+		int precision = gridType.getPrecision();
+		int zoneNumber = getNumber();
+		Hemisphere hemisphere = getHemisphere();
+		double minLon = bounds.getMinLongitude();
+		double maxLon = bounds.getMaxLongitude();
+
+		GridType eastingPrecision = GridType.getPrecision(easting);
+		GridType northingPrecision = GridType.getPrecision(northing);
+
+		Point southwest = UTM.point(zoneNumber, hemisphere, easting, northing);
+		Point northwest = UTM.point(zoneNumber, hemisphere, easting,
+				northing + precision);
+		Point southeast = UTM.point(zoneNumber, hemisphere, easting + precision,
+				northing);
+
+		// For points outside the tile grid longitude bounds, get a bound just
+		// outside the bounds
+		if (precision > 1) {
+			if (southwest.getLongitude() < minLon) {
+				southwest = getWestBoundsPoint(easting, northing, southwest,
+						southeast);
+			} else if (southeast.getLongitude() > maxLon) {
+				southeast = getEastBoundsPoint(easting, northing, southwest,
+						southeast);
+			}
+		}
+
+		// Vertical line
+		lines.add(GridLine.line(southwest, northwest, eastingPrecision));
+
+		// Horizontal line
+		lines.add(GridLine.line(southwest, southeast, northingPrecision));
+
+	}
+
 	/**
 	 * Get a point west of the horizontal bounds at one meter precision
 	 * 
@@ -447,6 +447,21 @@ public class GridZones {
 				&& zoneNumber <= MGRSConstants.MAX_SVALBARD_ZONE_NUMBER;
 	}
 
+	/**
+	 * Is the zone number and band letter a Svalbard gap GZD that does not
+	 * exist (32X, 34X, and 36X)
+	 * 
+	 * @param zoneNumber
+	 *            zone number
+	 * @param bandLetter
+	 *            band letter
+	 * @return true if a Svalbard gap GZD
+	 * @since 2.1.4
+	 */
+	public static boolean isSvalbardGap(int zoneNumber, char bandLetter) {
+		return isSvalbard(zoneNumber, bandLetter) && zoneNumber % 2 == 0;
+	}
+
 	/**
 	 * Get the Svalbard longitudinal strip from the strip
 	 * 
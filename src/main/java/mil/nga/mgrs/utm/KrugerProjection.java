@@ -0,0 +1,415 @@
+package mil.nga.mgrs.utm;
+
+import mil.nga.grid.Hemisphere;
+
+/**
+ * High accuracy UTM transverse Mercator projection using the Krüger series
+ * expanded to sixth order in the third flattening n of the WGS84 ellipsoid,
+ * as described by C. F. F. Karney, "Transverse Mercator with an accuracy of a
+ * few nanometers", J. Geodesy 85(8), 475-485 (2011). Series are evaluated
+ * with Clenshaw summation in complex arithmetic and the inverse conformal
+ * latitude is solved with Newton's method. Accurate to well under a
+ * millimeter within the UTM zones. Results are not rounded by default.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class KrugerProjection extends UTMProjection {
+
+	/**
+	 * WGS84 semi-major axis
+	 */
+	public static final double SEMI_MAJOR_AXIS = 6378137.0;
+
+	/**
+	 * WGS84 flattening
+	 */
+	public static final double FLATTENING = 1 / 298.257223563;
+
+	/**
+	 * Third flattening
+	 */
+	private static final double N = FLATTENING / (2 - FLATTENING);
+
+	/**
+	 * Eccentricity squared
+	 */
+	private static final double E2 = FLATTENING * (2 - FLATTENING);
+
+	/**
+	 * Eccentricity
+	 */
+	private static final double E = Math.sqrt(E2);
+
+	/**
+	 * One minus the eccentricity squared
+	 */
+	private static final double E2M = 1 - E2;
+
+	/**
+	 * Scaled rectifying radius, meters per radian of the conformal sphere
+	 */
+	private static final double SCALED_RECTIFYING_RADIUS = SCALE
+			* SEMI_MAJOR_AXIS / (1 + N)
+			* (1 + N * N / 4 + Math.pow(N, 4) / 64 + Math.pow(N, 6) / 256);
+
+	/**
+	 * Forward series coefficients, index j for the sin(2jζ) term
+	 */
+	private static final double[] ALPHA = new double[7];
+
+	/**
+	 * Inverse series coefficients, index j for the sin(2jζ) term
+	 */
+	private static final double[] BETA = new double[7];
+
+	static {
+		double n = N;
+		double n2 = n * n;
+		double n3 = n2 * n;
+		double n4 = n3 * n;
+		double n5 = n4 * n;
+		double n6 = n5 * n;
+
+		ALPHA[1] = n / 2 - 2 * n2 / 3 + 5 * n3 / 16 + 41 * n4 / 180
+				- 127 * n5 / 288 + 7891 * n6 / 37800;
+		ALPHA[2] = 13 * n2 / 48 - 3 * n3 / 5 + 557 * n4 / 1440
+				+ 281 * n5 / 630 - 1983433 * n6 / 1935360;
+		ALPHA[3] = 61 * n3 / 240 - 103 * n4 / 140 + 15061 * n5 / 26880
+				+ 167603 * n6 / 181440;
+		ALPHA[4] = 49561 * n4 / 161280 - 179 * n5 / 168
+				+ 6601661 * n6 / 7257600;
+		ALPHA[5] = 34729 * n5 / 80640 - 3418889 * n6 / 1995840;
+		ALPHA[6] = 212378941 * n6 / 319334400;
+
+		BETA[1] = n / 2 - 2 * n2 / 3 + 37 * n3 / 96 - n4 / 360 - 81 * n5 / 512
+				+ 96199 * n6 / 604800;
+		BETA[2] = n2 / 48 + n3 / 15 - 437 * n4 / 1440 + 46 * n5 / 105
+				- 1118711 * n6 / 3870720;
+		BETA[3] = 17 * n3 / 480 - 37 * n4 / 840 - 209 * n5 / 4480
+				+ 5569 * n6 / 90720;
+		BETA[4] = 4397 * n4 / 161280 - 11 * n5 / 504 - 830251 * n6 / 7257600;
+		BETA[5] = 4583 * n5 / 161280 - 108847 * n6 / 3991680;
+		BETA[6] = 20648693 * n6 / 638668800;
+	}
+
+	/**
+	 * Maximum Newton iterations solving for the latitude
+	 */
+	private static final int MAX_ITERATIONS = 10;
+
+	/**
+	 * Newton iteration tolerance of the tangent of the latitude
+	 */
+	private static final double TOLERANCE = Math.sqrt(Math.ulp(1.0)) / 10;
+
+	/**
+	 * Constructor, not rounding results
+	 */
+	public KrugerProjection() {
+		this(false);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param round
+	 *            true to round easting and northing values to 0.01 meters and
+	 *            longitude and latitude values to 1e-7 degrees
+	 */
+	public KrugerProjection(boolean round) {
+		super(round);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public UTMProjection withRound(boolean round) {
+		return round == isRound() ? this : new KrugerProjection(round);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double easting(double longitude, double latitude, int zone) {
+		double eta = rectifying(longitude, latitude, zone, null, true);
+		return roundMeters(SCALED_RECTIFYING_RADIUS * eta + FALSE_EASTING);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double northing(double longitude, double latitude, int zone,
+			Hemisphere hemisphere) {
+		double xi = rectifying(longitude, latitude, zone, null, false);
+		double northing = SCALED_RECTIFYING_RADIUS * xi;
+		if (hemisphere == Hemisphere.SOUTH) {
+			northing += FALSE_NORTHING;
+		}
+		return roundMeters(northing);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double[] forward(double longitude, double latitude, int zone,
+			Hemisphere hemisphere, double[] eastingNorthing) {
+
+		rectifying(longitude, latitude, zone, eastingNorthing, false);
+		double xi = eastingNorthing[0];
+		double eta = eastingNorthing[1];
+
+		double easting = SCALED_RECTIFYING_RADIUS * eta + FALSE_EASTING;
+		double northing = SCALED_RECTIFYING_RADIUS * xi;
+		if (hemisphere == Hemisphere.SOUTH) {
+			northing += FALSE_NORTHING;
+		}
+
+		eastingNorthing[0] = roundMeters(easting);
+		eastingNorthing[1] = roundMeters(northing);
+
+		return eastingNorthing;
+	}
+
+	/**
+	 * Project the longitude and latitude to the rectifying sphere
+	 * coordinates ξ and η, without allocating when only one is requested
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param zone
+	 *            zone number
+	 * @param xiEta
+	 *            destination array populated with ξ at index 0 and η at
+	 *            index 1, or null
+	 * @param imaginary
+	 *            true to return η, false to return ξ
+	 * @return η if imaginary, ξ if not
+	 */
+	private static double rectifying(double longitude, double latitude,
+			int zone, double[] xiEta, boolean imaginary) {
+
+		double lon = Math.toRadians(longitude) - centralMeridian(zone);
+		double lat = Math.toRadians(latitude);
+
+		double sinLon = Math.sin(lon);
+		double cosLon = Math.cos(lon);
+
+		// Conformal latitude tangent
+		double sinLat = Math.sin(lat);
+		double sigma = sigma(sinLat);
+		double tauPrime = (sinLat * Math.sqrt(1 + sigma * sigma) - sigma)
+				/ Math.cos(lat);
+
+		// Gauss-Schreiber transverse Mercator on the conformal sphere
+		double xiPrime = Math.atan2(tauPrime, cosLon);
+		double etaPrime = asinh(
+				sinLon / Math.sqrt(tauPrime * tauPrime + cosLon * cosLon));
+
+		// Krüger series to the rectifying sphere
+		double sum = clenshaw(ALPHA, xiPrime, etaPrime, xiEta, imaginary);
+		if (xiEta != null) {
+			xiEta[0] += xiPrime;
+			xiEta[1] += etaPrime;
+		}
+
+		return imaginary ? etaPrime + sum : xiPrime + sum;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double longitude(int zone, Hemisphere hemisphere, double easting,
+			double northing) {
+		return inverse(zone, hemisphere, easting, northing,
+				new double[2])[0];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double latitude(int zone, Hemisphere hemisphere, double easting,
+			double northing) {
+		return inverse(zone, hemisphere, easting, northing,
+				new double[2])[1];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double[] inverse(int zone, Hemisphere hemisphere, double easting,
+			double northing, double[] coordinate) {
+
+		double north = northing;
+		if (hemisphere == Hemisphere.SOUTH) {
+			// Remove 10,000,000 meter offset used for southern hemisphere
+			north -= FALSE_NORTHING;
+		}
+
+		double xi = north / SCALED_RECTIFYING_RADIUS;
+		double eta = (easting - FALSE_EASTING) / SCALED_RECTIFYING_RADIUS;
+
+		// Inverse Krüger series to the conformal sphere
+		clenshaw(BETA, xi, eta, coordinate, false);
+		double xiPrime = xi - coordinate[0];
+		double etaPrime = eta - coordinate[1];
+
+		double sinhEtaPrime = sinh(etaPrime);
+		double cosXiPrime = Math.cos(xiPrime);
+
+		double tauPrime = Math.sin(xiPrime) / Math.sqrt(
+				sinhEtaPrime * sinhEtaPrime + cosXiPrime * cosXiPrime);
+		double lon = Math.atan2(sinhEtaPrime, cosXiPrime);
+
+		double lat = Math.atan(tau(tauPrime));
+
+		coordinate[0] = roundDegrees(
+				Math.toDegrees(lon + centralMeridian(zone)));
+		coordinate[1] = roundDegrees(Math.toDegrees(lat));
+
+		return coordinate;
+	}
+
+	/**
+	 * Evaluate the series sum of coefficient[j] * sin(2jζ) for j = 1 to 6 at
+	 * the complex value ζ = ξ + iη with Clenshaw summation
+	 *
+	 * @param coefficients
+	 *            series coefficients
+	 * @param xi
+	 *            real part ξ
+	 * @param eta
+	 *            imaginary part η
+	 * @param sum
+	 *            destination array populated with the real part at index 0
+	 *            and imaginary part at index 1, or null
+	 * @param imaginary
+	 *            true to return the imaginary part, false to return the real
+	 *            part
+	 * @return imaginary part if imaginary, real part if not
+	 */
+	private static double clenshaw(double[] coefficients, double xi,
+			double eta, double[] sum, boolean imaginary) {
+
+		double sin2Xi = Math.sin(2 * xi);
+		double cos2Xi = Math.cos(2 * xi);
+		double exp2Eta = Math.exp(2 * eta);
+		double inverseExp2Eta = 1 / exp2Eta;
+		double sinh2Eta = (exp2Eta - inverseExp2Eta) / 2;
+		double cosh2Eta = (exp2Eta + inverseExp2Eta) / 2;
+
+		// 2 cos(2ζ)
+		double ar = 2 * cos2Xi * cosh2Eta;
+		double ai = -2 * sin2Xi * sinh2Eta;
+
+		// b(j) = c(j) + 2 cos(2ζ) b(j+1) - b(j+2)
+		double b1r = 0;
+		double b1i = 0;
+		double b2r = 0;
+		double b2i = 0;
+		for (int j = coefficients.length - 1; j > 0; j--) {
+			double br = coefficients[j] + ar * b1r - ai * b1i - b2r;
+			double bi = ar * b1i + ai * b1r - b2i;
+			b2r = b1r;
+			b2i = b1i;
+			b1r = br;
+			b1i = bi;
+		}
+
+		// sin(2ζ) b(1)
+		double sr = sin2Xi * cosh2Eta;
+		double si = cos2Xi * sinh2Eta;
+		double real = sr * b1r - si * b1i;
+		double imag = sr * b1i + si * b1r;
+		if (sum != null) {
+			sum[0] = real;
+			sum[1] = imag;
+		}
+
+		return imaginary ? imag : real;
+	}
+
+	/**
+	 * Solve for the tangent of the geodetic latitude from the tangent of the
+	 * conformal latitude with Newton's method
+	 *
+	 * @param tauPrime
+	 *            tangent of the conformal latitude
+	 * @return tangent of the geodetic latitude
+	 */
+	private static double tau(double tauPrime) {
+		double tau = tauPrime / E2M;
+		for (int i = 0; i < MAX_ITERATIONS; i++) {
+			double tau1 = Math.sqrt(1 + tau * tau);
+			double sigma = sigma(tau / tau1);
+			double tauPrimeI = tau * Math.sqrt(1 + sigma * sigma)
+					- sigma * tau1;
+			double delta = (tauPrime - tauPrimeI)
+					/ Math.sqrt(1 + tauPrimeI * tauPrimeI)
+					* (1 + E2M * tau * tau) / (E2M * tau1);
+			tau += delta;
+			if (Math.abs(delta) < TOLERANCE * Math.max(1, Math.abs(tau))) {
+				break;
+			}
+		}
+		return tau;
+	}
+
+	/**
+	 * Evaluate sinh(e atanh(e sin(φ))), the conformal latitude correction
+	 *
+	 * @param sinLat
+	 *            sine of the latitude φ
+	 * @return conformal latitude correction
+	 */
+	private static double sigma(double sinLat) {
+		return sinh(E * atanh(E * sinLat));
+	}
+
+	/**
+	 * Hyperbolic sine, evaluated with a single intrinsic exponential. The
+	 * absolute error for the small values of the projection is on the order
+	 * of 1e-16.
+	 *
+	 * @param value
+	 *            value
+	 * @return hyperbolic sine
+	 */
+	private static double sinh(double value) {
+		double exp = Math.exp(value);
+		return (exp - 1 / exp) / 2;
+	}
+
+	/**
+	 * Inverse hyperbolic tangent, evaluated with a single intrinsic logarithm
+	 *
+	 * @param value
+	 *            value
+	 * @return inverse hyperbolic tangent
+	 */
+	private static double atanh(double value) {
+		return 0.5 * Math.log((1 + value) / (1 - value));
+	}
+
+	/**
+	 * Inverse hyperbolic sine, evaluated with a single intrinsic logarithm
+	 *
+	 * @param value
+	 *            value
+	 * @return inverse hyperbolic sine
+	 */
+	private static double asinh(double value) {
+		double abs = Math.abs(value);
+		return Math.copySign(Math.log(abs + Math.sqrt(1 + abs * abs)), value);
+	}
+
+}
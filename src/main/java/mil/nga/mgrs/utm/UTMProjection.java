@@ -0,0 +1,463 @@
+package mil.nga.mgrs.utm;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.mgrs.MGRSConstants;
+
+/**
+ * UTM transverse Mercator projection engine for forward (longitude and
+ * latitude to easting and northing) and inverse (easting and northing to
+ * longitude and latitude) conversions. Evaluates the closed form
+ * approximation historically used by {@link UTM} with hoisted constants,
+ * precomputed zone central meridians, and shared subexpressions, producing
+ * bit identical results. The inverse conversion evaluates the longitude and
+ * latitude together in a single pass. Subclasses may provide alternate
+ * transverse Mercator implementations, see {@link KrugerProjection}.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class UTMProjection {
+
+	/**
+	 * Scale factor along the central meridian
+	 */
+	public static final double SCALE = 0.9996;
+
+	/**
+	 * False easting
+	 */
+	public static final double FALSE_EASTING = 500000;
+
+	/**
+	 * False northing of the southern hemisphere
+	 */
+	public static final double FALSE_NORTHING = 10000000;
+
+	/**
+	 * Forward polar radius of curvature
+	 */
+	private static final double EASTING_RADIUS = 6399593.62;
+
+	/**
+	 * Polar radius of curvature
+	 */
+	private static final double RADIUS = 6399593.625;
+
+	/**
+	 * Scaled polar radius of curvature
+	 */
+	private static final double SCALED_RADIUS = SCALE * RADIUS;
+
+	/**
+	 * Meridian distance per radian
+	 */
+	private static final double MERIDIAN_RADIUS = 6366197.724;
+
+	/**
+	 * Forward second eccentricity squared
+	 */
+	private static final double EASTING_E2 = Math.pow(0.0820944379, 2);
+
+	/**
+	 * Second eccentricity squared
+	 */
+	private static final double E2 = 0.006739496742;
+
+	/**
+	 * Meridian arc coefficients
+	 */
+	private static final double A2 = 0.005054622556;
+	private static final double A4 = 4.258201531e-05;
+	private static final double A6 = 1.674057895e-07;
+
+	/**
+	 * Inverse meridian arc coefficients
+	 */
+	private static final double B2 = E2 * 3 / 4;
+	private static final double B4 = Math.pow(B2, 2) * 5 / 3;
+	private static final double B6 = Math.pow(B2, 3) * 35 / 27;
+
+	/**
+	 * Central meridians in radians, indexed by zone number
+	 */
+	private static final double[] CENTRAL_MERIDIANS = new double[MGRSConstants.MAX_ZONE_NUMBER
+			+ 1];
+
+	static {
+		for (int zone = MGRSConstants.MIN_ZONE_NUMBER; zone <= MGRSConstants.MAX_ZONE_NUMBER; zone++) {
+			CENTRAL_MERIDIANS[zone] = centralMeridianRadians(zone);
+		}
+	}
+
+	/**
+	 * Round easting and northing values to 0.01 meters and longitude and
+	 * latitude values to 1e-7 degrees
+	 */
+	private final boolean round;
+
+	/**
+	 * Constructor, rounding results
+	 */
+	public UTMProjection() {
+		this(true);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param round
+	 *            true to round easting and northing values to 0.01 meters and
+	 *            longitude and latitude values to 1e-7 degrees
+	 */
+	public UTMProjection(boolean round) {
+		this.round = round;
+	}
+
+	/**
+	 * Is the projection rounding results
+	 *
+	 * @return true if rounding
+	 */
+	public boolean isRound() {
+		return round;
+	}
+
+	/**
+	 * Get a projection of the same implementation with the rounding option.
+	 * Subclasses override to create instances of their own type.
+	 *
+	 * @param round
+	 *            true to round easting and northing values to 0.01 meters and
+	 *            longitude and latitude values to 1e-7 degrees
+	 * @return this projection if the rounding matches, otherwise a new
+	 *         projection
+	 */
+	public UTMProjection withRound(boolean round) {
+		return round == this.round ? this : new UTMProjection(round);
+	}
+
+	/**
+	 * Get the UTM easting of the longitude and latitude in degrees
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param zone
+	 *            zone number
+	 * @return easting
+	 */
+	public double easting(double longitude, double latitude, int zone) {
+
+		double lat = latitude * Math.PI / 180;
+		double cosLat = Math.cos(lat);
+		double sinLon = Math.sin(
+				longitude * Math.PI / 180 - centralMeridian(zone));
+
+		double b = cosLat * sinLon;
+		double eta = 0.5 * Math.log((1 + b) / (1 - b));
+
+		return roundMeters(eastingValue(eta, cosLat * cosLat));
+	}
+
+	/**
+	 * Get the UTM northing of the longitude and latitude in degrees
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param zone
+	 *            zone number
+	 * @param hemisphere
+	 *            hemisphere
+	 * @return northing
+	 */
+	public double northing(double longitude, double latitude, int zone,
+			Hemisphere hemisphere) {
+
+		double lat = latitude * Math.PI / 180;
+		double cosLat = Math.cos(lat);
+		double lon = longitude * Math.PI / 180 - centralMeridian(zone);
+
+		double b = cosLat * Math.sin(lon);
+		double eta = 0.5 * Math.log((1 + b) / (1 - b));
+
+		return roundMeters(northingValue(lat, lon, eta, cosLat * cosLat,
+				hemisphere));
+	}
+
+	/**
+	 * Convert a longitude and latitude in degrees to a UTM easting and
+	 * northing
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param zone
+	 *            zone number
+	 * @param hemisphere
+	 *            hemisphere
+	 * @param eastingNorthing
+	 *            destination array of at least length 2, populated with the
+	 *            easting at index 0 and northing at index 1
+	 * @return easting and northing array
+	 */
+	public double[] forward(double longitude, double latitude, int zone,
+			Hemisphere hemisphere, double[] eastingNorthing) {
+
+		double lat = latitude * Math.PI / 180;
+		double cosLat = Math.cos(lat);
+		double cosLat2 = cosLat * cosLat;
+		double lon = longitude * Math.PI / 180 - centralMeridian(zone);
+
+		double b = cosLat * Math.sin(lon);
+		double eta = 0.5 * Math.log((1 + b) / (1 - b));
+
+		eastingNorthing[0] = roundMeters(eastingValue(eta, cosLat2));
+		eastingNorthing[1] = roundMeters(
+				northingValue(lat, lon, eta, cosLat2, hemisphere));
+
+		return eastingNorthing;
+	}
+
+	/**
+	 * Get the longitude in degrees of the UTM attributes
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param hemisphere
+	 *            hemisphere
+	 * @param easting
+	 *            easting
+	 * @param northing
+	 *            northing
+	 * @return longitude in degrees
+	 */
+	public double longitude(int zone, Hemisphere hemisphere, double easting,
+			double northing) {
+		return inverse(zone, hemisphere, easting, northing, true, null);
+	}
+
+	/**
+	 * Get the latitude in degrees of the UTM attributes
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param hemisphere
+	 *            hemisphere
+	 * @param easting
+	 *            easting
+	 * @param northing
+	 *            northing
+	 * @return latitude in degrees
+	 */
+	public double latitude(int zone, Hemisphere hemisphere, double easting,
+			double northing) {
+		return inverse(zone, hemisphere, easting, northing, false, null);
+	}
+
+	/**
+	 * Convert the UTM attributes to a longitude and latitude in degrees
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param hemisphere
+	 *            hemisphere
+	 * @param easting
+	 *            easting
+	 * @param northing
+	 *            northing
+	 * @param coordinate
+	 *            destination array of at least length 2, populated with the
+	 *            longitude at index 0 and latitude at index 1
+	 * @return coordinate array
+	 */
+	public double[] inverse(int zone, Hemisphere hemisphere, double easting,
+			double northing, double[] coordinate) {
+		inverse(zone, hemisphere, easting, northing, false, coordinate);
+		return coordinate;
+	}
+
+	/**
+	 * Evaluate the inverse conversion
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param hemisphere
+	 *            hemisphere
+	 * @param easting
+	 *            easting
+	 * @param northing
+	 *            northing
+	 * @param longitudeOnly
+	 *            true to only evaluate and return the longitude
+	 * @param coordinate
+	 *            destination array for the longitude and latitude, or null
+	 * @return longitude if longitude only, otherwise the latitude
+	 */
+	private double inverse(int zone, Hemisphere hemisphere, double easting,
+			double northing, boolean longitudeOnly, double[] coordinate) {
+
+		double north = northing;
+		if (hemisphere == Hemisphere.SOUTH) {
+			// Remove 10,000,000 meter offset used for southern hemisphere
+			north -= FALSE_NORTHING;
+		}
+
+		// Footpoint latitude approximation
+		double n = north / MERIDIAN_RADIUS / SCALE;
+		double sinN = Math.sin(n);
+		double cosN = Math.cos(n);
+		double cosN2 = cosN * cosN;
+		double sin2N = Math.sin(2 * n);
+
+		double v = SCALED_RADIUS / Math.sqrt((1 + E2 * cosN2));
+		double x = (easting - FALSE_EASTING) / v;
+		double a = x * (1 - E2 * (x * x) / 2 * cosN2 / 3);
+		double sinh = (Math.exp(a) - Math.exp(-a)) / 2;
+
+		double j2 = n + sin2N / 2;
+		double j4Numerator = 3 * j2 + sin2N * cosN2;
+		double j6Numerator = 5 * j4Numerator / 4 + sin2N * cosN2 * cosN2;
+		double meridian = n - B2 * j2 + B4 * j4Numerator / 4
+				- B6 * j6Numerator / 3;
+
+		double q = (north - SCALED_RADIUS * meridian) / v
+				* (1 - E2 * (x * x) / 2 * cosN2) + n;
+		double tanLon = sinh / Math.cos(q);
+
+		double longitude = Math.atan(tanLon) * 180 / Math.PI + zone * 6 - 183;
+		longitude = roundDegrees(longitude);
+
+		double latitude = longitude;
+		if (!longitudeOnly) {
+
+			double g = Math.atan(Math.cos(Math.atan(tanLon)) * Math.tan(q))
+					- n;
+
+			latitude = (n + (1 + E2 * cosN2 - E2 * sinN * cosN * g * 3 / 2)
+					* g) * 180 / Math.PI;
+			latitude = roundDegrees(latitude);
+
+			if (coordinate != null) {
+				coordinate[0] = longitude;
+				coordinate[1] = latitude;
+			}
+		}
+
+		return latitude;
+	}
+
+	/**
+	 * Get the central meridian in radians of the zone
+	 *
+	 * @param zone
+	 *            zone number
+	 * @return central meridian in radians
+	 */
+	public static double centralMeridian(int zone) {
+		double centralMeridian;
+		if (zone >= MGRSConstants.MIN_ZONE_NUMBER
+				&& zone <= MGRSConstants.MAX_ZONE_NUMBER) {
+			centralMeridian = CENTRAL_MERIDIANS[zone];
+		} else {
+			centralMeridian = centralMeridianRadians(zone);
+		}
+		return centralMeridian;
+	}
+
+	/**
+	 * Calculate the central meridian in radians of the zone
+	 *
+	 * @param zone
+	 *            zone number
+	 * @return central meridian in radians
+	 */
+	private static double centralMeridianRadians(int zone) {
+		return (6 * zone - 183) * Math.PI / 180;
+	}
+
+	/**
+	 * Evaluate the unrounded easting
+	 *
+	 * @param eta
+	 *            inverse hyperbolic tangent of the longitude offset
+	 * @param cosLat2
+	 *            squared cosine of the latitude
+	 * @return easting
+	 */
+	private static double eastingValue(double eta, double cosLat2) {
+		return eta * SCALE * EASTING_RADIUS
+				/ Math.pow((1 + EASTING_E2 * cosLat2), 0.5)
+				* (1 + EASTING_E2 / 2 * (eta * eta) * cosLat2 / 3)
+				+ FALSE_EASTING;
+	}
+
+	/**
+	 * Evaluate the unrounded northing
+	 *
+	 * @param lat
+	 *            latitude in radians
+	 * @param lon
+	 *            longitude offset from the central meridian in radians
+	 * @param eta
+	 *            inverse hyperbolic tangent of the longitude offset
+	 * @param cosLat2
+	 *            squared cosine of the latitude
+	 * @param hemisphere
+	 *            hemisphere
+	 * @return northing
+	 */
+	private static double northingValue(double lat, double lon, double eta,
+			double cosLat2, Hemisphere hemisphere) {
+
+		double sin2Lat = Math.sin(2 * lat);
+		double j2 = lat + sin2Lat / 2;
+		double j4Numerator = 3 * j2 + sin2Lat * cosLat2;
+
+		double northing = (Math.atan(Math.tan(lat) / Math.cos(lon)) - lat)
+				* SCALE * RADIUS / Math.sqrt(1 + E2 * cosLat2)
+				* (1 + E2 / 2 * (eta * eta) * cosLat2)
+				+ SCALED_RADIUS * (lat - A2 * j2 + A4 * j4Numerator / 4
+						- A6 * (5 * j4Numerator / 4
+								+ sin2Lat * cosLat2 * cosLat2) / 3);
+
+		if (hemisphere == Hemisphere.SOUTH) {
+			northing = northing + FALSE_NORTHING;
+		}
+
+		return northing;
+	}
+
+	/**
+	 * Round the meters value to 0.01 meters when rounding
+	 *
+	 * @param value
+	 *            meters value
+	 * @return rounded meters value
+	 */
+	protected double roundMeters(double value) {
+		if (round) {
+			value = Math.round(value * 100) * 0.01;
+		}
+		return value;
+	}
+
+	/**
+	 * Round the degrees value to 1e-7 degrees when rounding
+	 *
+	 * @param value
+	 *            degrees value
+	 * @return rounded degrees value
+	 */
+	protected double roundDegrees(double value) {
+		if (round) {
+			value = Math.round(value * 10000000);
+			value = value / 10000000;
+		}
+		return value;
+	}
+
+}
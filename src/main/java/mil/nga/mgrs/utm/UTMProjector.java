@@ -0,0 +1,433 @@
+package mil.nga.mgrs.utm;
+
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.mgrs.MGRSUtils;
+
+/**
+ * UTM projector bound to a single zone number and hemisphere, for projecting
+ * entire datasets into one consistent planar frame, including coordinates
+ * outside of the zone. Projects single coordinates, parallel coordinate
+ * arrays, interleaved coordinate arrays, and interleaved {@link DoubleBuffer}
+ * coordinates in both directions without creating per coordinate objects.
+ * Results match {@link UTM#from(mil.nga.grid.features.Point, int, Hemisphere)}
+ * when rounding with the same projection engine. Without rounding, eastings
+ * and northings are continuous for planar distance and area calculations.
+ *
+ * @author osbornb
+ * @since 2.1.4
+ */
+public class UTMProjector {
+
+	/**
+	 * Zone number
+	 */
+	private final int zone;
+
+	/**
+	 * Hemisphere
+	 */
+	private final Hemisphere hemisphere;
+
+	/**
+	 * Projection engine
+	 */
+	private final UTMProjection projection;
+
+	/**
+	 * Central meridian in degrees
+	 */
+	private final double centralMeridian;
+
+	/**
+	 * Constructor, using the current {@link UTM#getProjection()}
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param hemisphere
+	 *            hemisphere
+	 */
+	public UTMProjector(int zone, Hemisphere hemisphere) {
+		this(zone, hemisphere, UTM.getProjection());
+	}
+
+	/**
+	 * Constructor, using the current {@link UTM#getProjection()} with the
+	 * rounding option
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param hemisphere
+	 *            hemisphere
+	 * @param round
+	 *            true to round easting and northing values to 0.01 meters and
+	 *            longitude and latitude values to 1e-7 degrees
+	 */
+	public UTMProjector(int zone, Hemisphere hemisphere, boolean round) {
+		this(zone, hemisphere, UTM.getProjection().withRound(round));
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param zone
+	 *            zone number
+	 * @param hemisphere
+	 *            hemisphere
+	 * @param projection
+	 *            projection engine
+	 */
+	public UTMProjector(int zone, Hemisphere hemisphere,
+			UTMProjection projection) {
+		MGRSUtils.validateZoneNumber(zone);
+		if (hemisphere == null) {
+			throw new IllegalArgumentException("Hemisphere is required");
+		}
+		this.zone = zone;
+		this.hemisphere = hemisphere;
+		this.projection = projection;
+		this.centralMeridian = Math
+				.toDegrees(UTMProjection.centralMeridian(zone));
+	}
+
+	/**
+	 * Get the zone number
+	 *
+	 * @return zone number
+	 */
+	public int getZone() {
+		return zone;
+	}
+
+	/**
+	 * Get the hemisphere
+	 *
+	 * @return hemisphere
+	 */
+	public Hemisphere getHemisphere() {
+		return hemisphere;
+	}
+
+	/**
+	 * Get the projection engine
+	 *
+	 * @return projection
+	 */
+	public UTMProjection getProjection() {
+		return projection;
+	}
+
+	/**
+	 * Is the projector rounding results
+	 *
+	 * @return true if rounding
+	 */
+	public boolean isRound() {
+		return projection.isRound();
+	}
+
+	/**
+	 * Get the central meridian of the zone
+	 *
+	 * @return central meridian in degrees
+	 */
+	public double getCentralMeridian() {
+		return centralMeridian;
+	}
+
+	/**
+	 * Project a longitude and latitude in degrees to a UTM easting and
+	 * northing
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param eastingNorthing
+	 *            destination array of at least length 2, populated with the
+	 *            easting at index 0 and northing at index 1
+	 * @return easting and northing array
+	 */
+	public double[] forward(double longitude, double latitude,
+			double[] eastingNorthing) {
+		return projection.forward(longitude, latitude, zone, hemisphere,
+				eastingNorthing);
+	}
+
+	/**
+	 * Project the longitude and latitude arrays to the easting and northing
+	 * arrays at the same indices
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param eastings
+	 *            eastings to populate, may be the longitudes array
+	 * @param northings
+	 *            northings to populate, may be the latitudes array
+	 */
+	public void forward(double[] longitudes, double[] latitudes,
+			double[] eastings, double[] northings) {
+		forward(longitudes, latitudes, 0, longitudes.length, eastings,
+				northings);
+	}
+
+	/**
+	 * Project a range of the longitude and latitude arrays to the easting and
+	 * northing arrays at the same indices
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param offset
+	 *            first coordinate index
+	 * @param length
+	 *            number of coordinates
+	 * @param eastings
+	 *            eastings to populate, may be the longitudes array
+	 * @param northings
+	 *            northings to populate, may be the latitudes array
+	 */
+	public void forward(double[] longitudes, double[] latitudes, int offset,
+			int length, double[] eastings, double[] northings) {
+		double[] eastingNorthing = new double[2];
+		for (int i = offset; i < offset + length; i++) {
+			projection.forward(longitudes[i], latitudes[i], zone, hemisphere,
+					eastingNorthing);
+			eastings[i] = eastingNorthing[0];
+			northings[i] = eastingNorthing[1];
+		}
+	}
+
+	/**
+	 * Project interleaved longitude and latitude pairs to interleaved easting
+	 * and northing pairs
+	 *
+	 * @param coordinates
+	 *            interleaved longitudes and latitudes in degrees
+	 * @param coordinatesOffset
+	 *            index of the first longitude
+	 * @param projected
+	 *            interleaved eastings and northings to populate, may be the
+	 *            coordinates array when the projected offset is not after
+	 *            the coordinates offset or the ranges do not overlap
+	 * @param projectedOffset
+	 *            index of the first easting
+	 * @param count
+	 *            number of coordinate pairs
+	 * @throws IllegalArgumentException
+	 *             if the projected range overlaps the coordinates range
+	 *             after the coordinates offset
+	 */
+	public void forward(double[] coordinates, int coordinatesOffset,
+			double[] projected, int projectedOffset, int count) {
+		validateOverlap(coordinates, coordinatesOffset, projected,
+				projectedOffset, count);
+		double[] eastingNorthing = new double[2];
+		for (int i = 0; i < count; i++) {
+			int source = coordinatesOffset + 2 * i;
+			int destination = projectedOffset + 2 * i;
+			projection.forward(coordinates[source], coordinates[source + 1],
+					zone, hemisphere, eastingNorthing);
+			projected[destination] = eastingNorthing[0];
+			projected[destination + 1] = eastingNorthing[1];
+		}
+	}
+
+	/**
+	 * Project the interleaved longitude and latitude pairs remaining in the
+	 * source buffer to interleaved easting and northing pairs in the
+	 * destination buffer, advancing the positions of both buffers
+	 *
+	 * @param coordinates
+	 *            interleaved longitudes and latitudes in degrees
+	 * @param projected
+	 *            destination buffer for interleaved eastings and northings
+	 * @return number of coordinate pairs projected
+	 * @throws BufferOverflowException
+	 *             if the destination buffer does not have enough remaining
+	 *             space
+	 */
+	public int forward(DoubleBuffer coordinates, DoubleBuffer projected) {
+		int count = coordinates.remaining() / 2;
+		if (projected.remaining() < 2 * count) {
+			throw new BufferOverflowException();
+		}
+		double[] eastingNorthing = new double[2];
+		for (int i = 0; i < count; i++) {
+			double longitude = coordinates.get();
+			double latitude = coordinates.get();
+			projection.forward(longitude, latitude, zone, hemisphere,
+					eastingNorthing);
+			projected.put(eastingNorthing[0]);
+			projected.put(eastingNorthing[1]);
+		}
+		return count;
+	}
+
+	/**
+	 * Unproject a UTM easting and northing to a longitude and latitude in
+	 * degrees
+	 *
+	 * @param easting
+	 *            easting
+	 * @param northing
+	 *            northing
+	 * @param coordinate
+	 *            destination array of at least length 2, populated with the
+	 *            longitude at index 0 and latitude at index 1
+	 * @return coordinate array
+	 */
+	public double[] inverse(double easting, double northing,
+			double[] coordinate) {
+		return projection.inverse(zone, hemisphere, easting, northing,
+				coordinate);
+	}
+
+	/**
+	 * Unproject the easting and northing arrays to the longitude and latitude
+	 * arrays at the same indices
+	 *
+	 * @param eastings
+	 *            eastings
+	 * @param northings
+	 *            northings
+	 * @param longitudes
+	 *            longitudes in degrees to populate, may be the eastings array
+	 * @param latitudes
+	 *            latitudes in degrees to populate, may be the northings array
+	 */
+	public void inverse(double[] eastings, double[] northings,
+			double[] longitudes, double[] latitudes) {
+		inverse(eastings, northings, 0, eastings.length, longitudes,
+				latitudes);
+	}
+
+	/**
+	 * Unproject a range of the easting and northing arrays to the longitude
+	 * and latitude arrays at the same indices
+	 *
+	 * @param eastings
+	 *            eastings
+	 * @param northings
+	 *            northings
+	 * @param offset
+	 *            first coordinate index
+	 * @param length
+	 *            number of coordinates
+	 * @param longitudes
+	 *            longitudes in degrees to populate, may be the eastings array
+	 * @param latitudes
+	 *            latitudes in degrees to populate, may be the northings array
+	 */
+	public void inverse(double[] eastings, double[] northings, int offset,
+			int length, double[] longitudes, double[] latitudes) {
+		double[] coordinate = new double[2];
+		for (int i = offset; i < offset + length; i++) {
+			projection.inverse(zone, hemisphere, eastings[i], northings[i],
+					coordinate);
+			longitudes[i] = coordinate[0];
+			latitudes[i] = coordinate[1];
+		}
+	}
+
+	/**
+	 * Unproject interleaved easting and northing pairs to interleaved
+	 * longitude and latitude pairs
+	 *
+	 * @param projected
+	 *            interleaved eastings and northings
+	 * @param projectedOffset
+	 *            index of the first easting
+	 * @param coordinates
+	 *            interleaved longitudes and latitudes in degrees to populate,
+	 *            may be the projected array when the coordinates offset is
+	 *            not after the projected offset or the ranges do not overlap
+	 * @param coordinatesOffset
+	 *            index of the first longitude
+	 * @param count
+	 *            number of coordinate pairs
+	 * @throws IllegalArgumentException
+	 *             if the coordinates range overlaps the projected range after
+	 *             the projected offset
+	 */
+	public void inverse(double[] projected, int projectedOffset,
+			double[] coordinates, int coordinatesOffset, int count) {
+		validateOverlap(projected, projectedOffset, coordinates,
+				coordinatesOffset, count);
+		double[] coordinate = new double[2];
+		for (int i = 0; i < count; i++) {
+			int source = projectedOffset + 2 * i;
+			int destination = coordinatesOffset + 2 * i;
+			projection.inverse(zone, hemisphere, projected[source],
+					projected[source + 1], coordinate);
+			coordinates[destination] = coordinate[0];
+			coordinates[destination + 1] = coordinate[1];
+		}
+	}
+
+	/**
+	 * Unproject the interleaved easting and northing pairs remaining in the
+	 * source buffer to interleaved longitude and latitude pairs in the
+	 * destination buffer, advancing the positions of both buffers
+	 *
+	 * @param projected
+	 *            interleaved eastings and northings
+	 * @param coordinates
+	 *            destination buffer for interleaved longitudes and latitudes
+	 *            in degrees
+	 * @return number of coordinate pairs unprojected
+	 * @throws BufferOverflowException
+	 *             if the destination buffer does not have enough remaining
+	 *             space
+	 */
+	public int inverse(DoubleBuffer projected, DoubleBuffer coordinates) {
+		int count = projected.remaining() / 2;
+		if (coordinates.remaining() < 2 * count) {
+			throw new BufferOverflowException();
+		}
+		double[] coordinate = new double[2];
+		for (int i = 0; i < count; i++) {
+			double easting = projected.get();
+			double northing = projected.get();
+			projection.inverse(zone, hemisphere, easting, northing,
+					coordinate);
+			coordinates.put(coordinate[0]);
+			coordinates.put(coordinate[1]);
+		}
+		return count;
+	}
+
+	/**
+	 * Validate the interleaved destination range does not overlap the source
+	 * range after the source offset, where destination pairs would overwrite
+	 * source pairs before they are read
+	 *
+	 * @param source
+	 *            interleaved source values
+	 * @param sourceOffset
+	 *            index of the first source value
+	 * @param destination
+	 *            interleaved destination values
+	 * @param destinationOffset
+	 *            index of the first destination value
+	 * @param count
+	 *            number of pairs
+	 */
+	private static void validateOverlap(double[] source, int sourceOffset,
+			double[] destination, int destinationOffset, int count) {
+		if (source == destination && destinationOffset > sourceOffset
+				&& destinationOffset < sourceOffset + 2L * count) {
+			throw new IllegalArgumentException(
+					"In place destination range overlaps after the source "
+							+ "offset. source offset: " + sourceOffset
+							+ ", destination offset: " + destinationOffset
+							+ ", count: " + count);
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+package mil.nga.mgrs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.cell.CellKey;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * MGRS Converter Test
+ *
+ * @author osbornb
+ */
+public class MGRSConverterTest {
+
+	/**
+	 * Test tracks crossing 100km square, band, zone, Norway, Svalbard, and
+	 * antimeridian boundaries against direct conversions
+	 */
+	@Test
+	public void testTracks() {
+
+		Random random = new Random(67);
+		MGRSConverter converter = new MGRSConverter();
+		double[][] starts = { { -77.0, 38.9 }, { 5.9, 55.9 }, { 2.9, 60.0 },
+				{ 8.9, 72.0 }, { 179.9, -10.0 }, { 0.0, 0.05 },
+				{ 20.0, 83.9 }, { -60.0, -79.9 } };
+
+		for (double[] start : starts) {
+			double longitude = start[0];
+			double latitude = start[1];
+			for (int i = 0; i < 5000; i++) {
+				longitude += 0.001 * (2 * random.nextDouble() - 0.8);
+				latitude += 0.001 * (2 * random.nextDouble() - 1);
+				assertConversion(converter, longitude, latitude);
+			}
+			// Exact boundaries
+			assertConversion(converter, Math.rint(longitude),
+					8.0 * Math.rint(latitude / 8.0));
+		}
+
+		// Jumps between unrelated locations
+		for (int i = 0; i < 5000; i++) {
+			assertConversion(converter, -180.0 + 360.0 * random.nextDouble(),
+					-90.0 + 180.0 * random.nextDouble());
+		}
+
+		assertEquals(MGRS.from(new Point(10.0, 50.0)),
+				converter.convert(new Point(10.0, 50.0)));
+		converter.reset();
+		assertEquals(0, converter.getZone());
+		assertEquals(MGRS.from(10.0, 50.0), converter.convert(10.0, 50.0));
+
+	}
+
+	/**
+	 * Test zone hysteresis along a zone boundary
+	 */
+	@Test
+	public void testZoneHysteresis() {
+
+		MGRSConverter converter = new MGRSConverter(0.5);
+		assertEquals(0.5, converter.getZoneHysteresis(), 0.0);
+
+		// Eastward from zone 31 into zone 32 at 6 degrees
+		assertEquals(31, converter.convert(5.9, 45.0).getZone());
+		assertKept(converter, 6.2, 45.0, 31);
+		assertKept(converter, 6.45, 45.1, 31);
+		assertEquals(32, converter.convert(6.6, 45.0).getZone());
+
+		// Westward back into zone 31
+		assertKept(converter, 5.8, 45.0, 32);
+		assertKept(converter, 5.6, 44.9, 32);
+		assertEquals(31, converter.convert(5.4, 45.0).getZone());
+
+		// Band changes keep the zone number
+		assertKept(converter, 6.1, 48.1, 31);
+		assertEquals('U', converter.getBand());
+
+		// Across the antimeridian
+		converter.reset();
+		assertEquals(60, converter.convert(179.9, 10.0).getZone());
+		assertKept(converter, -179.7, 10.0, 60);
+		assertEquals(1, converter.convert(-179.4, 10.0).getZone());
+		assertKept(converter, 179.8, 10.0, 1);
+
+		// Jumps change zones
+		assertEquals(18, converter.convert(-77.0, 38.9).getZone());
+
+		try {
+			converter.setZoneHysteresis(-1.0);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+	}
+
+	/**
+	 * Assert the converter conversions match direct conversions
+	 *
+	 * @param converter
+	 *            converter
+	 * @param longitude
+	 *            longitude
+	 * @param latitude
+	 *            latitude
+	 */
+	private static void assertConversion(MGRSConverter converter,
+			double longitude, double latitude) {
+		MGRS mgrs = MGRS.from(longitude, latitude);
+		assertEquals(mgrs, converter.convert(longitude, latitude));
+		assertEquals(mgrs.getZone(), converter.getZone());
+		assertEquals(mgrs.getBand(), converter.getBand());
+		assertEquals(CellKey.encode(longitude, latitude, GridType.METER),
+				converter.encode(longitude, latitude, GridType.METER));
+	}
+
+	/**
+	 * Assert the converter keeps the zone number and the MGRS converts back
+	 * to the coordinate
+	 *
+	 * @param converter
+	 *            converter
+	 * @param longitude
+	 *            longitude
+	 * @param latitude
+	 *            latitude
+	 * @param zone
+	 *            expected zone number
+	 */
+	private static void assertKept(MGRSConverter converter, double longitude,
+			double latitude, int zone) {
+		MGRS mgrs = converter.convert(longitude, latitude);
+		assertEquals(zone, mgrs.getZone());
+		assertTrue(zone != MGRS.from(longitude, latitude).getZone());
+		Point point = mgrs.toPoint();
+		assertEquals(longitude,
+				MGRSUtils.normalizeLongitude(point.getLongitude()), 0.0001);
+		assertEquals(latitude, point.getLatitude(), 0.0001);
+	}
+
+}
@@ -7,14 +7,25 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.junit.Test;
 
+import mil.nga.grid.Hemisphere;
 import mil.nga.grid.features.Point;
 import mil.nga.mgrs.grid.GridType;
 import mil.nga.mgrs.gzd.GridRange;
+import mil.nga.mgrs.gzd.BandLetterRangeTest;
 import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
 import mil.nga.mgrs.utm.UTM;
 import mil.nga.sf.util.GeometryConstants;
 
@@ -576,6 +587,483 @@ public class MGRSTest {
 
 	}
 
+	/**
+	 * Test converting arrays of coordinates
+	 */
+	@Test
+	public void testArrays() {
+
+		int count = 0;
+		for (double longitude = -200.0; longitude <= 200.0; longitude += 4.7) {
+			for (double latitude = -90.0; latitude <= 90.0; latitude += 2.9) {
+				count++;
+			}
+		}
+
+		double[] longitudes = new double[count];
+		double[] latitudes = new double[count];
+		int index = 0;
+		for (double longitude = -200.0; longitude <= 200.0; longitude += 4.7) {
+			for (double latitude = -90.0; latitude <= 90.0; latitude += 2.9) {
+				longitudes[index] = longitude;
+				latitudes[index] = latitude;
+				index++;
+			}
+		}
+
+		int[] zones = new int[count];
+		char[] bands = new char[count];
+		char[] columns = new char[count];
+		char[] rows = new char[count];
+		long[] eastings = new long[count];
+		long[] northings = new long[count];
+
+		MGRS.from(longitudes, latitudes, zones, bands, columns, rows, eastings,
+				northings);
+
+		for (int i = 0; i < count; i++) {
+			MGRS mgrs = MGRS.from(Point.degrees(longitudes[i], latitudes[i]));
+			assertEquals(mgrs.getZone(), zones[i]);
+			assertEquals(mgrs.getBand(), bands[i]);
+			assertEquals(mgrs.getColumn(), columns[i]);
+			assertEquals(mgrs.getRow(), rows[i]);
+			assertEquals(mgrs.getEasting(), eastings[i]);
+			assertEquals(mgrs.getNorthing(), northings[i]);
+		}
+
+		int offset = count / 3;
+		int length = count / 4;
+		long[] rangeEastings = new long[count];
+		MGRS.from(longitudes, latitudes, offset, length, null, null, null,
+				null, rangeEastings, null);
+		for (int i = 0; i < count; i++) {
+			if (i >= offset && i < offset + length) {
+				assertEquals(eastings[i], rangeEastings[i]);
+			} else {
+				assertEquals(0, rangeEastings[i]);
+			}
+		}
+
+		try {
+			MGRS.from(longitudes, latitudes, offset, count, null, null, null,
+					null, null, null);
+			fail("Expected index out of bounds exception");
+		} catch (IndexOutOfBoundsException e) {
+		}
+
+	}
+
+	/**
+	 * Test parsing MGRS values from character and byte ranges
+	 * 
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	@Test
+	public void testParseRanges() throws ParseException {
+
+		String[] values = new String[] { "33XVG74594359",
+				"33X VG 74596 43594", "33x", "32VJN", "4QFJ1234056781" };
+
+		for (String value : values) {
+
+			MGRS expected = MGRS.parse(value);
+
+			String message = "<mgrs>" + value + "</mgrs>,32X";
+			int start = message.indexOf('>') + 1;
+			int end = message.indexOf('<', start);
+			int length = end - start;
+			int invalidStart = message.indexOf(',') + 1;
+			int invalidLength = message.length() - invalidStart;
+
+			assertTrue(MGRS.isMGRS(message, start, end));
+			assertFalse(MGRS.isMGRS(message, invalidStart, message.length()));
+			assertMGRS(expected, MGRS.parse(message, start, end));
+			assertMGRS(expected,
+					MGRS.parse(new StringBuilder(message), start, end));
+
+			char[] chars = message.toCharArray();
+			assertTrue(MGRS.isMGRS(chars, start, length));
+			assertFalse(MGRS.isMGRS(chars, invalidStart, invalidLength));
+			assertMGRS(expected, MGRS.parse(chars, start, length));
+
+			byte[] bytes = message.getBytes(StandardCharsets.US_ASCII);
+			assertTrue(MGRS.isMGRS(bytes, start, length));
+			assertFalse(MGRS.isMGRS(bytes, invalidStart, invalidLength));
+			assertMGRS(expected, MGRS.parse(bytes, start, length));
+
+			ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+			buffer.put(bytes);
+			buffer.flip();
+			assertTrue(MGRS.isMGRS(buffer, start, length));
+			assertFalse(MGRS.isMGRS(buffer, invalidStart, invalidLength));
+			assertMGRS(expected, MGRS.parse(buffer, start, length));
+			assertEquals(0, buffer.position());
+			assertEquals(bytes.length, buffer.limit());
+
+			try {
+				MGRS.parse(bytes, invalidStart, invalidLength);
+				fail("Expected parse exception");
+			} catch (ParseException e) {
+			}
+
+		}
+
+		try {
+			MGRS.parse("33XVG", 2, 6);
+			fail("Expected index out of bounds exception");
+		} catch (IndexOutOfBoundsException e) {
+		}
+
+	}
+
+	/**
+	 * Test parsing without exceptions and the reported parse status
+	 * 
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	@Test
+	public void testTryParse() throws ParseException {
+
+		MGRSParseResult result = new MGRSParseResult();
+		assertNull(result.getStatus());
+
+		String[] values = new String[] { "", " ", "X", "333X", "61C", "0C",
+				"33", "33Y", "33I", "32X", "34x", "36XVG", "33XV", "33XIG",
+				"33XAG", "33X1G", "33XVG123", "33XVG1a", "33XVG12345678901",
+				"33XVG745974359", "33XVG74594359", "33X VG 74596 43594",
+				"33x", "32VJN", "4QFJ1234056781", "44MFU28361488",
+				"61N", "1CJA" };
+		ParseStatus[] statuses = new ParseStatus[] {
+				ParseStatus.INVALID_FORMAT, ParseStatus.INVALID_FORMAT,
+				ParseStatus.INVALID_ZONE, ParseStatus.INVALID_ZONE,
+				ParseStatus.INVALID_ZONE, ParseStatus.INVALID_ZONE,
+				ParseStatus.INVALID_BAND, ParseStatus.INVALID_BAND,
+				ParseStatus.INVALID_BAND, ParseStatus.SVALBARD_GAP,
+				ParseStatus.SVALBARD_GAP, ParseStatus.SVALBARD_GAP,
+				ParseStatus.INVALID_100K_SQUARE,
+				ParseStatus.INVALID_100K_SQUARE,
+				ParseStatus.INVALID_100K_SQUARE,
+				ParseStatus.INVALID_100K_SQUARE, ParseStatus.ODD_DIGIT_COUNT,
+				ParseStatus.INVALID_DIGITS, ParseStatus.INVALID_DIGITS,
+				ParseStatus.ODD_DIGIT_COUNT, ParseStatus.VALID,
+				ParseStatus.VALID, ParseStatus.VALID, ParseStatus.VALID,
+				ParseStatus.VALID, ParseStatus.INVALID_100K_SQUARE,
+				ParseStatus.INVALID_ZONE, ParseStatus.INVALID_100K_SQUARE };
+
+		for (int i = 0; i < values.length; i++) {
+
+			String value = values[i];
+			ParseStatus status = statuses[i];
+
+			MGRS mgrs = MGRS.tryParse(value, result);
+			assertEquals(value, status, result.getStatus());
+			assertEquals(status.isValid(), result.isValid());
+			assertEquals(mgrs, result.getMGRS());
+			assertEquals(value, status.isValid(), MGRS.isMGRS(value));
+
+			byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+			MGRS.tryParse(bytes, 0, bytes.length, result);
+			assertEquals(value, status, result.getStatus());
+
+			if (status.isValid()) {
+				assertNotNull(mgrs);
+				assertMGRS(MGRS.parse(value), mgrs);
+				assertMGRS(mgrs, MGRS.tryParse(value));
+			} else {
+				assertNull(mgrs);
+				assertNull(result.getMGRS());
+				assertNull(MGRS.tryParse(value));
+				try {
+					MGRS.parse(value);
+					fail("Expected parse exception: " + value);
+				} catch (ParseException e) {
+					assertTrue(e.getMessage().contains(status.name()));
+				}
+			}
+
+		}
+
+		assertNotNull(UTM.tryParse("33 N 500000 7800000"));
+		assertNull(UTM.tryParse("33 X 500000 7800000"));
+
+	}
+
+	/**
+	 * Test formatting into string builders, appendables, character arrays,
+	 * and byte buffers
+	 * 
+	 * @throws ParseException
+	 *             upon failure to parse
+	 * @throws IOException
+	 *             upon failure to append
+	 */
+	@Test
+	public void testFormat() throws ParseException, IOException {
+
+		String[] values = new String[] { "33XVG74594359", "4QFJ1234056781",
+				"4QFJ0000900001", "60CTA" };
+
+		StringBuilder builder = new StringBuilder();
+		StringWriter writer = new StringWriter();
+		char[] chars = new char[20];
+		ByteBuffer buffer = ByteBuffer.allocate(20);
+
+		for (String value : values) {
+
+			MGRS mgrs = MGRS.parse(value);
+
+			for (GridType type : GridType.values()) {
+
+				String expected = mgrs.coordinate(type);
+				assertEquals(expected.length(), mgrs.coordinateLength(type));
+
+				builder.setLength(0);
+				assertEquals(expected,
+						mgrs.appendCoordinate(builder, type).toString());
+
+				writer.getBuffer().setLength(0);
+				mgrs.appendCoordinate((Appendable) writer, type);
+				assertEquals(expected, writer.toString());
+
+				assertEquals(expected.length(),
+						mgrs.coordinate(chars, 1, type));
+				assertEquals(expected,
+						new String(chars, 1, expected.length()));
+
+				buffer.clear();
+				assertEquals(expected.length(), mgrs.coordinate(buffer, type));
+				assertEquals(expected, new String(buffer.array(), 0,
+						buffer.position(), StandardCharsets.US_ASCII));
+
+				if (type != GridType.GZD) {
+					assertEquals(
+							expected.substring(expected.length()
+									- 2 * type.getAccuracy()),
+							mgrs.getEastingAndNorthing(type));
+				}
+			}
+
+		}
+
+		assertEquals("33XVG7459543594", MGRS.parse("33XVG7459543594")
+				.coordinate());
+		assertEquals("4QFJ0000900001", MGRS.parse("4QFJ0000900001")
+				.coordinate(GridType.METER));
+		assertEquals("4QFJ0000", MGRS.parse("4QFJ0000900001")
+				.coordinate(GridType.KILOMETER));
+
+		MGRS mgrs = MGRS.parse("33XVG74594359");
+		try {
+			mgrs.coordinate(new char[10], 0, GridType.METER);
+			fail("Expected index out of bounds exception");
+		} catch (IndexOutOfBoundsException e) {
+		}
+		try {
+			mgrs.coordinate(ByteBuffer.allocate(10), GridType.METER);
+			fail("Expected buffer overflow exception");
+		} catch (BufferOverflowException e) {
+		}
+
+	}
+
+	/**
+	 * Test the decoding tables against projected band latitudes and searched
+	 * 2,000km row letter cycles
+	 */
+	@Test
+	public void testTables() {
+
+		String[] columnLetters = new String[] { "ABCDEFGH", "JKLMNPQR",
+				"STUVWXYZ" };
+		String[] rowLetters = new String[] { "ABCDEFGHJKLMNPQRSTUV",
+				"FGHJKLMNPQRSTUVABCDE" };
+
+		for (int zone = MGRSConstants.MIN_ZONE_NUMBER;
+				zone <= MGRSConstants.MAX_ZONE_NUMBER; zone++) {
+
+			String columns = columnLetters[(zone - 1) % 3];
+			String rows = rowLetters[(zone - 1) % 2];
+
+			for (char letter = 'A'; letter <= 'Z'; letter++) {
+				assertEquals(columns.indexOf(letter),
+						MGRSTables.columnIndex(zone, letter));
+				assertEquals(rows.indexOf(letter),
+						MGRSTables.rowIndex(zone, letter));
+			}
+			for (int i = 0; i < columns.length(); i++) {
+				assertEquals(columns.charAt(i),
+						MGRSTables.columnLetter(zone, i));
+			}
+			for (int i = 0; i < rows.length(); i++) {
+				assertEquals(rows.charAt(i), MGRSTables.rowLetter(zone, i));
+			}
+
+			for (char band = MGRSConstants.MIN_BAND_LETTER;
+					band <= MGRSConstants.MAX_BAND_LETTER; band++) {
+				if (band == 'I' || band == 'O') {
+					continue;
+				}
+
+				// Minimum band bottom northing across a zone, at the
+				// central meridian in the north and zone edge in the south
+				double latBand = GridZones.getSouthLatitude(band);
+				double latBandNorthing = UTM.from(
+						Point.degrees(latBand >= 0 ? 3 : 0, latBand), 31,
+						Hemisphere.fromLatitude(latBand)).getNorthing();
+				double nBand = Math.floor(latBandNorthing / 100000) * 100000;
+				assertEquals(nBand, MGRSTables.bandNorthing(band), 0.0);
+
+				for (int column = 0; column < columns.length(); column++) {
+					for (int row = 0; row < rows.length(); row++) {
+						for (long offset : new long[] { 0, 1, 54321,
+								99999 }) {
+
+							double n100kNum = row * 100000.0;
+							double n2M = 0;
+							while (n2M + n100kNum + offset < nBand) {
+								n2M += 2000000;
+							}
+
+							MGRS mgrs = MGRS.create(zone, band,
+									columns.charAt(column), rows.charAt(row),
+									offset, offset);
+							assertEquals((column + 1) * 100000.0 + offset,
+									mgrs.getUTMEasting(), 0.0);
+							assertEquals(n2M + n100kNum + offset,
+									mgrs.getUTMNorthing(), 0.0);
+						}
+					}
+				}
+			}
+		}
+
+		assertEquals(-1, MGRSTables.columnIndex(1, 'a'));
+		assertEquals(-1, MGRSTables.rowIndex(1, '1'));
+		assertTrue(Double.isNaN(MGRSTables.bandNorthing('I')));
+		assertTrue(Double.isNaN(MGRSTables.bandNorthing('Y')));
+
+	}
+
+	/**
+	 * Assert the MGRS values are equal
+	 * 
+	 * @param expected
+	 *            expected MGRS
+	 * @param mgrs
+	 *            MGRS
+	 */
+	private void assertMGRS(MGRS expected, MGRS mgrs) {
+		assertEquals(expected.getZone(), mgrs.getZone());
+		assertEquals(expected.getBand(), mgrs.getBand());
+		assertEquals(expected.getColumn(), mgrs.getColumn());
+		assertEquals(expected.getRow(), mgrs.getRow());
+		assertEquals(expected.getEasting(), mgrs.getEasting());
+		assertEquals(expected.getNorthing(), mgrs.getNorthing());
+	}
+
+	/**
+	 * Test the MGRS scanner accepts exactly the values matched by the MGRS
+	 * pattern
+	 * 
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	@Test
+	public void testScanner() throws ParseException {
+
+		Pattern mgrsPattern = Pattern.compile(
+				"^(\\d{1,2})([C-HJ-NP-X])(?:([A-HJ-NP-Z][A-HJ-NP-V])((\\d{2}){0,5}))?$",
+				Pattern.CASE_INSENSITIVE);
+		Pattern mgrsInvalidPattern = Pattern.compile("^3[246]X.*$",
+				Pattern.CASE_INSENSITIVE);
+
+		String[] values = new String[] { "", " ", "3", "33", "333X", "33X",
+				"33x", "3X", "0C", "33I", "33O", "33Y", "33XV", "33XVG",
+				"33XVW", "33XIG", "33XVG7", "33XVG74", "33XVG7459743593",
+				"33XVG745974359312", "33XVG74597435931", " 3 3 X\tV G\n74 59 ",
+				"33XVG 7459 4359", "32X", "32XMH11", "34x", "36X", "31X",
+				"4QFJ1234056781", "4QFJ12345678901", "33X\u00A0VG", "33XVG\r\n" };
+		for (String value : values) {
+			testScanner(value, mgrsPattern, mgrsInvalidPattern);
+		}
+
+		String characters = "0123456789ACGHIJMNOPVWXZacgiovxz \t-";
+		Random random = new Random(5);
+		for (int i = 0; i < 20000; i++) {
+			int length = random.nextInt(16);
+			StringBuilder value = new StringBuilder();
+			if (random.nextBoolean()) {
+				value.append(random.nextInt(61));
+				value.append(
+						BandLetterRangeTest.BAND_LETTERS.charAt(random.nextInt(
+								BandLetterRangeTest.BAND_LETTERS.length())));
+			}
+			for (int j = 0; j < length; j++) {
+				value.append(
+						characters.charAt(random.nextInt(characters.length())));
+			}
+			testScanner(value.toString(), mgrsPattern, mgrsInvalidPattern);
+		}
+
+	}
+
+	/**
+	 * Test the MGRS scanner against the MGRS patterns
+	 * 
+	 * @param value
+	 *            MGRS value
+	 * @param mgrsPattern
+	 *            MGRS pattern
+	 * @param mgrsInvalidPattern
+	 *            MGRS invalid pattern
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	private void testScanner(String value, Pattern mgrsPattern,
+			Pattern mgrsInvalidPattern) throws ParseException {
+
+		String noSpaces = value.replaceAll("\\s", "");
+		Matcher matcher = mgrsPattern.matcher(noSpaces);
+		boolean matches = matcher.matches();
+
+		// The scanner accepts exactly the pattern matches
+		boolean valid = matches
+				&& !mgrsInvalidPattern.matcher(noSpaces).matches();
+		MGRSScanner scanner = new MGRSScanner();
+		assertEquals(value, valid,
+				scanner.scan(value) && !scanner.isSvalbardGap());
+
+		// Valid MGRS values also have a zone number within range and a 100k
+		// column letter of the zone
+		if (valid) {
+			int zone = Integer.parseInt(matcher.group(1));
+			valid = zone >= MGRSConstants.MIN_ZONE_NUMBER
+					&& zone <= MGRSConstants.MAX_ZONE_NUMBER
+					&& (matcher.group(3) == null || MGRSTables.columnIndex(zone,
+							Character.toUpperCase(
+									matcher.group(3).charAt(0))) >= 0);
+		}
+		assertEquals(value, valid, MGRS.isMGRS(value));
+
+		if (matches) {
+			GridType precision = GridType.GZD;
+			if (matcher.group(3) != null) {
+				precision = GridType
+						.withAccuracy(matcher.group(4).length() / 2);
+			}
+			assertEquals(value, precision, MGRS.precision(value));
+		} else {
+			try {
+				MGRS.precision(value);
+				fail("Expected parse exception: " + value);
+			} catch (ParseException e) {
+			}
+		}
+
+	}
+
 	/**
 	 * Test the WGS84 coordinate with expected MGSR coordinate
 	 * 
@@ -0,0 +1,205 @@
+package mil.nga.mgrs.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Cell Aggregator Test
+ *
+ * @author osbornb
+ */
+public class CellAggregatorTest {
+
+	/**
+	 * Test aggregating point counts and values against MGRS coordinate
+	 * counting
+	 */
+	@Test
+	public void testAggregate() {
+
+		Random random = new Random(11);
+		int count = 20000;
+		double[] longitudes = new double[count];
+		double[] latitudes = new double[count];
+		double[] values = new double[count];
+		for (int i = 0; i < count; i++) {
+			longitudes[i] = 10.0 + 0.5 * random.nextDouble();
+			latitudes[i] = 59.8 + 0.4 * random.nextDouble();
+			values[i] = random.nextInt(1000);
+		}
+
+		Map<String, Long> expectedCounts = new HashMap<>();
+		Map<String, Double> expectedSums = new HashMap<>();
+		Map<String, Double> expectedMins = new HashMap<>();
+		Map<String, Double> expectedMaxs = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			String coordinate = MGRS.from(longitudes[i], latitudes[i])
+					.coordinate(GridType.TEN_KILOMETER);
+			expectedCounts.merge(coordinate, 1L, Long::sum);
+			expectedSums.merge(coordinate, values[i], Double::sum);
+			expectedMins.merge(coordinate, values[i], Math::min);
+			expectedMaxs.merge(coordinate, values[i], Math::max);
+		}
+
+		CellAggregator aggregator = new CellAggregator(
+				GridType.TEN_KILOMETER);
+		assertTrue(aggregator.isEmpty());
+		aggregator.addAll(longitudes, latitudes, values);
+		assertTrue(aggregator.hasValues());
+		assertEquals(count, aggregator.getTotal());
+		assertEquals(expectedCounts.size(), aggregator.size());
+
+		List<CellAggregate> cells = aggregator.getCells();
+		assertEquals(expectedCounts.size(), cells.size());
+		for (int i = 0; i < cells.size(); i++) {
+			CellAggregate cell = cells.get(i);
+			if (i > 0) {
+				assertTrue(cells.get(i - 1).getKey() < cell.getKey());
+			}
+			String coordinate = cell.getCoordinate();
+			assertEquals(GridType.TEN_KILOMETER, cell.getPrecision());
+			assertEquals((long) expectedCounts.get(coordinate),
+					cell.getCount());
+			assertEquals(expectedSums.get(coordinate), cell.getSum(), 0.0);
+			assertEquals(expectedMins.get(coordinate), cell.getMin(), 0.0);
+			assertEquals(expectedMaxs.get(coordinate), cell.getMax(), 0.0);
+			assertEquals(cell.getSum() / cell.getCount(), cell.getMean(),
+					0.0);
+			assertEquals(cell.getCount(),
+					aggregator.getCount(cell.getKey()));
+		}
+
+		for (int i = 0; i < 100; i++) {
+			long key = CellKey.encode(longitudes[i], latitudes[i],
+					GridType.METER);
+			CellAggregate cell = aggregator.getCell(key);
+			assertNotNull(cell);
+			Bounds bounds = cell.getBounds();
+			assertTrue(longitudes[i] >= bounds.getMinLongitude() - 1e-9);
+			assertTrue(longitudes[i] <= bounds.getMaxLongitude() + 1e-9);
+			assertTrue(latitudes[i] >= bounds.getMinLatitude() - 1e-9);
+			assertTrue(latitudes[i] <= bounds.getMaxLatitude() + 1e-9);
+			assertEquals(cell.getCount(),
+					aggregator.getCount(longitudes[i], latitudes[i]));
+		}
+		assertNull(aggregator.getCell(
+				CellKey.encode(-75.0, 40.0, GridType.TEN_KILOMETER)));
+
+		// Coarser keys are rejected
+		long coarser = CellKey.encode(longitudes[0], latitudes[0],
+				GridType.HUNDRED_KILOMETER);
+		try {
+			aggregator.addKey(coarser);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			aggregator.getCount(coarser);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+		assertEquals(count, aggregator.getTotal());
+		try {
+			aggregator.addAll(longitudes, latitudes, new double[1], 0, 2);
+			fail("Expected index out of bounds exception");
+		} catch (IndexOutOfBoundsException e) {
+		}
+		assertEquals(count, aggregator.getTotal());
+
+		CellMap counts = aggregator.toCountMap();
+		assertEquals(aggregator.size(), counts.size());
+		assertEquals(count, counts.sum());
+
+		CellAggregator countOnly = new CellAggregator(
+				GridType.TEN_KILOMETER);
+		countOnly.addAll(longitudes, latitudes);
+		assertFalse(countOnly.hasValues());
+		CellAggregate cell = countOnly.getCells().get(0);
+		assertEquals(0.0, cell.getSum(), 0.0);
+		assertTrue(Double.isNaN(cell.getMin()));
+
+		aggregator.clear();
+		assertTrue(aggregator.isEmpty());
+		assertEquals(0, aggregator.getTotal());
+
+	}
+
+	/**
+	 * Test merging partial aggregators and the parallel stream collector
+	 */
+	@Test
+	public void testMerge() {
+
+		Random random = new Random(13);
+		int count = 10000;
+		double[] longitudes = new double[count];
+		double[] latitudes = new double[count];
+		for (int i = 0; i < count; i++) {
+			longitudes[i] = -180.0 + 360.0 * random.nextDouble();
+			latitudes[i] = -80.0 + 164.0 * random.nextDouble();
+		}
+
+		CellAggregator expected = new CellAggregator(
+				GridType.HUNDRED_KILOMETER);
+		expected.addAll(longitudes, latitudes);
+
+		CellAggregator first = new CellAggregator(
+				GridType.HUNDRED_KILOMETER);
+		first.addAll(longitudes, latitudes, 0, count / 2);
+		CellAggregator second = new CellAggregator(
+				GridType.HUNDRED_KILOMETER);
+		second.addAll(longitudes, latitudes, count / 2, count - count / 2);
+		for (int i = 0; i < 10; i++) {
+			second.add(longitudes[i], latitudes[i], i);
+		}
+		first.merge(second);
+		assertTrue(first.hasValues());
+		assertEquals(count + 10, first.getTotal());
+		assertEquals(expected.size(), first.size());
+		CellMap extra = new CellMap();
+		extra.incrementAll(longitudes, latitudes, 0, 10,
+				GridType.HUNDRED_KILOMETER);
+		for (long key : expected.keys()) {
+			CellAggregate cell = first.getCell(key);
+			assertEquals(expected.getCount(key) + extra.get(key),
+					cell.getCount());
+			assertEquals(extra.containsKey(key),
+					!Double.isNaN(cell.getMin()));
+		}
+
+		CellAggregator collected = IntStream.range(0, count).parallel()
+				.mapToObj(i -> Point.point(longitudes[i], latitudes[i]))
+				.collect(CellAggregator
+						.collector(GridType.HUNDRED_KILOMETER));
+		assertEquals(count, collected.getTotal());
+		assertEquals(expected.size(), collected.size());
+		for (long key : expected.keys()) {
+			assertEquals(expected.getCount(key), collected.getCount(key));
+		}
+
+		try {
+			first.merge(new CellAggregator(GridType.KILOMETER));
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+	}
+
+}
@@ -0,0 +1,269 @@
+package mil.nga.mgrs.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Cell Bitmap Test
+ *
+ * @author osbornb
+ */
+public class CellBitmapTest {
+
+	/**
+	 * Test adding, removing, and containing cells against a cell set,
+	 * including sparse and dense containers
+	 */
+	@Test
+	public void testMembership() {
+
+		Random random = new Random(43);
+		for (GridType precision : new GridType[] { GridType.KILOMETER,
+				GridType.HUNDRED_METER, GridType.METER }) {
+
+			CellBitmap bitmap = new CellBitmap(precision);
+			assertEquals(precision, bitmap.getPrecision());
+			CellSet expected = new CellSet();
+			for (int i = 0; i < 20000; i++) {
+				double longitude = -77.0 + 0.2 * random.nextDouble();
+				double latitude = 38.8 + 0.2 * random.nextDouble();
+				long key = CellKey.encode(longitude, latitude, precision);
+				assertEquals(expected.add(key), bitmap.add(key));
+				assertTrue(bitmap.contains(longitude, latitude));
+			}
+			assertBitmap(expected, bitmap);
+
+			for (int i = 0; i < 20000; i++) {
+				double longitude = -77.0 + 0.2 * random.nextDouble();
+				double latitude = 38.8 + 0.2 * random.nextDouble();
+				long key = CellKey.encode(longitude, latitude, precision);
+				assertEquals(expected.contains(key), bitmap.contains(key));
+				if (i % 2 == 0) {
+					assertEquals(expected.remove(key), bitmap.remove(key));
+					assertFalse(bitmap.contains(key));
+				}
+			}
+			assertBitmap(expected, bitmap);
+
+			bitmap.clear();
+			assertTrue(bitmap.isEmpty());
+			assertEquals(0, bitmap.size());
+		}
+
+		try {
+			new CellBitmap(GridType.GZD);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+	}
+
+	/**
+	 * Test coarser and finer cells, dense container conversions, and MGRS
+	 * membership
+	 */
+	@Test
+	public void testPrecisions() {
+
+		CellBitmap bitmap = new CellBitmap(GridType.HUNDRED_METER);
+		long square = CellKey.encode(-77.0, 38.9, GridType.HUNDRED_KILOMETER);
+		long tenKilometer = CellKey.encode(-77.0, 38.9,
+				GridType.TEN_KILOMETER);
+
+		// A 10km cell is 10000 100m cells, beyond the array container size
+		assertTrue(bitmap.add(tenKilometer));
+		assertFalse(bitmap.add(tenKilometer));
+		assertEquals(10000, bitmap.size());
+		assertTrue(bitmap.contains(tenKilometer));
+		assertFalse(bitmap.contains(square));
+		assertTrue(bitmap.contains(CellKey.encode(-77.0, 38.9,
+				GridType.METER)));
+		assertTrue(bitmap.contains(MGRS.from(-77.0, 38.9)));
+		assertEquals(CellNavigation.children(tenKilometer,
+				GridType.HUNDRED_METER), bitmap.toList());
+
+		// Remove back below the array container size
+		CellList children = CellNavigation.children(tenKilometer,
+				GridType.HUNDRED_METER);
+		for (int i = 0; i < 6000; i++) {
+			assertTrue(bitmap.remove(children.get(i)));
+		}
+		assertEquals(4000, bitmap.size());
+		assertFalse(bitmap.contains(tenKilometer));
+		for (int i = 0; i < children.size(); i++) {
+			assertEquals(i >= 6000, bitmap.contains(children.get(i)));
+		}
+
+		// Full 100km square of 1000000 cells across 16 containers
+		bitmap.clear();
+		assertTrue(bitmap.add(square));
+		assertEquals(1000000, bitmap.size());
+		assertEquals(16, bitmap.getContainerCount());
+		assertTrue(bitmap.contains(square));
+		assertTrue(bitmap.remove(tenKilometer));
+		assertEquals(990000, bitmap.size());
+		assertFalse(bitmap.contains(square));
+
+	}
+
+	/**
+	 * Test union, intersection, and difference against cell sets
+	 */
+	@Test
+	public void testSetOperations() {
+
+		Random random = new Random(47);
+		CellBitmap bitmap1 = new CellBitmap(GridType.HUNDRED_METER);
+		CellBitmap bitmap2 = new CellBitmap(GridType.HUNDRED_METER);
+		CellSet set1 = new CellSet();
+		CellSet set2 = new CellSet();
+
+		// Dense overlapping areas and sparse scattered cells
+		bitmap1.add(CellKey.encode(-77.0, 38.9, GridType.TEN_KILOMETER));
+		bitmap2.add(CellKey.encode(-77.05, 38.95, GridType.TEN_KILOMETER));
+		bitmap1.forEachKey(set1::add);
+		bitmap2.forEachKey(set2::add);
+		for (int i = 0; i < 5000; i++) {
+			long key = CellKey.encode(-78.0 + 2.0 * random.nextDouble(),
+					38.0 + 2.0 * random.nextDouble(), GridType.HUNDRED_METER);
+			if (i % 2 == 0) {
+				bitmap1.add(key);
+				set1.add(key);
+			} else {
+				bitmap2.add(key);
+				set2.add(key);
+			}
+		}
+
+		CellSet union = new CellSet();
+		CellSet intersection = new CellSet();
+		CellSet difference = new CellSet();
+		set1.forEachKey((key) -> {
+			union.add(key);
+			if (set2.contains(key)) {
+				intersection.add(key);
+			} else {
+				difference.add(key);
+			}
+		});
+		set2.forEachKey(union::add);
+		assertTrue(intersection.size() > 0);
+
+		assertBitmap(union, bitmap1.union(bitmap2));
+		assertBitmap(intersection, bitmap1.intersection(bitmap2));
+		assertBitmap(difference, bitmap1.difference(bitmap2));
+		assertTrue(bitmap1.difference(bitmap1).isEmpty());
+
+		// Operations do not modify the operands
+		assertBitmap(set1, bitmap1);
+		assertBitmap(set2, bitmap2);
+
+		try {
+			bitmap1.union(new CellBitmap(GridType.KILOMETER));
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+	}
+
+	/**
+	 * Test serializing to buffers and memory mapped files
+	 *
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Test
+	public void testSerialization() throws IOException {
+
+		Random random = new Random(53);
+		CellBitmap bitmap = new CellBitmap(GridType.HUNDRED_METER);
+		CellSet expected = new CellSet();
+		bitmap.add(CellKey.encode(10.0, 50.0, GridType.TEN_KILOMETER));
+		for (int i = 0; i < 3000; i++) {
+			bitmap.add(-180.0 + 360.0 * random.nextDouble(),
+					-80.0 + 164.0 * random.nextDouble());
+		}
+		bitmap.forEachKey(expected::add);
+
+		ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSize() + 8);
+		buffer.putInt(7);
+		bitmap.write(buffer);
+		assertEquals(4 + bitmap.serializedSize(), buffer.position());
+		buffer.flip();
+		assertEquals(7, buffer.getInt());
+		CellBitmap read = CellBitmap.read(buffer);
+		assertEquals(buffer.limit(), buffer.position());
+		assertEquals(GridType.HUNDRED_METER, read.getPrecision());
+		assertBitmap(expected, read);
+
+		// Modifying the read bitmap copies containers from the buffer
+		long key = expected.iterator().nextLong();
+		assertTrue(read.remove(key));
+		assertFalse(read.contains(key));
+		assertTrue(CellBitmap.read(buffer.position(4)).contains(key));
+		assertTrue(read.add(key));
+		assertBitmap(expected, read);
+
+		Path file = Files.createTempFile("cell-bitmap", ".bin");
+		try {
+			bitmap.write(file);
+			assertEquals(bitmap.serializedSize(), Files.size(file));
+			CellBitmap mapped = CellBitmap.map(file);
+			assertBitmap(expected, mapped);
+			assertBitmap(expected, mapped.union(new CellBitmap(
+					GridType.HUNDRED_METER)));
+		} finally {
+			Files.delete(file);
+		}
+
+		try {
+			CellBitmap.read(ByteBuffer.allocate(16));
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+	}
+
+	/**
+	 * Assert the bitmap contains the cells of the set in key order
+	 *
+	 * @param expected
+	 *            expected cells
+	 * @param bitmap
+	 *            cell bitmap
+	 */
+	private static void assertBitmap(CellSet expected, CellBitmap bitmap) {
+
+		assertEquals(expected.size(), bitmap.size());
+		assertEquals(expected.isEmpty(), bitmap.isEmpty());
+		CellList list = bitmap.toList();
+		assertEquals(expected.size(), list.size());
+		PrimitiveIterator.OfLong iterator = bitmap.iterator();
+		for (int i = 0; i < list.size(); i++) {
+			long key = list.get(i);
+			assertTrue(expected.contains(key));
+			assertTrue(bitmap.contains(key));
+			if (i > 0) {
+				assertTrue(key > list.get(i - 1));
+			}
+			assertEquals(key, iterator.nextLong());
+		}
+		assertFalse(iterator.hasNext());
+
+	}
+
+}
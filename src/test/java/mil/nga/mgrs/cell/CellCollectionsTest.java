@@ -0,0 +1,240 @@
+package mil.nga.mgrs.cell;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Cell List, Set, and Map Test
+ *
+ * @author osbornb
+ */
+public class CellCollectionsTest {
+
+	/**
+	 * Test the cell list
+	 */
+	@Test
+	public void testList() {
+
+		Random random = new Random(3);
+		int count = 1000;
+		double[] longitudes = new double[count];
+		double[] latitudes = new double[count];
+		for (int i = 0; i < count; i++) {
+			longitudes[i] = -180.0 + 360.0 * random.nextDouble();
+			latitudes[i] = -80.0 + 164.0 * random.nextDouble();
+		}
+
+		CellList list = new CellList(0);
+		assertTrue(list.isEmpty());
+		list.addAll(longitudes, latitudes, GridType.KILOMETER);
+		assertEquals(count, list.size());
+		for (int i = 0; i < count; i++) {
+			assertEquals(MGRS.from(longitudes[i], latitudes[i])
+					.toKey(GridType.KILOMETER), list.get(i));
+		}
+
+		CellList copy = new CellList();
+		copy.addAll(list);
+		copy.add(list.getMGRS(0));
+		assertEquals(count + 1, copy.size());
+		assertEquals(copy.get(0), copy.get(count));
+
+		long[] sorted = list.toArray();
+		Arrays.sort(sorted);
+		copy.sortDistinct();
+		assertArrayEquals(Arrays.stream(sorted).distinct().toArray(),
+				copy.toArray());
+		assertTrue(copy.binarySearch(list.get(5)) >= 0);
+
+		int iterated = 0;
+		PrimitiveIterator.OfLong iterator = list.iterator();
+		while (iterator.hasNext()) {
+			assertEquals(list.get(iterated++), iterator.nextLong());
+		}
+		assertEquals(count, iterated);
+		assertEquals(count, list.stream().count());
+		assertEquals(new CellList(list.toArray()), list);
+
+		try {
+			list.get(count);
+			fail("Expected index out of bounds exception");
+		} catch (IndexOutOfBoundsException e) {
+		}
+		try {
+			list.addAll(longitudes, latitudes, 1, count, GridType.KILOMETER);
+			fail("Expected index out of bounds exception");
+		} catch (IndexOutOfBoundsException e) {
+		}
+		assertEquals(count, list.size());
+
+		list.clear();
+		assertTrue(list.isEmpty());
+
+	}
+
+	/**
+	 * Test the cell set against a hash set
+	 */
+	@Test
+	public void testSet() {
+
+		Random random = new Random(5);
+		CellSet set = new CellSet(4);
+		Set<Long> expected = new HashSet<>();
+
+		for (int i = 0; i < 50000; i++) {
+			long key = randomKey(random);
+			switch (random.nextInt(4)) {
+			case 0:
+				assertEquals(expected.remove(key), set.remove(key));
+				break;
+			default:
+				assertEquals(expected.add(key), set.add(key));
+			}
+			assertEquals(expected.size(), set.size());
+		}
+
+		for (Long key : expected) {
+			assertTrue(set.contains(key));
+		}
+		Set<Long> iterated = new HashSet<>();
+		set.forEachKey(iterated::add);
+		assertEquals(expected, iterated);
+		assertEquals(expected.size(), set.stream().distinct().count());
+
+		long[] sorted = set.toSortedArray();
+		for (int i = 1; i < sorted.length; i++) {
+			assertTrue(sorted[i - 1] < sorted[i]);
+		}
+		CellSet copy = new CellSet();
+		copy.addAll(set.toList());
+		assertEquals(set, copy);
+		assertEquals(set.hashCode(), copy.hashCode());
+
+		assertFalse(set.contains(CellKey.INVALID));
+		try {
+			set.add(CellKey.INVALID);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+		double[] longitudes = new double[] { 10.1, 10.1000001, -75.5 };
+		double[] latitudes = new double[] { 50.2, 50.2000001, 40.0 };
+		CellSet points = new CellSet();
+		assertEquals(2, points.addAll(longitudes, latitudes,
+				GridType.KILOMETER));
+		assertTrue(points.contains(MGRS.from(-75.5, 40.0)
+				.toKey(GridType.KILOMETER)));
+		try {
+			new CellSet().addAll(longitudes, latitudes, -1, 2,
+					GridType.KILOMETER);
+			fail("Expected index out of bounds exception");
+		} catch (IndexOutOfBoundsException e) {
+		}
+		try {
+			points.addAll(longitudes, new double[2], 0, 3,
+					GridType.KILOMETER);
+			fail("Expected index out of bounds exception");
+		} catch (IndexOutOfBoundsException e) {
+		}
+		assertEquals(2, points.size());
+
+		set.clear();
+		assertTrue(set.isEmpty());
+		assertFalse(set.iterator().hasNext());
+
+	}
+
+	/**
+	 * Test the cell map against a hash map
+	 */
+	@Test
+	public void testMap() {
+
+		Random random = new Random(7);
+		CellMap map = new CellMap();
+		Map<Long, Long> expected = new HashMap<>();
+
+		for (int i = 0; i < 50000; i++) {
+			long key = randomKey(random);
+			switch (random.nextInt(5)) {
+			case 0:
+				Long removed = expected.remove(key);
+				assertEquals(removed != null ? removed : 0, map.remove(key));
+				break;
+			case 1:
+				long value = random.nextLong();
+				Long previous = expected.put(key, value);
+				assertEquals(previous != null ? previous : 0,
+						map.put(key, value));
+				break;
+			default:
+				assertEquals((long) expected.merge(key, 1L, Long::sum),
+						map.increment(key));
+			}
+			assertEquals(expected.size(), map.size());
+		}
+
+		long sum = 0;
+		for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+			assertTrue(map.containsKey(entry.getKey()));
+			assertEquals((long) entry.getValue(), map.get(entry.getKey()));
+			sum += entry.getValue();
+		}
+		assertEquals(sum, map.sum());
+
+		Map<Long, Long> iterated = new HashMap<>();
+		map.forEach((key, value) -> iterated.put(key, value));
+		assertEquals(expected, iterated);
+		assertEquals(expected.size(), map.keys().length);
+		assertEquals(expected.size(), map.keySet().size());
+
+		CellMap counts = new CellMap();
+		counts.incrementAll(new double[] { 10.1, 10.1000001, -75.5 },
+				new double[] { 50.2, 50.2000001, 40.0 }, GridType.KILOMETER);
+		assertEquals(2, counts.size());
+		assertEquals(2, counts.get(MGRS.from(10.1, 50.2)
+				.toKey(GridType.KILOMETER)));
+		assertEquals(-1, counts.get(CellKey.INVALID, -1));
+		try {
+			counts.incrementAll(new double[] { -75.5 },
+					new double[] { 40.0 }, 0, 2, GridType.KILOMETER);
+			fail("Expected index out of bounds exception");
+		} catch (IndexOutOfBoundsException e) {
+		}
+		assertEquals(2, counts.size());
+
+	}
+
+	/**
+	 * Create a random cell key from a small key space to produce collisions
+	 *
+	 * @param random
+	 *            random
+	 * @return cell key
+	 */
+	private static long randomKey(Random random) {
+		double longitude = -10.0 + 20.0 * random.nextDouble();
+		double latitude = 40.0 + 10.0 * random.nextDouble();
+		return CellKey.encode(longitude, latitude,
+				GridType.TEN_KILOMETER);
+	}
+
+}
@@ -0,0 +1,172 @@
+package mil.nga.mgrs.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.text.ParseException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Cell Compaction Test
+ *
+ * @author osbornb
+ */
+public class CellCompactionTest {
+
+	/**
+	 * Test compacting and uncompacting interior cells
+	 */
+	@Test
+	public void testCompaction() {
+
+		long tenKilometer = CellKey.encode(-77.0, 38.9,
+				GridType.TEN_KILOMETER);
+		long kilometer = CellKey.encode(-76.8, 38.9, GridType.KILOMETER);
+
+		CellList cells = new CellList();
+		CellNavigation.children(tenKilometer, GridType.HUNDRED_METER, cells);
+		CellNavigation.children(kilometer, GridType.HUNDRED_METER, cells);
+		Random random = new Random(59);
+		for (int i = 0; i < 500; i++) {
+			cells.add(CellKey.encode(-77.5 + random.nextDouble(),
+					38.5 + random.nextDouble(), GridType.HUNDRED_METER));
+		}
+		// Duplicate and contained cells
+		cells.add(tenKilometer);
+		cells.add(kilometer);
+		cells.add(CellKey.encode(-77.0, 38.9, GridType.KILOMETER));
+
+		CellList compacted = CellCompaction.compact(cells);
+		assertTrue(compacted.binarySearch(tenKilometer) >= 0);
+		assertTrue(compacted.binarySearch(kilometer) >= 0);
+		assertTrue(compacted.size() < 520);
+		for (int i = 1; i < compacted.size(); i++) {
+			assertTrue(compacted.get(i) > compacted.get(i - 1));
+		}
+		for (int i = 0; i < compacted.size(); i++) {
+			long key = compacted.get(i);
+			if (key != tenKilometer) {
+				assertTrue(CellNavigation.parent(key,
+						GridType.TEN_KILOMETER) != tenKilometer);
+			}
+		}
+
+		CellList expected = CellCompaction.uncompact(cells,
+				GridType.HUNDRED_METER);
+		assertEquals(expected,
+				CellCompaction.uncompact(compacted, GridType.HUNDRED_METER));
+		assertEquals(compacted, CellCompaction.compact(expected));
+
+		// Coarsest precision
+		long square = CellKey.encode(-77.0, 38.9, GridType.HUNDRED_KILOMETER);
+		CellList squareChildren = CellNavigation.children(square,
+				GridType.KILOMETER);
+		assertEquals(10000, squareChildren.size());
+		CellList single = CellCompaction.compact(squareChildren);
+		assertEquals(1, single.size());
+		assertEquals(square, single.get(0));
+		assertEquals(CellNavigation.children(square, GridType.TEN_KILOMETER),
+				CellCompaction.compact(squareChildren,
+						GridType.TEN_KILOMETER));
+		assertEquals(squareChildren,
+				CellCompaction.compact(squareChildren, GridType.KILOMETER));
+
+		assertTrue(CellCompaction.compact(new CellList()).isEmpty());
+
+		try {
+			CellCompaction.uncompact(squareChildren, GridType.TEN_KILOMETER);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			CellCompaction.compact(squareChildren, GridType.GZD);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+	}
+
+	/**
+	 * Test compacting partial 100km squares and cells split by grid zone
+	 * edges
+	 */
+	@Test
+	public void testZoneEdges() {
+
+		Random random = new Random(61);
+		for (int i = 0; i < 20; i++) {
+
+			double longitude = 6.0 * random.nextInt(60) - 180.0
+					+ (random.nextBoolean() ? 0.05 : 5.95)
+							* random.nextDouble();
+			double latitude = -72.0 + 8.0 * random.nextInt(18)
+					+ (random.nextBoolean() ? 0.05 : 7.95)
+							* random.nextDouble();
+			long square = CellKey.encode(longitude, latitude,
+					GridType.HUNDRED_KILOMETER);
+
+			CellList children = CellNavigation.children(square,
+					GridType.KILOMETER);
+			CellList compacted = CellCompaction.compact(children);
+			assertEquals(1, compacted.size());
+			assertEquals(square, compacted.get(0));
+			assertEquals(children,
+					CellCompaction.uncompact(compacted, GridType.KILOMETER));
+
+			// Without one child the remaining children round trip
+			CellList partial = new CellList();
+			int missing = random.nextInt(children.size());
+			for (int j = 0; j < children.size(); j++) {
+				if (j != missing) {
+					partial.add(children.get(j));
+				}
+			}
+			compacted = CellCompaction.compact(partial);
+			assertTrue(compacted.binarySearch(square) < 0);
+			assertTrue(compacted.size() < partial.size());
+			assertEquals(partial,
+					CellCompaction.uncompact(compacted, GridType.KILOMETER));
+		}
+
+	}
+
+	/**
+	 * Test compacting and uncompacting the partial 100km squares just above
+	 * band bottoms
+	 */
+	@Test
+	public void testBandBottoms() throws ParseException {
+
+		long kilometer = CellKey.encode(68.9848, 64.0156, GridType.KILOMETER);
+		CellList cells = new CellList();
+		cells.add(kilometer);
+		CellList uncompacted = CellCompaction.uncompact(cells,
+				GridType.HUNDRED_METER);
+		assertEquals(100, uncompacted.size());
+		assertTrue(uncompacted.binarySearch(CellKey.encode(68.9848, 64.0156,
+				GridType.HUNDRED_METER)) >= 0);
+
+		for (String value : new String[] { "42WVR", "35WNL", "36WVR",
+				"36WWR", "32WMR", "32WNR" }) {
+			long square = CellKey.encode(MGRS.parse(value),
+					GridType.HUNDRED_KILOMETER);
+			CellList children = CellNavigation.children(square,
+					GridType.KILOMETER);
+			assertFalse(children.isEmpty());
+			CellList compacted = CellCompaction.compact(children);
+			assertEquals(1, compacted.size());
+			assertEquals(square, compacted.get(0));
+			assertEquals(children,
+					CellCompaction.uncompact(compacted, GridType.KILOMETER));
+		}
+
+	}
+
+}
@@ -0,0 +1,174 @@
+package mil.nga.mgrs.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Cell Cover Test
+ *
+ * @author osbornb
+ */
+public class CellCoverTest {
+
+	/**
+	 * Test that the cover contains the cell of every point within random
+	 * polygons, without duplicates and without cells outside the polygon
+	 * bounds
+	 */
+	@Test
+	public void testCover() {
+
+		Random random = new Random(23);
+		for (int i = 0; i < 60; i++) {
+
+			double centerLongitude = -175.0 + 350.0 * random.nextDouble();
+			double centerLatitude = -75.0 + 150.0 * random.nextDouble();
+			double radius = 0.05 + 1.5 * random.nextDouble();
+			int vertices = 3 + random.nextInt(12);
+			double[] longitudes = new double[vertices];
+			double[] latitudes = new double[vertices];
+			for (int j = 0; j < vertices; j++) {
+				double angle = 2 * Math.PI * j / vertices;
+				double distance = radius * (0.3 + 0.7 * random.nextDouble());
+				longitudes[j] = centerLongitude + distance * Math.cos(angle);
+				latitudes[j] = Math.min(83.9,
+						centerLatitude + distance * Math.sin(angle));
+			}
+			CellCover cover = new CellCover(longitudes, latitudes);
+			GridType precision = radius > 0.5 ? GridType.TEN_KILOMETER
+					: GridType.KILOMETER;
+
+			CellSet cells = new CellSet();
+			int count = 0;
+			PrimitiveIterator.OfLong iterator = cover.iterator(precision);
+			while (iterator.hasNext()) {
+				long key = iterator.nextLong();
+				assertEquals(precision, CellKey.precision(key));
+				assertTrue(cells.add(key));
+				count++;
+			}
+			assertEquals(count, cells.size());
+
+			Bounds bounds = cover.getBounds();
+			for (int j = 0; j < 2000; j++) {
+				double longitude = bounds.getMinLongitude()
+						+ bounds.getWidth() * random.nextDouble();
+				double latitude = bounds.getMinLatitude()
+						+ bounds.getHeight() * random.nextDouble();
+				if (cover.contains(longitude, latitude)) {
+					assertTrue(cells.contains(
+							CellKey.encode(longitude, latitude, precision)));
+				}
+			}
+
+			Bounds expanded = Bounds.degrees(bounds.getMinLongitude() - 0.2,
+					bounds.getMinLatitude() - 0.2,
+					bounds.getMaxLongitude() + 0.2,
+					bounds.getMaxLatitude() + 0.2);
+			cells.forEachKey(key -> {
+				Bounds cellBounds = CellKey.bounds(key);
+				assertTrue(cellBounds.overlap(expanded) != null);
+			});
+		}
+
+	}
+
+	/**
+	 * Test covering a rectangle of whole cells and a polygon with a hole
+	 */
+	@Test
+	public void testRectangle() {
+
+		// a small rectangle within a 100km square is covered by the square
+		List<Point> ring = new ArrayList<>();
+		ring.add(Point.degrees(10.0, 50.0));
+		ring.add(Point.degrees(10.02, 50.0));
+		ring.add(Point.degrees(10.02, 50.02));
+		ring.add(Point.degrees(10.0, 50.02));
+		ring.add(Point.degrees(10.0, 50.0));
+		CellCover cover = new CellCover(ring);
+		long[] keys = cover.stream(GridType.HUNDRED_KILOMETER).toArray();
+		assertEquals(1, keys.length);
+		assertEquals(CellKey.encode(10.01, 50.01, GridType.HUNDRED_KILOMETER),
+				keys[0]);
+
+		ring.clear();
+		ring.add(Point.degrees(9.0, 49.0));
+		ring.add(Point.degrees(11.0, 49.0));
+		ring.add(Point.degrees(11.0, 51.0));
+		ring.add(Point.degrees(9.0, 51.0));
+		List<Point> hole = Arrays.asList(Point.degrees(9.5, 49.5),
+				Point.degrees(10.5, 49.5), Point.degrees(10.5, 50.5),
+				Point.degrees(9.5, 50.5));
+		CellCover holeCover = new CellCover(ring, Arrays.asList(hole));
+		CellSet holeCells = holeCover.toSet(GridType.KILOMETER);
+		CellSet fullCells = new CellCover(ring).toSet(GridType.KILOMETER);
+		assertFalse(holeCells.contains(
+				CellKey.encode(10.0, 50.0, GridType.KILOMETER)));
+		assertTrue(fullCells.contains(
+				CellKey.encode(10.0, 50.0, GridType.KILOMETER)));
+		assertTrue(holeCells.contains(
+				CellKey.encode(9.2, 50.0, GridType.KILOMETER)));
+		assertTrue(holeCells.size() < fullCells.size());
+		// about 143km x 222km, with a 72km x 111km hole
+		assertTrue(fullCells.size() > 143 * 222);
+		assertTrue(fullCells.size() < 146 * 225);
+		assertTrue(holeCells.size() > 143 * 222 - 73 * 112);
+
+	}
+
+	/**
+	 * Test covering across the Norway and Svalbard grid zone exceptions
+	 */
+	@Test
+	public void testExceptions() {
+
+		double[] longitudes = new double[] { 2.0, 12.0, 12.0, 2.0 };
+		double[] latitudes = new double[] { 57.0, 57.0, 63.0, 63.0 };
+		testPoints(new CellCover(longitudes, latitudes),
+				GridType.TEN_KILOMETER);
+
+		longitudes = new double[] { 5.0, 40.0, 40.0, 5.0 };
+		latitudes = new double[] { 71.0, 71.0, 83.0, 83.0 };
+		testPoints(new CellCover(longitudes, latitudes),
+				GridType.HUNDRED_KILOMETER);
+
+	}
+
+	/**
+	 * Test the cover contains the cells of random points within the cover
+	 * bounds
+	 *
+	 * @param cover
+	 *            cell cover of a rectangle
+	 * @param precision
+	 *            precision
+	 */
+	private void testPoints(CellCover cover, GridType precision) {
+		CellSet cells = cover.toSet(precision);
+		Bounds bounds = cover.getBounds();
+		Random random = new Random(29);
+		for (int i = 0; i < 5000; i++) {
+			double longitude = bounds.getMinLongitude()
+					+ bounds.getWidth() * random.nextDouble();
+			double latitude = bounds.getMinLatitude()
+					+ bounds.getHeight() * random.nextDouble();
+			assertTrue(cells.contains(
+					CellKey.encode(longitude, latitude, precision)));
+		}
+	}
+
+}
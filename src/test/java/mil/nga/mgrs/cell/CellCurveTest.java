@@ -0,0 +1,140 @@
+package mil.nga.mgrs.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Cell Curve Test
+ *
+ * @author osbornb
+ */
+public class CellCurveTest {
+
+	/**
+	 * Test encoding curve keys and converting to and from cell keys
+	 */
+	@Test
+	public void testEncode() {
+
+		Random random = new Random(17);
+		for (int i = 0; i < 5000; i++) {
+			double longitude = -180.0 + 360.0 * random.nextDouble();
+			double latitude = -80.0 + 164.0 * random.nextDouble();
+			GridType precision = GridType
+					.withAccuracy(random.nextInt(GridType.METER.getAccuracy()
+							+ 1));
+			MGRS mgrs = MGRS.from(longitude, latitude);
+			UTM utm = mgrs.toUTM();
+
+			long key = CellCurve.encode(longitude, latitude, precision);
+			assertTrue(key >= 0);
+			assertEquals(precision, CellCurve.precision(key));
+			assertEquals(mgrs.getZone(), CellCurve.zone(key));
+			assertEquals(mgrs.getHemisphere(), CellCurve.hemisphere(key));
+
+			int meters = precision.getPrecision();
+			assertEquals(Math.floor(utm.getEasting() / meters) * meters,
+					CellCurve.easting(key), 0.0);
+			assertEquals(Math.floor(utm.getNorthing() / meters) * meters,
+					CellCurve.northing(key), 0.0);
+
+			long cellKey = CellKey.encode(longitude, latitude, precision);
+			assertEquals(key, CellCurve.fromCellKey(cellKey));
+			assertEquals(key,
+					CellCurve.fromCellKey(CellCurve.toCellKey(key)));
+		}
+
+		long key = CellCurve.encode(33, Hemisphere.NORTH, 500000, 0,
+				GridType.KILOMETER);
+		assertEquals(Hemisphere.NORTH, CellCurve.hemisphere(key));
+		assertEquals(0, CellCurve.northing(key), 0.0);
+		long south = CellCurve.encode(33, Hemisphere.SOUTH, 500000, 9999999,
+				GridType.KILOMETER);
+		assertEquals(Hemisphere.SOUTH, CellCurve.hemisphere(south));
+		assertTrue(south < key);
+
+	}
+
+	/**
+	 * Test decomposing bounds into curve key ranges
+	 */
+	@Test
+	public void testRanges() {
+
+		Random random = new Random(19);
+		for (int i = 0; i < 200; i++) {
+
+			double west = -180.0 + 350.0 * random.nextDouble();
+			double south = -80.0 + 150.0 * random.nextDouble();
+			double width = 0.001 + 10.0 * Math.pow(random.nextDouble(), 3);
+			double height = 0.001 + 10.0 * Math.pow(random.nextDouble(), 3);
+			Bounds bounds = Bounds.degrees(west, south, west + width,
+					Math.min(84.0, south + height));
+			GridType precision = GridType
+					.withAccuracy(random.nextInt(GridType.METER.getAccuracy()
+							+ 1));
+			int maxRanges = 1 + random.nextInt(64);
+
+			List<CellRange> ranges = CellCurve.ranges(bounds, precision,
+					maxRanges);
+			assertFalse(ranges.isEmpty());
+			assertTrue(ranges.size() <= maxRanges);
+			for (int j = 1; j < ranges.size(); j++) {
+				assertTrue(ranges.get(j - 1).getMax() + 1 < ranges.get(j)
+						.getMin());
+			}
+
+			for (int j = 0; j < 100; j++) {
+				double longitude = bounds.getMinLongitude()
+						+ bounds.getWidth() * random.nextDouble();
+				double latitude = bounds.getMinLatitude()
+						+ bounds.getHeight() * random.nextDouble();
+				long key = CellCurve.encode(longitude, latitude, precision);
+				assertTrue(contains(ranges, key));
+			}
+		}
+
+		Bounds bounds = Bounds.degrees(10.0, 50.0, 10.5, 50.5);
+		List<CellRange> ranges = CellCurve.ranges(bounds,
+				GridType.KILOMETER, 1000);
+		long cells = 0;
+		for (CellRange range : ranges) {
+			cells += range.count();
+		}
+		// 1km cells of a ~36km x ~56km box, with limited over coverage
+		assertTrue(cells >= 36 * 55);
+		assertTrue(cells < 36 * 56 * 2);
+
+	}
+
+	/**
+	 * Determine if the sorted ranges contain the key
+	 *
+	 * @param ranges
+	 *            ranges
+	 * @param key
+	 *            key
+	 * @return true if contained
+	 */
+	private static boolean contains(List<CellRange> ranges, long key) {
+		for (CellRange range : ranges) {
+			if (range.contains(key)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,394 @@
+package mil.nga.mgrs.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.grid.tile.GridTile;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.Grid;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.Grids;
+import mil.nga.mgrs.grid.MGRSLabeler;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.KrugerProjection;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Cell Geometry Test
+ *
+ * @author osbornb
+ */
+public class CellGeometryTest {
+
+	/**
+	 * Test cell polygons, centroids, and grid zone clipping
+	 */
+	@Test
+	public void testGeometry() {
+
+		Random random = new Random(19);
+		GridType[] precisions = { GridType.HUNDRED_KILOMETER,
+				GridType.TEN_KILOMETER, GridType.KILOMETER, GridType.METER };
+		for (int i = 0; i < 2000; i++) {
+
+			double longitude = -180.0 + 360.0 * random.nextDouble();
+			double latitude = -80.0 + 164.0 * random.nextDouble();
+			GridType precision = precisions[i % precisions.length];
+			MGRS mgrs = MGRS.from(longitude, latitude);
+			long key = CellKey.encode(mgrs, precision);
+
+			CellGeometry geometry = CellGeometry.create(key);
+			assertNotNull(geometry);
+			assertEquals(key, geometry.getKey());
+			assertEquals(precision, geometry.getPrecision());
+			assertEquals(mgrs.coordinate(precision), geometry.getCoordinate());
+			assertTrue(geometry.size() >= 3);
+
+			Bounds zoneBounds = GridZones
+					.getGridZone(mgrs.getZone(), mgrs.getBand()).getBounds();
+			Bounds bounds = geometry.getBounds();
+			assertTrue(bounds.getMinLongitude() >= zoneBounds
+					.getMinLongitude());
+			assertTrue(bounds.getMaxLongitude() <= zoneBounds
+					.getMaxLongitude());
+			assertTrue(bounds.getMinLatitude() >= zoneBounds.getMinLatitude());
+			assertTrue(bounds.getMaxLatitude() <= zoneBounds.getMaxLatitude());
+			// Within the 0.01 meter rounding of MGRS conversions
+			assertTrue(contains(bounds, longitude, latitude, 1e-6));
+			assertTrue(contains(bounds, geometry.getCentroid(), 0));
+
+			// Counterclockwise ring
+			List<Point> polygon = geometry.getPolygon();
+			double area = 0;
+			for (int j = 0; j < polygon.size(); j++) {
+				Point point = polygon.get(j);
+				Point next = polygon.get((j + 1) % polygon.size());
+				area += point.getLongitude() * next.getLatitude()
+						- next.getLongitude() * point.getLatitude();
+			}
+			assertTrue(area > 0);
+
+			// Cells within the grid zone match the projected corners
+			Point southwest = UTM.point(mgrs.getZone(), mgrs.getHemisphere(),
+					CellKey.utmEasting(key), CellKey.utmNorthing(key));
+			Point northeast = UTM.point(mgrs.getZone(), mgrs.getHemisphere(),
+					CellKey.utmEasting(key) + precision.getPrecision(),
+					CellKey.utmNorthing(key) + precision.getPrecision());
+			if (polygon.size() == 4 && contains(zoneBounds, southwest, 0)
+					&& contains(zoneBounds, northeast, 0)) {
+				assertEquals(southwest.getLongitude(),
+						polygon.get(0).getLongitude(), 0.0);
+				assertEquals(southwest.getLatitude(),
+						polygon.get(0).getLatitude(), 0.0);
+				assertEquals(northeast.getLongitude(),
+						polygon.get(2).getLongitude(), 0.0);
+				assertEquals(northeast.getLatitude(),
+						polygon.get(2).getLatitude(), 0.0);
+			}
+
+			if (geometry.hasLabelBounds()) {
+				Bounds labelBounds = geometry.getLabelBounds();
+				assertTrue(contains(bounds, geometry.getLabelCenter(), 0));
+				assertTrue(labelBounds.getMinLongitude() >= bounds
+						.getMinLongitude());
+				assertTrue(labelBounds.getMaxLatitude() <= bounds
+						.getMaxLatitude());
+				assertEquals(MGRS.from(geometry.getLabelCenter()),
+						geometry.getLabelMGRS());
+			}
+		}
+
+		// 100km square of 31U beyond the Norway 32V grid zone
+		long key = CellKey.fromUTM(31, 'V', 650000, 6300000,
+				GridType.HUNDRED_KILOMETER);
+		assertNull(CellGeometry.create(key));
+
+	}
+
+	/**
+	 * Test the bounded cache
+	 */
+	@Test
+	public void testCache() {
+
+		CellGeometryCache cache = new CellGeometryCache(100);
+		assertEquals(128, cache.getCapacity());
+
+		long key = CellKey.encode(-77.0, 38.9, GridType.KILOMETER);
+		assertFalse(cache.contains(key));
+		CellGeometry geometry = cache.get(key);
+		assertTrue(cache.contains(key));
+		assertSame(geometry, cache.get(key));
+		assertSame(geometry, cache.get(CellKey.decode(key),
+				GridType.KILOMETER));
+		assertEquals(geometry.getCoordinate(),
+				CellGeometry.get(key).getCoordinate());
+
+		// Bounded to the capacity
+		Random random = new Random(7);
+		for (int i = 0; i < 10000; i++) {
+			cache.get(CellKey.encode(-77.0 + random.nextDouble(),
+					38.0 + random.nextDouble(), GridType.HUNDRED_METER));
+		}
+		CellSet cached = new CellSet();
+		random = new Random(7);
+		for (int i = 0; i < 10000; i++) {
+			long randomKey = CellKey.encode(-77.0 + random.nextDouble(),
+					38.0 + random.nextDouble(), GridType.HUNDRED_METER);
+			if (cache.contains(randomKey)) {
+				cached.add(randomKey);
+			}
+		}
+		assertFalse(cached.isEmpty());
+		assertTrue(cached.size() <= cache.getCapacity());
+
+		// Projection changes recreate the geometry
+		cache.clear();
+		geometry = cache.get(key);
+		UTM.setProjection(new KrugerProjection());
+		try {
+			assertFalse(cache.contains(key));
+			CellGeometry kruger = cache.get(key);
+			assertTrue(geometry != kruger);
+			assertSame(kruger, cache.get(key));
+		} finally {
+			UTM.setProjection(null);
+		}
+
+		try {
+			new CellGeometryCache(0);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+	}
+
+	/**
+	 * Test MGRS labels created from the cell geometries against the projected
+	 * cell corners
+	 */
+	@Test
+	public void testLabels() {
+
+		MGRSLabeler labeler = new MGRSLabeler();
+		double[][] tiles = { { -77.2, 38.7, -76.8, 39.1 },
+				{ 2.5, 55.5, 3.5, 56.5 }, { 5.8, 59.5, 6.2, 60.5 },
+				{ 8.5, 71.8, 9.5, 72.3 }, { 148.0, -36.0, 148.5, -35.5 },
+				{ -0.3, -0.2, 0.3, 0.2 } };
+		GridType[] types = { GridType.TEN_KILOMETER, GridType.KILOMETER };
+
+		int count = 0;
+		for (double[] tile : tiles) {
+			Bounds tileBounds = Bounds.degrees(tile[0], tile[1], tile[2],
+					tile[3]);
+			for (GridZone zone : GridZones.getZones(tileBounds)) {
+				for (GridType type : types) {
+					List<GridLabel> labels = labeler.getLabels(tileBounds,
+							type, zone);
+					if (labels == null) {
+						continue;
+					}
+					for (GridLabel label : labels) {
+						UTM utm = UTM.from(label.getCenter(), zone.getNumber(),
+								zone.getHemisphere());
+						long key = CellKey.fromUTM(zone.getNumber(),
+								zone.getLetter(), utm.getEasting(),
+								utm.getNorthing(), type);
+						Bounds expected = labelBounds(zone,
+								CellKey.utmEasting(key),
+								CellKey.utmNorthing(key), type.getPrecision());
+						assertEquals(expected, label.getBounds());
+						assertEquals(expected.getCentroid(),
+								label.getCenter());
+						assertEquals(label.getCoordinate()
+								.getEastingAndNorthing(type), label.getName());
+						count++;
+					}
+				}
+			}
+		}
+		assertTrue(count > 1000);
+
+	}
+
+	/**
+	 * Test grid labels of tiles along zone edges and band bottoms against the
+	 * projected cell corners
+	 */
+	@Test
+	public void testLabelTiles() {
+
+		List<GridTile> tiles = new ArrayList<>();
+		int[][] xyz = { { 47, 29, 6 }, { 40, 28, 6 }, { 89, 72, 7 },
+				{ 91, 61, 7 }, { 72, 141, 8 }, { 238, 243, 9 },
+				{ 392, 549, 10 }, { 37, 17, 6 }, { 532, 273, 10 } };
+		for (int[] tile : xyz) {
+			tiles.add(GridTile.tile(256, 256, tile[0], tile[1], tile[2]));
+		}
+		for (int zoom = 6; zoom <= 10; zoom++) {
+			for (double longitude = -178.0; longitude < 180.0;
+					longitude += 18.0) {
+				for (double latitude : new double[] { -56.0, -8.0, 0.0, 8.1,
+						56.0, 64.0, 64.1, 72.0 }) {
+					tiles.add(tile(longitude, latitude, zoom));
+					tiles.add(tile(longitude + 2.0, latitude, zoom));
+				}
+			}
+		}
+
+		Grids grids = Grids.create();
+		Set<String> squares = new HashSet<>();
+		for (GridTile tile : tiles) {
+			for (Grid grid : grids.getGrids(tile.getZoom())) {
+				GridType type = grid.getType();
+				for (GridZone zone : GridZones
+						.getGridRange(tile.getBounds())) {
+					List<GridLabel> labels = grid.getLabels(tile, zone);
+					if (labels == null) {
+						continue;
+					}
+					for (GridLabel label : labels) {
+						if (type == GridType.GZD) {
+							continue;
+						}
+						int precision = type.getPrecision();
+						UTM utm = UTM.from(label.getCenter(), zone.getNumber(),
+								zone.getHemisphere());
+						Bounds expected = labelBounds(zone,
+								Math.floor(utm.getEasting() / precision)
+										* precision,
+								Math.floor(utm.getNorthing() / precision)
+										* precision,
+								precision);
+						assertEquals(expected, label.getBounds());
+						if (type == GridType.HUNDRED_KILOMETER) {
+							squares.add(label.getCoordinate()
+									.coordinate(GridType.HUNDRED_KILOMETER));
+						}
+					}
+				}
+			}
+		}
+
+		// Band bottom 100km squares at 64 degrees latitude
+		for (String square : new String[] { "35WNL", "36WVR", "36WWR",
+				"32WMR", "32WNR" }) {
+			assertTrue(square, squares.contains(square));
+		}
+
+	}
+
+	/**
+	 * Get the web mercator tile containing the coordinate
+	 *
+	 * @param longitude
+	 *            longitude
+	 * @param latitude
+	 *            latitude
+	 * @param zoom
+	 *            zoom level
+	 * @return grid tile
+	 */
+	private static GridTile tile(double longitude, double latitude,
+			int zoom) {
+		int tiles = 1 << zoom;
+		double radians = Math.toRadians(latitude);
+		int x = (int) Math.floor((longitude + 180.0) / 360.0 * tiles);
+		int y = (int) Math.floor((1.0 - Math.log(Math.tan(radians)
+				+ 1.0 / Math.cos(radians)) / Math.PI) / 2.0 * tiles);
+		return GridTile.tile(256, 256, x, y, zoom);
+	}
+
+	/**
+	 * Label bounds of the projected cell corners clipped to the grid zone
+	 *
+	 * @param zone
+	 *            grid zone
+	 * @param easting
+	 *            western easting
+	 * @param northing
+	 *            southern northing
+	 * @param precision
+	 *            precision meters
+	 * @return label bounds
+	 */
+	private static Bounds labelBounds(GridZone zone, double easting,
+			double northing, int precision) {
+		int number = zone.getNumber();
+		Hemisphere hemisphere = zone.getHemisphere();
+		Bounds bounds = zone.getBounds();
+		Point northwest = UTM.point(number, hemisphere, easting,
+				northing + precision);
+		Point southwest = UTM.point(number, hemisphere, easting, northing);
+		Point southeast = UTM.point(number, hemisphere, easting + precision,
+				northing);
+		Point northeast = UTM.point(number, hemisphere, easting + precision,
+				northing + precision);
+		return Bounds.degrees(
+				Math.max(Math.max(southwest.getLongitude(),
+						northwest.getLongitude()), bounds.getMinLongitude()),
+				Math.max(Math.max(southwest.getLatitude(),
+						southeast.getLatitude()), bounds.getMinLatitude()),
+				Math.min(Math.min(southeast.getLongitude(),
+						northeast.getLongitude()), bounds.getMaxLongitude()),
+				Math.min(Math.min(northwest.getLatitude(),
+						northeast.getLatitude()), bounds.getMaxLatitude()));
+	}
+
+	/**
+	 * Determine if the bounds contain the point within a tolerance
+	 *
+	 * @param bounds
+	 *            bounds
+	 * @param point
+	 *            point
+	 * @param tolerance
+	 *            tolerance in degrees
+	 * @return true if contained
+	 */
+	private static boolean contains(Bounds bounds, Point point,
+			double tolerance) {
+		return contains(bounds, point.getLongitude(), point.getLatitude(),
+				tolerance);
+	}
+
+	/**
+	 * Determine if the bounds contain the coordinate within a tolerance
+	 *
+	 * @param bounds
+	 *            bounds
+	 * @param longitude
+	 *            longitude
+	 * @param latitude
+	 *            latitude
+	 * @param tolerance
+	 *            tolerance in degrees
+	 * @return true if contained
+	 */
+	private static boolean contains(Bounds bounds, double longitude,
+			double latitude, double tolerance) {
+		return longitude >= bounds.getMinLongitude() - tolerance
+				&& longitude <= bounds.getMaxLongitude() + tolerance
+				&& latitude >= bounds.getMinLatitude() - tolerance
+				&& latitude <= bounds.getMaxLatitude() + tolerance;
+	}
+
+}
@@ -0,0 +1,190 @@
+package mil.nga.mgrs.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Cell Index Test
+ *
+ * @author osbornb
+ */
+public class CellIndexTest {
+
+	/**
+	 * Test queries against brute force searches while moving and removing
+	 * values across zone and band boundaries
+	 */
+	@Test
+	public void testQueries() {
+
+		Random random = new Random(41);
+		int count = 5000;
+		double[] longitudes = new double[count];
+		double[] latitudes = new double[count];
+
+		for (GridType precision : new GridType[] { GridType.TEN_KILOMETER,
+				GridType.KILOMETER }) {
+
+			CellIndex<Integer> index = new CellIndex<>(precision);
+			for (int i = 0; i < count; i++) {
+				longitudes[i] = 4.0 + 4.0 * random.nextDouble();
+				latitudes[i] = 46.0 + 4.0 * random.nextDouble();
+				index.put(i, longitudes[i], latitudes[i]);
+			}
+			assertEquals(count, index.size());
+			assertQueries(index, longitudes, latitudes, random);
+
+			// Move half of the values, some within their cells
+			for (int i = 0; i < count; i += 2) {
+				double scale = i % 4 == 0 ? 0.5 : 0.0001;
+				longitudes[i] += scale * (2 * random.nextDouble() - 1);
+				latitudes[i] += scale * (2 * random.nextDouble() - 1);
+				index.put(i, longitudes[i], latitudes[i]);
+			}
+			assertEquals(count, index.size());
+			assertQueries(index, longitudes, latitudes, random);
+
+			// Remove a third of the values
+			for (int i = 0; i < count; i += 3) {
+				assertTrue(index.remove(i));
+				assertFalse(index.remove(i));
+				assertFalse(index.contains(i));
+				assertEquals(CellKey.INVALID, index.getKey(i));
+				assertNull(index.getPoint(i));
+				longitudes[i] = Double.NaN;
+			}
+			assertEquals(count - (count + 2) / 3, index.size());
+			assertQueries(index, longitudes, latitudes, random);
+
+			index.clear();
+			assertTrue(index.isEmpty());
+			assertEquals(0, index.getCellCount());
+			assertTrue(index.nearest(6.0, 48.0, 5).isEmpty());
+		}
+
+		try {
+			new CellIndex<>(GridType.GZD);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+	}
+
+	/**
+	 * Test radius and nearest queries across the antimeridian
+	 */
+	@Test
+	public void testAntimeridian() {
+
+		CellIndex<String> index = new CellIndex<>(GridType.KILOMETER);
+		index.put("west", -179.99, 10.0);
+		index.put("east", 179.99, 10.0);
+		index.put("far", 170.0, 10.0);
+
+		List<String> values = index.queryRadius(179.999, 10.0, 5000);
+		Collections.sort(values);
+		assertEquals(2, values.size());
+		assertEquals("east", values.get(0));
+		assertEquals("west", values.get(1));
+
+		values = index.nearest(-179.999, 10.0, 3);
+		assertEquals(3, values.size());
+		assertEquals("west", values.get(0));
+		assertEquals("east", values.get(1));
+		assertEquals("far", values.get(2));
+
+	}
+
+	/**
+	 * Assert the index against brute force searches
+	 *
+	 * @param index
+	 *            cell index
+	 * @param longitudes
+	 *            value longitudes, NaN when removed
+	 * @param latitudes
+	 *            value latitudes
+	 * @param random
+	 *            random
+	 */
+	private static void assertQueries(CellIndex<Integer> index,
+			double[] longitudes, double[] latitudes, Random random) {
+
+		CellSet cells = new CellSet();
+		for (int i = 0; i < longitudes.length; i++) {
+			if (!Double.isNaN(longitudes[i])) {
+				long key = CellKey.encode(longitudes[i], latitudes[i],
+						index.getPrecision());
+				assertEquals(key, index.getKey(i));
+				assertTrue(index.getValues(key).contains(i));
+				cells.add(key);
+			}
+		}
+		assertEquals(cells.size(), index.getCellCount());
+
+		for (int query = 0; query < 20; query++) {
+
+			double longitude = 4.0 + 4.0 * random.nextDouble();
+			double latitude = 46.0 + 4.0 * random.nextDouble();
+			double size = query % 2 == 0 ? 0.1 : 2.0;
+			Bounds bounds = Bounds.degrees(longitude, latitude,
+					longitude + size * random.nextDouble(),
+					latitude + size * random.nextDouble());
+			double radius = query % 2 == 0 ? 5000 : 100000;
+
+			double[] distances = new double[longitudes.length];
+			List<Integer> expectedBounds = new ArrayList<>();
+			List<Integer> expectedRadius = new ArrayList<>();
+			List<Integer> all = new ArrayList<>();
+			for (int i = 0; i < longitudes.length; i++) {
+				if (Double.isNaN(longitudes[i])) {
+					continue;
+				}
+				all.add(i);
+				if (longitudes[i] >= bounds.getMinLongitude()
+						&& longitudes[i] <= bounds.getMaxLongitude()
+						&& latitudes[i] >= bounds.getMinLatitude()
+						&& latitudes[i] <= bounds.getMaxLatitude()) {
+					expectedBounds.add(i);
+				}
+				distances[i] = index.distance(i, longitude, latitude);
+				if (distances[i] <= radius) {
+					expectedRadius.add(i);
+				}
+			}
+
+			List<Integer> values = index.query(bounds);
+			Collections.sort(values);
+			assertEquals(expectedBounds, values);
+
+			values = index.queryRadius(longitude, latitude, radius);
+			Collections.sort(values);
+			assertEquals(expectedRadius, values);
+
+			int k = 1 + random.nextInt(50);
+			all.sort((value1, value2) -> Double.compare(distances[value1],
+					distances[value2]));
+			values = index.nearest(longitude, latitude, k);
+			assertEquals(Math.min(k, all.size()), values.size());
+			for (int i = 0; i < values.size(); i++) {
+				assertEquals(distances[all.get(i)], distances[values.get(i)],
+						0.0);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,218 @@
+package mil.nga.mgrs.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.MGRSConstants;
+import mil.nga.mgrs.MGRSTables;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Cell Key Test
+ *
+ * @author osbornb
+ */
+public class CellKeyTest {
+
+	/**
+	 * Test encoding and decoding cell keys
+	 *
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	@Test
+	public void testEncodeDecode() throws ParseException {
+
+		MGRS mgrs = MGRS.parse("33XVG7459743593");
+		long key = CellKey.encode(mgrs);
+		assertTrue(CellKey.isValid(key));
+		assertTrue(key > 0);
+		assertEquals(33, CellKey.zone(key));
+		assertEquals('X', CellKey.band(key));
+		assertEquals('V', CellKey.column(key));
+		assertEquals('G', CellKey.row(key));
+		assertEquals(74597, CellKey.easting(key));
+		assertEquals(43593, CellKey.northing(key));
+		assertEquals(GridType.METER, CellKey.precision(key));
+		assertEquals(1, CellKey.size(key));
+		assertEquals(mgrs, CellKey.decode(key));
+		assertEquals(mgrs, MGRS.fromKey(key));
+		assertEquals(key, mgrs.toKey());
+		assertEquals("33XVG7459743593", CellKey.coordinate(key));
+
+		long tenKilometer = CellKey.withPrecision(key,
+				GridType.TEN_KILOMETER);
+		assertEquals(tenKilometer, mgrs.toKey(GridType.TEN_KILOMETER));
+		assertEquals(GridType.TEN_KILOMETER,
+				CellKey.precision(tenKilometer));
+		assertEquals(70000, CellKey.easting(tenKilometer));
+		assertEquals(40000, CellKey.northing(tenKilometer));
+		assertEquals("33XVG74", CellKey.coordinate(tenKilometer));
+		assertTrue(CellKey.isSameSquare(key, tenKilometer));
+		assertEquals(CellKey.square(key), CellKey.square(tenKilometer));
+		assertTrue(key > tenKilometer);
+
+		assertFalse(CellKey.isValid(CellKey.INVALID));
+		assertFalse(CellKey.isValid(0));
+
+		try {
+			CellKey.encode(mgrs, GridType.GZD);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			CellKey.encode(33, 'X', 'A', 'G', 0, 0, GridType.METER);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			CellKey.encode(33, 'Y', 'V', 'G', 0, 0, GridType.METER);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			CellKey.encode(33, 'X', 'V', 'G', 100000, 0, GridType.METER);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+		// Svalbard gap grid zones do not exist
+		for (int zone = 32; zone <= 36; zone += 2) {
+			try {
+				CellKey.encode(zone, 'X', 'M', 'K', 10000, 10000,
+						GridType.KILOMETER);
+				fail("Expected illegal argument exception");
+			} catch (IllegalArgumentException e) {
+			}
+			try {
+				CellKey.fromUTM(zone, 'X', 410000, 8810000,
+						GridType.KILOMETER);
+				fail("Expected illegal argument exception");
+			} catch (IllegalArgumentException e) {
+			}
+			long gapKey = CellKey.pack(zone, MGRSTables.bandIndex('X'), 4, 9,
+					10000, 10000, GridType.KILOMETER.getAccuracy());
+			assertFalse(CellKey.isValid(gapKey));
+			assertNull(CellGeometry.create(gapKey));
+		}
+
+		Random random = new Random(13);
+		double[] eastingNorthing = new double[2];
+		for (int i = 0; i < 10000; i++) {
+
+			double longitude = -180.0 + 360.0 * random.nextDouble();
+			double latitude = -80.0 + 164.0 * random.nextDouble();
+			MGRS point = MGRS.from(longitude, latitude);
+
+			for (GridType precision : GridType.values()) {
+				if (precision == GridType.GZD) {
+					continue;
+				}
+				long pointKey = CellKey.encode(longitude, latitude,
+						precision, eastingNorthing);
+				assertTrue(CellKey.isValid(pointKey));
+				assertEquals(point.toKey(precision), pointKey);
+				assertEquals(point.coordinate(precision),
+						CellKey.coordinate(pointKey));
+				assertEquals(precision, CellKey.precision(pointKey));
+			}
+
+			assertEquals(point, CellKey.decode(point.toKey()));
+		}
+
+	}
+
+	/**
+	 * Test MGRS value semantics and ordering consistent with cell keys
+	 */
+	@Test
+	public void testOrdering() {
+
+		Random random = new Random(29);
+		List<MGRS> values = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			double longitude = -180.0 + 360.0 * random.nextDouble();
+			double latitude = -80.0 + 164.0 * random.nextDouble();
+			MGRS mgrs = MGRS.from(longitude, latitude);
+			values.add(mgrs);
+
+			MGRS copy = MGRS.create(mgrs.getZone(), mgrs.getBand(),
+					mgrs.getColumn(), mgrs.getRow(), mgrs.getEasting(),
+					mgrs.getNorthing());
+			assertEquals(mgrs, copy);
+			assertEquals(mgrs.hashCode(), copy.hashCode());
+			assertEquals(0, mgrs.compareTo(copy));
+
+			MGRS moved = MGRS.create(mgrs.getZone(), mgrs.getBand(),
+					mgrs.getColumn(), mgrs.getRow(),
+					(mgrs.getEasting() + 1) % 100000, mgrs.getNorthing());
+			assertNotEquals(mgrs, moved);
+			assertNotEquals(0, mgrs.compareTo(moved));
+		}
+
+		Collections.sort(values);
+
+		long previous = -1;
+		for (MGRS mgrs : values) {
+			long key = CellKey.encode(mgrs, GridType.METER);
+			assertTrue(key >= previous);
+			previous = key;
+		}
+
+	}
+
+	/**
+	 * Test decoding cell keys just above the band bottoms across the zones,
+	 * where parallels curve away from the central meridian
+	 */
+	@Test
+	public void testBandBottoms() {
+
+		long key = CellKey.encode(68.9848, 64.0156, GridType.KILOMETER);
+		assertEquals("42WVR9998", CellKey.coordinate(key));
+		assertEquals(7098000.0, CellKey.utmNorthing(key), 0.0);
+		assertNotNull(CellKey.bounds(key));
+
+		for (char band = MGRSConstants.MIN_BAND_LETTER;
+				band <= MGRSConstants.MAX_BAND_LETTER; band++) {
+			if (band == 'I' || band == 'O') {
+				continue;
+			}
+			double south = GridZones.getSouthLatitude(band);
+			for (double offset : new double[] { 0.0001, 0.01, 0.05 }) {
+				double latitude = south + offset;
+				for (double longitude = -179.9; longitude < 180.0;
+						longitude += 0.2) {
+					key = CellKey.encode(longitude, latitude, GridType.METER);
+					UTM utm = UTM.from(Point.degrees(longitude, latitude));
+					assertEquals(Math.floor(utm.getNorthing()),
+							CellKey.utmNorthing(key), 1.0);
+					Bounds bounds = CellKey.bounds(key);
+					assertNotNull(bounds);
+					assertTrue(latitude >= bounds.getMinLatitude() - 1e-6);
+					assertTrue(latitude <= bounds.getMaxLatitude() + 1e-6);
+				}
+			}
+		}
+
+	}
+
+}
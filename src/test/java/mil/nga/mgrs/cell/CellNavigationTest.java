@@ -0,0 +1,298 @@
+package mil.nga.mgrs.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.MGRSConstants;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Cell Navigation Test
+ *
+ * @author osbornb
+ */
+public class CellNavigationTest {
+
+	/**
+	 * Test parent cells
+	 */
+	@Test
+	public void testParent() {
+
+		Random random = new Random(23);
+		for (int i = 0; i < 1000; i++) {
+			double longitude = -180.0 + 360.0 * random.nextDouble();
+			double latitude = -80.0 + 164.0 * random.nextDouble();
+			long key = CellKey.encode(longitude, latitude, GridType.METER);
+			for (GridType precision : new GridType[] {
+					GridType.HUNDRED_KILOMETER, GridType.TEN_KILOMETER,
+					GridType.KILOMETER, GridType.HUNDRED_METER,
+					GridType.TEN_METER, GridType.METER }) {
+				assertEquals(
+						CellKey.encode(longitude, latitude, precision),
+						CellNavigation.parent(key, precision));
+			}
+			MGRS mgrs = MGRS.from(longitude, latitude);
+			assertEquals(mgrs.coordinate(GridType.KILOMETER),
+					mgrs.getParent(GridType.KILOMETER)
+							.coordinate(GridType.KILOMETER));
+		}
+
+		try {
+			CellNavigation.parent(
+					CellKey.encode(10.0, 10.0, GridType.KILOMETER),
+					GridType.METER);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+	}
+
+	/**
+	 * Test child cells, including grid zone edge cells
+	 */
+	@Test
+	public void testChildren() {
+
+		// Interior cell
+		long key = CellKey.encode(-77.0, 38.9, GridType.TEN_KILOMETER);
+		CellList children = CellNavigation.children(key,
+				GridType.KILOMETER);
+		assertEquals(100, children.size());
+		for (int i = 0; i < children.size(); i++) {
+			long child = children.get(i);
+			assertEquals(GridType.KILOMETER, CellKey.precision(child));
+			assertEquals(key,
+					CellNavigation.parent(child, GridType.TEN_KILOMETER));
+			if (i > 0) {
+				assertTrue(child > children.get(i - 1));
+			}
+		}
+		assertEquals(1, CellNavigation.children(key, GridType.TEN_KILOMETER)
+				.size());
+		assertEquals(10000,
+				CellNavigation.children(key, GridType.HUNDRED_METER).size());
+
+		List<MGRS> mgrsChildren = CellKey.decode(key)
+				.getChildren(GridType.KILOMETER);
+		assertEquals(100, mgrsChildren.size());
+		assertEquals(children.getMGRS(0), mgrsChildren.get(0));
+
+		// Cells split by grid zone edges contain the children of their points
+		Random random = new Random(29);
+		for (int i = 0; i < 200; i++) {
+			double longitude = 6.0 * random.nextInt(60) - 180.0
+					+ (random.nextBoolean() ? 0.05 : 5.95)
+							* random.nextDouble();
+			double latitude = -72.0 + 8.0 * random.nextInt(18)
+					+ (random.nextBoolean() ? 0.05 : 7.95)
+							* random.nextDouble();
+			key = CellKey.encode(longitude, latitude,
+					GridType.TEN_KILOMETER);
+			children = CellNavigation.children(key, GridType.KILOMETER);
+			assertTrue(children.size() <= 100);
+			CellSet set = new CellSet();
+			for (int j = 0; j < children.size(); j++) {
+				assertNotNull(CellGeometry.get(children.get(j)));
+				set.add(children.get(j));
+			}
+			for (int j = 0; j < 100; j++) {
+				double sampleLongitude = longitude
+						+ 0.1 * (2 * random.nextDouble() - 1);
+				double sampleLatitude = latitude
+						+ 0.1 * (2 * random.nextDouble() - 1);
+				if (CellKey.encode(sampleLongitude, sampleLatitude,
+						GridType.TEN_KILOMETER) == key) {
+					assertTrue(set.contains(CellKey.encode(sampleLongitude,
+							sampleLatitude, GridType.KILOMETER)));
+				}
+			}
+		}
+
+		try {
+			CellNavigation.children(key, GridType.HUNDRED_KILOMETER);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			CellNavigation.children(
+					CellKey.encode(10.0, 10.0, GridType.HUNDRED_KILOMETER),
+					GridType.METER);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+	}
+
+	/**
+	 * Test neighbor cells against converting the offset cell centers, near
+	 * and away from grid zone boundaries
+	 */
+	@Test
+	public void testNeighbors() {
+
+		Random random = new Random(37);
+		GridType[] precisions = { GridType.HUNDRED_KILOMETER,
+				GridType.TEN_KILOMETER, GridType.KILOMETER, GridType.METER };
+		double[] coordinate = new double[2];
+		for (int i = 0; i < 5000; i++) {
+
+			double longitude;
+			double latitude;
+			if (i % 2 == 0) {
+				longitude = -180.0 + 360.0 * random.nextDouble();
+				latitude = -80.0 + 164.0 * random.nextDouble();
+			} else {
+				longitude = -180.0 + 6.0 * random.nextInt(61)
+						+ 0.02 * (2 * random.nextDouble() - 1);
+				latitude = -80.0 + 8.0 * random.nextInt(21)
+						+ 0.02 * (2 * random.nextDouble() - 1);
+				latitude = Math.max(-79.99, Math.min(83.99, latitude));
+			}
+			GridType precision = precisions[i % precisions.length];
+			long key = CellKey.encode(longitude, latitude, precision);
+			int size = CellKey.size(key);
+
+			for (int columns = -1; columns <= 1; columns++) {
+				for (int rows = -1; rows <= 1; rows++) {
+					UTM.toDegrees(CellKey.zone(key), CellKey.hemisphere(key),
+							CellKey.utmEasting(key) + (columns + 0.5) * size,
+							CellKey.utmNorthing(key) + (rows + 0.5) * size,
+							coordinate);
+					long expected = CellKey.INVALID;
+					if (coordinate[1] >= MGRSConstants.MIN_LAT
+							&& coordinate[1] < MGRSConstants.MAX_LAT) {
+						expected = CellKey.encode(coordinate[0],
+								coordinate[1], precision);
+					}
+					assertEquals(expected,
+							CellNavigation.neighbor(key, columns, rows));
+				}
+			}
+
+			CellList neighbors = CellNavigation.neighbors(key, true);
+			assertTrue(neighbors.size() <= 8);
+			assertEquals(CellNavigation.neighbors(key, false).get(0),
+					neighbors.get(0));
+		}
+
+	}
+
+	/**
+	 * Test neighbors crossing 100km square, band, and zone boundaries
+	 */
+	@Test
+	public void testBoundaries() {
+
+		// 100km square: 18SUJ 99 to the east 18SVJ 09
+		MGRS mgrs = MGRS.create(18, 'S', 'U', 'J', 99000, 90000);
+		MGRS east = mgrs.getNeighbor(GridType.TEN_KILOMETER, 1, 0);
+		assertEquals("18SVJ09", east.coordinate(GridType.TEN_KILOMETER));
+		assertEquals(mgrs.coordinate(GridType.TEN_KILOMETER),
+				east.getNeighbor(GridType.TEN_KILOMETER, -1, 0)
+						.coordinate(GridType.TEN_KILOMETER));
+
+		// Band: north of 31T at 48 degrees latitude is 31U
+		mgrs = MGRS.from(3.0, 47.9999);
+		MGRS north = mgrs.getNeighbor(GridType.KILOMETER, 0, 1);
+		assertEquals(31, north.getZone());
+		assertEquals('U', north.getBand());
+		assertEquals(mgrs.getColumn(), north.getColumn());
+
+		// Zone: east of 31T at 6 degrees longitude is 32T
+		mgrs = MGRS.from(5.9999, 45.0);
+		east = mgrs.getNeighbor(GridType.KILOMETER, 1, 0);
+		assertEquals(32, east.getZone());
+		assertEquals('T', east.getBand());
+
+		// Antimeridian: east of 60 is 1
+		mgrs = MGRS.from(179.9999, 10.0);
+		east = mgrs.getNeighbor(GridType.KILOMETER, 1, 0);
+		assertEquals(1, east.getZone());
+
+		// Beyond the MGRS latitudes
+		mgrs = MGRS.from(10.0, 83.9999);
+		assertNull(mgrs.getNeighbor(GridType.KILOMETER, 0, 1));
+		List<MGRS> neighbors = mgrs.getNeighbors(GridType.KILOMETER);
+		assertEquals(5, neighbors.size());
+
+		// Interior 4 and 8 neighbors
+		mgrs = MGRS.from(-77.0, 38.9);
+		neighbors = mgrs.getNeighbors(GridType.KILOMETER, false);
+		assertEquals(4, neighbors.size());
+		neighbors = mgrs.getNeighbors(GridType.KILOMETER);
+		assertEquals(8, neighbors.size());
+		assertEquals(mgrs.getEasting() / 1000 + 1,
+				neighbors.get(4).getEasting() / 1000);
+		assertEquals(mgrs.getNorthing() / 1000 + 1,
+				neighbors.get(4).getNorthing() / 1000);
+
+	}
+
+	/**
+	 * Test navigating cells in the 100km squares just above the band
+	 * bottoms, including partial squares
+	 */
+	@Test
+	public void testBandBottoms() throws ParseException {
+
+		long key = CellKey.encode(68.9848, 64.0156, GridType.KILOMETER);
+		assertEquals("42WVR9998", CellKey.coordinate(key));
+		assertEquals("42WVR9999",
+				CellKey.coordinate(CellNavigation.neighbor(key, 0, 1)));
+		assertEquals("42WVR9997",
+				CellKey.coordinate(CellNavigation.neighbor(key, 0, -1)));
+
+		for (String square : new String[] { "42WVR", "35WNL", "36WVR",
+				"36WWR", "32WMR", "32WNR" }) {
+			long squareKey = CellKey.encode(MGRS.parse(square),
+					GridType.HUNDRED_KILOMETER);
+			CellList children = CellNavigation.children(squareKey,
+					GridType.TEN_KILOMETER);
+			assertFalse(children.isEmpty());
+			for (int i = 0; i < children.size(); i++) {
+				assertNotNull(CellKey.bounds(children.get(i)));
+			}
+		}
+
+		for (char band = MGRSConstants.MIN_BAND_LETTER;
+				band <= MGRSConstants.MAX_BAND_LETTER; band++) {
+			if (band == 'I' || band == 'O') {
+				continue;
+			}
+			double latitude = GridZones.getSouthLatitude(band) + 0.001;
+			for (double longitude = -179.9; longitude < 180.0;
+					longitude += 0.5) {
+				key = CellKey.encode(longitude, latitude, GridType.KILOMETER);
+				Bounds bounds = CellKey.bounds(key);
+				Bounds north = CellKey
+						.bounds(CellNavigation.neighbor(key, 0, 1));
+				assertEquals(bounds.getMaxLatitude(), north.getMinLatitude(),
+						0.01);
+				long square = CellKey.withPrecision(key,
+						GridType.HUNDRED_KILOMETER);
+				CellList children = CellNavigation.children(square,
+						GridType.TEN_KILOMETER);
+				children.sort();
+				assertTrue(children.binarySearch(CellKey.withPrecision(key,
+						GridType.TEN_KILOMETER)) >= 0);
+			}
+		}
+
+	}
+
+}
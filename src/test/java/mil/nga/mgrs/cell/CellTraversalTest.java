@@ -0,0 +1,131 @@
+package mil.nga.mgrs.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Cell Traversal Test
+ *
+ * @author osbornb
+ */
+public class CellTraversalTest {
+
+	/**
+	 * Test traversals against dense point sampling of random polylines
+	 */
+	@Test
+	public void testTraversal() {
+
+		Random random = new Random(31);
+		for (int i = 0; i < 100; i++) {
+
+			int count = 2 + random.nextInt(5);
+			double[] longitudes = new double[count];
+			double[] latitudes = new double[count];
+			longitudes[0] = -175.0 + 350.0 * random.nextDouble();
+			latitudes[0] = -75.0 + 150.0 * random.nextDouble();
+			double reach = random.nextBoolean() ? 0.05 : 1.0;
+			for (int j = 1; j < count; j++) {
+				longitudes[j] = longitudes[j - 1]
+						+ reach * (2 * random.nextDouble() - 1);
+				latitudes[j] = Math.max(-79.9, Math.min(83.9, latitudes[j - 1]
+						+ reach * (2 * random.nextDouble() - 1)));
+			}
+			GridType precision = reach < 1.0 ? GridType.HUNDRED_METER
+					: GridType.KILOMETER;
+
+			List<CellCrossing> crossings = new CellTraversal(longitudes,
+					latitudes).getCrossings(precision);
+			assertTrue(!crossings.isEmpty());
+			CellSet keys = new CellSet();
+			for (int j = 0; j < crossings.size(); j++) {
+				CellCrossing crossing = crossings.get(j);
+				keys.add(crossing.getKey());
+				assertTrue(crossing.getLength() > 0);
+				if (j > 0) {
+					CellCrossing previous = crossings.get(j - 1);
+					assertNotEquals(previous.getKey(), crossing.getKey());
+					assertEquals(previous.getExit(), crossing.getEntry(),
+							1e-6);
+				}
+			}
+			assertEquals(0.0, crossings.get(0).getEntry(), 0.0);
+
+			// Sampled cells appear in the crossings in line order
+			CellList sampled = new CellList();
+			for (int j = 1; j < count; j++) {
+				for (int k = 0; k < 1000; k++) {
+					double fraction = (k + 0.5) / 1000;
+					long key = CellKey.encode(longitudes[j - 1] + fraction
+							* (longitudes[j] - longitudes[j - 1]),
+							latitudes[j - 1] + fraction
+									* (latitudes[j] - latitudes[j - 1]),
+							precision);
+					if (sampled.isEmpty()
+							|| sampled.get(sampled.size() - 1) != key) {
+						sampled.add(key);
+					}
+				}
+			}
+			int position = 0;
+			for (int j = 0; j < sampled.size(); j++) {
+				assertTrue(keys.contains(sampled.get(j)));
+				while (crossings.get(position).getKey() != sampled.get(j)) {
+					position++;
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Test a straight line along a zone and the crossing of a zone boundary
+	 */
+	@Test
+	public void testZones() {
+
+		// North along the 31T central meridian, 1km cells of ~1km
+		List<Point> line = Arrays.asList(Point.degrees(3.0, 45.0),
+				Point.degrees(3.0, 45.5));
+		List<CellCrossing> crossings = new CellTraversal(line)
+				.getCrossings(GridType.KILOMETER);
+		double total = crossings.get(crossings.size() - 1).getExit();
+		assertEquals(55600, total, 200);
+		assertEquals(Math.ceil(total / 1000), crossings.size(), 1);
+
+		// East across the 31 to 32 zone boundary at 6 degrees
+		line = Arrays.asList(Point.degrees(5.0, 45.0),
+				Point.degrees(7.0, 45.0));
+		CellList keys = new CellTraversal(line).keys(GridType.TEN_KILOMETER);
+		assertEquals(31, CellKey.zone(keys.get(0)));
+		assertEquals(32, CellKey.zone(keys.get(keys.size() - 1)));
+		int changes = 0;
+		for (int i = 1; i < keys.size(); i++) {
+			if (CellKey.zone(keys.get(i)) != CellKey.zone(keys.get(i - 1))) {
+				changes++;
+			}
+		}
+		assertEquals(1, changes);
+
+		// North into the Norway 32V exception at 3 to 6 degrees longitude
+		line = Arrays.asList(Point.degrees(4.0, 55.0),
+				Point.degrees(4.0, 57.0));
+		keys = new CellTraversal(line).keys(GridType.HUNDRED_KILOMETER);
+		assertEquals(31, CellKey.zone(keys.get(0)));
+		assertEquals('U', CellKey.band(keys.get(0)));
+		assertEquals(32, CellKey.zone(keys.get(keys.size() - 1)));
+		assertEquals('V', CellKey.band(keys.get(keys.size() - 1)));
+
+	}
+
+}
@@ -0,0 +1,126 @@
+package mil.nga.mgrs.grid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import mil.nga.grid.tile.GridTile;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+
+/**
+ * Grids Test
+ * 
+ * @author osbornb
+ */
+public class GridsTest {
+
+	/**
+	 * Test parallel tile features match the serial grid and zone iteration
+	 */
+	@Test
+	public void testFeatures() {
+
+		Grids grids = Grids.create();
+
+		List<GridTile> tiles = Arrays.asList(GridTile.tile(256, 256, 0, 0, 0),
+				GridTile.tile(256, 256, 4, 2, 3),
+				GridTile.tile(256, 256, 131, 74, 8),
+				GridTile.tile(256, 256, 1171, 1566, 12),
+				GridTile.tile(512, 512, 37478, 50130, 17));
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+
+			List<List<GridZoneFeatures>> tileFeatures = grids
+					.getFeatures(tiles, executor);
+			assertEquals(tiles.size(), tileFeatures.size());
+
+			for (int i = 0; i < tiles.size(); i++) {
+
+				GridTile tile = tiles.get(i);
+				List<GridZoneFeatures> features = tileFeatures.get(i);
+				assertFalse(features.isEmpty());
+
+				List<GridLine> lines = new ArrayList<>();
+				List<GridLabel> labels = new ArrayList<>();
+
+				int index = 0;
+				for (Grid grid : grids.getGrids(tile.getZoom())) {
+					for (GridZone zone : GridZones
+							.getGridRange(tile.getBounds())) {
+
+						GridZoneFeatures zoneFeatures = features.get(index++);
+						assertSame(grid, zoneFeatures.getGrid());
+						assertEquals(zone.getName(),
+								zoneFeatures.getZone().getName());
+
+						List<GridLine> zoneLines = grid.getLines(tile, zone);
+						assertEquals(zoneLines, zoneFeatures.getLines());
+						if (zoneLines != null) {
+							lines.addAll(zoneLines);
+						}
+
+						List<GridLabel> zoneLabels = grid.getLabels(tile,
+								zone);
+						assertLabels(zoneLabels, zoneFeatures.getLabels());
+						if (zoneLabels != null) {
+							labels.addAll(zoneLabels);
+						}
+					}
+				}
+				assertEquals(index, features.size());
+
+				assertEquals(lines, grids.getLines(tile, executor));
+				assertEquals(lines, grids.getLines(tile));
+				assertLabels(labels, grids.getLabels(tile, executor));
+				assertLabels(labels, grids.getLabels(tile));
+				assertTrue(!lines.isEmpty() || !labels.isEmpty());
+
+				List<GridZoneFeatures> single = grids.getFeatures(tile);
+				assertEquals(features.size(), single.size());
+
+			}
+
+		} finally {
+			executor.shutdown();
+		}
+
+	}
+
+	/**
+	 * Assert the labels are equal
+	 * 
+	 * @param expected
+	 *            expected labels
+	 * @param labels
+	 *            labels
+	 */
+	private void assertLabels(List<GridLabel> expected,
+			List<GridLabel> labels) {
+		if (expected == null) {
+			assertEquals(null, labels);
+		} else {
+			assertEquals(expected.size(), labels.size());
+			for (int i = 0; i < expected.size(); i++) {
+				GridLabel expectedLabel = expected.get(i);
+				GridLabel label = labels.get(i);
+				assertEquals(expectedLabel.getName(), label.getName());
+				assertEquals(expectedLabel.getGridType(), label.getGridType());
+				assertEquals(expectedLabel.getCenter(), label.getCenter());
+				assertEquals(expectedLabel.getBounds(), label.getBounds());
+			}
+		}
+	}
+
+}
@@ -1,11 +1,23 @@
 package mil.nga.mgrs.gzd;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.text.ParseException;
 
 import org.junit.Test;
 
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.MGRS;
 import mil.nga.mgrs.MGRSConstants;
 import mil.nga.mgrs.MGRSUtils;
+import mil.nga.mgrs.utm.KrugerProjection;
+import mil.nga.mgrs.utm.UTM;
 
 /**
  * Grid Zones Test
@@ -77,4 +89,91 @@ public class GridZonesTest {
 
 	}
 
+	/**
+	 * Test the grid zone 100km grid squares catalogs
+	 * 
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	@Test
+	public void testSquares() throws ParseException {
+
+		for (GridZone gridZone : GridZones.getGridRange(
+				Bounds.degrees(-180.0, -80.0, 180.0, 84.0))) {
+
+			GridSquares squares = gridZone.getSquares();
+			assertSame(squares, gridZone.getSquares());
+			assertSame(gridZone, squares.getGridZone());
+			assertTrue(squares.size() > 0);
+			assertEquals(squares.size(), squares.getSquares().size());
+
+			Bounds zoneBounds = gridZone.getBounds();
+
+			for (GridSquare square : squares.getSquares()) {
+
+				assertEquals(gridZone.getNumber(), square.getZone());
+				assertEquals(gridZone.getLetter(), square.getBand());
+				assertSame(square, squares.getSquare(square.getColumn(),
+						square.getRow()));
+				assertSame(square, gridZone.getSquare(square.getColumn(),
+						square.getRow()));
+				assertSame(square, squares.getSquare(
+						square.getEasting() + 50000.0,
+						square.getNorthing() + 50000.0));
+
+				Bounds bounds = square.getBounds();
+				assertTrue(bounds.getMinLongitude() >= zoneBounds
+						.getMinLongitude());
+				assertTrue(bounds.getMaxLongitude() <= zoneBounds
+						.getMaxLongitude());
+				assertTrue(bounds.getMinLatitude() >= zoneBounds
+						.getMinLatitude());
+				assertTrue(bounds.getMaxLatitude() <= zoneBounds
+						.getMaxLatitude());
+
+				Bounds utmBounds = square.getUTMBounds();
+				assertTrue(utmBounds.getMinLongitude() >= square
+						.getEasting());
+				assertTrue(utmBounds.getMaxLongitude() <= square.getEasting()
+						+ 100000.0);
+				assertTrue(utmBounds.getMinLatitude() >= square
+						.getNorthing());
+				assertTrue(utmBounds.getMaxLatitude() <= square.getNorthing()
+						+ 100000.0);
+
+				if (square.hasLabelBounds()) {
+					assertTrue(bounds.contains(square.getLabelCenter()));
+					assertNotNull(square.getLabelMGRS());
+				}
+
+				String value = square.toString();
+				assertEquals(gridZone.getName() + square.getColumnRowId(),
+						value);
+				assertEquals(square.getOrigin().coordinate(),
+						MGRS.parse(value).coordinate());
+				assertEquals(2, square.getLines().size());
+
+			}
+		}
+
+		GridZone gridZone = GridZones.getGridZone(33, 'X');
+		GridSquares squares = gridZone.getSquares();
+		assertTrue(squares.contains('V', 'G'));
+		assertFalse(squares.contains('A', 'A'));
+		assertNull(squares.getSquare('A', 'A'));
+		assertNull(squares.getSquare('I', 'G'));
+		assertNull(squares.getSquare(0.0, 0.0));
+
+		try {
+			UTM.setProjection(new KrugerProjection());
+			GridSquares krugerSquares = gridZone.getSquares();
+			assertNotSame(squares, krugerSquares);
+			assertSame(UTM.getProjection(), krugerSquares.getProjection());
+		} finally {
+			UTM.setProjection(null);
+		}
+		assertNotSame(squares, gridZone.getSquares());
+
+	}
+
 }
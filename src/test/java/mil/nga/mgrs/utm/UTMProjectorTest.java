@@ -0,0 +1,187 @@
+package mil.nga.mgrs.utm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Point;
+
+/**
+ * UTM Projector Test
+ *
+ * @author osbornb
+ */
+public class UTMProjectorTest {
+
+	/**
+	 * Test projecting coordinates within and beyond the zone against point
+	 * conversions, with array and buffer transforms
+	 */
+	@Test
+	public void testProjector() {
+
+		Random random = new Random(71);
+		int count = 1000;
+		double[] longitudes = new double[count];
+		double[] latitudes = new double[count];
+		double[] interleaved = new double[2 * count];
+		for (int i = 0; i < count; i++) {
+			longitudes[i] = 2.0 + 14.0 * random.nextDouble();
+			latitudes[i] = -20.0 + 70.0 * random.nextDouble();
+			interleaved[2 * i] = longitudes[i];
+			interleaved[2 * i + 1] = latitudes[i];
+		}
+
+		UTMProjector projector = new UTMProjector(32, Hemisphere.NORTH);
+		assertEquals(32, projector.getZone());
+		assertEquals(Hemisphere.NORTH, projector.getHemisphere());
+		assertSame(UTM.getProjection(), projector.getProjection());
+		assertTrue(projector.isRound());
+		assertEquals(9.0, projector.getCentralMeridian(), 1e-12);
+
+		double[] eastings = new double[count];
+		double[] northings = new double[count];
+		projector.forward(longitudes, latitudes, eastings, northings);
+
+		double[] projected = new double[2 * count];
+		projector.forward(interleaved, 0, projected, 0, count);
+
+		DoubleBuffer buffer = DoubleBuffer.allocate(2 * count);
+		assertEquals(count,
+				projector.forward(DoubleBuffer.wrap(interleaved), buffer));
+		assertEquals(2 * count, buffer.position());
+
+		double[] eastingNorthing = new double[2];
+		for (int i = 0; i < count; i++) {
+			UTM utm = UTM.from(Point.degrees(longitudes[i], latitudes[i]), 32,
+					Hemisphere.NORTH);
+			assertEquals(utm.getEasting(), eastings[i], 0.0);
+			assertEquals(utm.getNorthing(), northings[i], 0.0);
+			assertEquals(utm.getEasting(), projected[2 * i], 0.0);
+			assertEquals(utm.getNorthing(), projected[2 * i + 1], 0.0);
+			assertEquals(utm.getEasting(), buffer.get(2 * i), 0.0);
+			assertEquals(utm.getNorthing(), buffer.get(2 * i + 1), 0.0);
+			projector.forward(longitudes[i], latitudes[i], eastingNorthing);
+			assertEquals(utm.getEasting(), eastingNorthing[0], 0.0);
+			assertEquals(utm.getNorthing(), eastingNorthing[1], 0.0);
+		}
+
+		// Inverse transforms in place
+		double[] coordinate = new double[2];
+		projector.inverse(eastings, northings, eastings, northings);
+		projector.inverse(projected, 0, projected, 0, count);
+		buffer.flip();
+		DoubleBuffer coordinates = DoubleBuffer.allocate(2 * count);
+		assertEquals(count, projector.inverse(buffer, coordinates));
+		for (int i = 0; i < count; i++) {
+			assertEquals(longitudes[i], eastings[i], 0.00001);
+			assertEquals(latitudes[i], northings[i], 0.00001);
+			assertEquals(eastings[i], projected[2 * i], 0.0);
+			assertEquals(northings[i], projected[2 * i + 1], 0.0);
+			assertEquals(eastings[i], coordinates.get(2 * i), 0.0);
+			assertEquals(northings[i], coordinates.get(2 * i + 1), 0.0);
+			UTM utm = UTM.from(Point.degrees(longitudes[i], latitudes[i]), 32,
+					Hemisphere.NORTH);
+			projector.inverse(utm.getEasting(), utm.getNorthing(),
+					coordinate);
+			assertEquals(eastings[i], coordinate[0], 0.0);
+			assertEquals(northings[i], coordinate[1], 0.0);
+		}
+
+		try {
+			projector.forward(DoubleBuffer.wrap(interleaved),
+					DoubleBuffer.allocate(count));
+			fail("Expected buffer overflow exception");
+		} catch (BufferOverflowException e) {
+		}
+
+		// In place shifted ranges
+		double[] shifted = new double[2 * count + 2];
+		System.arraycopy(interleaved, 0, shifted, 2, 2 * count);
+		projector.forward(shifted, 2, shifted, 0, count);
+		for (int i = 0; i < count; i++) {
+			assertEquals(buffer.get(2 * i), shifted[2 * i], 0.0);
+			assertEquals(buffer.get(2 * i + 1), shifted[2 * i + 1], 0.0);
+		}
+		try {
+			projector.inverse(shifted, 0, shifted, 2, count);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			projector.forward(interleaved, 0, interleaved, 1, count);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+		projector.inverse(shifted, 0, shifted, 2 * count, 1);
+		assertEquals(eastings[0], shifted[2 * count], 0.0);
+
+		try {
+			new UTMProjector(61, Hemisphere.NORTH);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new UTMProjector(32, null);
+			fail("Expected illegal argument exception");
+		} catch (IllegalArgumentException e) {
+		}
+
+	}
+
+	/**
+	 * Test projecting without rounding
+	 */
+	@Test
+	public void testRounding() {
+
+		UTMProjector rounded = new UTMProjector(18, Hemisphere.SOUTH, true);
+		UTMProjector unrounded = new UTMProjector(18, Hemisphere.SOUTH,
+				false);
+		assertTrue(rounded.isRound());
+		assertFalse(unrounded.isRound());
+		assertSame(UTM.getProjection(), rounded.getProjection());
+
+		Random random = new Random(73);
+		double[] roundedValues = new double[2];
+		double[] unroundedValues = new double[2];
+		boolean different = false;
+		for (int i = 0; i < 1000; i++) {
+			double longitude = -80.0 + 10.0 * random.nextDouble();
+			double latitude = -40.0 + 39.0 * random.nextDouble();
+			rounded.forward(longitude, latitude, roundedValues);
+			unrounded.forward(longitude, latitude, unroundedValues);
+			assertEquals(roundedValues[0], unroundedValues[0], 0.005 + 1e-9);
+			assertEquals(roundedValues[1], unroundedValues[1], 0.005 + 1e-9);
+			different |= roundedValues[0] != unroundedValues[0];
+			unrounded.inverse(unroundedValues[0], unroundedValues[1],
+					unroundedValues);
+			assertEquals(longitude, unroundedValues[0], 0.00001);
+			assertEquals(latitude, unroundedValues[1], 0.00001);
+		}
+		assertTrue(different);
+
+		// Rounding options keep the projection engine type
+		try {
+			UTM.setProjection(new KrugerProjection(true));
+			unrounded = new UTMProjector(18, Hemisphere.SOUTH, false);
+			assertTrue(unrounded.getProjection() instanceof KrugerProjection);
+			assertFalse(unrounded.isRound());
+			assertSame(UTM.getProjection(), new UTMProjector(18,
+					Hemisphere.SOUTH, true).getProjection());
+		} finally {
+			UTM.setProjection(null);
+		}
+
+	}
+
+}
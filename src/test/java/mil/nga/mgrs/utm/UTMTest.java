@@ -0,0 +1,247 @@
+package mil.nga.mgrs.utm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.text.ParseException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZones;
+
+/**
+ * UTM Test
+ * 
+ * @author osbornb
+ */
+public class UTMTest {
+
+	/**
+	 * Test the primitive conversions match the point conversions
+	 */
+	@Test
+	public void testPrimitiveConversions() {
+
+		double[] eastingNorthing = new double[2];
+		double[] coordinate = new double[2];
+
+		for (double longitude = -179.5; longitude < 180.0; longitude += 7.3) {
+			for (double latitude = -79.5; latitude < 84.0; latitude += 3.1) {
+
+				Point point = Point.degrees(longitude, latitude);
+				UTM utm = UTM.from(point);
+
+				int zone = GridZones.getZoneNumber(longitude, latitude);
+				Hemisphere hemisphere = Hemisphere.fromLatitude(latitude);
+				assertEquals(utm.getZone(), zone);
+				assertEquals(utm.getHemisphere(), hemisphere);
+
+				assertSame(eastingNorthing, UTM.from(longitude, latitude, zone,
+						hemisphere, eastingNorthing));
+				assertEquals(utm.getEasting(), eastingNorthing[0], 0.0);
+				assertEquals(utm.getNorthing(), eastingNorthing[1], 0.0);
+				assertEquals(utm.getEasting(),
+						UTM.easting(longitude, latitude, zone), 0.0);
+				assertEquals(utm.getNorthing(),
+						UTM.northing(longitude, latitude, zone, hemisphere),
+						0.0);
+
+				Point utmPoint = utm.toPoint();
+				assertSame(coordinate, UTM.toDegrees(zone, hemisphere,
+						eastingNorthing[0], eastingNorthing[1], coordinate));
+				assertEquals(utmPoint.getLongitude(), coordinate[0], 0.0);
+				assertEquals(utmPoint.getLatitude(), coordinate[1], 0.0);
+				assertEquals(longitude, coordinate[0], 0.00001);
+				assertEquals(latitude, coordinate[1], 0.00001);
+
+			}
+		}
+
+	}
+
+	/**
+	 * Test the projection engine matches the closed form UTM values
+	 */
+	@Test
+	public void testProjection() {
+
+		double[][] values = new double[][] {
+				{ -77.036, 38.8977, 18, 323437.66047641134, 4307394.650335947,
+						-77.03599997123843, 38.89770000472882 },
+				{ 151.2093, -33.8688, 56, 334368.6337451703,
+						6250948.359776998, 151.2093000251599,
+						-33.86880000514595 },
+				{ 10.75, 59.91, 32, 597868.3809859852, 6642681.4954030635,
+						10.749999991801303, 59.91000000081095 },
+				{ -157.8583, 21.3069, 4, 618417.0900782556, 2356542.446837042,
+						-157.85830001035504, 21.306900003015866 } };
+
+		UTMProjection projection = new UTMProjection();
+		UTMProjection unrounded = new UTMProjection(false);
+		assertTrue(projection.isRound());
+		assertFalse(unrounded.isRound());
+
+		double[] eastingNorthing = new double[2];
+		double[] coordinate = new double[2];
+
+		for (double[] value : values) {
+
+			double longitude = value[0];
+			double latitude = value[1];
+			int zone = (int) value[2];
+			Hemisphere hemisphere = Hemisphere.fromLatitude(latitude);
+
+			unrounded.forward(longitude, latitude, zone, hemisphere,
+					eastingNorthing);
+			assertEquals(value[3], eastingNorthing[0], 0.0);
+			assertEquals(value[4], eastingNorthing[1], 0.0);
+
+			unrounded.inverse(zone, hemisphere, value[3], value[4],
+					coordinate);
+			assertEquals(value[5], coordinate[0], 0.0);
+			assertEquals(value[6], coordinate[1], 0.0);
+
+			projection.forward(longitude, latitude, zone, hemisphere,
+					eastingNorthing);
+			assertEquals(Math.round(value[3] * 100) * 0.01,
+					eastingNorthing[0], 0.0);
+			assertEquals(Math.round(value[4] * 100) * 0.01,
+					eastingNorthing[1], 0.0);
+			assertEquals(eastingNorthing[0],
+					UTM.easting(longitude, latitude, zone), 0.0);
+			assertEquals(eastingNorthing[1],
+					UTM.northing(longitude, latitude, zone, hemisphere), 0.0);
+
+			projection.inverse(zone, hemisphere, value[3], value[4],
+					coordinate);
+			assertEquals(Math.round(value[5] * 10000000) / 10000000.0,
+					coordinate[0], 0.0);
+			assertEquals(Math.round(value[6] * 10000000) / 10000000.0,
+					coordinate[1], 0.0);
+			assertEquals(coordinate[0], projection.longitude(zone,
+					hemisphere, value[3], value[4]), 0.0);
+			assertEquals(coordinate[1], projection.latitude(zone, hemisphere,
+					value[3], value[4]), 0.0);
+
+		}
+
+	}
+
+	/**
+	 * Test the Krüger series projection accuracy
+	 */
+	@Test
+	public void testKrugerProjection() {
+
+		KrugerProjection kruger = new KrugerProjection();
+		UTMProjection projection = new UTMProjection(false);
+		assertFalse(kruger.isRound());
+
+		// Scaled meridian arc lengths from the equator, numerically integrated
+		double[][] meridian = new double[][] { { 10, 1105412.4913010828 },
+				{ 45, 4982950.400226603 }, { 60, 6651411.1903626 },
+				{ 84, 9328093.830560418 } };
+		for (double[] value : meridian) {
+			double[] eastingNorthing = kruger.forward(3, value[0], 31,
+					Hemisphere.NORTH, new double[2]);
+			assertEquals(500000.0, eastingNorthing[0], 0.000001);
+			assertEquals(value[1], eastingNorthing[1], 0.000001);
+			assertEquals(10000000.0 - value[1], kruger.northing(3,
+					-value[0], 31, Hemisphere.SOUTH), 0.000001);
+		}
+
+		double[] eastingNorthing = new double[2];
+		double[] coordinate = new double[2];
+
+		Random random = new Random(8);
+		for (int i = 0; i < 10000; i++) {
+
+			int zone = 1 + random.nextInt(60);
+			double longitude = zone * 6 - 183 + random.nextDouble() * 8 - 4;
+			double latitude = random.nextDouble() * 164 - 80;
+			Hemisphere hemisphere = Hemisphere.fromLatitude(latitude);
+
+			kruger.forward(longitude, latitude, zone, hemisphere,
+					eastingNorthing);
+			assertEquals(eastingNorthing[0],
+					kruger.easting(longitude, latitude, zone), 0.0);
+			assertEquals(eastingNorthing[1], kruger.northing(longitude,
+					latitude, zone, hemisphere), 0.0);
+
+			// Sub-millimeter round trip, 1e-10 degrees is about 0.01 mm
+			kruger.inverse(zone, hemisphere, eastingNorthing[0],
+					eastingNorthing[1], coordinate);
+			assertEquals(longitude, coordinate[0], 1e-10);
+			assertEquals(latitude, coordinate[1], 1e-10);
+			assertEquals(coordinate[0], kruger.longitude(zone, hemisphere,
+					eastingNorthing[0], eastingNorthing[1]), 0.0);
+			assertEquals(coordinate[1], kruger.latitude(zone, hemisphere,
+					eastingNorthing[0], eastingNorthing[1]), 0.0);
+
+			// Closed form approximation agrees within centimeters
+			assertEquals(eastingNorthing[0],
+					projection.easting(longitude, latitude, zone), 0.1);
+			assertEquals(eastingNorthing[1], projection.northing(longitude,
+					latitude, zone, hemisphere), 0.1);
+		}
+
+	}
+
+	/**
+	 * Test setting the UTM and MGRS conversion projection
+	 * 
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	@Test
+	public void testSetProjection() throws ParseException {
+
+		UTMProjection defaultProjection = UTM.getProjection();
+		assertFalse(defaultProjection instanceof KrugerProjection);
+
+		Point point = Point.degrees(-77.0364, 38.8973);
+		MGRS mgrs = MGRS.from(point);
+		UTM utm = UTM.from(point);
+
+		try {
+
+			UTM.setProjection(new KrugerProjection());
+			assertTrue(UTM.getProjection() instanceof KrugerProjection);
+
+			UTM krugerUTM = UTM.from(point);
+			assertEquals(utm.getEasting(), krugerUTM.getEasting(), 0.1);
+			assertEquals(utm.getNorthing(), krugerUTM.getNorthing(), 0.1);
+			assertTrue(utm.getEasting() != krugerUTM.getEasting());
+
+			Point krugerPoint = krugerUTM.toPoint();
+			assertEquals(point.getLongitude(), krugerPoint.getLongitude(),
+					1e-10);
+			assertEquals(point.getLatitude(), krugerPoint.getLatitude(),
+					1e-10);
+
+			MGRS krugerMGRS = MGRS.from(point);
+			assertEquals(mgrs.coordinate(GridType.TEN_METER),
+					krugerMGRS.coordinate(GridType.TEN_METER));
+			Point mgrsPoint = MGRS.parse(krugerMGRS.coordinate()).toPoint();
+			assertEquals(point.getLongitude(), mgrsPoint.getLongitude(),
+					0.00002);
+			assertEquals(point.getLatitude(), mgrsPoint.getLatitude(),
+					0.00002);
+
+		} finally {
+			UTM.setProjection(null);
+		}
+
+		assertFalse(UTM.getProjection() instanceof KrugerProjection);
+		assertEquals(utm.getEasting(), UTM.from(point).getEasting(), 0.0);
+
+	}
+
+}